@@ -0,0 +1,4 @@
+-- 저장 파일을 내용 해시로 공유하면서 파일 해제, 일괄 삭제, 고아 파일 수집 때마다
+-- file_path 로 행 수를 센다 (FileRepository.countByFilePath). 기존 DB 에 한 번 적용한다.
+-- file_path 가 길어도 인덱스 키 길이 제한에 걸리지 않도록 앞 255자로 인덱스를 만든다.
+CREATE INDEX idx_file_file_path ON file (file_path(255));
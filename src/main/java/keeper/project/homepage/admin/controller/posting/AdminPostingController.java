@@ -4,12 +4,14 @@ package keeper.project.homepage.admin.controller.posting;
 import java.util.List;
 import keeper.project.homepage.admin.service.posting.AdminPostingService;
 import keeper.project.homepage.common.dto.result.CommonResult;
+import keeper.project.homepage.common.dto.result.SingleResult;
 import keeper.project.homepage.entity.FileEntity;
 import keeper.project.homepage.entity.ThumbnailEntity;
 import keeper.project.homepage.entity.posting.PostingEntity;
 import keeper.project.homepage.util.service.FileService;
 import keeper.project.homepage.common.service.ResponseService;
 import keeper.project.homepage.util.service.ThumbnailService;
+import keeper.project.homepage.user.service.posting.PostingSearchService;
 import keeper.project.homepage.user.service.posting.PostingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
@@ -17,6 +19,7 @@ import org.springframework.http.MediaType;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -32,6 +35,7 @@ public class AdminPostingController {
   private final ResponseService responseService;
   private final FileService fileService;
   private final ThumbnailService thumbnailService;
+  private final PostingSearchService postingSearchService;
 
   @DeleteMapping(value = "/{pid}", produces = {MediaType.APPLICATION_JSON_VALUE})
   public CommonResult removePosting(@PathVariable("pid") Long postingId) {
@@ -52,6 +56,11 @@ public class AdminPostingController {
     return responseService.getSuccessResult();
   }
 
+  @PostMapping(value = "/search/index", produces = {MediaType.APPLICATION_JSON_VALUE})
+  public SingleResult<Integer> rebuildSearchIndex() {
+
+    return responseService.getSuccessSingleResult(postingSearchService.rebuildIndex());
+  }
 
   private void deletePrevFiles(PostingEntity postingEntity) {
     List<FileEntity> fileEntities = fileService.findAllByPostingId(
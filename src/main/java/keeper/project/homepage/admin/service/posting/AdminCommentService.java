@@ -10,6 +10,7 @@ import keeper.project.homepage.repository.posting.CommentRepository;
 import keeper.project.homepage.repository.posting.PostingRepository;
 import keeper.project.homepage.user.service.member.MemberUtilService;
 import keeper.project.homepage.user.service.posting.CommentService;
+import keeper.project.homepage.user.service.posting.PostingBestService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +26,7 @@ public class AdminCommentService {
   private final MemberHasCommentLikeRepository memberHasCommentLikeRepository;
   private final CommentRepository commentRepository;
   private final PostingRepository postingRepository;
+  private final PostingBestService postingBestService;
 
   private void deleteCommentLike(CommentEntity comment) {
     memberHasCommentLikeRepository.deleteByMemberHasCommentEntityPK_CommentEntity(comment);
@@ -53,6 +55,7 @@ public class AdminCommentService {
         .orElseThrow(() -> new CustomCommentNotFoundException("댓글에 해당하는 게시글이 존재하지 않습니다."));
     postingEntity.decreaseCommentCount();
     postingRepository.save(postingEntity);
+    postingBestService.updateCommentCount(postingEntity.getId(), -1);
   }
 
   @Transactional
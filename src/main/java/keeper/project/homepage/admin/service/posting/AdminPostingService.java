@@ -8,6 +8,8 @@ import keeper.project.homepage.exception.member.CustomMemberNotFoundException;
 import keeper.project.homepage.repository.FileRepository;
 import keeper.project.homepage.repository.member.MemberRepository;
 import keeper.project.homepage.repository.posting.PostingRepository;
+import keeper.project.homepage.user.service.posting.PostingBestService;
+import keeper.project.homepage.user.service.posting.PostingLikeCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +21,8 @@ public class AdminPostingService {
   private final MemberRepository memberRepository;
   private final FileRepository fileRepository;
   private final PostingRepository postingRepository;
+  private final PostingBestService postingBestService;
+  private final PostingLikeCache postingLikeCache;
 
   @Transactional
   public void deleteByAdmin(PostingEntity postingEntity) {
@@ -35,5 +39,7 @@ public class AdminPostingService {
 
     memberEntity.getPosting().remove(postingEntity);
     postingRepository.delete(postingEntity);
+    postingBestService.removePosting(postingEntity.getId());
+    postingLikeCache.evictPosting(postingEntity.getId());
   }
 }
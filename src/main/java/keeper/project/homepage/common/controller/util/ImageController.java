@@ -1,18 +1,32 @@
 package keeper.project.homepage.common.controller.util;
 
 
-import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import keeper.project.homepage.entity.FileEntity;
+import keeper.project.homepage.entity.ThumbnailEntity;
+import keeper.project.homepage.util.FileResponseUtil;
+import keeper.project.homepage.util.image.ImageVariant;
+import keeper.project.homepage.util.image.preprocessing.ImagePreprocessing;
 import keeper.project.homepage.util.image.preprocessing.ImageResizing;
 import keeper.project.homepage.util.image.preprocessing.ImageResizing.RESIZE_OPTION;
 import keeper.project.homepage.util.service.FileService;
 import keeper.project.homepage.util.service.ThumbnailService;
+import keeper.project.homepage.util.service.ThumbnailVariants;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequiredArgsConstructor
@@ -23,24 +37,71 @@ public class ImageController {
 
   private final FileService fileService;
   private final ThumbnailService thumbnailService;
+  private final ThumbnailVariants thumbnailVariants;
+
+  @Value("${keeper.image.cache-max-age:3600}")
+  private long imageCacheMaxAge;
 
   @GetMapping(
       value = "/image/{fileId}",
       produces = MediaType.IMAGE_JPEG_VALUE)
-  public @ResponseBody
-  byte[] getImage(@PathVariable("fileId") Long fileId) throws IOException {
+  public ResponseEntity<Resource> getImage(@PathVariable("fileId") Long fileId,
+      WebRequest webRequest) {
 
-    return fileService.getByteArrayFromImage(fileId,
-        new ImageResizing(RESIZE_OPTION.KEEP_RATIO_IN_OUTER_BOUNDARY, 800, 800));
+    FileEntity fileEntity = fileService.find(fileId);
+    ImagePreprocessing imagePreprocessing = getImagePreprocessing();
+    return FileResponseUtil.getFileResponse(webRequest,
+        fileService.getETag(fileEntity, imagePreprocessing), fileEntity.getUploadTime(),
+        getImageCacheControl(), MediaType.IMAGE_JPEG,
+        () -> fileService.getImageFile(fileEntity, imagePreprocessing));
   }
 
   @GetMapping(
       value = "/thumbnail/{thumbnailId}",
-      produces = MediaType.IMAGE_JPEG_VALUE)
-  public @ResponseBody
-  byte[] getThumbnail(@PathVariable("thumbnailId") Long thumbnailId) throws IOException {
+      produces = {MediaType.IMAGE_JPEG_VALUE, "image/webp"})
+  public ResponseEntity<Resource> getThumbnail(@PathVariable("thumbnailId") Long thumbnailId,
+      @RequestParam(value = "size", required = false) String size, WebRequest webRequest) {
+
+    ThumbnailEntity thumbnailEntity = thumbnailService.find(thumbnailId);
+    if (thumbnailService.isGenerating(thumbnailEntity)) {
+      // 만들어지는 중에는 캐시하지 않도록 해 완성된 뒤 바로 받아가게 한다
+      return ResponseEntity.ok()
+          .cacheControl(CacheControl.noStore())
+          .contentType(MediaType.IMAGE_JPEG)
+          .body(new ByteArrayResource(thumbnailService.getPlaceholder()));
+    }
+    // 크기는 size 로, 형식은 Accept 로 고른다. 저장할 때 만들어 둔 이미지를 그대로 보낸다
+    ImageVariant variant = ImageVariant.of(size);
+    LocalDateTime lastModified =
+        thumbnailEntity.getFile() == null ? null : thumbnailEntity.getFile().getUploadTime();
+    String format = thumbnailService.findVariantFormat(thumbnailEntity, variant,
+        thumbnailVariants.getAcceptableFormats(webRequest.getHeader(HttpHeaders.ACCEPT)));
+    ResponseEntity<Resource> response;
+    if (format != null) {
+      response = FileResponseUtil.getFileResponse(webRequest,
+          thumbnailService.getETag(thumbnailEntity, variant, format), lastModified,
+          getImageCacheControl(), ThumbnailVariants.getMediaType(format),
+          () -> thumbnailService.getVariantFile(thumbnailEntity, variant, format));
+    } else {
+      // 만들어 둔 이미지가 없으면 요청한 크기로 변환해 jpg 로 보낸다
+      ImagePreprocessing imagePreprocessing = variant.getPreprocessing();
+      response = FileResponseUtil.getFileResponse(webRequest,
+          thumbnailService.getETag(thumbnailEntity, imagePreprocessing), lastModified,
+          getImageCacheControl(), MediaType.IMAGE_JPEG,
+          () -> thumbnailService.getImageFile(thumbnailEntity, imagePreprocessing));
+    }
+    // 같은 주소라도 Accept 에 따라 형식이 다르므로 캐시가 구분하도록 한다
+    return ResponseEntity.status(response.getStatusCode())
+        .headers(response.getHeaders())
+        .varyBy(HttpHeaders.ACCEPT)
+        .body(response.getBody());
+  }
+
+  private ImagePreprocessing getImagePreprocessing() {
+    return new ImageResizing(RESIZE_OPTION.KEEP_RATIO_IN_OUTER_BOUNDARY, 800, 800);
+  }
 
-    return thumbnailService.getByteArrayFromImage(thumbnailId,
-        new ImageResizing(RESIZE_OPTION.KEEP_RATIO_IN_OUTER_BOUNDARY, 800, 800));
+  private CacheControl getImageCacheControl() {
+    return CacheControl.maxAge(Duration.ofSeconds(imageCacheMaxAge)).mustRevalidate();
   }
 }
@@ -0,0 +1,11 @@
+package keeper.project.homepage.common.dto.result;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class CursorResult<T> extends ListResult<T> {
+
+  private String nextCursor;
+}
@@ -1,6 +1,7 @@
 package keeper.project.homepage.common.service;
 
 import keeper.project.homepage.common.dto.result.CommonResult;
+import keeper.project.homepage.common.dto.result.CursorResult;
 import keeper.project.homepage.common.dto.result.ListResult;
 import keeper.project.homepage.common.dto.result.PageResult;
 import keeper.project.homepage.common.dto.result.SingleResult;
@@ -81,6 +82,15 @@ public class ResponseService {
     return result;
   }
 
+  // 커서 기반 다중건 결과를 처리하는 메소드
+  public <T> CursorResult<T> getSuccessCursorResult(List<T> list, String nextCursor) {
+    CursorResult<T> result = new CursorResult<>();
+    result.setList(list);
+    result.setNextCursor(nextCursor);
+    setSuccessResult(result);
+    return result;
+  }
+
   // 성공 결과만 처리하는 메소드
   public CommonResult getSuccessResult() {
     CommonResult result = new CommonResult();
@@ -8,6 +8,7 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.OneToOne;
@@ -25,7 +26,8 @@ import org.hibernate.annotations.CreationTimestamp;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "file")
+// 같은 파일을 가리키는 행 수를 셀 때 (countByFilePath) 쓰는 인덱스
+@Table(name = "file", indexes = @Index(name = "idx_file_file_path", columnList = "filePath"))
 public class FileEntity {
 
   @Id
@@ -3,6 +3,7 @@ package keeper.project.homepage.entity.ctf;
 import java.time.LocalDateTime;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
@@ -11,6 +12,7 @@ import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 import keeper.project.homepage.entity.member.MemberEntity;
+import keeper.project.homepage.util.service.CtfContestCacheListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -22,6 +24,7 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners(CtfContestCacheListener.class)
 @Table(name = "ctf_contest")
 public class CtfContestEntity {
 
@@ -6,6 +6,7 @@ import java.util.List;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
@@ -17,6 +18,8 @@ import javax.persistence.OneToOne;
 import javax.persistence.Table;
 import javax.persistence.UniqueConstraint;
 import keeper.project.homepage.entity.member.MemberEntity;
+import keeper.project.homepage.user.service.ctf.CtfScoreboardTeamListener;
+import keeper.project.homepage.util.service.CtfTeamCountListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -28,6 +31,7 @@ import lombok.Setter;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@EntityListeners({CtfScoreboardTeamListener.class, CtfTeamCountListener.class})
 @Table(name = "ctf_team",
     uniqueConstraints = @UniqueConstraint(columnNames = {"name", "contest_id"}))
 public class CtfTeamEntity {
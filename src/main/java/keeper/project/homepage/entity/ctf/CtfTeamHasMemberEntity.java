@@ -2,6 +2,7 @@ package keeper.project.homepage.entity.ctf;
 
 import java.io.Serializable;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.FetchType;
 import javax.persistence.Id;
 import javax.persistence.IdClass;
@@ -9,6 +10,7 @@ import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 import keeper.project.homepage.entity.member.MemberEntity;
+import keeper.project.homepage.user.service.ctf.CtfScoreboardMemberListener;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -16,6 +18,7 @@ import lombok.NoArgsConstructor;
 
 @Builder
 @Entity
+@EntityListeners(CtfScoreboardMemberListener.class)
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
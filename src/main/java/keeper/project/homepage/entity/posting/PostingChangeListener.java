@@ -0,0 +1,28 @@
+package keeper.project.homepage.entity.posting;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * 게시글이 저장/수정/삭제되면 {@link PostingChangedEvent} 를 발행한다. 검색 색인처럼 게시글 변경을 따라가야
+ * 하는 서비스는 이 이벤트를 받아 처리하므로 엔티티는 서비스를 알지 않는다.
+ */
+@RequiredArgsConstructor
+public class PostingChangeListener {
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  @PostPersist
+  @PostUpdate
+  public void changed(PostingEntity postingEntity) {
+    eventPublisher.publishEvent(new PostingChangedEvent(postingEntity, false));
+  }
+
+  @PostRemove
+  public void removed(PostingEntity postingEntity) {
+    eventPublisher.publishEvent(new PostingChangedEvent(postingEntity, true));
+  }
+}
@@ -0,0 +1,15 @@
+package keeper.project.homepage.entity.posting;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 게시글이 저장/수정/삭제되었음을 알린다. {@link PostingChangeListener} 가 발행한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PostingChangedEvent {
+
+  private final PostingEntity posting;
+  private final boolean removed;
+}
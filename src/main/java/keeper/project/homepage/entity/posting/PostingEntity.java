@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.List;
 import javax.persistence.CascadeType;
 import javax.persistence.Column;
+import javax.persistence.EntityListeners;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
@@ -28,6 +29,7 @@ import lombok.NoArgsConstructor;
 import javax.persistence.Entity;
 import javax.persistence.Table;
 import lombok.Setter;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.util.Assert;
 
 @Builder
@@ -35,6 +37,8 @@ import org.springframework.util.Assert;
 @Getter
 @NoArgsConstructor
 @AllArgsConstructor
+@DynamicUpdate
+@EntityListeners(PostingChangeListener.class)
 @Table(name = "posting")
 public class PostingEntity {
 
@@ -0,0 +1,16 @@
+package keeper.project.homepage.exception;
+
+public class CustomInvalidCursorException extends RuntimeException {
+
+  public CustomInvalidCursorException(String msg, Throwable t) {
+    super(msg, t);
+  }
+
+  public CustomInvalidCursorException(String msg) {
+    super(msg);
+  }
+
+  public CustomInvalidCursorException() {
+    super();
+  }
+}
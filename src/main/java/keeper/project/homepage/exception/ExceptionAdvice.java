@@ -13,6 +13,7 @@ import keeper.project.homepage.exception.ctf.CustomCtfChallengeNotFoundException
 import keeper.project.homepage.exception.ctf.CustomCtfTypeNotFoundException;
 import keeper.project.homepage.exception.file.CustomInvalidImageFileException;
 import keeper.project.homepage.exception.ctf.CustomCtfTeamNotFoundException;
+import keeper.project.homepage.exception.ctf.CustomCtfSubmitRateLimitException;
 import keeper.project.homepage.exception.file.CustomFileDeleteFailedException;
 import keeper.project.homepage.exception.file.CustomFileEntityNotFoundException;
 import keeper.project.homepage.exception.file.CustomFileNotFoundException;
@@ -45,6 +46,7 @@ import keeper.project.homepage.exception.sign.CustomLoginIdSigninFailedException
 import keeper.project.homepage.exception.sign.CustomSignUpFailedException;
 import keeper.project.homepage.common.service.ResponseService;
 import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import keeper.project.homepage.exception.study.CustomIpAddressNotFoundException;
 import keeper.project.homepage.exception.study.CustomSeasonInvalidException;
 import keeper.project.homepage.exception.study.CustomStudyIsNotMineException;
@@ -55,6 +57,7 @@ import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -304,6 +307,14 @@ public class ExceptionAdvice {
         getMessage("numberOverflow.msg"));
   }
 
+  @ExceptionHandler(CustomInvalidCursorException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  protected CommonResult invalidCursorException(HttpServletRequest request,
+      CustomInvalidCursorException e) {
+    return responseService.getFailResult(Integer.parseInt(getMessage("invalidCursor.code")),
+        getMessage("invalidCursor.msg"));
+  }
+
   @ExceptionHandler(CustomCategoryNotFoundException.class)
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   protected CommonResult categoryNotFoundException(HttpServletRequest request,
@@ -506,6 +517,15 @@ public class ExceptionAdvice {
         e.getMessage() == null ? getMessage("ctfTeamNotFound.msg") : e.getMessage());
   }
 
+  @ExceptionHandler(CustomCtfSubmitRateLimitException.class)
+  @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+  protected CommonResult ctfSubmitRateLimited(HttpServletRequest request,
+      HttpServletResponse response, CustomCtfSubmitRateLimitException e) {
+    response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()));
+    return responseService.getFailResult(Integer.parseInt(getMessage("ctfSubmitRateLimited.code")),
+        getMessage("ctfSubmitRateLimited.msg"));
+  }
+
   @ExceptionHandler(DataIntegrityViolationException.class)
   @ResponseStatus(HttpStatus.CONFLICT)
   protected CommonResult dataDuplicate(HttpServletRequest request,
@@ -0,0 +1,16 @@
+package keeper.project.homepage.exception.ctf;
+
+import lombok.Getter;
+
+@Getter
+public class CustomCtfSubmitRateLimitException extends RuntimeException {
+
+  // 다시 제출할 수 있을 때까지 남은 시간 (초)
+  private final long retryAfterSeconds;
+
+  public CustomCtfSubmitRateLimitException(long retryAfterSeconds) {
+    super();
+    this.retryAfterSeconds = retryAfterSeconds;
+  }
+
+}
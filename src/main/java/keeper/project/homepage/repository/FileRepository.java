@@ -1,11 +1,46 @@
 package keeper.project.homepage.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 import keeper.project.homepage.entity.FileEntity;
 import keeper.project.homepage.entity.posting.PostingEntity;
+import keeper.project.homepage.user.dto.posting.PostingAttachmentDto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface FileRepository extends JpaRepository<FileEntity, Long> {
 
   List<FileEntity> findAllByPostingId(PostingEntity postingId);
+
+  long countByFilePath(String filePath);
+
+  // 저장소의 한 구간과 비교할 때 사용. MySQL 은 fetch size 가 Integer.MIN_VALUE 일 때 한 행씩 받는다
+  @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE))
+  @Query("select f.filePath from FileEntity f where f.filePath like concat(:prefix, '%')")
+  Stream<String> streamFilePathsStartingWith(@Param("prefix") String prefix);
+
+  // 여러 글의 첨부파일을 한 번에 조회
+  @Query("select new keeper.project.homepage.user.dto.posting.PostingAttachmentDto("
+      + "f.postingId.id, f.id, f.fileName, f.filePath, f.fileSize, f.uploadTime, f.ipAddress) "
+      + "from FileEntity f where f.postingId.id in :postingIds order by f.postingId.id, f.id")
+  List<PostingAttachmentDto> findAttachmentsByPostingIds(
+      @Param("postingIds") Collection<Long> postingIds);
+
+  @Modifying(flushAutomatically = true)
+  @Query("update FileEntity f set f.postingId = null where f.postingId = :posting")
+  int detachAllFromPosting(@Param("posting") PostingEntity posting);
+
+  // 저장소를 도입하기 전, 디렉토리를 포함한 경로로 저장된 파일
+  @Query("select distinct f.filePath from FileEntity f "
+      + "where f.filePath like concat('%', :separator, '%')")
+  List<String> findDistinctFilePathsContaining(@Param("separator") String separator);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update FileEntity f set f.filePath = :newPath where f.filePath = :oldPath")
+  int updateFilePath(@Param("oldPath") String oldPath, @Param("newPath") String newPath);
 }
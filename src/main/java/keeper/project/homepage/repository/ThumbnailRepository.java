@@ -1,8 +1,29 @@
 package keeper.project.homepage.repository;
 
+import java.util.List;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
 import keeper.project.homepage.entity.ThumbnailEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface ThumbnailRepository extends JpaRepository<ThumbnailEntity, Long> {
 
+  List<ThumbnailEntity> findAllByPathContaining(String path);
+
+  boolean existsByPath(String path);
+
+  boolean existsByPathStartingWith(String prefix);
+
+  // 저장소의 한 구간과 비교할 때 사용. MySQL 은 fetch size 가 Integer.MIN_VALUE 일 때 한 행씩 받는다
+  @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "" + Integer.MIN_VALUE))
+  @Query("select t.path from ThumbnailEntity t where t.path like concat(:prefix, '%')")
+  Stream<String> streamPathsStartingWith(@Param("prefix") String prefix);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update ThumbnailEntity t set t.path = :newPath where t.id = :id")
+  int updatePath(@Param("id") Long id, @Param("newPath") String newPath);
 }
@@ -5,9 +5,12 @@ import java.util.Optional;
 import keeper.project.homepage.entity.ctf.CtfChallengeCategoryEntity;
 import keeper.project.homepage.entity.ctf.CtfChallengeEntity;
 import keeper.project.homepage.entity.ctf.CtfContestEntity;
+import keeper.project.homepage.user.dto.ctf.CtfCommonChallengeDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CtfChallengeRepository extends
     JpaRepository<CtfChallengeEntity, Long> {
@@ -23,5 +26,22 @@ public interface CtfChallengeRepository extends
   List<CtfChallengeEntity> findAllByIdIsNotAndCtfContestEntityAndIsSolvable(Long id,
       CtfContestEntity ctfContestEntity, Boolean isSolvable);
 
+  // 풀 수 있는 문제와 팀이 맞췄는지를 한 번에 읽는다
+  @Query("select new keeper.project.homepage.user.dto.ctf.CtfCommonChallengeDto(c.id, c.name, "
+      + "c.score, c.ctfContestEntity.id, cat.id, cat.name, coalesce(f.isCorrect, false)) "
+      + "from CtfChallengeEntity c join c.ctfChallengeCategoryEntity cat "
+      + "left join c.ctfFlagEntity f on f.ctfTeamEntity.id = :teamId "
+      + "where c.ctfContestEntity.id = :contestId and c.id <> :excludeId and c.isSolvable = true "
+      + "order by c.id")
+  List<CtfCommonChallengeDto> findAllSolvableByContestIdWithTeamSolved(
+      @Param("contestId") Long contestId, @Param("teamId") Long teamId,
+      @Param("excludeId") Long excludeId);
+
+  @Query("select c.ctfContestEntity.id from CtfChallengeEntity c where c.id = :id")
+  Optional<Long> findContestIdById(@Param("id") Long id);
+
   List<CtfChallengeEntity> findAllByCtfChallengeTypeEntityId(Long ctfChallengeTypeEntity_id);
+
+  List<CtfChallengeEntity> findAllByCtfContestEntityIdAndCtfChallengeTypeEntityId(
+      Long ctfContestEntity_id, Long ctfChallengeTypeEntity_id);
 }
@@ -0,0 +1,15 @@
+package keeper.project.homepage.repository.ctf;
+
+import java.time.LocalDateTime;
+
+/**
+ * 팀이 한 문제를 처음 맞춘 시각. {@code ctf_flag} 에는 시각이 없으므로 제출 기록에서 구한다.
+ */
+public interface CtfFirstSolveProjection {
+
+  Long getContestId();
+
+  String getTeamName();
+
+  LocalDateTime getSolveTime();
+}
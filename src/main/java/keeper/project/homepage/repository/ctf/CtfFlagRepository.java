@@ -2,11 +2,15 @@ package keeper.project.homepage.repository.ctf;
 
 import java.util.List;
 import java.util.Optional;
+import javax.persistence.LockModeType;
 import keeper.project.homepage.entity.ctf.CtfChallengeCategoryEntity;
 import keeper.project.homepage.entity.ctf.CtfChallengeEntity;
 import keeper.project.homepage.entity.ctf.CtfFlagEntity;
 import keeper.project.homepage.entity.ctf.CtfTeamEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CtfFlagRepository extends
     JpaRepository<CtfFlagEntity, Long> {
@@ -21,6 +25,11 @@ public interface CtfFlagRepository extends
 
   List<CtfFlagEntity> findAllByCtfTeamEntityIdAndIsCorrectTrue(Long ctfTeamEntity_id);
 
+  @Lock(LockModeType.PESSIMISTIC_READ)
+  @Query("select f.ctfTeamEntity.id from CtfFlagEntity f "
+      + "where f.ctfChallengeEntity.id = :challengeId and f.isCorrect = true")
+  List<Long> findAllSolvedTeamIdByChallengeId(@Param("challengeId") Long challengeId);
+
   Long countByCtfChallengeEntityIdAndIsCorrect(Long ctfChallengeEntity_id, Boolean isCorrect);
 
   List<CtfFlagEntity> findAllByCtfChallengeEntityId(Long id);
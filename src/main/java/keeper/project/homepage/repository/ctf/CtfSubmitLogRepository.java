@@ -7,9 +7,16 @@ import keeper.project.homepage.entity.ctf.CtfTeamEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 public interface CtfSubmitLogRepository extends
     JpaRepository<CtfSubmitLogEntity, Long> {
 
   Page<CtfSubmitLogEntity> findAllByIdIsNotAndContestId(Long id, Pageable pageable, Long contestId);
+
+  // 팀, 문제별로 처음 맞춘 시각 (이미 맞춘 문제를 다시 제출한 기록은 빠진다)
+  @Query("select l.contest.id as contestId, l.teamName as teamName, min(l.submitTime) as solveTime "
+      + "from CtfSubmitLogEntity l where l.isCorrect = true "
+      + "group by l.contest.id, l.teamName, l.challengeName")
+  List<CtfFirstSolveProjection> findAllFirstSolves();
 }
@@ -6,6 +6,8 @@ import keeper.project.homepage.entity.ctf.CtfTeamHasMemberEntity;
 import keeper.project.homepage.entity.ctf.CtfTeamHasMemberEntityPK;
 import keeper.project.homepage.entity.member.MemberEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CtfTeamHasMemberRepository extends
     JpaRepository<CtfTeamHasMemberEntity, CtfTeamHasMemberEntityPK> {
@@ -14,5 +16,10 @@ public interface CtfTeamHasMemberRepository extends
 
   List<CtfTeamHasMemberEntity> findAllByMemberId(Long memberId);
 
+  @Query("select m.team.id from CtfTeamHasMemberEntity m "
+      + "where m.member.id = :memberId and m.team.ctfContestEntity.id = :contestId")
+  Optional<Long> findTeamIdByMemberIdAndContestId(@Param("memberId") Long memberId,
+      @Param("contestId") Long contestId);
+
   void deleteAllByTeamId(Long teamId);
 }
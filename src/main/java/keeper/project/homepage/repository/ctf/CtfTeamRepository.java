@@ -1,5 +1,6 @@
 package keeper.project.homepage.repository.ctf;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import keeper.project.homepage.entity.ctf.CtfContestEntity;
@@ -7,6 +8,9 @@ import keeper.project.homepage.entity.ctf.CtfTeamEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CtfTeamRepository extends
     JpaRepository<CtfTeamEntity, Long> {
@@ -14,6 +18,8 @@ public interface CtfTeamRepository extends
   Page<CtfTeamEntity> findAllByIdIsNotAndCtfContestEntity_Id(Long id, Long ctfContestEntity_id,
       Pageable pageable);
 
+  List<CtfTeamEntity> findAllByIdIsNot(Long id);
+
   List<CtfTeamEntity> findAllByIdOrCtfContestEntityId(Long id, Long ctfContestEntity_id);
 
   Optional<CtfTeamEntity> findByCreatorId(Long creator_id);
@@ -22,4 +28,11 @@ public interface CtfTeamRepository extends
 
   Optional<CtfTeamEntity> findByNameAndCtfContestEntity(String name,
       CtfContestEntity ctfContestEntity);
+
+  @Query("select t.id from CtfTeamEntity t where t.ctfContestEntity.id = :contestId")
+  List<Long> findAllIdByCtfContestEntityId(@Param("contestId") Long contestId);
+
+  @Modifying(flushAutomatically = true)
+  @Query("update CtfTeamEntity t set t.score = t.score + :delta where t.id in :ids")
+  int addScore(@Param("ids") Collection<Long> ids, @Param("delta") Long delta);
 }
@@ -1,11 +1,15 @@
 package keeper.project.homepage.repository.member;
 
+import java.util.Collection;
 import java.util.List;
 import keeper.project.homepage.entity.posting.CommentEntity;
 import keeper.project.homepage.entity.member.MemberEntity;
 import keeper.project.homepage.entity.member.MemberHasCommentEntityPK;
 import keeper.project.homepage.entity.member.MemberHasCommentLikeEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -21,4 +25,20 @@ public interface MemberHasCommentLikeRepository extends
   void deleteByMemberHasCommentEntityPK_CommentEntity(CommentEntity commentEntity);
 
   void deleteByMemberHasCommentEntityPK_MemberEntity(MemberEntity memberEntity);
+
+  @Query("select l.memberHasCommentEntityPK.commentEntity.id from MemberHasCommentLikeEntity l "
+      + "where l.memberHasCommentEntityPK.memberEntity = :member "
+      + "and l.memberHasCommentEntityPK.commentEntity.id in :commentIds")
+  List<Long> findCommentIdsByMemberAndCommentIdIn(@Param("member") MemberEntity memberEntity,
+      @Param("commentIds") Collection<Long> commentIds);
+
+  @Modifying
+  @Query(value = "insert ignore into member_has_comment_like (member_id, comment_id) "
+      + "values (:memberId, :targetId)", nativeQuery = true)
+  int insertIfAbsent(@Param("memberId") Long memberId, @Param("targetId") Long targetId);
+
+  @Modifying
+  @Query(value = "delete from member_has_comment_like "
+      + "where member_id = :memberId and comment_id = :targetId", nativeQuery = true)
+  int deleteIfPresent(@Param("memberId") Long memberId, @Param("targetId") Long targetId);
 }
@@ -5,6 +5,9 @@ import keeper.project.homepage.entity.member.MemberHasPostingDislikeEntity;
 import keeper.project.homepage.entity.posting.PostingEntity;
 import keeper.project.homepage.entity.member.MemberEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface MemberHasPostingDislikeRepository extends
     JpaRepository<MemberHasPostingDislikeEntity, MemberEntity> {
@@ -12,4 +15,16 @@ public interface MemberHasPostingDislikeRepository extends
   void deleteByMemberIdAndPostingId(MemberEntity memberEntity, PostingEntity postingEntity);
 
   List<MemberHasPostingDislikeEntity> findByMemberId(MemberEntity memberEntity);
-}
\ No newline at end of file
+
+  @Modifying
+  @Query(value = "insert ignore into member_has_posting_dislike (member_id, posting_id) "
+      + "values (:memberId, :targetId)", nativeQuery = true)
+  int insertIfAbsent(@Param("memberId") Long memberId, @Param("targetId") Long targetId);
+
+  @Modifying
+  @Query(value = "delete from member_has_posting_dislike "
+      + "where member_id = :memberId and posting_id = :targetId", nativeQuery = true)
+  int deleteIfPresent(@Param("memberId") Long memberId, @Param("targetId") Long targetId);
+
+  boolean existsByMemberIdAndPostingId(MemberEntity memberEntity, PostingEntity postingEntity);
+}
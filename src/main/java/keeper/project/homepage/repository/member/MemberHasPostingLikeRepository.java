@@ -5,6 +5,9 @@ import keeper.project.homepage.entity.member.MemberHasPostingLikeEntity;
 import keeper.project.homepage.entity.posting.PostingEntity;
 import keeper.project.homepage.entity.member.MemberEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface MemberHasPostingLikeRepository extends
     JpaRepository<MemberHasPostingLikeEntity, MemberEntity> {
@@ -12,4 +15,27 @@ public interface MemberHasPostingLikeRepository extends
   void deleteByMemberIdAndPostingId(MemberEntity memberEntity, PostingEntity postingEntity);
 
   List<MemberHasPostingLikeEntity> findByMemberId(MemberEntity memberEntity);
-}
\ No newline at end of file
+
+  // 이미 있으면 무시하고, 실제로 추가된 행 수를 반환
+  @Modifying
+  @Query(value = "insert ignore into member_has_posting_like (member_id, posting_id) "
+      + "values (:memberId, :targetId)", nativeQuery = true)
+  int insertIfAbsent(@Param("memberId") Long memberId, @Param("targetId") Long targetId);
+
+  @Modifying
+  @Query(value = "delete from member_has_posting_like "
+      + "where member_id = :memberId and posting_id = :targetId", nativeQuery = true)
+  int deleteIfPresent(@Param("memberId") Long memberId, @Param("targetId") Long targetId);
+
+  // 복합 PK 로 바로 찾으므로 각 count 는 0 또는 1
+  @Query(value = "select (select count(*) from posting where id = :postingId) as postingCount, "
+      + "(select count(*) from member_has_posting_like "
+      + "where member_id = :memberId and posting_id = :postingId) as likeCount, "
+      + "(select count(*) from member_has_posting_dislike "
+      + "where member_id = :memberId and posting_id = :postingId) as dislikeCount",
+      nativeQuery = true)
+  PostingLikeFlagsProjection findLikeFlags(@Param("memberId") Long memberId,
+      @Param("postingId") Long postingId);
+
+  boolean existsByMemberIdAndPostingId(MemberEntity memberEntity, PostingEntity postingEntity);
+}
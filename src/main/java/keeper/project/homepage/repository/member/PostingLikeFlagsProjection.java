@@ -0,0 +1,13 @@
+package keeper.project.homepage.repository.member;
+
+/**
+ * 한 회원의 게시글 좋아요/싫어요 여부를 게시글 존재 여부와 함께 한 번에 읽기 위한 projection.
+ */
+public interface PostingLikeFlagsProjection {
+
+  Long getPostingCount();
+
+  Long getLikeCount();
+
+  Long getDislikeCount();
+}
@@ -1,12 +1,19 @@
 package keeper.project.homepage.repository.posting;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import keeper.project.homepage.entity.member.MemberEntity;
 import keeper.project.homepage.entity.posting.CommentEntity;
 import keeper.project.homepage.entity.posting.PostingEntity;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -14,11 +21,45 @@ public interface CommentRepository extends JpaRepository<CommentEntity, Long> {
 
   List<CommentEntity> findAll(Specification<CommentEntity> spec);
 
+  @EntityGraph(attributePaths = {"member", "member.thumbnail", "member.memberType",
+      "member.memberRank"})
   List<CommentEntity> findAll(Specification<CommentEntity> spec, Pageable pageable);
 
+  @EntityGraph(attributePaths = {"member", "member.thumbnail", "member.memberType",
+      "member.memberRank"})
+  List<CommentEntity> findAllByParentIdInOrderByRegisterTimeAscIdAsc(Collection<Long> parentIds);
+
+  @EntityGraph(attributePaths = {"member", "member.thumbnail", "member.memberType",
+      "member.memberRank"})
+  @Query("select c from CommentEntity c where c.postingId = :posting and c.parentId = :parentId "
+      + "order by c.registerTime asc, c.id asc")
+  Slice<CommentEntity> findSliceByPostingIdAndParentId(@Param("posting") PostingEntity posting,
+      @Param("parentId") Long parentId, Pageable pageable);
+
+  @EntityGraph(attributePaths = {"member", "member.thumbnail", "member.memberType",
+      "member.memberRank"})
+  @Query("select c from CommentEntity c where c.postingId = :posting and c.parentId = :parentId "
+      + "and (c.registerTime > :registerTime "
+      + "or (c.registerTime = :registerTime and c.id > :commentId)) "
+      + "order by c.registerTime asc, c.id asc")
+  Slice<CommentEntity> findSliceByPostingIdAndParentIdAndCursor(
+      @Param("posting") PostingEntity posting, @Param("parentId") Long parentId,
+      @Param("registerTime") LocalDateTime registerTime, @Param("commentId") Long commentId,
+      Pageable pageable);
+
   List<CommentEntity> findAllByMember(MemberEntity memberEntity);
 
   List<CommentEntity> findAllByPostingId(PostingEntity postingEntity);
 
   Long countByMember(MemberEntity memberEntity);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update CommentEntity c set c.likeCount = c.likeCount + :delta "
+      + "where c.id = :id and c.likeCount + :delta between 0 and " + Integer.MAX_VALUE)
+  int addLikeCount(@Param("id") Long id, @Param("delta") int delta);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update CommentEntity c set c.dislikeCount = c.dislikeCount + :delta "
+      + "where c.id = :id and c.dislikeCount + :delta between 0 and " + Integer.MAX_VALUE)
+  int addDislikeCount(@Param("id") Long id, @Param("delta") int delta);
 }
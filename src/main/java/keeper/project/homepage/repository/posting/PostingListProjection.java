@@ -0,0 +1,46 @@
+package keeper.project.homepage.repository.posting;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 목록 조회용 projection. 본문과 작성자 엔티티를 읽지 않고 목록에 필요한 값만 가져온다.
+ * 카테고리 이름은 {@code CategoryCache} 에서 채운다.
+ */
+public interface PostingListProjection {
+
+  Long getId();
+
+  String getTitle();
+
+  Long getWriterId();
+
+  String getWriter();
+
+  Long getWriterThumbnailId();
+
+  Integer getVisitCount();
+
+  Integer getLikeCount();
+
+  Integer getDislikeCount();
+
+  Integer getCommentCount();
+
+  LocalDateTime getRegisterTime();
+
+  LocalDateTime getUpdateTime();
+
+  String getIpAddress();
+
+  Integer getAllowComment();
+
+  Integer getIsNotice();
+
+  Integer getIsSecret();
+
+  Integer getIsTemp();
+
+  Long getCategoryId();
+
+  Long getThumbnailId();
+}
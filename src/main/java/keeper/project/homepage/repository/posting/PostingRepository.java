@@ -1,27 +1,92 @@
 package keeper.project.homepage.repository.posting;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import keeper.project.homepage.entity.member.MemberEntity;
-import keeper.project.homepage.entity.member.MemberHasPostingDislikeEntity;
-import keeper.project.homepage.entity.member.MemberHasPostingLikeEntity;
 import keeper.project.homepage.entity.posting.CategoryEntity;
 import keeper.project.homepage.entity.posting.PostingEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface PostingRepository extends JpaRepository<PostingEntity, Long> {
 
-  Page<PostingEntity> findAllByIsTemp(Integer isTemp, Pageable pageable);
+  String SELECT_POSTING_LIST = "select p.id as id, p.title as title, m.id as writerId, "
+      + "m.nickName as writer, mt.id as writerThumbnailId, p.visitCount as visitCount, "
+      + "p.likeCount as likeCount, p.dislikeCount as dislikeCount, "
+      + "p.commentCount as commentCount, p.registerTime as registerTime, "
+      + "p.updateTime as updateTime, p.ipAddress as ipAddress, "
+      + "p.allowComment as allowComment, p.isNotice as isNotice, p.isSecret as isSecret, "
+      + "p.isTemp as isTemp, p.categoryId.id as categoryId, t.id as thumbnailId "
+      + "from PostingEntity p join p.memberId m left join m.thumbnail mt "
+      + "left join p.thumbnail t ";
 
-  List<PostingEntity> findAllByIsNoticeAndIsTemp(Integer isNotice, Integer isTemp);
+  String SEEK_POSTING_LIST = "and (p.registerTime < :registerTime "
+      + "or (p.registerTime = :registerTime and p.id < :postingId)) ";
 
-  Page<PostingEntity> findAllByCategoryIdAndIsTempAndIsNotice(CategoryEntity category,
-      Integer isTemp, Integer isNotice, Pageable pageable);
+  String ORDER_BY_LATEST = "order by p.registerTime desc, p.id desc";
+
+  @Query(value = SELECT_POSTING_LIST + "where p.isTemp = :isTemp",
+      countQuery = "select count(p) from PostingEntity p where p.isTemp = :isTemp")
+  Page<PostingListProjection> findPostingListByIsTemp(@Param("isTemp") Integer isTemp,
+      Pageable pageable);
+
+  @Query(SELECT_POSTING_LIST + "where p.isTemp = :isTemp " + ORDER_BY_LATEST)
+  Slice<PostingListProjection> findPostingSliceByIsTemp(@Param("isTemp") Integer isTemp,
+      Pageable pageable);
+
+  @Query(SELECT_POSTING_LIST + "where p.isTemp = :isTemp " + SEEK_POSTING_LIST
+      + ORDER_BY_LATEST)
+  Slice<PostingListProjection> findPostingSliceByIsTempAndCursor(@Param("isTemp") Integer isTemp,
+      @Param("registerTime") LocalDateTime registerTime, @Param("postingId") Long postingId,
+      Pageable pageable);
+
+  @Query(SELECT_POSTING_LIST + "where p.isNotice = :isNotice and p.isTemp = :isTemp")
+  List<PostingListProjection> findPostingListByIsNoticeAndIsTemp(
+      @Param("isNotice") Integer isNotice, @Param("isTemp") Integer isTemp);
 
-  List<PostingEntity> findAllByCategoryIdAndIsTempAndIsNotice(CategoryEntity category,
-      Integer isTemp, Integer isNotice);
+  @Query(value = SELECT_POSTING_LIST
+      + "where p.categoryId.id = :categoryId and p.isTemp = :isTemp and p.isNotice = :isNotice",
+      countQuery = "select count(p) from PostingEntity p where p.categoryId.id = :categoryId "
+          + "and p.isTemp = :isTemp and p.isNotice = :isNotice")
+  Page<PostingListProjection> findPostingListByCategoryIdAndIsTempAndIsNotice(
+      @Param("categoryId") Long categoryId, @Param("isTemp") Integer isTemp,
+      @Param("isNotice") Integer isNotice, Pageable pageable);
+
+  @Query(value = SELECT_POSTING_LIST
+      + "where p.categoryId.id in :categoryIds and p.isTemp = :isTemp and p.isNotice = :isNotice",
+      countQuery = "select count(p) from PostingEntity p where p.categoryId.id in :categoryIds "
+          + "and p.isTemp = :isTemp and p.isNotice = :isNotice")
+  Page<PostingListProjection> findPostingListByCategoryIdInAndIsTempAndIsNotice(
+      @Param("categoryIds") Collection<Long> categoryIds, @Param("isTemp") Integer isTemp,
+      @Param("isNotice") Integer isNotice, Pageable pageable);
+
+  @Query(SELECT_POSTING_LIST
+      + "where p.categoryId.id = :categoryId and p.isTemp = :isTemp and p.isNotice = :isNotice")
+  List<PostingListProjection> findPostingListByCategoryIdAndIsTempAndIsNotice(
+      @Param("categoryId") Long categoryId, @Param("isTemp") Integer isTemp,
+      @Param("isNotice") Integer isNotice);
+
+  @Query(SELECT_POSTING_LIST
+      + "where p.categoryId.id = :categoryId and p.isTemp = :isTemp and p.isNotice = :isNotice "
+      + ORDER_BY_LATEST)
+  Slice<PostingListProjection> findPostingSliceByCategoryIdAndIsTempAndIsNotice(
+      @Param("categoryId") Long categoryId, @Param("isTemp") Integer isTemp,
+      @Param("isNotice") Integer isNotice, Pageable pageable);
+
+  @Query(SELECT_POSTING_LIST
+      + "where p.categoryId.id = :categoryId and p.isTemp = :isTemp and p.isNotice = :isNotice "
+      + SEEK_POSTING_LIST + ORDER_BY_LATEST)
+  Slice<PostingListProjection> findPostingSliceByCategoryIdAndIsTempAndIsNoticeAndCursor(
+      @Param("categoryId") Long categoryId, @Param("isTemp") Integer isTemp,
+      @Param("isNotice") Integer isNotice, @Param("registerTime") LocalDateTime registerTime,
+      @Param("postingId") Long postingId, Pageable pageable);
 
   Page<PostingEntity> findAllByCategoryIdAndTitleContainingAndIsTempAndIsNotice(
       CategoryEntity category,
@@ -46,9 +111,19 @@ public interface PostingRepository extends JpaRepository<PostingEntity, Long> {
   List<PostingEntity> findAllByIsTempAndIsSecretAndIsNoticeAndRegisterTimeBetween(Integer isTemp,
       Integer isSecret, Integer isNotice, LocalDateTime registerTime, LocalDateTime registerTime2);
 
-  boolean existsByMemberHasPostingLikeEntitiesContaining(
-      MemberHasPostingLikeEntity memberHasPostingLikeEntity);
+  @Transactional
+  @Modifying
+  @Query("update PostingEntity p set p.visitCount = p.visitCount + :count where p.id in :postingIds")
+  int increaseVisitCountByIdIn(@Param("postingIds") List<Long> postingIds,
+      @Param("count") Integer count);
+
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update PostingEntity p set p.likeCount = p.likeCount + :delta "
+      + "where p.id = :id and p.likeCount + :delta between 0 and " + Integer.MAX_VALUE)
+  int addLikeCount(@Param("id") Long id, @Param("delta") int delta);
 
-  boolean existsByMemberHasPostingDislikeEntitiesContaining(
-      MemberHasPostingDislikeEntity memberHasPostingDislikeEntity);
+  @Modifying(flushAutomatically = true, clearAutomatically = true)
+  @Query("update PostingEntity p set p.dislikeCount = p.dislikeCount + :delta "
+      + "where p.id = :id and p.dislikeCount + :delta between 0 and " + Integer.MAX_VALUE)
+  int addDislikeCount(@Param("id") Long id, @Param("delta") int delta);
 }
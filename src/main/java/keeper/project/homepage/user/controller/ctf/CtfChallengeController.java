@@ -40,6 +40,7 @@ public class CtfChallengeController {
       @PathVariable("pid") Long probId,
       @RequestBody CtfFlagDto submitFlag
   ) {
+    ctfChallengeService.acquireSubmit(probId);
     ctfChallengeService.setLog(probId, submitFlag);
     return responseService.getSuccessSingleResult(
         ctfChallengeService.checkFlag(probId, submitFlag));
@@ -1,20 +1,21 @@
 package keeper.project.homepage.user.controller.ctf;
 
 import keeper.project.homepage.common.dto.result.PageResult;
+import keeper.project.homepage.common.dto.result.SingleResult;
 import keeper.project.homepage.common.service.ResponseService;
 import keeper.project.homepage.user.dto.ctf.CtfRankingDto;
-import keeper.project.homepage.user.dto.ctf.CtfTeamDto;
 import keeper.project.homepage.user.service.ctf.CtfRankingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Log4j2
 @RestController
@@ -29,7 +30,17 @@ public class CtfRankingController {
   @GetMapping("")
   public PageResult<CtfRankingDto> getRankingList(
       @RequestParam Long ctfId,
-      @PageableDefault(sort = "score", direction = Direction.DESC) Pageable pageable) {
+      @PageableDefault Pageable pageable) {
     return responseService.getSuccessPageResult(ctfRankingService.getRankingList(ctfId, pageable));
   }
+
+  @GetMapping("/my")
+  public SingleResult<CtfRankingDto> getMyRanking(@RequestParam Long ctfId) {
+    return responseService.getSuccessSingleResult(ctfRankingService.getMyRanking(ctfId));
+  }
+
+  @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter subscribeEvents(@RequestParam Long ctfId) {
+    return ctfRankingService.subscribeEvents(ctfId);
+  }
 }
@@ -6,11 +6,13 @@ import java.util.List;
 import javax.servlet.http.HttpServletRequest;
 import keeper.project.homepage.user.dto.posting.CommentDto;
 import keeper.project.homepage.common.dto.result.CommonResult;
+import keeper.project.homepage.common.dto.result.CursorResult;
 import keeper.project.homepage.common.dto.result.ListResult;
 import keeper.project.homepage.common.dto.result.SingleResult;
 import keeper.project.homepage.user.service.posting.CommentService;
 import keeper.project.homepage.common.service.ResponseService;
 import keeper.project.homepage.common.service.util.AuthService;
+import keeper.project.homepage.util.dto.CursorPage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.springframework.data.domain.Pageable;
@@ -66,6 +68,19 @@ public class CommentController {
     return ResponseEntity.ok().body(responseService.getSuccessListResult(dtoPage));
   }
 
+  @GetMapping(value = "/{postId}", params = "cursor")
+  public ResponseEntity<CursorResult<CommentDto>> showCommentByPostIdAndCursor(
+      @PathVariable("postId") Long postId,
+      @RequestParam("cursor") String cursor,
+      @RequestParam(value = "size", defaultValue = "10") int size) {
+
+    Long memberId = authService.getMemberIdByJWT();
+    CursorPage<CommentDto> comments = commentService.findAllByPostAndCursor(memberId, postId,
+        cursor, size);
+    return ResponseEntity.ok().body(
+        responseService.getSuccessCursorResult(comments.getContent(), comments.getNextCursor()));
+  }
+
   @DeleteMapping("/{commentId}")
   public ResponseEntity<CommonResult> deleteComment(@PathVariable("commentId") Long commentId) {
     Long memberId = authService.getMemberIdByJWT();
@@ -2,18 +2,16 @@ package keeper.project.homepage.user.controller.posting;
 
 import static keeper.project.homepage.util.ClientUtil.getUserIP;
 
-import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.Locale;
 import javax.servlet.http.HttpServletRequest;
 import keeper.project.homepage.user.dto.posting.LikeAndDislikeDto;
+import keeper.project.homepage.user.dto.posting.PostingAttachmentDto;
 import keeper.project.homepage.user.dto.posting.PostingBestDto;
 import keeper.project.homepage.user.dto.posting.PostingDto;
 import keeper.project.homepage.common.dto.result.CommonResult;
+import keeper.project.homepage.common.dto.result.CursorResult;
 import keeper.project.homepage.common.dto.result.ListResult;
 import keeper.project.homepage.common.dto.result.SingleResult;
 import keeper.project.homepage.entity.FileEntity;
@@ -21,6 +19,7 @@ import keeper.project.homepage.entity.ThumbnailEntity;
 import keeper.project.homepage.entity.posting.PostingEntity;
 import keeper.project.homepage.exception.file.CustomThumbnailEntityNotFoundException;
 import keeper.project.homepage.user.dto.posting.PostingResponseDto;
+import keeper.project.homepage.util.FileResponseUtil;
 import keeper.project.homepage.util.image.preprocessing.ImageSize;
 import keeper.project.homepage.util.service.FileService;
 import keeper.project.homepage.common.service.ResponseService;
@@ -29,17 +28,16 @@ import keeper.project.homepage.util.image.preprocessing.ImageCenterCropping;
 import keeper.project.homepage.util.service.ThumbnailService.ThumbType;
 import keeper.project.homepage.user.service.posting.CommentService;
 import keeper.project.homepage.user.service.posting.PostingService;
+import keeper.project.homepage.util.dto.CursorPage;
 import keeper.project.homepage.common.service.util.AuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.SortDefault;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
@@ -51,6 +49,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriUtils;
 
@@ -85,6 +84,38 @@ public class PostingController {
         pageable));
   }
 
+  @GetMapping(value = "/lists/tree")
+  public ListResult<PostingResponseDto> findAllPostingByCategoryTree(
+      @RequestParam("category") Long categoryId,
+      @PageableDefault(size = 10, sort = "registerTime", direction = Direction.DESC)
+          Pageable pageable) {
+
+    return responseService.getSuccessListResult(postingService.findAllByCategoryTree(categoryId,
+        pageable));
+  }
+
+  @GetMapping(value = "/latest", params = "cursor")
+  public CursorResult<PostingResponseDto> findAllPostingByCursor(
+      @RequestParam("cursor") String cursor,
+      @RequestParam(value = "size", defaultValue = "10") int size) {
+
+    CursorPage<PostingResponseDto> postings = postingService.findAllByCursor(cursor, size);
+    return responseService.getSuccessCursorResult(postings.getContent(),
+        postings.getNextCursor());
+  }
+
+  @GetMapping(value = "/lists", params = "cursor")
+  public CursorResult<PostingResponseDto> findAllPostingByCategoryIdAndCursor(
+      @RequestParam("category") Long categoryId,
+      @RequestParam("cursor") String cursor,
+      @RequestParam(value = "size", defaultValue = "10") int size) {
+
+    CursorPage<PostingResponseDto> postings = postingService.findAllByCategoryIdAndCursor(
+        categoryId, cursor, size);
+    return responseService.getSuccessCursorResult(postings.getContent(),
+        postings.getNextCursor());
+  }
+
   @GetMapping(value = "/notice")
   public ListResult<PostingResponseDto> findAllNoticePostingByCategoryId(
       @SortDefault(sort = "registerTime", direction = Direction.DESC)
@@ -141,20 +172,27 @@ public class PostingController {
         fileService.findAllByPostingId(postingService.getPostingById(postingId)));
   }
 
+  // 목록 화면처럼 여러 글의 첨부파일이 필요할 때 한 번에 조회
+  @GetMapping(value = "/attach")
+  public ListResult<PostingAttachmentDto> getAttachLists(
+      @RequestParam("pids") List<Long> postingIds) {
+
+    return responseService.getSuccessListResult(
+        fileService.findAttachmentsByPostingIds(postingIds));
+  }
+
   // 다운로드는 ResponseEntity를 사용하는것이 더 용이하여 그대로 두었습니다.
   @GetMapping(value = "/download/{fileId}")
-  public ResponseEntity<Resource> downloadFile(@PathVariable("fileId") Long fileId)
-      throws IOException {
+  public ResponseEntity<Resource> downloadFile(@PathVariable("fileId") Long fileId,
+      WebRequest webRequest) {
     FileEntity fileEntity = fileService.find(fileId);
-    Path path = Paths.get(fileEntity.getFilePath());
-    Resource resource = new InputStreamResource(Files.newInputStream(path));
     String encodedFileName = UriUtils.encode(fileEntity.getFileName(), StandardCharsets.UTF_8);
 
-    return ResponseEntity.status(HttpStatus.OK)
-        .contentType(MediaType.parseMediaType("application/octet-stream"))
-        .header(HttpHeaders.CONTENT_DISPOSITION,
-            "attachment; filename=\"" + encodedFileName + "\"")
-        .body(resource);
+    // 첨부파일은 권한이 바뀔 수 있으므로 매번 재검증하되, 바뀌지 않았으면 304 로 응답한다
+    return FileResponseUtil.getFileResponse(webRequest, fileService.getETag(fileEntity, null),
+        fileEntity.getUploadTime(), CacheControl.noCache().cachePrivate(),
+        MediaType.APPLICATION_OCTET_STREAM, "attachment; filename=\"" + encodedFileName + "\"",
+        () -> fileService.getFileInServer(fileEntity));
   }
 
   @RequestMapping(method = {RequestMethod.PUT,
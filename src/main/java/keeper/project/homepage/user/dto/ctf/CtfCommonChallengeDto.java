@@ -37,6 +37,17 @@ public class CtfCommonChallengeDto {
   @JsonProperty(access = Access.READ_ONLY)
   protected Boolean isSolved;
 
+  // 문제 목록 조회 쿼리에서 바로 만든다
+  public CtfCommonChallengeDto(Long challengeId, String title, Long score, Long contestId,
+      Long categoryId, String categoryName, Boolean isSolved) {
+    this.challengeId = challengeId;
+    this.title = title;
+    this.score = score;
+    this.contestId = contestId;
+    this.category = CtfChallengeCategoryDto.builder().id(categoryId).name(categoryName).build();
+    this.isSolved = isSolved;
+  }
+
   public static CtfCommonChallengeDto toDto(CtfChallengeEntity challenge, Boolean isSolved) {
     CtfChallengeCategoryDto category = CtfChallengeCategoryDto.toDto(
         challenge.getCtfChallengeCategoryEntity());
@@ -0,0 +1,28 @@
+package keeper.project.homepage.user.dto.ctf;
+
+import keeper.project.homepage.entity.ctf.CtfChallengeEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CtfScoreChangeEventDto {
+
+  Long challengeId;
+  String challengeName;
+  Long previousScore;
+  Long score;
+
+  public static CtfScoreChangeEventDto toDto(CtfChallengeEntity challenge, Long previousScore) {
+    return CtfScoreChangeEventDto.builder()
+        .challengeId(challenge.getId())
+        .challengeName(challenge.getName())
+        .previousScore(previousScore)
+        .score(challenge.getScore())
+        .build();
+  }
+}
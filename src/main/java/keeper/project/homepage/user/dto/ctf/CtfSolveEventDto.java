@@ -0,0 +1,37 @@
+package keeper.project.homepage.user.dto.ctf;
+
+import java.time.LocalDateTime;
+import keeper.project.homepage.entity.ctf.CtfChallengeEntity;
+import keeper.project.homepage.entity.ctf.CtfTeamEntity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CtfSolveEventDto {
+
+  Long teamId;
+  String teamName;
+  Long teamScore;
+  Long challengeId;
+  String challengeName;
+  Long challengeScore;
+  LocalDateTime solveTime;
+
+  public static CtfSolveEventDto toDto(CtfTeamEntity team, CtfChallengeEntity challenge,
+      LocalDateTime solveTime) {
+    return CtfSolveEventDto.builder()
+        .teamId(team.getId())
+        .teamName(team.getName())
+        .teamScore(team.getScore())
+        .challengeId(challenge.getId())
+        .challengeName(challenge.getName())
+        .challengeScore(challenge.getScore())
+        .solveTime(solveTime)
+        .build();
+  }
+}
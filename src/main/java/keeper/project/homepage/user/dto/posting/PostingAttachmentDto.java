@@ -0,0 +1,22 @@
+package keeper.project.homepage.user.dto.posting;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostingAttachmentDto {
+
+  private Long postingId;
+  private Long id;
+  private String fileName;
+  private String filePath;
+  private Long fileSize;
+  private LocalDateTime uploadTime;
+  private String ipAddress;
+}
@@ -7,6 +7,7 @@ import java.util.List;
 import keeper.project.homepage.entity.FileEntity;
 import keeper.project.homepage.entity.ThumbnailEntity;
 import keeper.project.homepage.entity.posting.PostingEntity;
+import keeper.project.homepage.repository.posting.PostingListProjection;
 import keeper.project.homepage.util.EnvironmentProperty;
 import keeper.project.homepage.util.service.ThumbnailService.DefaultThumbnailInfo;
 import keeper.project.homepage.util.service.ThumbnailService.ThumbType;
@@ -48,6 +49,11 @@ public class PostingResponseDto {
   private List<FileEntity> files;
 
   public PostingResponseDto(PostingEntity postingEntity, Integer size, boolean isOne) {
+    this(postingEntity, postingEntity.getCategoryId().getName(), size, isOne);
+  }
+
+  public PostingResponseDto(PostingEntity postingEntity, String category, Integer size,
+      boolean isOne) {
 
     ThumbnailEntity postingThumbnail = postingEntity.getThumbnail();
     this.id = postingEntity.getId();
@@ -67,7 +73,7 @@ public class PostingResponseDto {
     this.isNotice = postingEntity.getIsNotice();
     this.isSecret = postingEntity.getIsSecret();
     this.isTemp = postingEntity.getIsTemp();
-    this.category = postingEntity.getCategoryId().getName();
+    this.category = category;
     this.categoryId = postingEntity.getCategoryId().getId();
     this.files = isOne ? postingEntity.getFiles() : null;
     this.thumbnailPath = null;
@@ -79,7 +85,45 @@ public class PostingResponseDto {
         : EnvironmentProperty.getThumbnailPath(postingThumbnail.getId());
 
     // 익명게시판 처리
-    if (postingEntity.getCategoryId().getName().equals("익명게시판")) {
+    if ("익명게시판".equals(category)) {
+      this.writer = "익명";
+      this.writerId = -1L;
+      this.writerThumbnailPath = null;
+    }
+  }
+
+  public PostingResponseDto(PostingListProjection posting, String category, Integer size) {
+
+    this.id = posting.getId();
+    this.title = posting.getTitle();
+    this.content = "";
+    this.writer = posting.getWriter();
+    this.writerId = posting.getWriterId();
+    this.size = size;
+    this.visitCount = posting.getVisitCount();
+    this.likeCount = posting.getLikeCount();
+    this.dislikeCount = posting.getDislikeCount();
+    this.commentCount = posting.getCommentCount();
+    this.registerTime = posting.getRegisterTime();
+    this.updateTime = posting.getUpdateTime();
+    this.ipAddress = posting.getIpAddress();
+    this.allowComment = posting.getAllowComment();
+    this.isNotice = posting.getIsNotice();
+    this.isSecret = posting.getIsSecret();
+    this.isTemp = posting.getIsTemp();
+    this.category = category;
+    this.categoryId = posting.getCategoryId();
+
+    // 썸네일 경로 처리
+    this.writerThumbnailPath = EnvironmentProperty.getThumbnailPath(
+        posting.getWriterThumbnailId() == null ?
+            ThumbType.MemberThumbnail.getDefaultThumbnailId() : posting.getWriterThumbnailId());
+    this.thumbnailPath = EnvironmentProperty.getThumbnailPath(
+        posting.getThumbnailId() == null ?
+            ThumbType.PostThumbnail.getDefaultThumbnailId() : posting.getThumbnailId());
+
+    // 익명게시판 처리
+    if ("익명게시판".equals(category)) {
       this.writer = "익명";
       this.writerId = -1L;
       this.writerThumbnailPath = null;
@@ -6,20 +6,16 @@ import java.time.LocalDateTime;
 import java.util.List;
 import keeper.project.homepage.common.service.util.AuthService;
 import keeper.project.homepage.entity.ctf.CtfChallengeEntity;
-import keeper.project.homepage.entity.ctf.CtfContestEntity;
 import keeper.project.homepage.entity.ctf.CtfFlagEntity;
 import keeper.project.homepage.entity.ctf.CtfSubmitLogEntity;
 import keeper.project.homepage.entity.ctf.CtfTeamEntity;
 import keeper.project.homepage.entity.member.MemberEntity;
-import keeper.project.homepage.exception.ctf.CustomContestNotFoundException;
 import keeper.project.homepage.exception.ctf.CustomCtfChallengeNotFoundException;
 import keeper.project.homepage.exception.member.CustomMemberNotFoundException;
 import keeper.project.homepage.repository.ctf.CtfChallengeRepository;
-import keeper.project.homepage.repository.ctf.CtfContestRepository;
 import keeper.project.homepage.repository.ctf.CtfFlagRepository;
 import keeper.project.homepage.repository.ctf.CtfSubmitLogRepository;
 import keeper.project.homepage.repository.ctf.CtfTeamHasMemberRepository;
-import keeper.project.homepage.repository.ctf.CtfTeamRepository;
 import keeper.project.homepage.user.dto.ctf.CtfChallengeDto;
 import keeper.project.homepage.user.dto.ctf.CtfCommonChallengeDto;
 import keeper.project.homepage.user.dto.ctf.CtfFlagDto;
@@ -37,29 +33,27 @@ public class CtfChallengeService {
 
   private final CtfChallengeRepository challengeRepository;
   private final CtfTeamHasMemberRepository teamHasMemberRepository;
-  private final CtfTeamRepository teamRepository;
   private final CtfFlagRepository flagRepository;
-  private final CtfContestRepository contestRepository;
   private final CtfSubmitLogRepository submitLogRepository;
   private final CtfUtilService ctfUtilService;
   private final AuthService authService;
+  private final CtfScoreboard ctfScoreboard;
+  private final CtfEventBroadcaster ctfEventBroadcaster;
+  private final CtfSubmitRateLimiter ctfSubmitRateLimiter;
 
   public List<CtfCommonChallengeDto> getProblemList(Long ctfId) {
 
     ctfUtilService.checkVirtualContest(ctfId);
     ctfUtilService.checkJoinable(ctfId);
 
-    CtfTeamEntity myTeam = ctfUtilService.getTeamHasMemberEntity(ctfId,
-        authService.getMemberIdByJWT()).getTeam();
-    CtfContestEntity contestEntity = contestRepository.findById(ctfId)
-        .orElseThrow(CustomContestNotFoundException::new);
-    List<CtfChallengeEntity> challengeEntities = challengeRepository.findAllByIdIsNotAndCtfContestEntityAndIsSolvable(
-        VIRTUAL_PROBLEM_ID, contestEntity, true);
-    return challengeEntities.stream().map(challenge -> {
-      Boolean isSolved = flagRepository.findByCtfChallengeEntityIdAndCtfTeamEntityId(
-          challenge.getId(), myTeam.getId()).get().getIsCorrect();
-      return CtfCommonChallengeDto.toDto(challenge, isSolved);
-    }).toList();
+    Long myTeamId = ctfUtilService.getTeamId(ctfId, authService.getMemberIdByJWT());
+    return challengeRepository.findAllSolvableByContestIdWithTeamSolved(ctfId, myTeamId,
+        VIRTUAL_PROBLEM_ID);
+  }
+
+  // 제출 로그와 채점보다 먼저 부른다. 너무 자주 제출하면 DB 를 읽지 않고 거절한다
+  public void acquireSubmit(Long probId) {
+    ctfSubmitRateLimiter.acquire(probId, authService.getMemberIdByJWT());
   }
 
   @Transactional
@@ -96,11 +90,22 @@ public class CtfChallengeService {
     if (isFlagCorrect(submitFlag, flagEntity)) {
       submitFlag.setIsCorrect(true);
 
+      // 같은 문제를 동시에 맞추면 먼저 맞춘 쪽의 동적 점수 조정이 커밋된 뒤의 점수를 더하도록, 점수를 더하기
+      // 전에 문제와 플래그를 잠그고 다시 읽는다
+      submitChallenge = ctfUtilService.lockChallenge(submitChallenge);
+      ctfUtilService.lockFlag(flagEntity);
+      // 같은 팀의 다른 회원이 먼저 맞춤
+      if (flagEntity.getIsCorrect()) {
+        return submitFlag;
+      }
+
       flagEntity.setIsCorrect(true);
       flagRepository.save(flagEntity);
 
-      submitTeam.setScore(submitTeam.getScore() + submitChallenge.getScore());
-      teamRepository.save(submitTeam);
+      ctfUtilService.addTeamScore(List.of(submitTeam.getId()), submitChallenge.getScore());
+      LocalDateTime solveTime = LocalDateTime.now();
+      ctfScoreboard.recordSolve(submitTeam.getId(), solveTime);
+      ctfEventBroadcaster.publishSolve(submitTeam, submitChallenge, solveTime);
 
       if (ctfUtilService.isTypeDynamic(submitChallenge)) {
         ctfUtilService.setDynamicScore(submitChallenge);
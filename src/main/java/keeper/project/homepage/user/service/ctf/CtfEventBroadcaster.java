@@ -0,0 +1,401 @@
+package keeper.project.homepage.user.service.ctf;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import keeper.project.homepage.entity.ctf.CtfChallengeEntity;
+import keeper.project.homepage.entity.ctf.CtfTeamEntity;
+import keeper.project.homepage.user.dto.ctf.CtfRankingDto;
+import keeper.project.homepage.user.dto.ctf.CtfScoreChangeEventDto;
+import keeper.project.homepage.user.dto.ctf.CtfSolveEventDto;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * CTF 대회별로 문제 풀이, 동적 점수 변경, 순위표를 SSE 로 보낸다. 이벤트는 한 번만 직렬화해서 구독자마다 크기가
+ * 정해진 버퍼에 넣고, 버퍼는 공용 스레드 풀에서 비운다. 버퍼가 가득 찰 만큼 느린 구독자는 연결을 끊는다.
+ * <p>
+ * 순위표는 바뀔 때마다 보내지 않고 {@code keeper.ctf.sse.snapshot-interval-ms} 마다 상위 팀을 모아서, 이전에
+ * 보낸 것과 다를 때만 보낸다. 트랜잭션 안에서 발행한 이벤트는 커밋된 뒤에 보낸다.
+ * <p>
+ * 보내기는 소켓에 쓸 때까지 막히므로, 한 번 보내는 데 {@code keeper.ctf.sse.write-timeout-ms} 넘게 걸리는
+ * 구독자도 끊는다. 그 스레드는 컨테이너의 쓰기 타임아웃까지 풀려나지 않으므로 그동안 풀에 스레드를 하나 더
+ * 두어 다른 구독자가 밀리지 않게 한다. 순위표, heartbeat, 멈춘 구독자 확인은 다른 {@code @Scheduled} 작업에
+ * 밀리지 않도록 따로 둔 스케줄러에서 돌린다.
+ */
+@Log4j2
+@Component
+public class CtfEventBroadcaster {
+
+  public static final String SOLVE_EVENT = "solve";
+  public static final String SCORE_EVENT = "score";
+  public static final String SCOREBOARD_EVENT = "scoreboard";
+
+  private final CtfScoreboard ctfScoreboard;
+  private final ObjectMapper objectMapper;
+  private final long timeoutMs;
+  private final int bufferSize;
+  private final int snapshotSize;
+  private final int poolSize;
+  private final long snapshotIntervalMs;
+  private final long heartbeatMs;
+  private final long writeTimeoutNanos;
+  private final ThreadPoolExecutor executor;
+  private final ScheduledExecutorService scheduler;
+  // 보내다 멈춰서 끊었지만 아직 스레드를 잡고 있는 구독자 수
+  private int stalledSends;
+  private final Counter droppedSubscribers;
+
+  // contest id -> 구독자
+  private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+  // contest id -> 마지막으로 보낸 순위표
+  private final Map<Long, String> lastSnapshots = new ConcurrentHashMap<>();
+  // 지금 보내는 중인 구독자
+  private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+
+  public CtfEventBroadcaster(CtfScoreboard ctfScoreboard, ObjectMapper objectMapper,
+      MeterRegistry meterRegistry,
+      @Value("${keeper.ctf.sse.timeout-ms:1800000}") long timeoutMs,
+      @Value("${keeper.ctf.sse.buffer-size:32}") int bufferSize,
+      @Value("${keeper.ctf.sse.snapshot-size:20}") int snapshotSize,
+      @Value("${keeper.ctf.sse.pool-size:4}") int poolSize,
+      @Value("${keeper.ctf.sse.snapshot-interval-ms:1000}") long snapshotIntervalMs,
+      @Value("${keeper.ctf.sse.heartbeat-ms:15000}") long heartbeatMs,
+      @Value("${keeper.ctf.sse.write-timeout-ms:5000}") long writeTimeoutMs) {
+    this.ctfScoreboard = ctfScoreboard;
+    this.objectMapper = objectMapper;
+    this.timeoutMs = timeoutMs;
+    this.bufferSize = bufferSize;
+    this.snapshotSize = snapshotSize;
+    this.poolSize = poolSize;
+    this.snapshotIntervalMs = snapshotIntervalMs;
+    this.heartbeatMs = heartbeatMs;
+    this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+    // 구독자마다 비우는 작업은 하나만 들어가므로 큐 길이는 구독자 수를 넘지 않는다
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), new CustomizableThreadFactory("ctf-sse-"));
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(
+        new CustomizableThreadFactory("ctf-sse-scheduler-"));
+    this.droppedSubscribers = Counter.builder("keeper.ctf.sse.dropped")
+        .description("버퍼가 가득 차서 끊은 SSE 구독자 수")
+        .register(meterRegistry);
+    Gauge.builder("keeper.ctf.sse.subscribers", subscribers,
+            s -> s.values().stream().mapToInt(Set::size).sum())
+        .description("CTF 이벤트를 구독 중인 연결 수")
+        .register(meterRegistry);
+  }
+
+  @PostConstruct
+  public void start() {
+    scheduler.scheduleWithFixedDelay(this::broadcastSnapshots, snapshotIntervalMs,
+        snapshotIntervalMs, TimeUnit.MILLISECONDS);
+    scheduler.scheduleWithFixedDelay(this::sendHeartbeat, heartbeatMs, heartbeatMs,
+        TimeUnit.MILLISECONDS);
+    long checkIntervalNanos = Math.max(1, writeTimeoutNanos / 2);
+    scheduler.scheduleWithFixedDelay(this::dropStalledSubscribers, checkIntervalNanos,
+        checkIntervalNanos, TimeUnit.NANOSECONDS);
+  }
+
+  public SseEmitter subscribe(Long ctfId) {
+    return register(ctfId, new SseEmitter(timeoutMs));
+  }
+
+  SseEmitter register(Long ctfId, SseEmitter emitter) {
+    Subscriber subscriber = new Subscriber(ctfId, emitter);
+    emitter.onCompletion(subscriber::close);
+    emitter.onTimeout(subscriber::close);
+    emitter.onError(e -> subscriber.close());
+    subscribers.compute(ctfId, (id, set) -> {
+      Set<Subscriber> added = set == null ? ConcurrentHashMap.newKeySet() : set;
+      added.add(subscriber);
+      return added;
+    });
+
+    // 처음 연결하면 지금 순위표부터 보낸다
+    String snapshot = lastSnapshots.computeIfAbsent(ctfId, this::takeSnapshot);
+    subscriber.offer(new Event(SCOREBOARD_EVENT, snapshot));
+    return emitter;
+  }
+
+  public void publishSolve(CtfTeamEntity team, CtfChallengeEntity challenge,
+      LocalDateTime solveTime) {
+    Long ctfId = challenge.getCtfContestEntity().getId();
+    if (hasSubscribers(ctfId)) {
+      publishAfterCommit(ctfId, new Event(SOLVE_EVENT,
+          toJson(CtfSolveEventDto.toDto(team, challenge, solveTime))));
+    }
+  }
+
+  public void publishScoreChange(CtfChallengeEntity challenge, Long previousScore) {
+    Long ctfId = challenge.getCtfContestEntity().getId();
+    if (hasSubscribers(ctfId) && !Objects.equals(previousScore, challenge.getScore())) {
+      publishAfterCommit(ctfId, new Event(SCORE_EVENT,
+          toJson(CtfScoreChangeEventDto.toDto(challenge, previousScore))));
+    }
+  }
+
+  void broadcastSnapshots() {
+    try {
+      lastSnapshots.keySet().retainAll(subscribers.keySet());
+      for (Long ctfId : subscribers.keySet()) {
+        String snapshot = takeSnapshot(ctfId);
+        if (!snapshot.equals(lastSnapshots.put(ctfId, snapshot))) {
+          broadcast(ctfId, new Event(SCOREBOARD_EVENT, snapshot));
+        }
+      }
+    } catch (RuntimeException e) {
+      // 예외가 나면 다음 주기가 취소되므로 여기서 끝낸다
+      log.error("CTF 순위표를 보내지 못했습니다.", e);
+    }
+  }
+
+  void sendHeartbeat() {
+    // 프록시가 유휴 연결을 끊지 않게 하고, 닫힌 연결을 찾아낸다
+    subscribers.keySet().forEach(ctfId -> broadcast(ctfId, Event.HEARTBEAT));
+  }
+
+  void dropStalledSubscribers() {
+    long now = System.nanoTime();
+    for (Subscriber subscriber : sending) {
+      if (subscriber.isSendStalled(now)) {
+        subscriber.dropStalled();
+      }
+    }
+  }
+
+  int getSubscriberCount(Long ctfId) {
+    return subscribers.getOrDefault(ctfId, Set.of()).size();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+    executor.shutdownNow();
+    subscribers.values().forEach(set -> set.forEach(Subscriber::completeLater));
+    subscribers.clear();
+  }
+
+  private synchronized void resizePool(int delta) {
+    stalledSends += delta;
+    int size = poolSize + stalledSends;
+    // 늘릴 때는 최대 크기부터, 줄일 때는 기본 크기부터 바꿔야 한다
+    if (delta > 0) {
+      executor.setMaximumPoolSize(size);
+      executor.setCorePoolSize(size);
+    } else {
+      executor.setCorePoolSize(size);
+      executor.setMaximumPoolSize(size);
+    }
+  }
+
+  private boolean hasSubscribers(Long ctfId) {
+    return subscribers.containsKey(ctfId);
+  }
+
+  private void publishAfterCommit(Long ctfId, Event event) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      broadcast(ctfId, event);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        broadcast(ctfId, event);
+      }
+    });
+  }
+
+  private void broadcast(Long ctfId, Event event) {
+    subscribers.getOrDefault(ctfId, Set.of()).forEach(subscriber -> subscriber.offer(event));
+  }
+
+  private String takeSnapshot(Long ctfId) {
+    List<CtfRankingDto> ranking = ctfScoreboard
+        .getRankingPage(ctfId, PageRequest.of(0, snapshotSize)).getContent();
+    return toJson(ranking);
+  }
+
+  private String toJson(Object data) {
+    try {
+      return objectMapper.writeValueAsString(data);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static class Event {
+
+    private static final Event HEARTBEAT = new Event(null, null);
+
+    private final String name;
+    private final String data;
+
+    Event(String name, String data) {
+      this.name = name;
+      this.data = data;
+    }
+
+    SseEmitter.SseEventBuilder toSseEvent() {
+      // SseEventBuilder 는 보낼 때 내용이 바뀌므로 구독자마다 새로 만든다
+      if (this == HEARTBEAT) {
+        return SseEmitter.event().comment("");
+      }
+      return SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON);
+    }
+  }
+
+  private class Subscriber {
+
+    private final Long ctfId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Event> buffer;
+    // 비우는 작업이나 연결 종료가 진행 중. 보내기는 이 안에서만 하므로 보내는 중에는 complete 하지 않는다
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private final AtomicBoolean stalled = new AtomicBoolean();
+    // 멈춘 보내기 대신 풀에 더 둔 스레드. 보내기가 끝난 쪽과 끊은 쪽 중 먼저 본 쪽이 돌려준다
+    private final AtomicBoolean extraThread = new AtomicBoolean();
+    private volatile boolean closed;
+    private volatile boolean completeRequested;
+    // 보내기 시작한 시각
+    private volatile long sendStartedAt;
+
+    Subscriber(Long ctfId, SseEmitter emitter) {
+      this.ctfId = ctfId;
+      this.emitter = emitter;
+      this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    void offer(Event event) {
+      if (closed) {
+        return;
+      }
+      if (!buffer.offer(event)) {
+        log.info("CTF 이벤트를 받지 못하는 구독자의 연결을 끊습니다. (대회 {})", ctfId);
+        droppedSubscribers.increment();
+        close();
+        completeLater();
+        return;
+      }
+      scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+      if (!closed && !buffer.isEmpty() && draining.compareAndSet(false, true)) {
+        try {
+          executor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+          draining.set(false);
+        }
+      }
+    }
+
+    private void drain() {
+      try {
+        Event event;
+        while (!closed && (event = buffer.poll()) != null) {
+          send(event);
+        }
+      } catch (IOException | IllegalStateException e) {
+        // 클라이언트가 연결을 끊었다
+        close();
+        return;
+      } finally {
+        draining.set(false);
+      }
+      // 비우는 사이에 끊겼으면 여기서 닫고, 들어온 이벤트가 있으면 다시 맡긴다
+      completeIfIdle();
+      scheduleDrain();
+    }
+
+    private void send(Event event) throws IOException {
+      sendStartedAt = System.nanoTime();
+      sending.add(this);
+      try {
+        emitter.send(event.toSseEvent());
+      } finally {
+        sending.remove(this);
+        // 멈춰서 끊은 뒤에 풀려났으면 더 두었던 스레드를 돌려준다
+        if (extraThread.compareAndSet(true, false)) {
+          resizePool(-1);
+        }
+      }
+    }
+
+    boolean isSendStalled(long now) {
+      return now - sendStartedAt > writeTimeoutNanos;
+    }
+
+    void dropStalled() {
+      if (!stalled.compareAndSet(false, true)) {
+        return;
+      }
+      log.info("CTF 이벤트를 보내다 멈춘 구독자의 연결을 끊습니다. (대회 {})", ctfId);
+      droppedSubscribers.increment();
+      close();
+      completeLater();
+      resizePool(1);
+      extraThread.set(true);
+      // 확인하는 사이에 보내기가 끝났으면 바로 돌려준다
+      if (!sending.contains(this) && extraThread.compareAndSet(true, false)) {
+        resizePool(-1);
+      }
+    }
+
+    void close() {
+      closed = true;
+      buffer.clear();
+      subscribers.computeIfPresent(ctfId, (id, set) -> {
+        set.remove(this);
+        return set.isEmpty() ? null : set;
+      });
+    }
+
+    /**
+     * 연결을 닫는다. 보내는 중이면 emitter 의 잠금을 기다리지 않도록 보내기가 끝난 뒤에 닫는다.
+     */
+    void completeLater() {
+      completeRequested = true;
+      completeIfIdle();
+    }
+
+    private void completeIfIdle() {
+      if (completeRequested && draining.compareAndSet(false, true)) {
+        try {
+          if (completed.compareAndSet(false, true)) {
+            emitter.complete();
+          }
+        } finally {
+          draining.set(false);
+        }
+      }
+    }
+  }
+}
@@ -1,9 +1,7 @@
 package keeper.project.homepage.user.service.ctf;
 
-import static keeper.project.homepage.util.service.CtfUtilService.VIRTUAL_TEAM_ID;
-
-import keeper.project.homepage.entity.ctf.CtfTeamEntity;
-import keeper.project.homepage.repository.ctf.CtfTeamRepository;
+import keeper.project.homepage.common.service.util.AuthService;
+import keeper.project.homepage.exception.ctf.CustomCtfTeamNotFoundException;
 import keeper.project.homepage.user.dto.ctf.CtfRankingDto;
 import keeper.project.homepage.util.service.CtfUtilService;
 import lombok.RequiredArgsConstructor;
@@ -11,31 +9,35 @@ import lombok.extern.log4j.Log4j2;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @Log4j2
 @Service
 @RequiredArgsConstructor
 public class CtfRankingService {
 
-  private final CtfTeamRepository teamRepository;
+  private final CtfScoreboard ctfScoreboard;
+  private final CtfEventBroadcaster ctfEventBroadcaster;
   private final CtfUtilService ctfUtilService;
+  private final AuthService authService;
 
   public Page<CtfRankingDto> getRankingList(Long ctfId, Pageable pageable) {
 
     ctfUtilService.checkVirtualContest(ctfId);
-    Page<CtfTeamEntity> teamEntityPage = teamRepository.findAllByIdIsNotAndCtfContestEntity_Id(
-        VIRTUAL_TEAM_ID, ctfId, pageable);
+    // 순위는 항상 점수, 마지막으로 맞춘 시각 순이므로 pageable 의 정렬은 쓰지 않는다
+    return ctfScoreboard.getRankingPage(ctfId, pageable);
+  }
+
+  public CtfRankingDto getMyRanking(Long ctfId) {
 
-    Long rank = (long) teamEntityPage.getNumber() * teamEntityPage.getSize() + 1;
-    Page<CtfRankingDto> result = getCtfRankingDtoPage(teamEntityPage, rank);
-    return result;
+    ctfUtilService.checkVirtualContest(ctfId);
+    return ctfScoreboard.findRankByMember(ctfId, authService.getMemberIdByJWT())
+        .orElseThrow(() -> new CustomCtfTeamNotFoundException("가입한 팀을 찾을 수 없습니다."));
   }
 
-  private Page<CtfRankingDto> getCtfRankingDtoPage(Page<CtfTeamEntity> teamEntityPage, Long rank) {
-    Page<CtfRankingDto> result = teamEntityPage.map(team -> CtfRankingDto.toDto(team, null));
-    for (var ctfRankingDto : result) {
-      ctfRankingDto.setRank(rank++);
-    }
-    return result;
+  public SseEmitter subscribeEvents(Long ctfId) {
+
+    ctfUtilService.checkVirtualContest(ctfId);
+    return ctfEventBroadcaster.subscribe(ctfId);
   }
 }
@@ -0,0 +1,357 @@
+package keeper.project.homepage.user.service.ctf;
+
+import static keeper.project.homepage.util.service.CtfUtilService.VIRTUAL_TEAM_ID;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import keeper.project.homepage.entity.ctf.CtfTeamEntity;
+import keeper.project.homepage.entity.ctf.CtfTeamHasMemberEntity;
+import keeper.project.homepage.repository.ctf.CtfFirstSolveProjection;
+import keeper.project.homepage.repository.ctf.CtfSubmitLogRepository;
+import keeper.project.homepage.repository.ctf.CtfTeamHasMemberRepository;
+import keeper.project.homepage.repository.ctf.CtfTeamRepository;
+import keeper.project.homepage.user.dto.ctf.CtfRankingDto;
+import keeper.project.homepage.util.OrderStatisticTree;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * CTF 대회별 팀 순위를 메모리에 들고 있는다. 순위는 점수가 높은 순, 같으면 마지막으로 문제를 맞춘 시각이 빠른
+ * 순이며, 순위 구간과 팀의 순위를 O(log n) 에 구하므로 순위 조회에서 DB 를 읽지 않는다.
+ * <p>
+ * 시작할 때 {@code ctf_team} 의 점수와 제출 기록의 맞춘 시각으로 다시 만들고, 그 뒤로는 팀과 팀원이
+ * 저장/수정/삭제될 때 ({@link CtfScoreboardTeamListener}, {@link CtfScoreboardMemberListener}) 와 문제를 맞출
+ * 때 ({@link #recordSolve(Long, LocalDateTime)}) 반영한다. 트랜잭션 안에서 바꾼 내용은 모아 두었다가 커밋된 뒤에
+ * 반영하고, 롤백되면 버린다. 점수는 더할 값으로 반영하므로 다른 트랜잭션이 먼저 커밋한 점수를 덮어쓰지 않는다.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class CtfScoreboard {
+
+  private static final Comparator<Entry> RANKING_ORDER = Comparator
+      .comparing(Entry::getScore, Comparator.reverseOrder())
+      .thenComparing(Entry::getLastSolveTime, Comparator.nullsLast(Comparator.naturalOrder()))
+      .thenComparing(Entry::getTeamId);
+
+  private final CtfTeamRepository teamRepository;
+  private final CtfTeamHasMemberRepository teamHasMemberRepository;
+  private final CtfSubmitLogRepository submitLogRepository;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  // contest id -> 순위
+  private final Map<Long, OrderStatisticTree<Entry>> rankings = new HashMap<>();
+  // team id -> 순위에 들어 있는 항목
+  private final Map<Long, Entry> entries = new HashMap<>();
+  // contest id -> (member id -> team id)
+  private final Map<Long, Map<Long, Long>> teamByMember = new HashMap<>();
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    List<CtfTeamEntity> teams = teamRepository.findAllByIdIsNot(VIRTUAL_TEAM_ID);
+    // contest id -> (team name -> 마지막으로 맞춘 시각)
+    Map<Long, Map<String, LocalDateTime>> lastSolveTimes = new HashMap<>();
+    for (CtfFirstSolveProjection solve : submitLogRepository.findAllFirstSolves()) {
+      lastSolveTimes.computeIfAbsent(solve.getContestId(), id -> new HashMap<>())
+          .merge(solve.getTeamName(), solve.getSolveTime(), CtfScoreboard::later);
+    }
+    List<CtfTeamHasMemberEntity> members = teamHasMemberRepository.findAll();
+
+    lock.writeLock().lock();
+    try {
+      rankings.clear();
+      entries.clear();
+      teamByMember.clear();
+      for (CtfTeamEntity team : teams) {
+        Long contestId = team.getCtfContestEntity().getId();
+        LocalDateTime lastSolveTime = lastSolveTimes.getOrDefault(contestId, Map.of())
+            .get(team.getName());
+        replace(team.getId(), Entry.from(team, lastSolveTime));
+      }
+      for (CtfTeamHasMemberEntity member : members) {
+        Entry entry = entries.get(member.getTeam().getId());
+        if (entry != null) {
+          putMember(entry.getContestId(), member.getMember().getId(), entry.getTeamId());
+        }
+      }
+      log.info("CTF 순위를 다시 만들었습니다. (대회 {}개, 팀 {}개)", rankings.size(), entries.size());
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public Page<CtfRankingDto> getRankingPage(Long ctfId, Pageable pageable) {
+    lock.readLock().lock();
+    try {
+      OrderStatisticTree<Entry> ranking = rankings.get(ctfId);
+      if (ranking == null) {
+        return new PageImpl<>(List.of(), pageable, 0);
+      }
+      int total = ranking.size();
+      int from = pageable.isPaged() ? (int) Math.min(pageable.getOffset(), total) : 0;
+      int to = pageable.isPaged() ? (int) Math.min((long) from + pageable.getPageSize(), total)
+          : total;
+      List<CtfRankingDto> content = new ArrayList<>(to - from);
+      long rank = from + 1;
+      for (Entry entry : ranking.subList(from, to)) {
+        content.add(entry.toDto(rank++));
+      }
+      return new PageImpl<>(content, pageable, total);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public Optional<CtfRankingDto> findRankByTeam(Long teamId) {
+    lock.readLock().lock();
+    try {
+      Entry entry = entries.get(teamId);
+      if (entry == null) {
+        return Optional.empty();
+      }
+      int index = rankings.get(entry.getContestId()).indexOf(entry);
+      return Optional.of(entry.toDto(index + 1L));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public Optional<CtfRankingDto> findRankByMember(Long ctfId, Long memberId) {
+    return findTeamIdByMember(ctfId, memberId).flatMap(this::findRankByTeam);
+  }
+
+  public Optional<Long> findTeamIdByMember(Long ctfId, Long memberId) {
+    lock.readLock().lock();
+    try {
+      return Optional.ofNullable(teamByMember.getOrDefault(ctfId, Map.of()).get(memberId));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * 팀 이름과 설명을 반영한다. 점수는 처음 들어오는 팀만 엔티티의 값을 쓰고, 그 뒤로는
+   * {@link #addScore(Collection, long)} 로 더한 값을 따른다. 마지막으로 맞춘 시각은 그대로 둔다.
+   */
+  public void updateTeam(CtfTeamEntity team) {
+    if (team.getId() == null || VIRTUAL_TEAM_ID.equals(team.getId())
+        || team.getCtfContestEntity() == null) {
+      return;
+    }
+    // 커밋 뒤에는 엔티티가 바뀌어 있을 수 있으므로 지금 읽어 둔다
+    Entry next = Entry.from(team, null);
+    afterCommit(() -> {
+      Entry previous = entries.get(next.getTeamId());
+      Entry updated = previous == null ? next
+          : previous.withInfo(next.getName(), next.getDescription());
+      if (!updated.equals(previous)) {
+        replace(next.getTeamId(), updated);
+      }
+    });
+  }
+
+  public void recordSolve(Long teamId, LocalDateTime solveTime) {
+    afterCommit(() -> {
+      Entry previous = entries.get(teamId);
+      if (previous == null || (previous.getLastSolveTime() != null
+          && !solveTime.isAfter(previous.getLastSolveTime()))) {
+        return;
+      }
+      replace(teamId, previous.withLastSolveTime(solveTime));
+    });
+  }
+
+  /**
+   * 동적 점수가 바뀌어 한 번에 고친 팀 점수를 반영한다. 벌크 UPDATE 는 엔티티 리스너를 거치지 않는다.
+   */
+  public void addScore(Collection<Long> teamIds, long delta) {
+    List<Long> ids = List.copyOf(teamIds);
+    afterCommit(() -> {
+      for (Long teamId : ids) {
+        Entry previous = entries.get(teamId);
+        if (previous != null) {
+          replace(teamId, previous.withScore(previous.getScore() + delta));
+        }
+      }
+    });
+  }
+
+  public void removeTeam(Long teamId) {
+    afterCommit(() -> {
+      Entry previous = entries.get(teamId);
+      if (previous == null) {
+        return;
+      }
+      replace(teamId, null);
+      List<Long> memberIds = teamByMember.getOrDefault(previous.getContestId(), Map.of())
+          .entrySet().stream()
+          .filter(member -> teamId.equals(member.getValue()))
+          .map(Map.Entry::getKey)
+          .toList();
+      memberIds.forEach(memberId -> putMember(previous.getContestId(), memberId, null));
+    });
+  }
+
+  public void addMember(Long teamId, Long memberId) {
+    afterCommit(() -> {
+      Entry entry = entries.get(teamId);
+      if (entry != null) {
+        putMember(entry.getContestId(), memberId, teamId);
+      }
+    });
+  }
+
+  public void removeMember(Long teamId, Long memberId) {
+    afterCommit(() -> {
+      // 팀이 먼저 지워졌을 수 있으므로 대회를 모두 찾아본다
+      List<Long> contestIds = teamByMember.entrySet().stream()
+          .filter(contest -> teamId.equals(contest.getValue().get(memberId)))
+          .map(Map.Entry::getKey)
+          .toList();
+      contestIds.forEach(contestId -> putMember(contestId, memberId, null));
+    });
+  }
+
+  private void replace(Long teamId, Entry next) {
+    Entry previous = next == null ? entries.remove(teamId) : entries.put(teamId, next);
+    if (previous != null) {
+      OrderStatisticTree<Entry> ranking = rankings.get(previous.getContestId());
+      ranking.remove(previous);
+      if (ranking.isEmpty()) {
+        rankings.remove(previous.getContestId());
+      }
+    }
+    if (next != null) {
+      rankings.computeIfAbsent(next.getContestId(), id -> new OrderStatisticTree<>(RANKING_ORDER))
+          .add(next);
+    }
+  }
+
+  private void putMember(Long contestId, Long memberId, Long teamId) {
+    Map<Long, Long> members = teamByMember.computeIfAbsent(contestId, id -> new HashMap<>());
+    if (teamId == null) {
+      members.remove(memberId);
+    } else {
+      members.put(memberId, teamId);
+    }
+    if (members.isEmpty()) {
+      teamByMember.remove(contestId);
+    }
+  }
+
+  private void afterCommit(Runnable change) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      apply(List.of(change));
+      return;
+    }
+    ScoreboardTransaction transaction = (ScoreboardTransaction) TransactionSynchronizationManager
+        .getResource(this);
+    if (transaction == null) {
+      transaction = new ScoreboardTransaction();
+      TransactionSynchronizationManager.bindResource(this, transaction);
+      TransactionSynchronizationManager.registerSynchronization(transaction);
+    }
+    transaction.changes.add(change);
+  }
+
+  private void apply(List<Runnable> changes) {
+    lock.writeLock().lock();
+    try {
+      changes.forEach(Runnable::run);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private static LocalDateTime later(LocalDateTime a, LocalDateTime b) {
+    if (a == null) {
+      return b;
+    }
+    return b == null || a.isAfter(b) ? a : b;
+  }
+
+  /**
+   * 트랜잭션 안에서 바꾼 내용을 순서대로 모아 두었다가 커밋되면 반영한다. 롤백되면 버린다.
+   */
+  private class ScoreboardTransaction implements TransactionSynchronization {
+
+    private final List<Runnable> changes = new ArrayList<>();
+
+    @Override
+    public void afterCommit() {
+      apply(changes);
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      TransactionSynchronizationManager.unbindResourceIfPossible(CtfScoreboard.this);
+    }
+  }
+
+  @Getter
+  @EqualsAndHashCode
+  private static class Entry {
+
+    private final Long teamId;
+    private final Long contestId;
+    private final String name;
+    private final String description;
+    private final Long score;
+    private final LocalDateTime lastSolveTime;
+
+    Entry(Long teamId, Long contestId, String name, String description, Long score,
+        LocalDateTime lastSolveTime) {
+      this.teamId = teamId;
+      this.contestId = contestId;
+      this.name = name;
+      this.description = description;
+      this.score = score == null ? 0L : score;
+      this.lastSolveTime = lastSolveTime;
+    }
+
+    static Entry from(CtfTeamEntity team, LocalDateTime lastSolveTime) {
+      return new Entry(team.getId(), team.getCtfContestEntity().getId(), team.getName(),
+          team.getDescription(), team.getScore(), lastSolveTime);
+    }
+
+    Entry withScore(Long score) {
+      return new Entry(teamId, contestId, name, description, score, lastSolveTime);
+    }
+
+    Entry withInfo(String name, String description) {
+      return new Entry(teamId, contestId, name, description, score, lastSolveTime);
+    }
+
+    Entry withLastSolveTime(LocalDateTime lastSolveTime) {
+      return new Entry(teamId, contestId, name, description, score, lastSolveTime);
+    }
+
+    CtfRankingDto toDto(Long rank) {
+      return CtfRankingDto.builder()
+          .id(teamId)
+          .name(name)
+          .description(description)
+          .score(score)
+          .rank(rank)
+          .build();
+    }
+  }
+}
@@ -0,0 +1,28 @@
+package keeper.project.homepage.user.service.ctf;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import keeper.project.homepage.entity.ctf.CtfTeamHasMemberEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * 팀원이 들어오거나 나가면 내 순위 조회에 쓰는 회원별 팀을 갱신한다.
+ */
+@RequiredArgsConstructor
+public class CtfScoreboardMemberListener {
+
+  private final ObjectProvider<CtfScoreboard> ctfScoreboard;
+
+  @PostPersist
+  public void add(CtfTeamHasMemberEntity teamHasMemberEntity) {
+    ctfScoreboard.ifAvailable(scoreboard -> scoreboard.addMember(
+        teamHasMemberEntity.getTeam().getId(), teamHasMemberEntity.getMember().getId()));
+  }
+
+  @PostRemove
+  public void remove(CtfTeamHasMemberEntity teamHasMemberEntity) {
+    ctfScoreboard.ifAvailable(scoreboard -> scoreboard.removeMember(
+        teamHasMemberEntity.getTeam().getId(), teamHasMemberEntity.getMember().getId()));
+  }
+}
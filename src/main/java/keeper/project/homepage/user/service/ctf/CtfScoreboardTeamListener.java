@@ -0,0 +1,29 @@
+package keeper.project.homepage.user.service.ctf;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import keeper.project.homepage.entity.ctf.CtfTeamEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * 팀이 저장/수정/삭제되면 순위에 반영한다. 점수는 처음 저장될 때만 읽고, 그 뒤로는
+ * {@link CtfScoreboard#addScore(java.util.Collection, long)} 로 더한 값을 따른다.
+ */
+@RequiredArgsConstructor
+public class CtfScoreboardTeamListener {
+
+  private final ObjectProvider<CtfScoreboard> ctfScoreboard;
+
+  @PostPersist
+  @PostUpdate
+  public void update(CtfTeamEntity teamEntity) {
+    ctfScoreboard.ifAvailable(scoreboard -> scoreboard.updateTeam(teamEntity));
+  }
+
+  @PostRemove
+  public void remove(CtfTeamEntity teamEntity) {
+    ctfScoreboard.ifAvailable(scoreboard -> scoreboard.removeTeam(teamEntity.getId()));
+  }
+}
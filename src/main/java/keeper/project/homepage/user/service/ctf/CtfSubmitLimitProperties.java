@@ -0,0 +1,69 @@
+package keeper.project.homepage.user.service.ctf;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 플래그 제출 제한 설정. {@code keeper.ctf.submit-limit.*} 가 기본값이고, 대회마다
+ * {@code keeper.ctf.submit-limit.contests.<대회 id>.*} 로 바꿀 수 있다. 대회 설정에 없는 값은 기본값을 쓴다.
+ * <p>
+ * capacity 는 연달아 제출할 수 있는 횟수, refill-ms 는 제출 기회 하나가 다시 생기는 시간이다.
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "keeper.ctf.submit-limit")
+public class CtfSubmitLimitProperties {
+
+  private boolean enabled = true;
+  // 같은 팀이 같은 문제에 제출
+  private int teamCapacity = 10;
+  private long teamRefillMs = 6000;
+  // 한 회원이 대회 안의 모든 문제에 제출
+  private int memberCapacity = 20;
+  private long memberRefillMs = 3000;
+  // 다 채워진 버킷을 정리하는 주기
+  private long cleanupIntervalMs = 60000;
+
+  private Map<Long, ContestLimit> contests = new HashMap<>();
+
+  public Limit getLimit(Long ctfId) {
+    ContestLimit contest = contests.get(ctfId);
+    if (contest == null) {
+      return new Limit(enabled, teamCapacity, teamRefillMs, memberCapacity, memberRefillMs);
+    }
+    return new Limit(
+        contest.getEnabled() == null ? enabled : contest.getEnabled(),
+        contest.getTeamCapacity() == null ? teamCapacity : contest.getTeamCapacity(),
+        contest.getTeamRefillMs() == null ? teamRefillMs : contest.getTeamRefillMs(),
+        contest.getMemberCapacity() == null ? memberCapacity : contest.getMemberCapacity(),
+        contest.getMemberRefillMs() == null ? memberRefillMs : contest.getMemberRefillMs());
+  }
+
+  @Getter
+  @Setter
+  public static class ContestLimit {
+
+    private Boolean enabled;
+    private Integer teamCapacity;
+    private Long teamRefillMs;
+    private Integer memberCapacity;
+    private Long memberRefillMs;
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  public static final class Limit {
+
+    private final boolean enabled;
+    private final int teamCapacity;
+    private final long teamRefillMs;
+    private final int memberCapacity;
+    private final long memberRefillMs;
+  }
+}
@@ -0,0 +1,166 @@
+package keeper.project.homepage.user.service.ctf;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import keeper.project.homepage.exception.ctf.CustomCtfChallengeNotFoundException;
+import keeper.project.homepage.exception.ctf.CustomCtfSubmitRateLimitException;
+import keeper.project.homepage.repository.ctf.CtfChallengeRepository;
+import keeper.project.homepage.user.service.ctf.CtfSubmitLimitProperties.Limit;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 플래그 제출 횟수를 토큰 버킷으로 제한한다. 같은 팀이 같은 문제에, 그리고 한 회원이 대회 안에서 너무 자주
+ * 제출하면 DB 를 읽기 전에 {@link CustomCtfSubmitRateLimitException} 으로 거절한다.
+ * <p>
+ * 팀은 {@link CtfScoreboard} 가 들고 있는 소속으로 찾고, 문제가 속한 대회는 처음 한 번만 읽어 둔다. 설정은
+ * {@link CtfSubmitLimitProperties} 에서 대회별로 읽는다.
+ */
+@Component
+public class CtfSubmitRateLimiter {
+
+  private final CtfChallengeRepository challengeRepository;
+  private final CtfScoreboard ctfScoreboard;
+  private final CtfSubmitLimitProperties properties;
+  private final LongSupplier nanoTime;
+  private final Counter throttled;
+
+  // challenge id -> contest id. 문제의 대회는 바뀌지 않는다
+  private final Map<Long, Long> contestByChallenge = new ConcurrentHashMap<>();
+  // (team id, challenge id) -> 버킷
+  private final Map<BucketKey, TokenBucket> teamBuckets = new ConcurrentHashMap<>();
+  // (contest id, member id) -> 버킷
+  private final Map<BucketKey, TokenBucket> memberBuckets = new ConcurrentHashMap<>();
+
+  @Autowired
+  public CtfSubmitRateLimiter(CtfChallengeRepository challengeRepository,
+      CtfScoreboard ctfScoreboard, CtfSubmitLimitProperties properties,
+      MeterRegistry meterRegistry) {
+    this(challengeRepository, ctfScoreboard, properties, meterRegistry, System::nanoTime);
+  }
+
+  CtfSubmitRateLimiter(CtfChallengeRepository challengeRepository, CtfScoreboard ctfScoreboard,
+      CtfSubmitLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+    this.challengeRepository = challengeRepository;
+    this.ctfScoreboard = ctfScoreboard;
+    this.properties = properties;
+    this.nanoTime = nanoTime;
+    this.throttled = Counter.builder("keeper.ctf.submit.throttled")
+        .description("제출 제한에 걸린 플래그 제출 수")
+        .register(meterRegistry);
+  }
+
+  public void acquire(Long challengeId, Long memberId) {
+    Long ctfId = getContestId(challengeId);
+    Limit limit = properties.getLimit(ctfId);
+    if (!limit.isEnabled()) {
+      return;
+    }
+
+    long now = nanoTime.getAsLong();
+    TokenBucket memberBucket = memberBuckets.computeIfAbsent(new BucketKey(ctfId, memberId),
+        key -> new TokenBucket(limit.getMemberCapacity(), limit.getMemberRefillMs(), now));
+    long waitNanos = memberBucket.tryAcquire(now);
+    if (waitNanos == 0) {
+      Optional<Long> teamId = ctfScoreboard.findTeamIdByMember(ctfId, memberId);
+      if (teamId.isPresent()) {
+        TokenBucket teamBucket = teamBuckets.computeIfAbsent(
+            new BucketKey(teamId.get(), challengeId),
+            key -> new TokenBucket(limit.getTeamCapacity(), limit.getTeamRefillMs(), now));
+        waitNanos = teamBucket.tryAcquire(now);
+        if (waitNanos > 0) {
+          // 거절된 제출은 회원 몫에서 빼지 않는다
+          memberBucket.refund();
+        }
+      }
+    }
+
+    if (waitNanos > 0) {
+      throttled.increment();
+      throw new CustomCtfSubmitRateLimitException(
+          Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1)));
+    }
+  }
+
+  @Scheduled(initialDelayString = "${keeper.ctf.submit-limit.cleanup-interval-ms:60000}",
+      fixedDelayString = "${keeper.ctf.submit-limit.cleanup-interval-ms:60000}")
+  public void cleanUp() {
+    // 다 채워진 버킷은 새로 만든 것과 같으므로 버린다
+    long now = nanoTime.getAsLong();
+    teamBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    memberBuckets.values().removeIf(bucket -> bucket.isFull(now));
+  }
+
+  int getBucketCount() {
+    return teamBuckets.size() + memberBuckets.size();
+  }
+
+  private Long getContestId(Long challengeId) {
+    Long ctfId = contestByChallenge.get(challengeId);
+    if (ctfId == null) {
+      ctfId = challengeRepository.findContestIdById(challengeId)
+          .orElseThrow(CustomCtfChallengeNotFoundException::new);
+      contestByChallenge.put(challengeId, ctfId);
+    }
+    return ctfId;
+  }
+
+  @EqualsAndHashCode
+  @RequiredArgsConstructor
+  private static final class BucketKey {
+
+    private final Long ownerId;
+    private final Long targetId;
+  }
+
+  private static final class TokenBucket {
+
+    private final int capacity;
+    private final long refillNanos;
+    private double tokens;
+    private long updatedAt;
+
+    TokenBucket(int capacity, long refillMs, long now) {
+      this.capacity = capacity;
+      this.refillNanos = Math.max(1, TimeUnit.MILLISECONDS.toNanos(refillMs));
+      this.tokens = capacity;
+      this.updatedAt = now;
+    }
+
+    /**
+     * 토큰을 하나 쓴다. 토큰이 없으면 하나가 찰 때까지 남은 시간 (ns) 을 돌려준다.
+     */
+    synchronized long tryAcquire(long now) {
+      refill(now);
+      if (tokens >= 1) {
+        tokens -= 1;
+        return 0;
+      }
+      return (long) Math.ceil((1 - tokens) * refillNanos);
+    }
+
+    synchronized void refund() {
+      tokens = Math.min(capacity, tokens + 1);
+    }
+
+    synchronized boolean isFull(long now) {
+      refill(now);
+      return tokens >= capacity;
+    }
+
+    private void refill(long now) {
+      if (now > updatedAt) {
+        tokens = Math.min(capacity, tokens + (double) (now - updatedAt) / refillNanos);
+        updatedAt = now;
+      }
+    }
+  }
+}
@@ -64,7 +64,7 @@ public class CtfTeamService {
     CtfTeamHasMemberEntity teamHasMemberEntity = new CtfTeamHasMemberEntity(newTeamEntity, creator);
     teamHasMemberRepository.save(teamHasMemberEntity);
 
-    ctfUtilService.setAllDynamicScore();
+    ctfUtilService.setContestDynamicScore(contest.getId());
 
     List<CtfChallengeEntity> challengeEntities = challengeRepository.findAllByIdIsNotAndCtfContestEntity(
         VIRTUAL_CONTEST_ID, contest);
@@ -151,7 +151,7 @@ public class CtfTeamService {
     teamHasMemberRepository.delete(leaveTeamHasMemberEntity);
     if (isTeamCreator(leaveMember, leftTeam)) {
       removeTeam(leftTeam);
-      ctfUtilService.setAllDynamicScore();
+      ctfUtilService.setContestDynamicScore(leftTeam.getCtfContestEntity().getId());
     }
 
     return CtfTeamDetailDto.toDto(leftTeam, new ArrayList<>());
@@ -31,6 +31,7 @@ import keeper.project.homepage.repository.posting.PostingRepository;
 import keeper.project.homepage.util.service.FileService;
 import keeper.project.homepage.util.service.ThumbnailService;
 import keeper.project.homepage.user.service.posting.PostingService;
+import keeper.project.homepage.user.service.posting.PostingLikeCache;
 import keeper.project.homepage.common.service.sign.CustomPasswordService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -58,9 +59,11 @@ public class MemberDeleteService {
   private final MemberUtilService memberUtilService;
   private final ThumbnailService thumbnailService;
   private final FileService fileService;
+  private final PostingLikeCache postingLikeCache;
 
   public void deleteMember(MemberEntity member) {
     memberRepository.delete(member);
+    postingLikeCache.evictMember(member.getId());
   }
 
   public void decreaseCommentsLike(MemberEntity member) {
@@ -27,6 +27,7 @@ import keeper.project.homepage.util.image.preprocessing.ImageSize;
 import keeper.project.homepage.util.service.FileService;
 import keeper.project.homepage.util.service.ThumbnailService;
 import keeper.project.homepage.util.service.ThumbnailService.ThumbType;
+import keeper.project.homepage.user.service.posting.PostingVisitCountService;
 import keeper.project.homepage.common.service.mail.MailService;
 import keeper.project.homepage.common.service.sign.DuplicateCheckService;
 import lombok.RequiredArgsConstructor;
@@ -49,6 +50,7 @@ public class MemberService {
   private final FileService fileService;
   private final MailService mailService;
   private final DuplicateCheckService duplicateCheckService;
+  private final PostingVisitCountService postingVisitCountService;
 
   private Integer getFolloweeNumber(MemberEntity member) {
     return member.getFollowee().size();
@@ -227,6 +229,8 @@ public class MemberService {
     memberEntity.getPosting().forEach(posting -> {
       if (posting.getIsTemp() == isTemp) {
         PostingResponseDto dto = new PostingResponseDto(posting, postingSize, false);
+        dto.setVisitCount(postingVisitCountService.getVisitCount(posting.getId(),
+            posting.getVisitCount()));
         postings.add(dto);
       }
     });
@@ -0,0 +1,174 @@
+package keeper.project.homepage.user.service.posting;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import keeper.project.homepage.entity.posting.CategoryEntity;
+import keeper.project.homepage.exception.posting.CustomCategoryNotFoundException;
+import keeper.project.homepage.repository.posting.CategoryRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 카테고리 트리 전체를 읽기 전용 스냅샷으로 메모리에 들고 있는다.
+ * <p>
+ * 카테고리는 거의 바뀌지 않으므로 시작할 때 한 번 읽어 두고, 카테고리가 저장/수정/삭제되면
+ * ({@link CategoryCacheListener}) 스냅샷을 버렸다가 다음 조회 때 다시 읽는다. 게시글 목록/검색에서 카테고리
+ * 이름이나 하위 카테고리가 필요할 때 {@code category} 테이블을 조회하지 않는다.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class CategoryCache {
+
+  private final CategoryRepository categoryRepository;
+
+  private final AtomicLong version = new AtomicLong();
+  private volatile CategorySnapshot snapshot;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    getSnapshot();
+  }
+
+  public Optional<CategoryNode> findById(Long categoryId) {
+    return Optional.ofNullable(getSnapshot().byId.get(categoryId));
+  }
+
+  public CategoryNode getById(Long categoryId) {
+    return findById(categoryId).orElseThrow(CustomCategoryNotFoundException::new);
+  }
+
+  public boolean existsById(Long categoryId) {
+    return getSnapshot().byId.containsKey(categoryId);
+  }
+
+  public Optional<CategoryNode> findByName(String name) {
+    return Optional.ofNullable(getSnapshot().byName.get(name));
+  }
+
+  public String getName(Long categoryId) {
+    CategoryNode categoryNode = getSnapshot().byId.get(categoryId);
+    return categoryNode == null ? null : categoryNode.getName();
+  }
+
+  /**
+   * 자신을 포함한 모든 하위 카테고리 id 를 너비 우선 순서로 반환한다.
+   */
+  public List<Long> getSubtreeIds(Long rootId) {
+    CategorySnapshot current = getSnapshot();
+    if (!current.byId.containsKey(rootId)) {
+      throw new CustomCategoryNotFoundException();
+    }
+    // parent_id 가 잘못 들어가 순환이 생겨도 한 번씩만 방문
+    Set<Long> visited = new LinkedHashSet<>();
+    Deque<Long> queue = new ArrayDeque<>();
+    queue.add(rootId);
+    while (!queue.isEmpty()) {
+      Long categoryId = queue.poll();
+      if (visited.add(categoryId)) {
+        queue.addAll(current.byId.get(categoryId).getChildIds());
+      }
+    }
+    return List.copyOf(visited);
+  }
+
+  /**
+   * 지금 스냅샷을 버리고, 트랜잭션이 끝난 뒤에도 한 번 더 버린다. 커밋 전에 다른 요청이 이전 상태로 다시
+   * 읽어 갔을 수 있기 때문이다.
+   */
+  public void invalidate() {
+    invalidateNow();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          invalidateNow();
+        }
+      });
+    }
+  }
+
+  private void invalidateNow() {
+    version.incrementAndGet();
+    snapshot = null;
+  }
+
+  private CategorySnapshot getSnapshot() {
+    CategorySnapshot current = snapshot;
+    if (current != null) {
+      return current;
+    }
+    synchronized (this) {
+      if (snapshot != null) {
+        return snapshot;
+      }
+      long loadedVersion = version.get();
+      current = CategorySnapshot.of(categoryRepository.findAll());
+      // 읽는 동안 무효화되었으면 이번 결과는 저장하지 않는다
+      if (version.get() == loadedVersion) {
+        snapshot = current;
+      }
+      log.debug("카테고리 스냅샷 로드 : {}개", current.byId.size());
+      return current;
+    }
+  }
+
+  private static class CategorySnapshot {
+
+    private final Map<Long, CategoryNode> byId;
+    private final Map<String, CategoryNode> byName;
+
+    private CategorySnapshot(Map<Long, CategoryNode> byId, Map<String, CategoryNode> byName) {
+      this.byId = byId;
+      this.byName = byName;
+    }
+
+    static CategorySnapshot of(List<CategoryEntity> categoryEntities) {
+      Map<Long, List<Long>> childIds = new HashMap<>();
+      for (CategoryEntity categoryEntity : categoryEntities) {
+        if (categoryEntity.getParentId() != null) {
+          childIds.computeIfAbsent(categoryEntity.getParentId(), id -> new ArrayList<>())
+              .add(categoryEntity.getId());
+        }
+      }
+
+      Map<Long, CategoryNode> byId = new HashMap<>();
+      Map<String, CategoryNode> byName = new HashMap<>();
+      for (CategoryEntity categoryEntity : categoryEntities) {
+        CategoryNode categoryNode = new CategoryNode(categoryEntity.getId(),
+            categoryEntity.getName(), categoryEntity.getParentId(), categoryEntity.getHref(),
+            List.copyOf(childIds.getOrDefault(categoryEntity.getId(), List.of())));
+        byId.put(categoryNode.getId(), categoryNode);
+        byName.putIfAbsent(categoryNode.getName(), categoryNode);
+      }
+      return new CategorySnapshot(Collections.unmodifiableMap(byId),
+          Collections.unmodifiableMap(byName));
+    }
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  public static final class CategoryNode {
+
+    private final Long id;
+    private final String name;
+    private final Long parentId;
+    private final String href;
+    private final List<Long> childIds;
+  }
+}
@@ -0,0 +1,24 @@
+package keeper.project.homepage.user.service.posting;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import keeper.project.homepage.entity.posting.CategoryEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * 카테고리가 저장/수정/삭제되면 카테고리 스냅샷을 버린다.
+ */
+@RequiredArgsConstructor
+public class CategoryCacheListener {
+
+  private final ObjectProvider<CategoryCache> categoryCache;
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void invalidate(CategoryEntity categoryEntity) {
+    categoryCache.ifAvailable(CategoryCache::invalidate);
+  }
+}
@@ -2,7 +2,11 @@ package keeper.project.homepage.user.service.posting;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import keeper.project.homepage.user.dto.posting.CommentDto;
 import keeper.project.homepage.entity.member.MemberEntity;
 import keeper.project.homepage.entity.posting.CommentEntity;
@@ -16,12 +20,15 @@ import keeper.project.homepage.repository.member.MemberHasCommentLikeRepository;
 import keeper.project.homepage.repository.posting.CommentRepository;
 import keeper.project.homepage.repository.posting.CommentSpec;
 import keeper.project.homepage.repository.posting.PostingRepository;
-import keeper.project.homepage.user.service.member.MemberHasCommentDislikeService;
-import keeper.project.homepage.user.service.member.MemberHasCommentLikeService;
 import keeper.project.homepage.user.service.member.MemberService;
 import keeper.project.homepage.user.service.member.MemberUtilService;
+import keeper.project.homepage.util.KeysetCursor;
+import keeper.project.homepage.util.dto.CursorPage;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,15 +39,16 @@ public class CommentService {
 
   public static final String DELETED_COMMENT_CONTENT = "(삭제된 댓글입니다)";
   public static final Long VIRTUAL_PARENT_COMMENT_ID = 0L;
+  private static final String TOGGLE_CONFLICT_MESSAGE = "다른 요청이 먼저 처리되었습니다. 다시 시도해 주세요.";
 
   private final CommentRepository commentRepository;
   private final PostingRepository postingRepository;
   private final PostingService postingService;
+  private final PostingBestService postingBestService;
   private final MemberUtilService memberUtilService;
-  private final MemberHasCommentLikeService memberHasCommentLikeService;
-  private final MemberHasCommentDislikeService memberHasCommentDislikeService;
   private final MemberHasCommentLikeRepository memberHasCommentLikeRepository;
   private final MemberHasCommentDislikeRepository memberHasCommentDislikeRepository;
+  private final CategoryCache categoryCache;
 
   private CommentEntity getComment(Long commentId) {
     return commentRepository.findById(commentId)
@@ -60,14 +68,6 @@ public class CommentService {
     }
   }
 
-  private boolean checkPushLike(MemberEntity member, CommentEntity comment) {
-    return memberHasCommentLikeService.findById(member, comment) == null ? false : true;
-  }
-
-  private boolean checkPushDislike(MemberEntity member, CommentEntity comment) {
-    return memberHasCommentDislikeService.findById(member, comment) == null ? false : true;
-  }
-
   @Transactional
   public CommentDto save(CommentDto commentDto, Long postId, Long memberId) {
     checkNotEmptyContent(commentDto);
@@ -90,6 +90,7 @@ public class CommentService {
     // NOTE: comment 개수 증가
     postingEntity.increaseCommentCount();
     postingRepository.save(postingEntity);
+    postingBestService.updateCommentCount(postingEntity.getId(), 1);
     return commentDto;
   }
 
@@ -107,17 +108,70 @@ public class CommentService {
     Specification<CommentEntity> commentSpec = CommentSpec.equalParentId(VIRTUAL_PARENT_COMMENT_ID);
     commentSpec = commentSpec.and(CommentSpec.equalPosting(postingEntity));
 
-    List<CommentEntity> commentPage = new ArrayList<>();
     List<CommentEntity> comments = commentRepository.findAll(commentSpec, pageable);
 
+    return toCommentDtos(member, postingEntity, comments);
+  }
+
+  public CursorPage<CommentDto> findAllByPostAndCursor(Long memberId, Long postId, String cursor,
+      int size) {
+    MemberEntity member = memberUtilService.getById(memberId);
+    PostingEntity postingEntity = postingService.getPostingById(postId);
+
+    KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+    Pageable pageable = PageRequest.of(0, KeysetCursor.pageSize(size));
+    Slice<CommentEntity> comments = keysetCursor == null
+        ? commentRepository.findSliceByPostingIdAndParentId(postingEntity,
+        VIRTUAL_PARENT_COMMENT_ID, pageable)
+        : commentRepository.findSliceByPostingIdAndParentIdAndCursor(postingEntity,
+            VIRTUAL_PARENT_COMMENT_ID, keysetCursor.getRegisterTime(), keysetCursor.getId(),
+            pageable);
+
+    // 답글은 부모 댓글에 딸려 오므로 다음 커서는 마지막 부모 댓글 기준
+    String nextCursor = null;
+    if (comments.hasNext()) {
+      CommentEntity last = comments.getContent().get(comments.getNumberOfElements() - 1);
+      nextCursor = KeysetCursor.encode(last.getRegisterTime(), last.getId());
+    }
+    return new CursorPage<>(toCommentDtos(member, postingEntity, comments.getContent()),
+        nextCursor);
+  }
+
+  private List<CommentDto> toCommentDtos(MemberEntity member, PostingEntity postingEntity,
+      List<CommentEntity> comments) {
+    if (comments.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    // 페이지의 모든 대댓글을 한 번에 조회한 뒤 부모 댓글 아래에 붙인다
+    List<Long> parentIds = comments.stream().map(CommentEntity::getId).toList();
+    Map<Long, List<CommentEntity>> repliesByParentId = new HashMap<>();
+    for (CommentEntity reply : commentRepository.findAllByParentIdInOrderByRegisterTimeAscIdAsc(
+        parentIds)) {
+      repliesByParentId.computeIfAbsent(reply.getParentId(), parentId -> new ArrayList<>())
+          .add(reply);
+    }
+
+    List<CommentEntity> commentPage = new ArrayList<>();
     for (CommentEntity comment : comments) {
-      Specification<CommentEntity> replySpec = CommentSpec.equalParentId(comment.getId());
-      List<CommentEntity> replies = commentRepository.findAll(replySpec);
       commentPage.add(comment);
-      commentPage.addAll(replies);
+      commentPage.addAll(repliesByParentId.getOrDefault(comment.getId(), List.of()));
     }
 
-    boolean isAnonymousCategory = postingEntity.getCategoryId().getName().equals("익명게시판");
+    boolean isAnonymousCategory = "익명게시판".equals(
+        categoryCache.getName(postingEntity.getCategoryId().getId()));
+
+    Set<Long> likedCommentIds = Set.of();
+    Set<Long> dislikedCommentIds = Set.of();
+    if (!isAnonymousCategory) {
+      List<Long> commentIds = commentPage.stream().map(CommentEntity::getId).toList();
+      likedCommentIds = new HashSet<>(
+          memberHasCommentLikeRepository.findCommentIdsByMemberAndCommentIdIn(member,
+              commentIds));
+      dislikedCommentIds = new HashSet<>(
+          memberHasCommentDislikeRepository.findCommentIdsByMemberAndCommentIdIn(member,
+              commentIds));
+    }
 
     List<CommentDto> dtoPage = new ArrayList<>();
     for (CommentEntity comment : commentPage) {
@@ -128,8 +182,8 @@ public class CommentService {
         dto.setCheckedDislike(false);
       } else {
         dto.initWithEntity(comment);
-        dto.setCheckedLike(checkPushLike(member, comment));
-        dto.setCheckedDislike(checkPushDislike(member, comment));
+        dto.setCheckedLike(likedCommentIds.contains(comment.getId()));
+        dto.setCheckedDislike(dislikedCommentIds.contains(comment.getId()));
       }
       dtoPage.add(dto);
     }
@@ -199,57 +253,44 @@ public class CommentService {
 
   @Transactional
   public void updateLikeCount(Long memberId, Long commentId) {
-    MemberEntity memberEntity = memberUtilService.getById(memberId);
-    CommentEntity commentEntity = getComment(commentId);
-    if (memberHasCommentLikeService.findById(memberEntity, commentEntity) == null) {
-      memberHasCommentLikeService.saveWithMemberAndCommentEntity(memberEntity, commentEntity);
-      increaseLikeCount(commentEntity);
-    } else {
-      memberHasCommentLikeService.deleteByMemberAndCommentEntity(memberEntity, commentEntity);
-      decreaseLikeCount(commentEntity);
+    // 좋아요가 있으면 취소, 없으면 추가
+    if (memberHasCommentLikeRepository.deleteIfPresent(memberId, commentId) > 0) {
+      commentRepository.addLikeCount(commentId, -1);
+      return;
+    }
+    if (memberHasCommentLikeRepository.insertIfAbsent(memberId, commentId) == 0) {
+      throw toggleFailure(memberId, commentId);
+    }
+    if (commentRepository.addLikeCount(commentId, 1) == 0) {
+      throw new CustomNumberOverflowException();
     }
   }
 
   @Transactional
   public void updateDislikeCount(Long memberId, Long commentId) {
-    MemberEntity memberEntity = memberUtilService.getById(memberId);
-    CommentEntity commentEntity = getComment(commentId);
-    if (memberHasCommentDislikeService.findById(memberEntity, commentEntity) == null) {
-      memberHasCommentDislikeService.saveWithMemberAndCommentEntity(memberEntity, commentEntity);
-      increaseDislikeCount(commentEntity);
-    } else {
-      memberHasCommentDislikeService.deleteByMemberAndCommentEntity(memberEntity, commentEntity);
-      decreaseDislikeCount(commentEntity);
+    if (memberHasCommentDislikeRepository.deleteIfPresent(memberId, commentId) > 0) {
+      commentRepository.addDislikeCount(commentId, -1);
+      return;
     }
-  }
-
-  private void checkNotMaxValue(Integer num) {
-    if (num == Integer.MAX_VALUE) {
+    if (memberHasCommentDislikeRepository.insertIfAbsent(memberId, commentId) == 0) {
+      throw toggleFailure(memberId, commentId);
+    }
+    if (commentRepository.addDislikeCount(commentId, 1) == 0) {
       throw new CustomNumberOverflowException();
     }
   }
 
-  private void increaseLikeCount(CommentEntity updated) {
-    checkNotMaxValue(updated.getLikeCount());
-
-    updated.increaseLikeCount();
-    commentRepository.save(updated);
+  // INSERT IGNORE 는 없는 회원/댓글의 FK 오류도 삼키므로, 실패했을 때만 원인을 확인한다
+  private RuntimeException toggleFailure(Long memberId, Long commentId) {
+    memberUtilService.getById(memberId);
+    checkCommentExists(commentId);
+    // 같은 회원의 다른 요청이 먼저 추가함
+    return new DataIntegrityViolationException(TOGGLE_CONFLICT_MESSAGE);
   }
 
-  private void decreaseLikeCount(CommentEntity updated) {
-    updated.decreaseLikeCount();
-    commentRepository.save(updated);
-  }
-
-  private void increaseDislikeCount(CommentEntity updated) {
-    checkNotMaxValue(updated.getDislikeCount());
-
-    updated.increaseDislikeCount();
-    commentRepository.save(updated);
-  }
-
-  private void decreaseDislikeCount(CommentEntity updated) {
-    updated.decreaseDislikeCount();
-    commentRepository.save(updated);
+  private void checkCommentExists(Long commentId) {
+    if (!commentRepository.existsById(commentId)) {
+      throw new CustomCommentNotFoundException();
+    }
   }
-}
\ No newline at end of file
+}
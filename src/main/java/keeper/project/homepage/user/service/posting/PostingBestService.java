@@ -0,0 +1,363 @@
+package keeper.project.homepage.user.service.posting;
+
+import static keeper.project.homepage.user.service.posting.PostingService.bestPostingCount;
+import static keeper.project.homepage.user.service.posting.PostingService.isNotNoticePosting;
+import static keeper.project.homepage.user.service.posting.PostingService.isNotSecretPosting;
+import static keeper.project.homepage.user.service.posting.PostingService.isNotTempPosting;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import keeper.project.homepage.entity.posting.PostingEntity;
+import keeper.project.homepage.repository.posting.PostingRepository;
+import keeper.project.homepage.user.dto.posting.PostingBestDto;
+import keeper.project.homepage.util.EnvironmentProperty;
+import keeper.project.homepage.util.service.ThumbnailService.ThumbType;
+import lombok.Builder;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 인기 게시글 순위를 메모리에 유지한다.
+ * <p>
+ * 최근 2주 동안 작성된 게시글을 점수(조회수 + 좋아요 * 2 - 싫어요) 순으로 정렬해 두고 조회/좋아요/싫어요
+ * 이벤트마다 해당 게시글만 다시 정렬하므로, 인기 게시글 조회 시에는 상위 {@code bestPostingCount} 개만 읽는다.
+ * 기간이 지난 게시글은 조회 시 제거하고, 매 시간 DB 기준으로 다시 만들어 어긋난 값을 바로잡는다.
+ * <p>
+ * 이벤트는 트랜잭션이 커밋된 뒤에 반영하므로 롤백된 변경은 순위에 남지 않는다.
+ * <p>
+ * 순위 밖의 게시글이 조회/좋아요로 올라오는지 알려면 그 게시글의 값도 들고 있어야 하므로, 상위 K 개만 남기지 않고
+ * 기간 안의 게시글을 모두 들고 있는다. 2주 동안 올라오는 게시글 수만큼이라 크지 않고, 조회는 앞의 K 개만 읽는다.
+ */
+@Service
+public class PostingBestService {
+
+  private static final String ANONYMOUS_CATEGORY_NAME = "익명게시판";
+  // 다시 읽는 동안 바뀐 게시글을 다시 읽는 최대 횟수
+  private static final int MAX_RELOAD_ROUNDS = 3;
+
+  private final PostingRepository postingRepository;
+  private final PostingVisitCountService postingVisitCountService;
+  private final TransactionTemplate readOnlyTransaction;
+
+  // 한 번에 하나만 DB 에서 다시 읽는다
+  private final Object rebuildLock = new Object();
+  private Map<Long, BestPostingEntry> entries = new HashMap<>();
+  private TreeSet<BestPostingEntry> ranking = newRanking();
+  // 반영한 변경의 순번
+  private long changeSequence = 0;
+  // 다시 읽는 동안 바뀐 게시글 id -> 마지막 변경 순번. 다시 읽는 중이 아니면 null
+  private Map<Long, Long> changedDuringRebuild = null;
+  private volatile boolean initialized = false;
+
+  public PostingBestService(PostingRepository postingRepository,
+      PostingVisitCountService postingVisitCountService,
+      PlatformTransactionManager transactionManager) {
+    this.postingRepository = postingRepository;
+    this.postingVisitCountService = postingVisitCountService;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+  }
+
+  public List<PostingBestDto> findAllBest() {
+    if (!initialized) {
+      synchronized (rebuildLock) {
+        if (!initialized) {
+          rebuild();
+        }
+      }
+    }
+
+    List<BestPostingEntry> bestEntries = new ArrayList<>();
+    synchronized (this) {
+      LocalDateTime startDate = getStartDate();
+      Iterator<BestPostingEntry> iterator = ranking.iterator();
+      while (iterator.hasNext() && bestEntries.size() < bestPostingCount) {
+        BestPostingEntry entry = iterator.next();
+        if (entry.registerTime.isBefore(startDate)) {
+          iterator.remove();
+          entries.remove(entry.id);
+          continue;
+        }
+        bestEntries.add(entry.copy());
+      }
+    }
+
+    List<PostingBestDto> postingBestDtos = new ArrayList<>();
+    for (BestPostingEntry entry : bestEntries) {
+      postingBestDtos.add(entry.toDto());
+    }
+    return postingBestDtos;
+  }
+
+  public void updatePosting(PostingEntity postingEntity) {
+    Long postingId = postingEntity.getId();
+    // 연관 엔티티는 커밋 뒤에 읽지 못할 수 있으므로 항목은 지금 만들어 둔다
+    BestPostingEntry entry = isBestCandidate(postingEntity) ? toEntry(postingEntity) : null;
+    afterCommit(postingId, () -> replace(postingId, entry));
+  }
+
+  public void removePosting(Long postingId) {
+    afterCommit(postingId, () -> replace(postingId, null));
+  }
+
+  public void increaseVisitCount(Long postingId) {
+    afterCommit(postingId, () -> updateCount(postingId, 1, 0, 0, 0));
+  }
+
+  public void updateLikeCount(Long postingId, int delta) {
+    afterCommit(postingId, () -> updateCount(postingId, 0, delta, 0, 0));
+  }
+
+  public void updateDislikeCount(Long postingId, int delta) {
+    afterCommit(postingId, () -> updateCount(postingId, 0, 0, delta, 0));
+  }
+
+  public void updateCommentCount(Long postingId, int delta) {
+    afterCommit(postingId, () -> updateCount(postingId, 0, 0, 0, delta));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "0 0 * * * *", zone = "Asia/Seoul")
+  public void rebuild() {
+    synchronized (rebuildLock) {
+      long watermark;
+      synchronized (this) {
+        changedDuringRebuild = new HashMap<>();
+        watermark = changeSequence;
+      }
+      try {
+        // DB 는 잠금 밖에서 읽어 그동안에도 조회와 이벤트 반영이 막히지 않게 한다
+        Map<Long, BestPostingEntry> loaded = readOnlyTransaction.execute(status -> load());
+        for (int round = 0; ; round++) {
+          Set<Long> changed;
+          synchronized (this) {
+            changed = changedSince(watermark);
+            if (changed.isEmpty() || round == MAX_RELOAD_ROUNDS) {
+              // 계속 바뀌는 게시글은 지금까지 반영해 온 값을 그대로 쓴다
+              for (Long postingId : changed) {
+                BestPostingEntry current = entries.get(postingId);
+                if (current == null) {
+                  loaded.remove(postingId);
+                } else {
+                  loaded.put(postingId, current.copy());
+                }
+              }
+              swap(loaded);
+              return;
+            }
+            watermark = changeSequence;
+          }
+          // 읽는 동안 커밋된 변경은 읽은 값에 들어갔는지 알 수 없으므로, 변경을 더하지 않고 커밋된 값을 다시
+          // 읽는다. 이 변경들은 이미 커밋되었으므로 다시 읽은 값에는 반드시 들어 있다.
+          Map<Long, BestPostingEntry> reloaded = readOnlyTransaction.execute(
+              status -> reload(changed));
+          for (Long postingId : changed) {
+            loaded.remove(postingId);
+          }
+          loaded.putAll(reloaded);
+        }
+      } finally {
+        synchronized (this) {
+          changedDuringRebuild = null;
+        }
+      }
+    }
+  }
+
+  private Map<Long, BestPostingEntry> load() {
+    Map<Long, BestPostingEntry> loaded = new HashMap<>();
+    List<PostingEntity> postingEntities = postingRepository.findAllByIsTempAndIsSecretAndIsNoticeAndRegisterTimeBetween(
+        isNotTempPosting, isNotSecretPosting, isNotNoticePosting, getStartDate(), getEndDate());
+    for (PostingEntity postingEntity : postingEntities) {
+      loaded.put(postingEntity.getId(), toEntry(postingEntity));
+    }
+    return loaded;
+  }
+
+  private Map<Long, BestPostingEntry> reload(Set<Long> postingIds) {
+    Map<Long, BestPostingEntry> reloaded = new HashMap<>();
+    for (PostingEntity postingEntity : postingRepository.findAllById(postingIds)) {
+      if (isBestCandidate(postingEntity)) {
+        reloaded.put(postingEntity.getId(), toEntry(postingEntity));
+      }
+    }
+    return reloaded;
+  }
+
+  private Set<Long> changedSince(long watermark) {
+    Set<Long> changed = new HashSet<>();
+    changedDuringRebuild.forEach((postingId, sequence) -> {
+      if (sequence > watermark) {
+        changed.add(postingId);
+      }
+    });
+    return changed;
+  }
+
+  private void swap(Map<Long, BestPostingEntry> loaded) {
+    TreeSet<BestPostingEntry> newRanking = newRanking();
+    newRanking.addAll(loaded.values());
+    entries = loaded;
+    ranking = newRanking;
+    initialized = true;
+  }
+
+  private BestPostingEntry toEntry(PostingEntity postingEntity) {
+    return BestPostingEntry.from(postingEntity,
+        postingVisitCountService.getVisitCount(postingEntity.getId(),
+            postingEntity.getVisitCount()));
+  }
+
+  private void afterCommit(Long postingId, Runnable change) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      apply(postingId, change);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        apply(postingId, change);
+      }
+    });
+  }
+
+  private synchronized void apply(Long postingId, Runnable change) {
+    changeSequence++;
+    if (changedDuringRebuild != null) {
+      changedDuringRebuild.put(postingId, changeSequence);
+    }
+    change.run();
+  }
+
+  private void replace(Long postingId, BestPostingEntry entry) {
+    BestPostingEntry prev = entries.remove(postingId);
+    if (prev != null) {
+      ranking.remove(prev);
+    }
+    if (entry != null) {
+      add(entry);
+    }
+  }
+
+  private void updateCount(Long postingId, int visitDelta, int likeDelta,
+      int dislikeDelta, int commentDelta) {
+    BestPostingEntry entry = entries.get(postingId);
+    if (entry == null) {
+      return;
+    }
+    ranking.remove(entry);
+    entry.visitCount += visitDelta;
+    entry.likeCount += likeDelta;
+    entry.dislikeCount += dislikeDelta;
+    entry.commentCount += commentDelta;
+    ranking.add(entry);
+  }
+
+  private void add(BestPostingEntry entry) {
+    entries.put(entry.id, entry);
+    ranking.add(entry);
+  }
+
+  private static TreeSet<BestPostingEntry> newRanking() {
+    return new TreeSet<>(Comparator.comparingLong(BestPostingEntry::getScore).reversed()
+        .thenComparing(BestPostingEntry::getId, Comparator.reverseOrder()));
+  }
+
+  private boolean isBestCandidate(PostingEntity postingEntity) {
+    return postingEntity.getIsTemp().equals(isNotTempPosting)
+        && postingEntity.getIsSecret().equals(isNotSecretPosting)
+        && postingEntity.getIsNotice().equals(isNotNoticePosting)
+        && !postingEntity.getRegisterTime().isBefore(getStartDate())
+        && postingEntity.getRegisterTime().isBefore(getEndDate());
+  }
+
+  private LocalDateTime getStartDate() {
+    return LocalDate.now().minusWeeks(2).atStartOfDay();
+  }
+
+  private LocalDateTime getEndDate() {
+    return LocalDate.now().plusDays(1).atStartOfDay();
+  }
+
+  @Builder(toBuilder = true)
+  private static class BestPostingEntry {
+
+    private final Long id;
+    private final String title;
+    private final String writer;
+    private final Long writerThumbnailId;
+    private final LocalDateTime registerTime;
+    private final Long categoryId;
+    private final String category;
+    private final Long thumbnailId;
+    private int visitCount;
+    private int likeCount;
+    private int dislikeCount;
+    private int commentCount;
+
+    static BestPostingEntry from(PostingEntity postingEntity, int visitCount) {
+      return BestPostingEntry.builder()
+          .id(postingEntity.getId())
+          .title(postingEntity.getTitle())
+          .writer(postingEntity.getMemberId().getNickName())
+          .writerThumbnailId(postingEntity.getMemberId().getThumbnail() == null ? null
+              : postingEntity.getMemberId().getThumbnail().getId())
+          .registerTime(postingEntity.getRegisterTime())
+          .categoryId(postingEntity.getCategoryId().getId())
+          .category(postingEntity.getCategoryId().getName())
+          .thumbnailId(postingEntity.getThumbnail() == null ? null
+              : postingEntity.getThumbnail().getId())
+          .visitCount(visitCount)
+          .likeCount(postingEntity.getLikeCount())
+          .dislikeCount(postingEntity.getDislikeCount())
+          .commentCount(postingEntity.getCommentCount())
+          .build();
+    }
+
+    Long getId() {
+      return id;
+    }
+
+    long getScore() {
+      return (long) visitCount + likeCount * 2L - dislikeCount;
+    }
+
+    BestPostingEntry copy() {
+      return toBuilder().build();
+    }
+
+    PostingBestDto toDto() {
+      boolean isAnonymous = category.equals(ANONYMOUS_CATEGORY_NAME);
+      return PostingBestDto.builder()
+          .id(id)
+          .title(title)
+          .user(isAnonymous ? "익명" : writer)
+          .userThumbnailPath(isAnonymous ? null : EnvironmentProperty.getThumbnailPath(
+              writerThumbnailId == null ? ThumbType.MemberThumbnail.getDefaultThumbnailId()
+                  : writerThumbnailId))
+          .dateTime(registerTime)
+          .watch(visitCount)
+          .commentN(commentCount)
+          .categoryId(categoryId)
+          .category(category)
+          .thumbnailPath(EnvironmentProperty.getThumbnailPath(
+              thumbnailId == null ? ThumbType.PostThumbnail.getDefaultThumbnailId() : thumbnailId))
+          .build();
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package keeper.project.homepage.user.service.posting;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import keeper.project.homepage.user.dto.posting.LikeAndDislikeDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 회원별로 최근에 확인한 게시글의 좋아요/싫어요 여부를 비트맵으로 보관한다.
+ * <p>
+ * 게시글 id 를 비트 위치로 쓰며, {@code known} 에 표시된 게시글만 캐시된 값으로 응답한다. 회원 수는
+ * LRU 로 제한하고, 좋아요/싫어요가 바뀌면 커밋 전후로 해당 비트를 지워 다음 조회 때 DB 에서 다시 읽는다.
+ * <p>
+ * DB 에서 읽는 동안 값이 바뀌어 지워졌다면 읽은 값은 이미 오래된 값이므로, 읽기 전에 {@link #getGeneration()}
+ * 으로 세대를 받아 두고 {@link #put} 할 때 그 뒤에 지워진 적이 있으면 넣지 않는다.
+ */
+@Component
+public class PostingLikeCache {
+
+  private final Map<Long, MemberLikes> cache;
+  // 지울 때마다 늘린다
+  private long generation = 0;
+  // 회원을 가리지 않고 마지막으로 지운 세대 (게시글 삭제, 회원 삭제, LRU 로 버린 회원의 기록)
+  private long evictedAllAt = 0;
+
+  public PostingLikeCache(@Value("${keeper.posting.like-cache.max-members:500}") int maxMembers) {
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, MemberLikes> eldest) {
+        if (size() <= maxMembers) {
+          return false;
+        }
+        // 버리는 회원이 언제 지워졌는지는 남지 않으므로 모든 회원에 걸쳐 기억한다
+        evictedAllAt = Math.max(evictedAllAt, eldest.getValue().evictedAt);
+        return true;
+      }
+    };
+  }
+
+  public synchronized LikeAndDislikeDto get(Long memberId, Long postingId) {
+    MemberLikes memberLikes = cache.get(memberId);
+    if (memberLikes == null || !isCacheable(postingId)) {
+      return null;
+    }
+    return memberLikes.get(postingId.intValue());
+  }
+
+  public synchronized long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * @param readGeneration flags 를 DB 에서 읽기 전에 받아 둔 {@link #getGeneration()}
+   */
+  public synchronized void put(Long memberId, Long postingId, LikeAndDislikeDto flags,
+      long readGeneration) {
+    if (!isCacheable(postingId) || readGeneration < evictedAllAt) {
+      return;
+    }
+    MemberLikes memberLikes = cache.get(memberId);
+    if (memberLikes == null) {
+      memberLikes = new MemberLikes();
+      cache.put(memberId, memberLikes);
+    } else if (readGeneration < memberLikes.evictedAt) {
+      // 읽는 동안 이 회원의 값이 바뀌었음
+      return;
+    }
+    memberLikes.put(postingId.intValue(), flags.isLiked(), flags.isDisliked());
+  }
+
+  /**
+   * 지금 바로 지우고, 트랜잭션이 끝난 뒤에도 한 번 더 지운다. 커밋 전에 다른 요청이 이전 값을 다시 채워
+   * 넣었을 수 있기 때문이다.
+   */
+  public void evict(Long memberId, Long postingId) {
+    evictNow(memberId, postingId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          evictNow(memberId, postingId);
+        }
+      });
+    }
+  }
+
+  public synchronized void evictMember(Long memberId) {
+    cache.remove(memberId);
+    evictedAllAt = ++generation;
+  }
+
+  public synchronized void evictPosting(Long postingId) {
+    evictedAllAt = ++generation;
+    if (!isCacheable(postingId)) {
+      return;
+    }
+    for (MemberLikes memberLikes : cache.values()) {
+      memberLikes.remove(postingId.intValue());
+    }
+  }
+
+  private synchronized void evictNow(Long memberId, Long postingId) {
+    // 캐시에 없는 회원도 지운 세대는 남겨 읽는 중인 값이 들어오지 않게 한다
+    MemberLikes memberLikes = cache.computeIfAbsent(memberId, id -> new MemberLikes());
+    memberLikes.evictedAt = ++generation;
+    if (isCacheable(postingId)) {
+      memberLikes.remove(postingId.intValue());
+    }
+  }
+
+  private static boolean isCacheable(Long postingId) {
+    return postingId != null && postingId >= 0 && postingId <= Integer.MAX_VALUE;
+  }
+
+  private static class MemberLikes {
+
+    private final BitSet known = new BitSet();
+    private final BitSet liked = new BitSet();
+    private final BitSet disliked = new BitSet();
+    // 이 회원의 값을 마지막으로 지운 세대
+    private long evictedAt = 0;
+
+    LikeAndDislikeDto get(int postingId) {
+      if (!known.get(postingId)) {
+        return null;
+      }
+      return new LikeAndDislikeDto(liked.get(postingId), disliked.get(postingId));
+    }
+
+    void put(int postingId, boolean isLiked, boolean isDisliked) {
+      known.set(postingId);
+      liked.set(postingId, isLiked);
+      disliked.set(postingId, isDisliked);
+    }
+
+    void remove(int postingId) {
+      known.clear(postingId);
+      liked.clear(postingId);
+      disliked.clear(postingId);
+    }
+  }
+}
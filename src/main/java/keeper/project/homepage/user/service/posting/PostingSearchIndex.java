@@ -0,0 +1,403 @@
+package keeper.project.homepage.user.service.posting;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import keeper.project.homepage.entity.posting.PostingChangedEvent;
+import keeper.project.homepage.entity.posting.PostingEntity;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.ngram.NGramTokenFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexWriterConfig.OpenMode;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopFieldCollector;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.store.LockObtainFailedException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 게시글 제목/내용 검색용 Lucene 역색인.
+ * <p>
+ * 띄어쓰기 단위로 자른 단어를 1~2글자 n-gram 으로 색인해 형태소 분석기 없이도 한글 부분 검색이 되도록 한다.
+ * 게시글 변경은 {@link PostingChangedEvent} 로 받고, 트랜잭션 안의 변경은 커밋된 뒤에 색인에 쓴다. 쓴 내용은
+ * 바로 검색에 보이고, 디스크에는 주기적으로 저장한다.
+ */
+@Log4j2
+@Component
+public class PostingSearchIndex {
+
+  private static final String ID = "id";
+  private static final String TITLE = "title";
+  private static final String CONTENT = "content";
+  private static final String CATEGORY_ID = "categoryId";
+  private static final String IS_TEMP = "isTemp";
+  private static final String IS_NOTICE = "isNotice";
+  private static final String REGISTER_TIME = "registerTime";
+  private static final float TITLE_BOOST = 2.0f;
+
+  private static final Analyzer INDEX_ANALYZER = new Analyzer() {
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+      Tokenizer tokenizer = new StandardTokenizer();
+      TokenStream tokenStream = new LowerCaseFilter(tokenizer);
+      tokenStream = new NGramTokenFilter(tokenStream, 1, 2, false);
+      return new TokenStreamComponents(tokenizer, tokenStream);
+    }
+  };
+
+  private static final Analyzer QUERY_ANALYZER = new Analyzer() {
+    @Override
+    protected TokenStreamComponents createComponents(String fieldName) {
+      Tokenizer tokenizer = new StandardTokenizer();
+      return new TokenStreamComponents(tokenizer, new LowerCaseFilter(tokenizer));
+    }
+  };
+
+  private final String indexDirPath;
+  private Directory directory;
+  private IndexWriter indexWriter;
+  private SearcherManager searcherManager;
+
+  public PostingSearchIndex(
+      @Value("${keeper.search.posting-index-dir:keeper_search/posting}") String indexDirPath) {
+    this.indexDirPath = indexDirPath;
+  }
+
+  @PostConstruct
+  public void open() throws IOException {
+    directory = FSDirectory.open(Paths.get(
+        System.getProperty("user.dir") + File.separator + indexDirPath));
+    try {
+      IndexWriterConfig config = new IndexWriterConfig(INDEX_ANALYZER)
+          .setOpenMode(OpenMode.CREATE_OR_APPEND);
+      indexWriter = new IndexWriter(directory, config);
+      searcherManager = new SearcherManager(indexWriter, null);
+    } catch (LockObtainFailedException e) {
+      // 다른 프로세스가 색인을 사용 중이면 DB 검색으로 대체
+      log.warn("게시글 검색 색인을 열 수 없어 DB 검색을 사용합니다. : {}", e.getMessage());
+      indexWriter = null;
+    }
+  }
+
+  @PreDestroy
+  public void close() throws IOException {
+    if (indexWriter != null) {
+      searcherManager.close();
+      indexWriter.close();
+    }
+    directory.close();
+  }
+
+  public boolean isAvailable() {
+    return indexWriter != null;
+  }
+
+  public int numDocs() {
+    return isAvailable() ? indexWriter.getDocStats().numDocs : 0;
+  }
+
+  @EventListener
+  public void onPostingChanged(PostingChangedEvent event) {
+    if (event.isRemoved()) {
+      delete(event.getPosting().getId());
+    } else {
+      index(event.getPosting());
+    }
+  }
+
+  public void index(PostingEntity postingEntity) {
+    if (!isAvailable()) {
+      return;
+    }
+    // 커밋 뒤에는 연관 엔티티를 읽지 못할 수 있으므로 문서는 지금 만든다
+    SearchDocument document = SearchDocument.from(postingEntity);
+    apply(document.getId(), document);
+  }
+
+  public void delete(Long postingId) {
+    if (!isAvailable()) {
+      return;
+    }
+    apply(postingId, null);
+  }
+
+  public synchronized void rebuild(Iterable<PostingEntity> postingEntities) {
+    if (!isAvailable()) {
+      return;
+    }
+    try {
+      indexWriter.deleteAll();
+      for (PostingEntity postingEntity : postingEntities) {
+        indexWriter.addDocument(SearchDocument.from(postingEntity).toDocument());
+      }
+      commit();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * 제목(T), 내용(C), 제목 또는 내용(TC)에서 keyword 를 찾아 관련도 순으로 게시글 id 를 반환한다.
+   */
+  public Page<Long> search(String type, String keyword, Long categoryId, Pageable pageable) {
+    List<String> terms = analyzeKeyword(keyword);
+    if (terms.isEmpty()) {
+      return Page.empty(pageable);
+    }
+
+    BooleanQuery.Builder query = new BooleanQuery.Builder()
+        .add(new TermQuery(new Term(CATEGORY_ID, categoryId.toString())), Occur.FILTER)
+        .add(new TermQuery(new Term(IS_TEMP, PostingService.isNotTempPosting.toString())),
+            Occur.FILTER)
+        .add(new TermQuery(new Term(IS_NOTICE, PostingService.isNotNoticePosting.toString())),
+            Occur.FILTER);
+    switch (type) {
+      case "T" -> query.add(allTermsQuery(TITLE, terms), Occur.MUST);
+      case "C" -> query.add(allTermsQuery(CONTENT, terms), Occur.MUST);
+      default -> query.add(new BooleanQuery.Builder()
+          .add(new BoostQuery(allTermsQuery(TITLE, terms), TITLE_BOOST), Occur.SHOULD)
+          .add(allTermsQuery(CONTENT, terms), Occur.SHOULD)
+          .build(), Occur.MUST);
+    }
+
+    int offset = (int) pageable.getOffset();
+    try {
+      IndexSearcher searcher = searcherManager.acquire();
+      try {
+        Sort sort = new Sort(SortField.FIELD_SCORE,
+            new SortField(REGISTER_TIME, SortField.Type.LONG, true));
+        TopFieldCollector collector = TopFieldCollector.create(sort,
+            offset + pageable.getPageSize(), Integer.MAX_VALUE);
+        searcher.search(query.build(), collector);
+        TopDocs topDocs = collector.topDocs(offset, pageable.getPageSize());
+
+        List<Long> postingIds = new ArrayList<>();
+        for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+          postingIds.add(Long.valueOf(searcher.doc(scoreDoc.doc).get(ID)));
+        }
+        return new PageImpl<>(postingIds, pageable, collector.getTotalHits());
+      } finally {
+        searcherManager.release(searcher);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static List<String> analyzeKeyword(String keyword) {
+    Set<String> terms = new LinkedHashSet<>();
+    try (TokenStream tokenStream = QUERY_ANALYZER.tokenStream(TITLE, keyword)) {
+      CharTermAttribute termAttribute = tokenStream.addAttribute(CharTermAttribute.class);
+      tokenStream.reset();
+      while (tokenStream.incrementToken()) {
+        int[] codePoints = termAttribute.toString().codePoints().toArray();
+        if (codePoints.length == 1) {
+          terms.add(new String(codePoints, 0, 1));
+        }
+        // 색인된 2-gram 이 모두 포함된 문서만 찾아 부분 문자열 검색과 같은 결과를 낸다
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+          terms.add(new String(codePoints, i, 2));
+        }
+      }
+      tokenStream.end();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return new ArrayList<>(terms);
+  }
+
+  private static Query allTermsQuery(String field, List<String> terms) {
+    BooleanQuery.Builder builder = new BooleanQuery.Builder();
+    for (String term : terms) {
+      builder.add(new TermQuery(new Term(field, term)), Occur.MUST);
+    }
+    return builder.build();
+  }
+
+  private void apply(Long postingId, SearchDocument document) {
+    IndexTransaction transaction = currentTransaction();
+    if (transaction != null) {
+      transaction.changes.put(postingId, document);
+      return;
+    }
+    Map<Long, SearchDocument> changes = new LinkedHashMap<>();
+    changes.put(postingId, document);
+    write(changes);
+  }
+
+  private synchronized void write(Map<Long, SearchDocument> changes) {
+    try {
+      for (Map.Entry<Long, SearchDocument> change : changes.entrySet()) {
+        SearchDocument document = change.getValue();
+        Term idTerm = new Term(ID, change.getKey().toString());
+        if (document == null) {
+          indexWriter.deleteDocuments(idTerm);
+        } else {
+          indexWriter.updateDocument(idTerm, document.toDocument());
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    // 디스크에는 주기적으로 저장하고, 검색에는 메모리의 변경을 바로 보이게 한다
+    refresh();
+  }
+
+  /**
+   * 색인 변경을 검색에 보이게 한다. 다른 스레드가 이미 다시 여는 중이면 기다리지 않으므로 주기적으로도 호출한다.
+   */
+  @Scheduled(fixedDelayString = "${keeper.search.posting-index-refresh-ms:1000}")
+  public void refresh() {
+    if (!isAvailable()) {
+      return;
+    }
+    try {
+      searcherManager.maybeRefresh();
+    } catch (IOException e) {
+      log.error("게시글 검색 색인을 다시 열지 못했습니다.", e);
+    }
+  }
+
+  /**
+   * 저장하지 않은 색인 변경을 디스크에 쓴다. 종료할 때는 {@link IndexWriter#close()} 가 저장한다.
+   */
+  @Scheduled(fixedDelayString = "${keeper.search.posting-index-commit-interval-ms:30000}")
+  public synchronized void commitIfChanged() {
+    if (!isAvailable() || !indexWriter.hasUncommittedChanges()) {
+      return;
+    }
+    try {
+      indexWriter.commit();
+    } catch (IOException e) {
+      log.error("게시글 검색 색인 저장 실패", e);
+    }
+  }
+
+  private void commit() throws IOException {
+    indexWriter.commit();
+    searcherManager.maybeRefreshBlocking();
+  }
+
+  private IndexTransaction currentTransaction() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return null;
+    }
+    IndexTransaction transaction = (IndexTransaction) TransactionSynchronizationManager.getResource(
+        this);
+    if (transaction == null) {
+      transaction = new IndexTransaction();
+      TransactionSynchronizationManager.bindResource(this, transaction);
+      TransactionSynchronizationManager.registerSynchronization(transaction);
+    }
+    return transaction;
+  }
+
+  /**
+   * 트랜잭션 안에서 바뀐 문서를 모아 두었다가 커밋되면 색인에 쓴다. 롤백되면 버린다.
+   */
+  private class IndexTransaction implements TransactionSynchronization {
+
+    // posting id -> 바뀐 문서. 삭제면 null
+    private final Map<Long, SearchDocument> changes = new LinkedHashMap<>();
+
+    @Override
+    public void afterCommit() {
+      try {
+        write(changes);
+      } catch (UncheckedIOException e) {
+        log.error("게시글 검색 색인 반영 실패", e);
+      }
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+      TransactionSynchronizationManager.unbindResourceIfPossible(PostingSearchIndex.this);
+    }
+  }
+
+  @Getter
+  @Builder
+  private static class SearchDocument {
+
+    private final Long id;
+    private final String title;
+    private final String content;
+    private final Long categoryId;
+    private final Integer isTemp;
+    private final Integer isNotice;
+    private final Long registerTime;
+
+    static SearchDocument from(PostingEntity postingEntity) {
+      return SearchDocument.builder()
+          .id(postingEntity.getId())
+          .title(Objects.toString(postingEntity.getTitle(), ""))
+          .content(Objects.toString(postingEntity.getContent(), ""))
+          .categoryId(postingEntity.getCategoryId().getId())
+          .isTemp(postingEntity.getIsTemp())
+          .isNotice(postingEntity.getIsNotice())
+          .registerTime(postingEntity.getRegisterTime() == null ? 0L
+              : postingEntity.getRegisterTime().atZone(ZoneId.systemDefault()).toInstant()
+                  .toEpochMilli())
+          .build();
+    }
+
+    Document toDocument() {
+      Document document = new Document();
+      document.add(new StringField(ID, id.toString(), Store.YES));
+      document.add(new TextField(TITLE, title, Store.YES));
+      document.add(new TextField(CONTENT, content, Store.YES));
+      document.add(new StringField(CATEGORY_ID, categoryId.toString(), Store.YES));
+      document.add(new StringField(IS_TEMP, String.valueOf(isTemp), Store.YES));
+      document.add(new StringField(IS_NOTICE, String.valueOf(isNotice), Store.YES));
+      document.add(new NumericDocValuesField(REGISTER_TIME, registerTime));
+      document.add(new StoredField(REGISTER_TIME, registerTime));
+      return document;
+    }
+  }
+}
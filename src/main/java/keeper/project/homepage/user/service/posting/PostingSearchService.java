@@ -0,0 +1,116 @@
+package keeper.project.homepage.user.service.posting;
+
+import static keeper.project.homepage.user.service.posting.PostingService.isNotNoticePosting;
+import static keeper.project.homepage.user.service.posting.PostingService.isNotTempPosting;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import keeper.project.homepage.entity.posting.CategoryEntity;
+import keeper.project.homepage.entity.posting.PostingEntity;
+import keeper.project.homepage.repository.posting.PostingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class PostingSearchService {
+
+  private static final int REBUILD_PAGE_SIZE = 500;
+
+  private final PostingRepository postingRepository;
+  private final PostingSearchIndex postingSearchIndex;
+
+  public Page<PostingEntity> search(String type, String keyword, CategoryEntity categoryEntity,
+      Pageable pageable) {
+
+    if (!postingSearchIndex.isAvailable()) {
+      return searchByRepository(type, keyword, categoryEntity, pageable);
+    }
+
+    Page<Long> postingIds = postingSearchIndex.search(type, keyword, categoryEntity.getId(),
+        pageable);
+    Map<Long, PostingEntity> postingEntities = postingRepository.findAllById(
+            postingIds.getContent()).stream()
+        .collect(Collectors.toMap(PostingEntity::getId, Function.identity()));
+
+    // 색인의 관련도 순서를 유지
+    List<PostingEntity> result = new ArrayList<>();
+    for (Long postingId : postingIds) {
+      if (postingEntities.containsKey(postingId)) {
+        result.add(postingEntities.get(postingId));
+      }
+    }
+    return new PageImpl<>(result, pageable, postingIds.getTotalElements());
+  }
+
+  /**
+   * 게시글 테이블 전체를 다시 색인한다. 색인된 게시글 수를 반환한다.
+   */
+  public int rebuildIndex() {
+    int[] count = {0};
+    postingSearchIndex.rebuild(() -> new Iterator<>() {
+      private int page = 0;
+      private Iterator<PostingEntity> current = Collections.emptyIterator();
+      private boolean hasNextPage = true;
+
+      @Override
+      public boolean hasNext() {
+        while (!current.hasNext() && hasNextPage) {
+          Page<PostingEntity> postingPage = postingRepository.findAll(
+              PageRequest.of(page++, REBUILD_PAGE_SIZE, Sort.by("id")));
+          current = postingPage.iterator();
+          hasNextPage = postingPage.hasNext();
+        }
+        return current.hasNext();
+      }
+
+      @Override
+      public PostingEntity next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        count[0]++;
+        return current.next();
+      }
+    });
+    log.info("게시글 검색 색인 재생성 : {}건", count[0]);
+    return count[0];
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildIndexIfEmpty() {
+    if (postingSearchIndex.isAvailable() && postingSearchIndex.numDocs() == 0
+        && postingRepository.count() > 0) {
+      rebuildIndex();
+    }
+  }
+
+  private Page<PostingEntity> searchByRepository(String type, String keyword,
+      CategoryEntity categoryEntity, Pageable pageable) {
+
+    return switch (type) {
+      case "T" -> postingRepository.findAllByCategoryIdAndTitleContainingAndIsTempAndIsNotice(
+          categoryEntity, keyword, isNotTempPosting, isNotNoticePosting, pageable);
+      case "C" -> postingRepository.findAllByCategoryIdAndContentContainingAndIsTempAndIsNotice(
+          categoryEntity, keyword, isNotTempPosting, isNotNoticePosting, pageable);
+      default -> postingRepository.findAllByCategoryIdAndTitleContainingOrCategoryIdAndContentContainingAndIsTempAndIsNotice(
+          categoryEntity, keyword, categoryEntity, keyword, isNotTempPosting, isNotNoticePosting,
+          pageable);
+    };
+  }
+}
@@ -1,6 +1,5 @@
 package keeper.project.homepage.user.service.posting;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -8,6 +7,7 @@ import java.util.List;
 import java.util.Map;
 import keeper.project.homepage.entity.member.MemberHasMemberJobEntity;
 import keeper.project.homepage.entity.member.MemberJobEntity;
+import keeper.project.homepage.exception.CustomNumberOverflowException;
 import keeper.project.homepage.exception.file.CustomThumbnailEntityNotFoundException;
 import keeper.project.homepage.exception.posting.CustomPostingAccessDeniedException;
 import keeper.project.homepage.exception.posting.CustomPostingIncorrectException;
@@ -20,11 +20,8 @@ import keeper.project.homepage.repository.posting.CommentRepository;
 import keeper.project.homepage.user.dto.posting.LikeAndDislikeDto;
 import keeper.project.homepage.user.dto.posting.PostingBestDto;
 import keeper.project.homepage.user.dto.posting.PostingDto;
-import keeper.project.homepage.entity.FileEntity;
 import keeper.project.homepage.entity.ThumbnailEntity;
 import keeper.project.homepage.entity.member.MemberEntity;
-import keeper.project.homepage.entity.member.MemberHasPostingDislikeEntity;
-import keeper.project.homepage.entity.member.MemberHasPostingLikeEntity;
 import keeper.project.homepage.entity.posting.CategoryEntity;
 import keeper.project.homepage.entity.posting.PostingEntity;
 import keeper.project.homepage.exception.member.CustomMemberNotFoundException;
@@ -33,16 +30,22 @@ import keeper.project.homepage.repository.FileRepository;
 import keeper.project.homepage.repository.ThumbnailRepository;
 import keeper.project.homepage.repository.member.MemberHasPostingDislikeRepository;
 import keeper.project.homepage.repository.member.MemberHasPostingLikeRepository;
+import keeper.project.homepage.repository.member.PostingLikeFlagsProjection;
 import keeper.project.homepage.repository.member.MemberRepository;
 import keeper.project.homepage.repository.posting.CategoryRepository;
+import keeper.project.homepage.repository.posting.PostingListProjection;
 import keeper.project.homepage.repository.posting.PostingRepository;
 import keeper.project.homepage.common.service.util.AuthService;
 import keeper.project.homepage.user.dto.posting.PostingResponseDto;
 import keeper.project.homepage.user.service.member.MemberService;
 import keeper.project.homepage.user.service.member.MemberUtilService;
+import keeper.project.homepage.util.KeysetCursor;
+import keeper.project.homepage.util.dto.CursorPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -64,6 +67,11 @@ public class PostingService {
   private final MemberUtilService memberUtilService;
   private final AuthService authService;
   private final MemberService memberService;
+  private final PostingVisitCountService postingVisitCountService;
+  private final PostingBestService postingBestService;
+  private final PostingLikeCache postingLikeCache;
+  private final CategoryCache categoryCache;
+  private final PostingSearchService postingSearchService;
 
   public static final Integer isNotTempPosting = 0;
   public static final Integer isTempPosting = 1;
@@ -82,13 +90,12 @@ public class PostingService {
 
   public List<PostingResponseDto> findAll(Pageable pageable) {
 
-    Page<PostingEntity> postingEntities = postingRepository.findAllByIsTemp(isNotTempPosting,
-        pageable);
+    Page<PostingListProjection> postings = postingRepository.findPostingListByIsTemp(
+        isNotTempPosting, pageable);
     List<PostingResponseDto> postingResponseDtos = new ArrayList<>();
 
-    for (PostingEntity postingEntity : postingEntities) {
-      postingResponseDtos.add(new PostingResponseDto(postingEntity,
-          (int) postingEntities.getTotalElements(), false));
+    for (PostingListProjection posting : postings) {
+      postingResponseDtos.add(toResponseDto(posting, (int) postings.getTotalElements()));
     }
 
     return postingResponseDtos;
@@ -96,29 +103,75 @@ public class PostingService {
 
   public List<PostingResponseDto> findAllByCategoryId(Long categoryId, Pageable pageable) {
 
-    CategoryEntity categoryEntity = categoryRepository.findById(categoryId)
-        .orElseThrow(CustomCategoryNotFoundException::new);
-    Page<PostingEntity> postingEntities = postingRepository.findAllByCategoryIdAndIsTempAndIsNotice(
-        categoryEntity, isNotTempPosting, isNotNoticePosting, pageable);
+    if (!categoryCache.existsById(categoryId)) {
+      throw new CustomCategoryNotFoundException();
+    }
+    Page<PostingListProjection> postings = postingRepository.findPostingListByCategoryIdAndIsTempAndIsNotice(
+        categoryId, isNotTempPosting, isNotNoticePosting, pageable);
     List<PostingResponseDto> postingResponseDtos = new ArrayList<>();
 
-    for (PostingEntity postingEntity : postingEntities) {
-      postingResponseDtos.add(new PostingResponseDto(postingEntity,
-          (int) postingEntities.getTotalElements(), false));
+    for (PostingListProjection posting : postings) {
+      postingResponseDtos.add(toResponseDto(posting, (int) postings.getTotalElements()));
+    }
+
+    return postingResponseDtos;
+  }
+
+  /**
+   * 하위 게시판을 포함한 카테고리 트리 전체의 게시글을 한 번의 쿼리로 조회한다.
+   */
+  public List<PostingResponseDto> findAllByCategoryTree(Long categoryId, Pageable pageable) {
+
+    List<Long> categoryIds = categoryCache.getSubtreeIds(categoryId);
+    Page<PostingListProjection> postings = postingRepository.findPostingListByCategoryIdInAndIsTempAndIsNotice(
+        categoryIds, isNotTempPosting, isNotNoticePosting, pageable);
+    List<PostingResponseDto> postingResponseDtos = new ArrayList<>();
+
+    for (PostingListProjection posting : postings) {
+      postingResponseDtos.add(toResponseDto(posting, (int) postings.getTotalElements()));
     }
 
     return postingResponseDtos;
   }
 
+  public CursorPage<PostingResponseDto> findAllByCursor(String cursor, int size) {
+
+    KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+    Pageable pageable = PageRequest.of(0, KeysetCursor.pageSize(size));
+    Slice<PostingListProjection> postings = keysetCursor == null
+        ? postingRepository.findPostingSliceByIsTemp(isNotTempPosting, pageable)
+        : postingRepository.findPostingSliceByIsTempAndCursor(isNotTempPosting,
+            keysetCursor.getRegisterTime(), keysetCursor.getId(), pageable);
+
+    return toCursorPage(postings);
+  }
+
+  public CursorPage<PostingResponseDto> findAllByCategoryIdAndCursor(Long categoryId,
+      String cursor, int size) {
+
+    if (!categoryCache.existsById(categoryId)) {
+      throw new CustomCategoryNotFoundException();
+    }
+    KeysetCursor keysetCursor = KeysetCursor.decode(cursor);
+    Pageable pageable = PageRequest.of(0, KeysetCursor.pageSize(size));
+    Slice<PostingListProjection> postings = keysetCursor == null
+        ? postingRepository.findPostingSliceByCategoryIdAndIsTempAndIsNotice(categoryId,
+        isNotTempPosting, isNotNoticePosting, pageable)
+        : postingRepository.findPostingSliceByCategoryIdAndIsTempAndIsNoticeAndCursor(
+            categoryId, isNotTempPosting, isNotNoticePosting, keysetCursor.getRegisterTime(),
+            keysetCursor.getId(), pageable);
+
+    return toCursorPage(postings);
+  }
+
   public List<PostingResponseDto> findAllNotice() {
 
-    List<PostingEntity> postingEntities = postingRepository.findAllByIsNoticeAndIsTemp(
+    List<PostingListProjection> postings = postingRepository.findPostingListByIsNoticeAndIsTemp(
         isNoticePosting, isNotTempPosting);
     List<PostingResponseDto> postingResponseDtos = new ArrayList<>();
 
-    for (PostingEntity postingEntity : postingEntities) {
-      postingResponseDtos.add(new PostingResponseDto(postingEntity,
-          postingEntities.size(), false));
+    for (PostingListProjection posting : postings) {
+      postingResponseDtos.add(toResponseDto(posting, postings.size()));
     }
 
     return postingResponseDtos;
@@ -126,15 +179,15 @@ public class PostingService {
 
   public List<PostingResponseDto> findAllNoticeByCategoryId(Long categoryId) {
 
-    CategoryEntity categoryEntity = categoryRepository.findById(categoryId)
-        .orElseThrow(CustomCategoryNotFoundException::new);
-    List<PostingEntity> postingEntities = postingRepository.findAllByCategoryIdAndIsTempAndIsNotice(
-        categoryEntity, isNotTempPosting, isNoticePosting);
+    if (!categoryCache.existsById(categoryId)) {
+      throw new CustomCategoryNotFoundException();
+    }
+    List<PostingListProjection> postings = postingRepository.findPostingListByCategoryIdAndIsTempAndIsNotice(
+        categoryId, isNotTempPosting, isNoticePosting);
     List<PostingResponseDto> postingResponseDtos = new ArrayList<>();
 
-    for (PostingEntity postingEntity : postingEntities) {
-      postingResponseDtos.add(new PostingResponseDto(postingEntity,
-          postingEntities.size(), false));
+    for (PostingListProjection posting : postings) {
+      postingResponseDtos.add(toResponseDto(posting, postings.size()));
     }
 
     return postingResponseDtos;
@@ -142,28 +195,7 @@ public class PostingService {
 
   public List<PostingBestDto> findAllBest() {
 
-    LocalDateTime startDate = LocalDate.now().minusWeeks(2).atStartOfDay();
-    LocalDateTime endDate = LocalDate.now().plusDays(1).atStartOfDay();
-    List<PostingEntity> postingEntities = postingRepository.findAllByIsTempAndIsSecretAndIsNoticeAndRegisterTimeBetween(
-        isNotTempPosting, isNotSecretPosting, isNotNoticePosting, startDate, endDate);
-
-    postingEntities.sort((posting1, posting2) -> {
-      Integer posting1Score =
-          posting1.getVisitCount() + posting1.getLikeCount() * 2 - posting1.getDislikeCount();
-      Integer posting2Score =
-          posting2.getVisitCount() + posting2.getLikeCount() * 2 - posting2.getDislikeCount();
-
-      return posting2Score.compareTo(posting1Score);
-    });
-
-    List<PostingBestDto> postingBestDtos = new ArrayList<>();
-    for (int i = 0; i < Math.min(postingEntities.size(), bestPostingCount); i++) {
-      PostingBestDto tempBestDto = new PostingBestDto();
-      tempBestDto.initWithEntity(postingEntities.get(i));
-      postingBestDtos.add(tempBestDto);
-    }
-
-    return postingBestDtos;
+    return postingBestService.findAllBest();
   }
 
   public Map<String, Object> findAllByMemberId(Long otherMemberId, Pageable pageable) {
@@ -175,7 +207,7 @@ public class PostingService {
     Map<String, Object> result = new HashMap<>();
     List<PostingResponseDto> postingList = new ArrayList<>();
     for (PostingEntity posting : postingPage.getContent()) {
-      postingList.add(new PostingResponseDto(posting, (int) postingPage.getTotalElements(), false));
+      postingList.add(toResponseDto(posting, (int) postingPage.getTotalElements(), false));
     }
 
     result.put("isLast", postingPage.isLast());
@@ -198,7 +230,9 @@ public class PostingService {
         thumbnailEntity);
 
     memberEntity.getPosting().add(postingEntity);
-    return postingRepository.save(postingEntity);
+    postingEntity = postingRepository.save(postingEntity);
+    postingBestService.updatePosting(postingEntity);
+    return postingEntity;
   }
 
   @Transactional
@@ -219,7 +253,9 @@ public class PostingService {
         thumbnailEntity);
 
     memberEntity.getPosting().add(postingEntity);
-    return postingRepository.save(postingEntity);
+    postingEntity = postingRepository.save(postingEntity);
+    postingBestService.updatePosting(postingEntity);
+    return postingEntity;
   }
 
   @Transactional
@@ -229,7 +265,7 @@ public class PostingService {
         .orElseThrow(CustomPostingNotFoundException::new);
   }
 
-  @Transactional
+  @Transactional(readOnly = true)
   public PostingResponseDto getPostingResponseById(Long pid, Long visitMemberId, String password) {
 
     PostingEntity postingEntity = postingRepository.findById(pid)
@@ -246,11 +282,11 @@ public class PostingService {
           throw new CustomPostingIncorrectException();
         }
       }
-      postingEntity.increaseVisitCount();
-      updateInfoById(postingEntity, pid);
+      postingVisitCountService.increaseVisitCount(pid);
+      postingBestService.increaseVisitCount(pid);
     }
 
-    return new PostingResponseDto(postingEntity, 1, true);
+    return toResponseDto(postingEntity, 1, true);
   }
 
   @Transactional
@@ -273,19 +309,9 @@ public class PostingService {
         dto.getAllowComment(), dto.getIsNotice(), dto.getIsSecret());
     tempEntity.setThumbnail(newThumbnail);
 
-    return postingRepository.save(tempEntity);
-  }
-
-  @Transactional
-  public void updateInfoById(PostingEntity postingEntity, Long postingId) {
-    PostingEntity tempEntity = postingRepository.findById(postingId)
-        .orElseThrow(CustomPostingNotFoundException::new);
-
-    tempEntity.updateInfo(postingEntity.getTitle(), postingEntity.getContent(),
-        postingEntity.getUpdateTime(), postingEntity.getIpAddress(),
-        postingEntity.getAllowComment(), postingEntity.getIsNotice(), postingEntity.getIsSecret());
-
-    postingRepository.save(tempEntity);
+    tempEntity = postingRepository.save(tempEntity);
+    postingBestService.updatePosting(tempEntity);
+    return tempEntity;
   }
 
   @Transactional
@@ -299,33 +325,27 @@ public class PostingService {
     }
 
     // Foreign Key로 연결 된 file 제거
-    List<FileEntity> fileEntities = fileRepository.findAllByPostingId(postingEntity);
-    for (FileEntity fileEntity : fileEntities) {
-      fileEntity.setPostingId(null);
-      fileRepository.save(fileEntity);
-    }
+    fileRepository.detachAllFromPosting(postingEntity);
 
     memberEntity.getPosting().remove(postingEntity);
     postingRepository.delete(postingEntity);
+    postingBestService.removePosting(postingEntity.getId());
+    postingLikeCache.evictPosting(postingEntity.getId());
   }
 
   @Transactional
   public List<PostingResponseDto> searchPosting(String type, String keyword,
       Long categoryId, Pageable pageable) {
 
-    CategoryEntity categoryEntity = categoryRepository.findById(categoryId)
-        .orElseThrow(CustomPostingNotFoundException::new);
+    if (!categoryCache.existsById(categoryId)) {
+      throw new CustomPostingNotFoundException();
+    }
+    // 검색 쿼리에는 id 만 쓰이므로 조회 없이 참조만 얻는다
+    CategoryEntity categoryEntity = categoryRepository.getById(categoryId);
     Page<PostingEntity> postingEntities = Page.empty();
     switch (type) {
-      case "T" -> postingEntities = postingRepository.findAllByCategoryIdAndTitleContainingAndIsTempAndIsNotice(
-          categoryEntity, keyword, isNotTempPosting, isNotNoticePosting, pageable);
-
-      case "C" -> postingEntities = postingRepository.findAllByCategoryIdAndContentContainingAndIsTempAndIsNotice(
-          categoryEntity, keyword, isNotTempPosting, isNotNoticePosting, pageable);
-
-      case "TC" -> postingEntities = postingRepository.findAllByCategoryIdAndTitleContainingOrCategoryIdAndContentContainingAndIsTempAndIsNotice(
-          categoryEntity, keyword, categoryEntity, keyword, isNotTempPosting, isNotNoticePosting,
-          pageable);
+      case "T", "C", "TC" -> postingEntities = postingSearchService.search(type, keyword,
+          categoryEntity, pageable);
 
       case "W" -> {
         MemberEntity memberEntity = memberRepository.findByNickName(keyword)
@@ -337,102 +357,103 @@ public class PostingService {
     List<PostingResponseDto> postingResponseDtos = new ArrayList<>();
 
     for (PostingEntity postingEntity : postingEntities) {
-      postingResponseDtos.add(new PostingResponseDto(postingEntity,
+      postingResponseDtos.add(toResponseDto(postingEntity,
           (int) postingEntities.getTotalElements(), false));
     }
 
     return postingResponseDtos;
   }
 
+  // 게시글 행의 카운터를 먼저 갱신해 행 잠금을 잡은 뒤 회원 연결 행을 바꾼다.
+  // 연결 행을 먼저 넣으면 외래키 검사의 공유 잠금 때문에 동시 요청끼리 교착될 수 있다.
   @Transactional
   public boolean isPostingLike(Long postingId, String type) {
 
-    MemberEntity memberEntity = authService.getMemberEntityWithJWT();
-    PostingEntity postingEntity = postingRepository.findById(postingId)
-        .orElseThrow(CustomPostingNotFoundException::new);
-    MemberHasPostingLikeEntity memberHasPostingLikeEntity = MemberHasPostingLikeEntity.builder()
-        .memberId(memberEntity).postingId(postingEntity).build();
+    Long memberId = authService.getMemberIdByJWT();
 
     if (type.equals("INC")) {
-      if (postingRepository.existsByMemberHasPostingLikeEntitiesContaining(
-          memberHasPostingLikeEntity)) {
+      if (postingRepository.addLikeCount(postingId, 1) == 0) {
+        checkPostingExists(postingId);
+        throw new CustomNumberOverflowException();
+      }
+      if (memberHasPostingLikeRepository.insertIfAbsent(memberId, postingId) == 0) {
+        postingRepository.addLikeCount(postingId, -1);
         return false;
-      } else {
-        postingEntity.increaseLikeCount(memberHasPostingLikeEntity);
-        postingRepository.save(postingEntity);
-        return true;
       }
+      postingBestService.updateLikeCount(postingId, 1);
+      postingLikeCache.evict(memberId, postingId);
+      return true;
     } else {
-      if (postingRepository.existsByMemberHasPostingLikeEntitiesContaining(
-          memberHasPostingLikeEntity)) {
-        memberHasPostingLikeRepository.deleteByMemberIdAndPostingId(memberEntity, postingEntity);
-        postingEntity.decreaseLikeCount();
-        postingRepository.saveAndFlush(postingEntity);
-        return true;
-      } else {
+      if (postingRepository.addLikeCount(postingId, -1) == 0) {
+        checkPostingExists(postingId);
         return false;
       }
+      if (memberHasPostingLikeRepository.deleteIfPresent(memberId, postingId) == 0) {
+        postingRepository.addLikeCount(postingId, 1);
+        return false;
+      }
+      postingBestService.updateLikeCount(postingId, -1);
+      postingLikeCache.evict(memberId, postingId);
+      return true;
     }
   }
 
   @Transactional
   public boolean isPostingDislike(Long postingId, String type) {
 
-    MemberEntity memberEntity = authService.getMemberEntityWithJWT();
-    PostingEntity postingEntity = postingRepository.findById(postingId)
-        .orElseThrow(CustomPostingNotFoundException::new);
-    MemberHasPostingDislikeEntity memberHasPostingDislikeEntity = MemberHasPostingDislikeEntity.builder()
-        .memberId(memberEntity).postingId(postingEntity).build();
+    Long memberId = authService.getMemberIdByJWT();
 
     if (type.equals("INC")) {
-      if (postingRepository.existsByMemberHasPostingDislikeEntitiesContaining(
-          memberHasPostingDislikeEntity)) {
+      if (postingRepository.addDislikeCount(postingId, 1) == 0) {
+        checkPostingExists(postingId);
+        throw new CustomNumberOverflowException();
+      }
+      if (memberHasPostingDislikeRepository.insertIfAbsent(memberId, postingId) == 0) {
+        postingRepository.addDislikeCount(postingId, -1);
         return false;
-      } else {
-        postingEntity.increaseDislikeCount(memberHasPostingDislikeEntity);
-        postingRepository.save(postingEntity);
-        return true;
       }
+      postingBestService.updateDislikeCount(postingId, 1);
+      postingLikeCache.evict(memberId, postingId);
+      return true;
     } else {
-      if (postingRepository.existsByMemberHasPostingDislikeEntitiesContaining(
-          memberHasPostingDislikeEntity)) {
-        memberHasPostingDislikeRepository.deleteByMemberIdAndPostingId(memberEntity, postingEntity);
-        postingEntity.decreaseDislikeCount();
-        postingRepository.saveAndFlush(postingEntity);
-        return true;
-      } else {
+      if (postingRepository.addDislikeCount(postingId, -1) == 0) {
+        checkPostingExists(postingId);
         return false;
       }
+      if (memberHasPostingDislikeRepository.deleteIfPresent(memberId, postingId) == 0) {
+        postingRepository.addDislikeCount(postingId, 1);
+        return false;
+      }
+      postingBestService.updateDislikeCount(postingId, -1);
+      postingLikeCache.evict(memberId, postingId);
+      return true;
     }
   }
 
-  @Transactional
-  public LikeAndDislikeDto checkLikeAndDisLike(Long postingId) {
-
-    MemberEntity memberEntity = authService.getMemberEntityWithJWT();
-    PostingEntity postingEntity = postingRepository.findById(postingId)
-        .orElseThrow(CustomPostingNotFoundException::new);
-    MemberHasPostingDislikeEntity memberHasPostingDislikeEntity = MemberHasPostingDislikeEntity.builder()
-        .memberId(memberEntity).postingId(postingEntity).build();
-    MemberHasPostingLikeEntity memberHasPostingLikeEntity = MemberHasPostingLikeEntity.builder()
-        .memberId(memberEntity).postingId(postingEntity).build();
+  private void checkPostingExists(Long postingId) {
+    if (!postingRepository.existsById(postingId)) {
+      throw new CustomPostingNotFoundException();
+    }
+  }
 
-    List<Boolean> checked = new ArrayList<>();
+  public LikeAndDislikeDto checkLikeAndDisLike(Long postingId) {
 
-    if (postingRepository.existsByMemberHasPostingLikeEntitiesContaining(
-        memberHasPostingLikeEntity)) {
-      checked.add(true);
-    } else {
-      checked.add(false);
-    }
-    if (postingRepository.existsByMemberHasPostingDislikeEntitiesContaining(
-        memberHasPostingDislikeEntity)) {
-      checked.add(true);
-    } else {
-      checked.add(false);
+    Long memberId = authService.getMemberIdByJWT();
+    LikeAndDislikeDto cached = postingLikeCache.get(memberId, postingId);
+    if (cached != null) {
+      return cached;
     }
 
-    return new LikeAndDislikeDto(checked.get(0), checked.get(1));
+    long generation = postingLikeCache.getGeneration();
+    PostingLikeFlagsProjection flags = memberHasPostingLikeRepository.findLikeFlags(memberId,
+        postingId);
+    if (flags.getPostingCount() == 0) {
+      throw new CustomPostingNotFoundException();
+    }
+    LikeAndDislikeDto likeAndDislikeDto = new LikeAndDislikeDto(flags.getLikeCount() > 0,
+        flags.getDislikeCount() > 0);
+    postingLikeCache.put(memberId, postingId, likeAndDislikeDto, generation);
+    return likeAndDislikeDto;
   }
 
   public boolean isNotAccessExamBoard(PostingEntity postingEntity) {
@@ -460,11 +481,42 @@ public class PostingService {
   }
 
   public PostingResponseDto createNotAccessDto(PostingEntity postingEntity) {
-    PostingResponseDto postingResponseDto = new PostingResponseDto(postingEntity,
-        1, true);
+    PostingResponseDto postingResponseDto = toResponseDto(postingEntity, 1, true);
     postingResponseDto.setTitle(EXAM_ACCESS_DENIED_TITLE);
     postingResponseDto.setContent(EXAM_ACCESS_DENIED_CONTENT);
     postingResponseDto.setFiles(new ArrayList<>());
     return postingResponseDto;
   }
+
+  private PostingResponseDto toResponseDto(PostingEntity postingEntity, Integer size,
+      boolean isOne) {
+    PostingResponseDto postingResponseDto = new PostingResponseDto(postingEntity,
+        categoryCache.getName(postingEntity.getCategoryId().getId()), size, isOne);
+    postingResponseDto.setVisitCount(postingVisitCountService.getVisitCount(
+        postingEntity.getId(), postingEntity.getVisitCount()));
+    return postingResponseDto;
+  }
+
+  private CursorPage<PostingResponseDto> toCursorPage(Slice<PostingListProjection> postings) {
+    List<PostingResponseDto> postingResponseDtos = new ArrayList<>();
+    for (PostingListProjection posting : postings) {
+      // 커서 방식은 전체 개수를 세지 않는다
+      postingResponseDtos.add(toResponseDto(posting, null));
+    }
+
+    String nextCursor = null;
+    if (postings.hasNext()) {
+      PostingListProjection last = postings.getContent().get(postings.getNumberOfElements() - 1);
+      nextCursor = KeysetCursor.encode(last.getRegisterTime(), last.getId());
+    }
+    return new CursorPage<>(postingResponseDtos, nextCursor);
+  }
+
+  private PostingResponseDto toResponseDto(PostingListProjection posting, Integer size) {
+    PostingResponseDto postingResponseDto = new PostingResponseDto(posting,
+        categoryCache.getName(posting.getCategoryId()), size);
+    postingResponseDto.setVisitCount(postingVisitCountService.getVisitCount(
+        posting.getId(), posting.getVisitCount()));
+    return postingResponseDto;
+  }
 }
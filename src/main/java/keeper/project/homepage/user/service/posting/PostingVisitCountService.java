@@ -0,0 +1,80 @@
+package keeper.project.homepage.user.service.posting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PreDestroy;
+import keeper.project.homepage.repository.posting.PostingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * 게시글 조회수를 메모리에 누적해 두었다가 주기적으로 DB에 반영한다.
+ * <p>
+ * 조회 한 번마다 posting row 를 갱신하지 않기 위해 posting id 별 증가분만 들고 있고, flush 시에
+ * {@code visit_count = visit_count + ?} 형태의 상대 갱신으로 반영하므로 다른 컬럼 갱신과 충돌하지 않는다.
+ */
+@Log4j2
+@Service
+@RequiredArgsConstructor
+public class PostingVisitCountService {
+
+  private final PostingRepository postingRepository;
+
+  // 아직 DB에 반영되지 않은 증가분
+  private final Map<Long, Long> pendingCounts = new ConcurrentHashMap<>();
+  // flush 중인 증가분 (UPDATE 가 끝나기 전까지 조회 결과에 포함)
+  private final Map<Long, Long> flushingCounts = new ConcurrentHashMap<>();
+
+  public void increaseVisitCount(Long postingId) {
+    pendingCounts.merge(postingId, 1L, Long::sum);
+  }
+
+  public int getPendingVisitCount(Long postingId) {
+    return (int) (pendingCounts.getOrDefault(postingId, 0L)
+        + flushingCounts.getOrDefault(postingId, 0L));
+  }
+
+  public int getVisitCount(Long postingId, Integer storedVisitCount) {
+    return storedVisitCount + getPendingVisitCount(postingId);
+  }
+
+  @Scheduled(fixedDelayString = "${keeper.posting.visit-count.flush-interval-ms:10000}")
+  public synchronized void flush() {
+    if (pendingCounts.isEmpty()) {
+      return;
+    }
+
+    // 증가분이 같은 게시글끼리 묶어 UPDATE 한 번으로 반영
+    Map<Long, List<Long>> postingIdsByDelta = new TreeMap<>();
+    for (Long postingId : new ArrayList<>(pendingCounts.keySet())) {
+      Long delta = pendingCounts.remove(postingId);
+      if (delta == null) {
+        continue;
+      }
+      flushingCounts.merge(postingId, delta, Long::sum);
+      postingIdsByDelta.computeIfAbsent(delta, k -> new ArrayList<>()).add(postingId);
+    }
+
+    postingIdsByDelta.forEach((delta, postingIds) -> {
+      try {
+        postingRepository.increaseVisitCountByIdIn(postingIds, delta.intValue());
+        postingIds.forEach(flushingCounts::remove);
+      } catch (RuntimeException e) {
+        log.error("게시글 조회수 반영 실패", e);
+        // 반영하지 못한 증가분은 다음 flush 때 다시 시도
+        postingIds.forEach(postingId -> pendingCounts.merge(postingId,
+            flushingCounts.remove(postingId), Long::sum));
+      }
+    });
+  }
+
+  @PreDestroy
+  public void flushOnShutdown() {
+    flush();
+  }
+}
@@ -0,0 +1,79 @@
+package keeper.project.homepage.util;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * 서버에 저장된 파일을 응답 본문으로 보낼 때 사용한다.
+ * <p>
+ * 본문은 {@link FileSystemResource} 로 넘겨 메모리에 전부 올리지 않고 버퍼 단위로 보내며, Range 요청이면
+ * Spring 이 요청한 구간만 206 으로 보낸다. ETag/Last-Modified 가 일치하는 조건부 요청은 파일을 찾기 전에 304 로
+ * 응답한다.
+ */
+public class FileResponseUtil {
+
+  public static String getETag(Object... parts) {
+    StringJoiner key = new StringJoiner("|");
+    for (Object part : parts) {
+      key.add(Objects.toString(part));
+    }
+    return DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static ResponseEntity<Resource> getFileResponse(WebRequest webRequest, String eTag,
+      LocalDateTime lastModified, CacheControl cacheControl, MediaType contentType,
+      Supplier<File> fileSupplier) {
+    return getFileResponse(webRequest, eTag, lastModified, cacheControl, contentType, null,
+        fileSupplier);
+  }
+
+  /**
+   * @param contentDisposition null 이면 Content-Disposition 헤더를 붙이지 않는다.
+   * @param fileSupplier       304 가 아닐 때만 호출된다.
+   */
+  public static ResponseEntity<Resource> getFileResponse(WebRequest webRequest, String eTag,
+      LocalDateTime lastModified, CacheControl cacheControl, MediaType contentType,
+      String contentDisposition, Supplier<File> fileSupplier) {
+    long lastModifiedMillis = toEpochMilli(lastModified);
+    if (webRequest.checkNotModified(eTag, lastModifiedMillis)) {
+      // checkNotModified 가 ETag/Last-Modified 헤더를 이미 붙였다
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .cacheControl(cacheControl)
+          .build();
+    }
+
+    ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+        .eTag(eTag)
+        .cacheControl(cacheControl)
+        .contentType(contentType)
+        .header(HttpHeaders.ACCEPT_RANGES, "bytes");
+    if (lastModifiedMillis >= 0) {
+      builder.lastModified(lastModifiedMillis);
+    }
+    if (contentDisposition != null) {
+      builder.header(HttpHeaders.CONTENT_DISPOSITION, contentDisposition);
+    }
+    return builder.body(new FileSystemResource(fileSupplier.get()));
+  }
+
+  private static long toEpochMilli(LocalDateTime time) {
+    if (time == null) {
+      return -1;
+    }
+    return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+  }
+}
@@ -0,0 +1,64 @@
+package keeper.project.homepage.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import keeper.project.homepage.exception.CustomInvalidCursorException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * (registerTime, id) 기준 커서 페이지네이션의 위치.
+ * <p>
+ * 클라이언트에는 값을 그대로 노출하지 않고 base64url 로 인코딩한 토큰을 넘긴다. 빈 토큰은 첫 페이지를 뜻한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class KeysetCursor {
+
+  public static final int MAX_PAGE_SIZE = 100;
+
+  private static final String DELIMITER = "_";
+
+  private final LocalDateTime registerTime;
+  private final Long id;
+
+  public String encode() {
+    String raw = registerTime + DELIMITER + id;
+    return Base64.getUrlEncoder().withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  public static String encode(LocalDateTime registerTime, Long id) {
+    return new KeysetCursor(registerTime, id).encode();
+  }
+
+  /**
+   * 한 페이지 크기를 1 ~ {@link #MAX_PAGE_SIZE} 로 맞춘다. Pageable 을 받는 목록과 같이 범위를 벗어나도 오류로
+   * 만들지 않는다.
+   */
+  public static int pageSize(int size) {
+    return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+  }
+
+  /**
+   * 토큰을 해석한다. 빈 토큰이면 {@code null} 을 반환한다.
+   */
+  public static KeysetCursor decode(String token) {
+    if (token == null || token.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int delimiterIndex = raw.lastIndexOf(DELIMITER);
+      if (delimiterIndex < 0) {
+        throw new CustomInvalidCursorException();
+      }
+      return new KeysetCursor(LocalDateTime.parse(raw.substring(0, delimiterIndex)),
+          Long.parseLong(raw.substring(delimiterIndex + 1)));
+    } catch (IllegalArgumentException | DateTimeParseException e) {
+      throw new CustomInvalidCursorException(null, e);
+    }
+  }
+}
@@ -0,0 +1,193 @@
+package keeper.project.homepage.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 정렬 순서를 유지하면서 원소의 순위와 k 번째 원소를 O(log n) 에 구하는 집합. 노드마다 서브트리 크기를 함께
+ * 저장하는 treap 이다.
+ * <p>
+ * {@code comparator} 로 같다고 비교되는 원소는 하나만 들어간다. 동기화하지 않으므로 여러 스레드에서 쓸 때는
+ * 호출하는 쪽에서 잠근다.
+ */
+public class OrderStatisticTree<E> {
+
+  private final Comparator<? super E> comparator;
+  private final SplittableRandom random = new SplittableRandom();
+  private Node<E> root;
+
+  public OrderStatisticTree(Comparator<? super E> comparator) {
+    this.comparator = comparator;
+  }
+
+  public int size() {
+    return size(root);
+  }
+
+  public boolean isEmpty() {
+    return root == null;
+  }
+
+  public boolean contains(E element) {
+    return indexOf(element) >= 0;
+  }
+
+  /**
+   * @return 새로 넣었으면 true, 같은 원소가 이미 있으면 false
+   */
+  public boolean add(E element) {
+    if (contains(element)) {
+      return false;
+    }
+    Split<E> parts = split(root, element, false);
+    root = merge(merge(parts.lower, new Node<>(element, random.nextInt())), parts.upper);
+    return true;
+  }
+
+  /**
+   * @return 지웠으면 true
+   */
+  public boolean remove(E element) {
+    if (!contains(element)) {
+      return false;
+    }
+    Split<E> lower = split(root, element, false);
+    Split<E> upper = split(lower.upper, element, true);
+    root = merge(lower.lower, upper.upper);
+    return true;
+  }
+
+  /**
+   * @return 0 부터 센 순위, 없으면 -1
+   */
+  public int indexOf(E element) {
+    int index = 0;
+    Node<E> node = root;
+    while (node != null) {
+      int compared = comparator.compare(element, node.value);
+      if (compared < 0) {
+        node = node.left;
+      } else if (compared > 0) {
+        index += size(node.left) + 1;
+        node = node.right;
+      } else {
+        return index + size(node.left);
+      }
+    }
+    return -1;
+  }
+
+  public E get(int index) {
+    if (index < 0 || index >= size()) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    Node<E> node = root;
+    while (true) {
+      int leftSize = size(node.left);
+      if (index < leftSize) {
+        node = node.left;
+      } else if (index > leftSize) {
+        index -= leftSize + 1;
+        node = node.right;
+      } else {
+        return node.value;
+      }
+    }
+  }
+
+  /**
+   * @return {@code fromIndex} 이상 {@code toIndex} 미만 순위의 원소 (범위를 벗어난 부분은 뺀다)
+   */
+  public List<E> subList(int fromIndex, int toIndex) {
+    int from = Math.max(0, fromIndex);
+    int to = Math.min(size(), toIndex);
+    List<E> result = new ArrayList<>(Math.max(0, to - from));
+    collect(root, 0, from, to, result);
+    return result;
+  }
+
+  private void collect(Node<E> node, int offset, int from, int to, List<E> result) {
+    // 범위에 걸치지 않는 서브트리는 내려가지 않는다
+    if (node == null || offset >= to || offset + node.size <= from) {
+      return;
+    }
+    collect(node.left, offset, from, to, result);
+    int index = offset + size(node.left);
+    if (index >= from && index < to) {
+      result.add(node.value);
+    }
+    collect(node.right, index + 1, from, to, result);
+  }
+
+  /**
+   * @return {@code element} 보다 작은(inclusive 면 작거나 같은) 원소와 나머지
+   */
+  private Split<E> split(Node<E> node, E element, boolean inclusive) {
+    if (node == null) {
+      return new Split<>(null, null);
+    }
+    int compared = comparator.compare(node.value, element);
+    if (compared < 0 || (inclusive && compared == 0)) {
+      Split<E> parts = split(node.right, element, inclusive);
+      node.right = parts.lower;
+      node.update();
+      return new Split<>(node, parts.upper);
+    }
+    Split<E> parts = split(node.left, element, inclusive);
+    node.left = parts.upper;
+    node.update();
+    return new Split<>(parts.lower, node);
+  }
+
+  private Node<E> merge(Node<E> lower, Node<E> upper) {
+    if (lower == null) {
+      return upper;
+    }
+    if (upper == null) {
+      return lower;
+    }
+    if (lower.priority > upper.priority) {
+      lower.right = merge(lower.right, upper);
+      lower.update();
+      return lower;
+    }
+    upper.left = merge(lower, upper.left);
+    upper.update();
+    return upper;
+  }
+
+  private static int size(Node<?> node) {
+    return node == null ? 0 : node.size;
+  }
+
+  private static class Split<E> {
+
+    private final Node<E> lower;
+    private final Node<E> upper;
+
+    Split(Node<E> lower, Node<E> upper) {
+      this.lower = lower;
+      this.upper = upper;
+    }
+  }
+
+  private static class Node<E> {
+
+    private final E value;
+    private final int priority;
+    private int size = 1;
+    private Node<E> left;
+    private Node<E> right;
+
+    Node(E value, int priority) {
+      this.value = value;
+      this.priority = priority;
+    }
+
+    void update() {
+      size = size(left) + size(right) + 1;
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package keeper.project.homepage.util.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+  private List<T> content;
+  // 다음 페이지가 없으면 null
+  private String nextCursor;
+}
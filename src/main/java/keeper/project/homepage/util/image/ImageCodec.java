@@ -0,0 +1,112 @@
+package keeper.project.homepage.util.image;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import keeper.project.homepage.exception.file.CustomImageFormatException;
+import keeper.project.homepage.exception.file.CustomImageIOException;
+
+/**
+ * 이미지를 한 번만 디코딩해 검증/전처리/인코딩에 같이 쓰기 위한 도구.
+ * <p>
+ * 결과 크기({@code targetSize})를 알면 원본이 그 두 배보다 클 때 디코딩 단계에서 픽셀을 건너뛰어 읽으므로,
+ * 큰 원본으로 작은 썸네일을 만들 때 전체 해상도의 래스터를 만들지 않는다.
+ */
+public class ImageCodec {
+
+  // 건너뛰어 읽은 뒤에도 결과 크기의 이 배수 이상은 남겨 축소 품질을 유지한다
+  private static final int SUBSAMPLING_MARGIN = 2;
+
+  public static BufferedImage read(InputStream inputStream, Dimension targetSize) {
+    return decode(inputStream, targetSize);
+  }
+
+  public static BufferedImage read(File file, Dimension targetSize) {
+    return decode(file, targetSize);
+  }
+
+  public static void write(BufferedImage image, String fileFormat, File file) {
+    try {
+      if (!ImageIO.write(toWritable(image, fileFormat), fileFormat, file)) {
+        throw new CustomImageFormatException();
+      }
+    } catch (IOException e) {
+      e.printStackTrace();
+      throw new CustomImageIOException();
+    }
+  }
+
+  /**
+   * @return 이 서버의 ImageIO 로 {@code fileFormat} 을 쓸 수 있으면 true (webp 등은 플러그인이 있어야 한다)
+   */
+  public static boolean canWrite(String fileFormat) {
+    return ImageIO.getImageWritersByFormatName(fileFormat).hasNext();
+  }
+
+  private static BufferedImage toWritable(BufferedImage image, String fileFormat) {
+    // jpg 는 알파 채널을 쓸 수 없으므로 흰 배경에 그려 넘긴다
+    boolean jpeg = "jpg".equalsIgnoreCase(fileFormat) || "jpeg".equalsIgnoreCase(fileFormat);
+    if (!jpeg || !image.getColorModel().hasAlpha()) {
+      return image;
+    }
+    BufferedImage opaque = new BufferedImage(image.getWidth(), image.getHeight(),
+        BufferedImage.TYPE_3BYTE_BGR);
+    Graphics2D graphics = opaque.createGraphics();
+    graphics.drawImage(image, 0, 0, Color.WHITE, null);
+    graphics.dispose();
+    return opaque;
+  }
+
+  /**
+   * @throws CustomImageFormatException 읽을 수 있는 이미지가 아닌 경우
+   * @throws CustomImageIOException     읽는 도중 실패한 경우
+   */
+  private static BufferedImage decode(Object input, Dimension targetSize) {
+    try (ImageInputStream imageInputStream = ImageIO.createImageInputStream(input)) {
+      if (imageInputStream == null) {
+        throw new CustomImageIOException();
+      }
+      Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInputStream);
+      if (!readers.hasNext()) {
+        throw new CustomImageFormatException();
+      }
+      ImageReader reader = readers.next();
+      try {
+        reader.setInput(imageInputStream, true, true);
+        ImageReadParam param = reader.getDefaultReadParam();
+        int subsampling = getSubsampling(reader.getWidth(0), reader.getHeight(0), targetSize);
+        if (subsampling > 1) {
+          param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+        }
+        BufferedImage image = reader.read(0, param);
+        if (image == null) {
+          throw new CustomImageFormatException();
+        }
+        return image;
+      } finally {
+        reader.dispose();
+      }
+    } catch (IOException e) {
+      e.printStackTrace();
+      throw new CustomImageIOException();
+    }
+  }
+
+  static int getSubsampling(int width, int height, Dimension targetSize) {
+    if (targetSize == null || targetSize.width <= 0 || targetSize.height <= 0) {
+      return 1;
+    }
+    int byWidth = width / (targetSize.width * SUBSAMPLING_MARGIN);
+    int byHeight = height / (targetSize.height * SUBSAMPLING_MARGIN);
+    return Math.max(1, Math.min(byWidth, byHeight));
+  }
+}
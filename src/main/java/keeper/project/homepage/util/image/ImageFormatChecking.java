@@ -1,9 +1,13 @@
 package keeper.project.homepage.util.image;
 
+import java.awt.Dimension;
 import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
 import keeper.project.homepage.exception.file.CustomImageFormatException;
 import keeper.project.homepage.exception.file.CustomImageIOException;
+import keeper.project.homepage.util.service.SpooledUpload;
 import org.springframework.stereotype.Component;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -43,16 +47,71 @@ public class ImageFormatChecking {
     }
   }
 
+  /**
+   * 받아 둔 업로드의 앞부분으로 형식을 확인한 뒤, 임시 파일에서 디코딩한 결과를 반환한다. 이미지가 아닌 파일은
+   * 디코딩하기 전에 거른다.
+   *
+   * @param targetSize 전처리 결과의 최대 크기. 원본이 훨씬 크면 줄여 읽는다. null 이면 원본 크기로 읽는다.
+   */
+  public BufferedImage readNormalImageFile(SpooledUpload upload, Dimension targetSize) {
+    String format = detectImageFormat(upload.getHead());
+    if (format == null || !Arrays.asList(enableImageFormat).contains(format)) {
+      throw new CustomImageFormatException();
+    }
+    return ImageCodec.read(upload.getPath().toFile(), targetSize);
+  }
+
+  /**
+   * @return 내용 앞부분의 시그니처로 판별한 형식. 알 수 없으면 null
+   */
+  public static String detectImageFormat(byte[] head) {
+    if (startsWith(head, 0xFF, 0xD8, 0xFF)) {
+      return "jpg";
+    }
+    if (startsWith(head, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+      return "png";
+    }
+    if (startsWith(head, 'G', 'I', 'F', '8')) {
+      return "gif";
+    }
+    if (startsWith(head, 'B', 'M')) {
+      return "bmp";
+    }
+    if (startsWith(head, 'R', 'I', 'F', 'F') && head.length >= 12
+        && head[8] == 'W' && head[9] == 'E' && head[10] == 'B' && head[11] == 'P') {
+      return "webp";
+    }
+    return null;
+  }
+
+  private static boolean startsWith(byte[] head, int... signature) {
+    if (head.length < signature.length) {
+      return false;
+    }
+    for (int i = 0; i < signature.length; i++) {
+      if ((head[i] & 0xFF) != signature[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public void checkNormalImageFile(MultipartFile multipartFile) {
-    BufferedImage bo_image;
-    try {
-      bo_image = ImageIO.read(multipartFile.getInputStream());
-    } catch (Exception e) {
+    readNormalImageFile(multipartFile, null);
+  }
+
+  /**
+   * 업로드된 이미지를 검증하면서 디코딩한 결과를 반환한다. 반환한 이미지로 바로 전처리하면 다시 디코딩하지 않아도
+   * 된다.
+   *
+   * @param targetSize 전처리 결과의 최대 크기. 원본이 훨씬 크면 줄여 읽는다. null 이면 원본 크기로 읽는다.
+   */
+  public BufferedImage readNormalImageFile(MultipartFile multipartFile, Dimension targetSize) {
+    try (InputStream inputStream = multipartFile.getInputStream()) {
+      return ImageCodec.read(inputStream, targetSize);
+    } catch (IOException e) {
       e.printStackTrace();
       throw new CustomImageIOException();
     }
-    if (bo_image == null) {
-      throw new CustomImageFormatException();
-    }
   }
 }
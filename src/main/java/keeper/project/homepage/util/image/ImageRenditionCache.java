@@ -0,0 +1,191 @@
+package keeper.project.homepage.util.image;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+import keeper.project.homepage.exception.file.CustomImageIOException;
+import keeper.project.homepage.util.image.preprocessing.ImageNoChange;
+import keeper.project.homepage.util.image.preprocessing.ImagePreprocessing;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/**
+ * 원본 이미지에 전처리(크기 조절, 자르기)를 한 결과를 원본 옆 디렉토리에 파일로 보관한다.
+ * <p>
+ * 키는 (종류, id, 전처리 방식, 원본 파일 이름) 이므로 원본이 바뀌면 새 결과를 만든다. 원본은 읽기만
+ * 하므로 바뀌지 않는다. 전체 크기가 {@code maxBytes} 를 넘으면 가장 오래 쓰이지 않은 결과부터 지운다.
+ */
+@Log4j2
+@Component
+public class ImageRenditionCache {
+
+  private static final String RENDITION_FORMAT = "jpg";
+  private static final String TEMP_SUFFIX = ".tmp";
+
+  private final String renditionDirPath;
+  private final long maxBytes;
+
+  // 결과 파일 이름 -> 크기 (접근 순서)
+  private final Map<String, Long> renditions = new LinkedHashMap<>(16, 0.75f, true);
+  private long totalBytes = 0;
+
+  public ImageRenditionCache(
+      @Value("${keeper.image.rendition-dir:keeper_files/renditions}") String renditionDirPath,
+      @Value("${keeper.image.rendition-max-bytes:268435456}") long maxBytes) {
+    this.renditionDirPath = renditionDirPath;
+    this.maxBytes = maxBytes;
+  }
+
+  @PostConstruct
+  public synchronized void load() {
+    File renditionDir = getRenditionDir();
+    if (!renditionDir.exists() && !renditionDir.mkdirs()) {
+      log.warn("이미지 변환 결과 디렉토리를 만들 수 없습니다. : {}", renditionDir);
+      return;
+    }
+    File[] files = renditionDir.listFiles();
+    if (files == null) {
+      return;
+    }
+    // 오래된 것부터 넣어 LRU 순서를 맞춘다
+    Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+    for (File file : files) {
+      if (file.getName().endsWith(TEMP_SUFFIX)) {
+        file.delete();
+        continue;
+      }
+      register(file.getName(), file.length());
+    }
+    evictIfNeeded(null);
+  }
+
+  /**
+   * 전처리한 이미지 파일을 반환한다. 처음 요청이면 만들어 저장하고, 이후에는 저장된 파일을 그대로 반환한다.
+   *
+   * @param type  원본의 종류 (file, thumbnail 등). id 와 함께 결과를 구분한다.
+   * @param id    원본 entity 의 id
+   * @param image 원본 이미지 파일
+   */
+  public File getRendition(String type, Long id, File image,
+      ImagePreprocessing imagePreprocessing) {
+    if (imagePreprocessing instanceof ImageNoChange) {
+      return image;
+    }
+
+    String renditionName = getRenditionName(type, id, image, imagePreprocessing);
+    File rendition = new File(getRenditionDir(), renditionName);
+    synchronized (this) {
+      // containsKey 는 접근 순서를 갱신하지 않으므로 get 으로 확인
+      if (renditions.get(renditionName) != null && rendition.exists()) {
+        return rendition;
+      }
+    }
+
+    // 같은 결과를 동시에 만들 수도 있지만, 각자 임시 파일에 만든 뒤 이름을 바꾸므로 안전하다
+    createRendition(image, rendition, imagePreprocessing);
+    synchronized (this) {
+      register(renditionName, rendition.length());
+      evictIfNeeded(renditionName);
+    }
+    return rendition;
+  }
+
+  /**
+   * 원본이 삭제/교체되었을 때 해당 원본의 결과를 모두 지운다.
+   */
+  public synchronized void evict(String type, Long id) {
+    String prefix = getRenditionPrefix(type, id);
+    Iterator<Map.Entry<String, Long>> iterator = renditions.entrySet().iterator();
+    while (iterator.hasNext()) {
+      Map.Entry<String, Long> entry = iterator.next();
+      if (entry.getKey().startsWith(prefix)) {
+        deleteRendition(entry.getKey());
+        totalBytes -= entry.getValue();
+        iterator.remove();
+      }
+    }
+  }
+
+  public synchronized long getTotalBytes() {
+    return totalBytes;
+  }
+
+  private void createRendition(File image, File rendition,
+      ImagePreprocessing imagePreprocessing) {
+    Path temp = null;
+    try {
+      temp = Files.createTempFile(getRenditionDir().toPath(), rendition.getName(), TEMP_SUFFIX);
+      BufferedImage original = ImageCodec.read(image, imagePreprocessing.getTargetSize());
+      BufferedImage processed = imagePreprocessing.process(original);
+      if (processed == original) {
+        // 바꿀 것이 없으면 다시 인코딩하지 않고 원본을 그대로 쓴다
+        Files.copy(image.toPath(), temp, StandardCopyOption.REPLACE_EXISTING);
+      } else {
+        ImageCodec.write(processed, RENDITION_FORMAT, temp.toFile());
+      }
+      Files.move(temp, rendition.toPath(), StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      e.printStackTrace();
+      throw new CustomImageIOException();
+    } finally {
+      if (temp != null) {
+        temp.toFile().delete();
+      }
+    }
+  }
+
+  private void register(String renditionName, long size) {
+    Long previous = renditions.put(renditionName, size);
+    totalBytes += size - (previous == null ? 0 : previous);
+  }
+
+  private void evictIfNeeded(String keepName) {
+    Iterator<Map.Entry<String, Long>> iterator = renditions.entrySet().iterator();
+    while (totalBytes > maxBytes && iterator.hasNext()) {
+      Map.Entry<String, Long> eldest = iterator.next();
+      // 방금 만든 결과는 한도보다 크더라도 이번 요청에서는 써야 하므로 남긴다
+      if (eldest.getKey().equals(keepName)) {
+        continue;
+      }
+      deleteRendition(eldest.getKey());
+      totalBytes -= eldest.getValue();
+      iterator.remove();
+    }
+  }
+
+  private void deleteRendition(String renditionName) {
+    File file = new File(getRenditionDir(), renditionName);
+    if (file.exists() && !file.delete()) {
+      log.warn("이미지 변환 결과를 삭제하지 못했습니다. : {}", file);
+    }
+  }
+
+  private String getRenditionName(String type, Long id, File image,
+      ImagePreprocessing imagePreprocessing) {
+    String key = imagePreprocessing.getRenditionKey() + "|" + image.getName();
+    return getRenditionPrefix(type, id)
+        + DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8)) + "."
+        + RENDITION_FORMAT;
+  }
+
+  private String getRenditionPrefix(String type, Long id) {
+    return type + "_" + id + "_";
+  }
+
+  private File getRenditionDir() {
+    return new File(System.getProperty("user.dir") + File.separator + renditionDirPath);
+  }
+}
@@ -0,0 +1,64 @@
+package keeper.project.homepage.util.image;
+
+import keeper.project.homepage.util.image.preprocessing.ImagePreprocessing;
+import keeper.project.homepage.util.image.preprocessing.ImageResizing;
+import keeper.project.homepage.util.image.preprocessing.ImageResizing.RESIZE_OPTION;
+
+/**
+ * 썸네일을 저장할 때 미리 만들어 두는 크기. 원본 비율을 유지한 채 {@code maxSize} 안에 들어가도록 줄이며, 이미
+ * 작으면 키우지 않는다.
+ * <p>
+ * 크기별 파일은 썸네일 key 에 크기와 형식을 붙인 key ({@code <썸네일 key>_small.webp}) 로 저장한다.
+ */
+public enum ImageVariant {
+  SMALL(80), MEDIUM(320), LARGE(800);
+
+  private final int maxSize;
+
+  ImageVariant(int maxSize) {
+    this.maxSize = maxSize;
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  public ImagePreprocessing getPreprocessing() {
+    return new ImageResizing(RESIZE_OPTION.KEEP_RATIO_IN_OUTER_BOUNDARY, maxSize, maxSize);
+  }
+
+  public String getKey(String thumbnailKey, String fileFormat) {
+    int extension = thumbnailKey.lastIndexOf('.');
+    String base = extension > 0 ? thumbnailKey.substring(0, extension) : thumbnailKey;
+    return base + "_" + name().toLowerCase() + "." + fileFormat;
+  }
+
+  /**
+   * @return {@link #getKey(String, String)} 로 만든 key 면 썸네일 key 에서 확장자를 뺀 부분, 아니면 null
+   */
+  public static String getThumbnailBase(String key) {
+    int extension = key.lastIndexOf('.');
+    String name = extension > 0 ? key.substring(0, extension) : key;
+    for (ImageVariant variant : values()) {
+      String suffix = "_" + variant.name().toLowerCase();
+      if (name.length() > suffix.length() && name.endsWith(suffix)) {
+        return name.substring(0, name.length() - suffix.length());
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return 이름이 없거나 알 수 없는 크기면 {@link #LARGE}
+   */
+  public static ImageVariant of(String name) {
+    if (name != null) {
+      for (ImageVariant variant : values()) {
+        if (variant.name().equalsIgnoreCase(name.trim())) {
+          return variant;
+        }
+      }
+    }
+    return LARGE;
+  }
+}
@@ -0,0 +1,244 @@
+package keeper.project.homepage.util.image;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.PreDestroy;
+import javax.imageio.ImageIO;
+import keeper.project.homepage.util.image.preprocessing.ImagePreprocessing;
+import keeper.project.homepage.util.storage.StorageBackend;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * 업로드 요청 스레드 밖에서 원본 이미지로부터 썸네일 파일을 만든다.
+ * <p>
+ * 작업은 크기가 제한된 큐에 쌓이고, 큐가 가득 차면 요청한 스레드가 직접 처리한다. 만들어지는 동안에는
+ * {@link #isPending(String)} 이 true 이며, 그동안 썸네일 조회에는 {@link #getPlaceholder()} 를 보낸다. 큐
+ * 길이({@code keeper.thumbnail.queue.size}), 대기 시간({@code keeper.thumbnail.queue.wait}), 처리
+ * 시간({@code keeper.thumbnail.processing}) 을 메트릭으로 노출한다.
+ * <p>
+ * 업로드는 이미 성공으로 응답했으므로, 만들지 못하면 원본을 (원본도 없으면 placeholder 를) 썸네일 자리에 대신
+ * 저장한다. 서버가 내려가 사라진 작업은 읽을 때 원본으로 대신한다 ({@code ThumbnailService}).
+ */
+@Log4j2
+@Component
+public class ThumbnailGenerator {
+
+  private static final int PLACEHOLDER_SIZE = 100;
+
+  private final StorageBackend storageBackend;
+  private final ThreadPoolExecutor executor;
+  // 만들 썸네일의 저장소 key -> 작업
+  private final Map<String, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+  private final Timer waitTimer;
+  private final Timer processingTimer;
+  private final byte[] placeholder;
+
+  public ThumbnailGenerator(StorageBackend storageBackend, MeterRegistry meterRegistry,
+      @Value("${keeper.thumbnail.pool-size:2}") int poolSize,
+      @Value("${keeper.thumbnail.queue-capacity:100}") int queueCapacity) {
+    this.storageBackend = storageBackend;
+    this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("thumbnail-"),
+        // 큐가 가득 찼거나 종료 중이면 요청한 스레드에서 처리한다 (CallerRunsPolicy 는 종료 중이면 버린다)
+        (task, pool) -> task.run());
+    Gauge.builder("keeper.thumbnail.queue.size", executor, e -> e.getQueue().size())
+        .description("썸네일 생성 대기 작업 수")
+        .register(meterRegistry);
+    Gauge.builder("keeper.thumbnail.pending", pending, Map::size)
+        .description("아직 만들어지지 않은 썸네일 수")
+        .register(meterRegistry);
+    this.waitTimer = Timer.builder("keeper.thumbnail.queue.wait")
+        .description("썸네일 생성 작업이 큐에서 기다린 시간")
+        .register(meterRegistry);
+    this.processingTimer = Timer.builder("keeper.thumbnail.processing")
+        .description("썸네일 한 개를 만드는 데 걸린 시간")
+        .register(meterRegistry);
+    this.placeholder = createPlaceholder();
+  }
+
+  /**
+   * 업로드 검증 때 디코딩한 {@code image} 를 전처리한 결과를 {@code thumbnailKey} 로 저장한다. 전처리로 바뀌는
+   * 것이 없으면 {@code originalKey} 파일을 그대로 복사한다. 결과는 다 만든 뒤에 저장소에 넣으므로, 파일이
+   * 보이면 완성된 썸네일이다.
+   */
+  public void generate(String originalKey, BufferedImage image, String thumbnailKey,
+      ImagePreprocessing imagePreprocessing, String fileFormat) {
+    generate(originalKey, image, thumbnailKey, imagePreprocessing, fileFormat, List.of(),
+        List.of());
+  }
+
+  /**
+   * 썸네일과 함께 크기별({@code variants}) 이미지를 형식별({@code variantFormats}) 로 만든다. 크기별 이미지는
+   * {@link ImageVariant#getKey(String, String)} 로 저장하며, 썸네일과 같은 작업에서 만들어지므로
+   * {@link #isPending(String)} 이 false 가 되면 모두 만들어진 것이다.
+   */
+  public void generate(String originalKey, BufferedImage image, String thumbnailKey,
+      ImagePreprocessing imagePreprocessing, String fileFormat, List<ImageVariant> variants,
+      List<String> variantFormats) {
+    long queuedAt = System.nanoTime();
+    CompletableFuture<Void> task = new CompletableFuture<>();
+    pending.put(thumbnailKey, task);
+    executor.execute(() -> {
+      waitTimer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+      try {
+        processingTimer.record(
+            () -> createThumbnail(originalKey, image, thumbnailKey, imagePreprocessing,
+                fileFormat, variants, variantFormats));
+        // 만드는 동안 취소되었으면 결과를 남기지 않는다
+        if (!pending.remove(thumbnailKey, task)) {
+          storageBackend.delete(thumbnailKey);
+          for (ImageVariant variant : variants) {
+            for (String variantFormat : variantFormats) {
+              storageBackend.delete(variant.getKey(thumbnailKey, variantFormat));
+            }
+          }
+        }
+        task.complete(null);
+      } catch (Exception e) {
+        log.error("썸네일을 만들지 못했습니다. : {}", thumbnailKey, e);
+        // 취소되지 않았으면 대신할 파일을 넣어 둔다
+        if (pending.get(thumbnailKey) == task) {
+          storeFallback(originalKey, thumbnailKey);
+        }
+        pending.remove(thumbnailKey, task);
+        task.completeExceptionally(e);
+      }
+    });
+  }
+
+  public boolean isPending(String thumbnailKey) {
+    return pending.containsKey(thumbnailKey);
+  }
+
+  /**
+   * 썸네일을 삭제/교체할 때 호출한다. 아직 만들어지지 않았던 썸네일이면 true 를 반환하며, 이 경우 서버에 파일이
+   * 없을 수 있다.
+   */
+  public boolean cancel(String thumbnailKey) {
+    return pending.remove(thumbnailKey) != null;
+  }
+
+  /**
+   * 썸네일이 만들어질 때까지 기다린다. 만들 작업이 없으면 바로 반환한다.
+   *
+   * @return 제한 시간 안에 만들어졌거나 만들 작업이 없으면 true
+   */
+  public boolean await(String thumbnailKey, long timeout, TimeUnit unit) {
+    CompletableFuture<Void> task = pending.get(thumbnailKey);
+    if (task == null) {
+      return true;
+    }
+    try {
+      task.get(timeout, unit);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (ExecutionException | TimeoutException e) {
+      return false;
+    }
+  }
+
+  public byte[] getPlaceholder() {
+    return placeholder;
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    // 큐에 남은 작업은 끝내고 종료한다
+    executor.shutdown();
+    if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+      log.warn("썸네일 생성 작업 {}개를 끝내지 못하고 종료합니다.", executor.getQueue().size());
+      executor.shutdownNow();
+    }
+  }
+
+  private void createThumbnail(String originalKey, BufferedImage image, String thumbnailKey,
+      ImagePreprocessing imagePreprocessing, String fileFormat, List<ImageVariant> variants,
+      List<String> variantFormats) {
+    Path temp = null;
+    try {
+      temp = storageBackend.createTempFile();
+      BufferedImage processed = imagePreprocessing.process(image);
+      if (processed == image) {
+        Files.copy(storageBackend.getFile(originalKey).toPath(), temp,
+            StandardCopyOption.REPLACE_EXISTING);
+      } else {
+        ImageCodec.write(processed, fileFormat, temp.toFile());
+      }
+      storageBackend.putIfAbsent(thumbnailKey, temp);
+      // 크기별 이미지는 디코딩한 결과를 줄여서 만든다
+      for (ImageVariant variant : variants) {
+        BufferedImage scaled = variant.getPreprocessing().process(processed);
+        for (String variantFormat : variantFormats) {
+          temp = storageBackend.createTempFile();
+          ImageCodec.write(scaled, variantFormat, temp.toFile());
+          storageBackend.putIfAbsent(variant.getKey(thumbnailKey, variantFormat), temp);
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    } finally {
+      if (temp != null) {
+        temp.toFile().delete();
+      }
+    }
+  }
+
+  private void storeFallback(String originalKey, String thumbnailKey) {
+    Path temp = null;
+    try {
+      temp = storageBackend.createTempFile();
+      if (storageBackend.exists(originalKey)) {
+        Files.copy(storageBackend.getFile(originalKey).toPath(), temp,
+            StandardCopyOption.REPLACE_EXISTING);
+      } else {
+        Files.write(temp, placeholder);
+      }
+      storageBackend.putIfAbsent(thumbnailKey, temp);
+    } catch (IOException | RuntimeException e) {
+      log.error("썸네일을 대신할 파일도 저장하지 못했습니다. : {}", thumbnailKey, e);
+    } finally {
+      if (temp != null) {
+        temp.toFile().delete();
+      }
+    }
+  }
+
+  private static byte[] createPlaceholder() {
+    BufferedImage image = new BufferedImage(PLACEHOLDER_SIZE, PLACEHOLDER_SIZE,
+        BufferedImage.TYPE_INT_RGB);
+    Graphics2D graphics = image.createGraphics();
+    graphics.setColor(new Color(0xEEEEEE));
+    graphics.fillRect(0, 0, PLACEHOLDER_SIZE, PLACEHOLDER_SIZE);
+    graphics.dispose();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      ImageIO.write(image, "jpg", out);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return out.toByteArray();
+  }
+}
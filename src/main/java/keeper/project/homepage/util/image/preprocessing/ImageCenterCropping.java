@@ -1,10 +1,8 @@
 package keeper.project.homepage.util.image.preprocessing;
 
+import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import javax.imageio.ImageIO;
-import keeper.project.homepage.exception.file.CustomImageIOException;
 
 public class ImageCenterCropping implements ImagePreprocessing {
 
@@ -21,14 +19,18 @@ public class ImageCenterCropping implements ImagePreprocessing {
     this.height = size.getHeight();
   }
 
-  public void imageProcessing(File imageFile, String fileFormat) {
-    BufferedImage bo_image;
-    try {
-      bo_image = ImageIO.read(imageFile);
-    } catch (Exception e) {
-      e.printStackTrace();
-      throw new CustomImageIOException();
-    }
+  @Override
+  public String getRenditionKey() {
+    return "crop_" + width + "x" + height;
+  }
+
+  @Override
+  public Dimension getTargetSize() {
+    return new Dimension(width, height);
+  }
+
+  @Override
+  public BufferedImage process(BufferedImage bo_image) {
     BufferedImage bt_image = new BufferedImage(width, height,
         BufferedImage.TYPE_3BYTE_BGR);
 
@@ -50,11 +52,7 @@ public class ImageCenterCropping implements ImagePreprocessing {
     Graphics2D graphic = bt_image.createGraphics();
     graphic.drawImage(bo_image, 0, 0, width, height,
         srcSrcx, srcSrcy, srcDestx, srcDesty, null);
-    try {
-      ImageIO.write(bt_image, fileFormat, imageFile);
-    } catch (Exception e) {
-      e.printStackTrace();
-      throw new CustomImageIOException();
-    }
+    graphic.dispose();
+    return bt_image;
   }
 }
@@ -1,10 +1,21 @@
 package keeper.project.homepage.util.image.preprocessing;
 
+import java.awt.image.BufferedImage;
 import java.io.File;
 
 public class ImageNoChange implements ImagePreprocessing {
 
+  @Override
+  public BufferedImage process(BufferedImage image) {
+    return image;
+  }
+
   @Override
   public void imageProcessing(File image, String fileFormat) {
   }
+
+  @Override
+  public String getRenditionKey() {
+    return "original";
+  }
 }
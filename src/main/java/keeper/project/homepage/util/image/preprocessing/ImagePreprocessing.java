@@ -1,8 +1,39 @@
 package keeper.project.homepage.util.image.preprocessing;
 
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
 import java.io.File;
+import keeper.project.homepage.util.image.ImageCodec;
 
 public interface ImagePreprocessing {
 
-  void imageProcessing(File image, String fileFormat);
+  /**
+   * 디코딩된 이미지에 전처리를 한 결과를 반환한다. 바꿀 것이 없으면 {@code image} 를 그대로 반환한다.
+   */
+  BufferedImage process(BufferedImage image);
+
+  /**
+   * 전처리 결과의 최대 크기. 디코딩할 때 원본을 얼마나 줄여 읽어도 되는지 정하는 데 쓰이며, null 이면 원본
+   * 크기 그대로 읽는다.
+   */
+  default Dimension getTargetSize() {
+    return null;
+  }
+
+  /**
+   * 파일을 읽어 전처리한 결과로 덮어쓴다. 바꿀 것이 없으면 파일을 건드리지 않는다.
+   */
+  default void imageProcessing(File image, String fileFormat) {
+    BufferedImage original = ImageCodec.read(image, getTargetSize());
+    BufferedImage processed = process(original);
+    if (processed != original) {
+      ImageCodec.write(processed, fileFormat, image);
+    }
+  }
+
+  /**
+   * 같은 원본에 같은 처리를 하면 같은 결과가 나오도록 처리 방식과 인자를 나타내는 문자열.
+   * 변환 결과 캐시의 키로 쓰인다.
+   */
+  String getRenditionKey();
 }
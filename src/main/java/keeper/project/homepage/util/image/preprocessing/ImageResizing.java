@@ -1,10 +1,8 @@
 package keeper.project.homepage.util.image.preprocessing;
 
+import java.awt.Dimension;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.io.File;
-import javax.imageio.ImageIO;
-import keeper.project.homepage.exception.file.CustomImageIOException;
 import lombok.extern.log4j.Log4j2;
 
 @Log4j2
@@ -69,21 +67,25 @@ public class ImageResizing implements ImagePreprocessing {
         (int) (image_size.getHeight() * ratio));
   }
 
-  public void imageProcessing(File image, String fileFormat) {
+  @Override
+  public String getRenditionKey() {
+    return "resize_" + resize_option.name().toLowerCase() + "_" + width + "x" + height;
+  }
+
+  @Override
+  public Dimension getTargetSize() {
+    return new Dimension(width, height);
+  }
+
+  @Override
+  public BufferedImage process(BufferedImage bo_image) {
     Integer dest_width = this.width;
     Integer dest_height = this.height;
-    BufferedImage bo_image;
-    try {
-      bo_image = ImageIO.read(image);
-    } catch (Exception e) {
-      e.printStackTrace();
-      throw new CustomImageIOException();
-    }
     Size destSize;
     switch (resize_option) {
       case KEEP_RATIO_IN_OUTER_BOUNDARY:
         if (bo_image.getWidth() <= dest_width && bo_image.getHeight() <= dest_height) {
-          return;
+          return bo_image;
         }
         destSize = getScaledSize(
             new Size(bo_image.getWidth(), bo_image.getHeight()),
@@ -103,12 +105,7 @@ public class ImageResizing implements ImagePreprocessing {
 
     Graphics2D graphic = bt_image.createGraphics();
     graphic.drawImage(bo_image, 0, 0, destSize.getWidth(), destSize.getHeight(), null);
-    try {
-      ImageIO.write(bt_image, fileFormat, image);
-    } catch (Exception e) {
-      e.printStackTrace();
-      throw new CustomImageIOException();
-    }
-
+    graphic.dispose();
+    return bt_image;
   }
 }
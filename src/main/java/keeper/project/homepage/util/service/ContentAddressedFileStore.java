@@ -0,0 +1,229 @@
+package keeper.project.homepage.util.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import keeper.project.homepage.exception.file.CustomFileNotFoundException;
+import keeper.project.homepage.exception.file.CustomFileTransferFailedException;
+import keeper.project.homepage.repository.FileRepository;
+import keeper.project.homepage.util.storage.StorageBackend;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 업로드 파일을 내용의 SHA-256 을 key 로 {@link StorageBackend} 에 저장한다. 같은 내용을 다시 올리면 파일은
+ * 새로 쓰지 않고 같은 key 를 돌려주므로, {@code file} 레코드만 하나 더 생긴다.
+ * <p>
+ * 한 파일을 여러 {@code file} 레코드가 가리킬 수 있으므로, 같은 경로를 가리키는 레코드 수를 참조 수로 보고
+ * 마지막 참조가 지워질 때만 파일을 삭제한다. 아직 커밋되지 않은 업로드가 가리키는 파일은 레코드가 보이지 않아도
+ * 지우지 않는다.
+ */
+@Log4j2
+@Component
+public class ContentAddressedFileStore {
+
+  private static final String HASH_ALGORITHM = "SHA-256";
+  private static final int LOCK_STRIPES = 64;
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final int RELEASE_QUEUE_CAPACITY = 256;
+
+  private final FileRepository fileRepository;
+  private final StorageBackend storageBackend;
+  // 여러 파일을 한 번에 지울 때 참조 수 조회와 삭제를 나눠서 처리한다
+  private final ThreadPoolExecutor releaseExecutor;
+
+  // 경로 -> 진행 중인 트랜잭션에서 저장했지만 아직 끝나지 않은 업로드 수
+  private final Map<String, Integer> inFlight = new ConcurrentHashMap<>();
+  private final Object[] locks = createLocks();
+
+  public ContentAddressedFileStore(FileRepository fileRepository, StorageBackend storageBackend,
+      @Value("${keeper.file.release-pool-size:4}") int releasePoolSize) {
+    this.fileRepository = fileRepository;
+    this.storageBackend = storageBackend;
+    this.releaseExecutor = new ThreadPoolExecutor(releasePoolSize, releasePoolSize, 0L,
+        TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(RELEASE_QUEUE_CAPACITY),
+        new CustomizableThreadFactory("file-release-"),
+        // 큐가 가득 찼거나 종료 중이면 요청한 스레드에서 처리한다
+        (task, pool) -> task.run());
+  }
+
+  /**
+   * 스트림을 임시 파일로 한 번 복사하면서 해시, 크기, 앞부분을 함께 구한다. 다 쓴 뒤에는 닫아서 임시 파일을
+   * 지운다 ({@link #store(SpooledUpload)} 로 저장한 뒤에 닫아도 된다).
+   */
+  public SpooledUpload spool(InputStream inputStream, String originalFileName) {
+    Path temp = null;
+    try {
+      temp = storageBackend.createTempFile();
+      MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+      byte[] head = new byte[SpooledUpload.HEAD_LENGTH];
+      int headLength = 0;
+      long size = 0;
+      byte[] buffer = new byte[BUFFER_SIZE];
+      try (InputStream in = inputStream; OutputStream out = Files.newOutputStream(temp)) {
+        int read;
+        while ((read = in.read(buffer)) != -1) {
+          digest.update(buffer, 0, read);
+          if (headLength < head.length) {
+            int copy = Math.min(read, head.length - headLength);
+            System.arraycopy(buffer, 0, head, headLength, copy);
+            headLength += copy;
+          }
+          out.write(buffer, 0, read);
+          size += read;
+        }
+      }
+      return new SpooledUpload(temp, originalFileName,
+          HexFormat.of().formatHex(digest.digest()), size, Arrays.copyOf(head, headLength));
+    } catch (IOException | NoSuchAlgorithmException e) {
+      e.printStackTrace();
+      if (temp != null) {
+        temp.toFile().delete();
+      }
+      throw new CustomFileTransferFailedException();
+    }
+  }
+
+  /**
+   * 같은 내용의 파일이 없을 때만 받아 둔 임시 파일을 해시 이름으로 옮긴다.
+   *
+   * @return 저장소 key ({@code <sha256>.<확장자>})
+   */
+  public String store(SpooledUpload upload) {
+    String key = upload.getSha256() + "." + upload.getFileFormat();
+    try {
+      synchronized (lockFor(key)) {
+        storageBackend.putIfAbsent(key, upload.getPath());
+        retainUntilCompletion(key);
+      }
+      return key;
+    } catch (IOException e) {
+      e.printStackTrace();
+      throw new CustomFileTransferFailedException();
+    }
+  }
+
+  public String store(InputStream inputStream, String originalFileName) {
+    try (SpooledUpload upload = spool(inputStream, originalFileName)) {
+      return store(upload);
+    }
+  }
+
+  /**
+   * {@code filePath} 를 가리키던 레코드를 지운(또는 다른 경로로 바꾼) 뒤에 호출한다. 남은 참조가 없으면 파일을
+   * 삭제한다. 같은 트랜잭션에서 지운 레코드는 조회 전에 flush 되므로 세지 않는다.
+   *
+   * @return 파일을 삭제했으면 true
+   */
+  public boolean release(String filePath) {
+    synchronized (lockFor(filePath)) {
+      if (inFlight.containsKey(filePath) || fileRepository.countByFilePath(filePath) > 0) {
+        return false;
+      }
+      if (!storageBackend.delete(filePath)) {
+        throw new CustomFileNotFoundException();
+      }
+      return true;
+    }
+  }
+
+  /**
+   * 여러 경로를 {@link #release(String)} 한다. 트랜잭션 안에서 호출하면 커밋된 뒤에, 아니면 바로 처리한다.
+   * 경로마다 따로 처리하므로 없는 파일이 있어도 나머지는 지우고, 실패는 기록만 한다 (이미 커밋된 레코드 삭제를
+   * 되돌릴 수 없으므로). 롤백되면 아무것도 지우지 않는다.
+   */
+  public void releaseAfterCommit(Collection<String> filePaths) {
+    Set<String> paths = new LinkedHashSet<>(filePaths);
+    if (paths.isEmpty()) {
+      return;
+    }
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      releaseAll(paths);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        releaseAll(paths);
+      }
+    });
+  }
+
+  private void releaseAll(Set<String> paths) {
+    CompletableFuture.allOf(paths.stream()
+        .map(path -> CompletableFuture.runAsync(() -> releaseQuietly(path), releaseExecutor))
+        .toArray(CompletableFuture[]::new)).join();
+  }
+
+  private void releaseQuietly(String filePath) {
+    try {
+      release(filePath);
+    } catch (RuntimeException e) {
+      log.warn("파일을 지우지 못했습니다. : {}", filePath, e);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    releaseExecutor.shutdown();
+    if (!releaseExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+      releaseExecutor.shutdownNow();
+    }
+  }
+
+  private void retainUntilCompletion(String filePath) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    inFlight.merge(filePath, 1, Integer::sum);
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        synchronized (lockFor(filePath)) {
+          inFlight.computeIfPresent(filePath, (path, count) -> count == 1 ? null : count - 1);
+        }
+        if (status != STATUS_COMMITTED) {
+          // 롤백된 업로드가 유일한 참조였다면 파일을 남기지 않는다
+          try {
+            release(filePath);
+          } catch (RuntimeException e) {
+            log.warn("롤백된 업로드 파일을 정리하지 못했습니다. : {}", filePath, e);
+          }
+        }
+      }
+    });
+  }
+
+  private Object lockFor(String filePath) {
+    return locks[Math.floorMod(filePath.hashCode(), LOCK_STRIPES)];
+  }
+
+  private static Object[] createLocks() {
+    Object[] locks = new Object[LOCK_STRIPES];
+    for (int i = 0; i < LOCK_STRIPES; i++) {
+      locks[i] = new Object();
+    }
+    return locks;
+  }
+
+}
@@ -0,0 +1,107 @@
+package keeper.project.homepage.util.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import keeper.project.homepage.entity.ctf.CtfContestEntity;
+import keeper.project.homepage.exception.ctf.CustomContestNotFoundException;
+import keeper.project.homepage.repository.ctf.CtfContestRepository;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 대회 정보 (이름, 참가 가능 여부) 를 잠깐 들고 있는다. CTF API 는 요청마다 참가 가능 여부를 확인하므로 같은
+ * 대회를 {@code keeper.ctf.contest-cache-ttl-ms} 안에서는 다시 읽지 않는다.
+ * <p>
+ * 대회가 저장/수정/삭제되면 ({@link CtfContestCacheListener}) 바로, 그리고 트랜잭션이 끝난 뒤에 한 번 더 버린다.
+ */
+@Component
+public class CtfContestCache {
+
+  private final CtfContestRepository contestRepository;
+  private final long ttlNanos;
+  private final LongSupplier nanoTime;
+
+  private final AtomicLong version = new AtomicLong();
+  // contest id -> 읽어 둔 대회
+  private final Map<Long, CachedContest> contests = new ConcurrentHashMap<>();
+
+  @Autowired
+  public CtfContestCache(CtfContestRepository contestRepository,
+      @Value("${keeper.ctf.contest-cache-ttl-ms:5000}") long ttlMs) {
+    this(contestRepository, ttlMs, System::nanoTime);
+  }
+
+  CtfContestCache(CtfContestRepository contestRepository, long ttlMs, LongSupplier nanoTime) {
+    this.contestRepository = contestRepository;
+    this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMs);
+    this.nanoTime = nanoTime;
+  }
+
+  public Optional<ContestInfo> findById(Long ctfId) {
+    long now = nanoTime.getAsLong();
+    CachedContest cached = contests.get(ctfId);
+    if (cached != null && now - cached.loadedAt < ttlNanos) {
+      return Optional.of(cached.contest);
+    }
+
+    long loadedVersion = version.get();
+    Optional<ContestInfo> contest = contestRepository.findById(ctfId).map(ContestInfo::of);
+    // 읽는 동안 무효화되었으면 이번 결과는 저장하지 않는다. 없는 대회는 저장하지 않는다
+    contest.ifPresent(info -> {
+      if (version.get() == loadedVersion) {
+        contests.put(ctfId, new CachedContest(info, now));
+      }
+    });
+    return contest;
+  }
+
+  public ContestInfo getById(Long ctfId) {
+    return findById(ctfId).orElseThrow(CustomContestNotFoundException::new);
+  }
+
+  public void invalidate(Long ctfId) {
+    invalidateNow(ctfId);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          invalidateNow(ctfId);
+        }
+      });
+    }
+  }
+
+  private void invalidateNow(Long ctfId) {
+    version.incrementAndGet();
+    contests.remove(ctfId);
+  }
+
+  @RequiredArgsConstructor
+  private static class CachedContest {
+
+    private final ContestInfo contest;
+    private final long loadedAt;
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  public static final class ContestInfo {
+
+    private final Long id;
+    private final String name;
+    private final Boolean isJoinable;
+
+    static ContestInfo of(CtfContestEntity contest) {
+      return new ContestInfo(contest.getId(), contest.getName(), contest.getIsJoinable());
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package keeper.project.homepage.util.service;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import keeper.project.homepage.entity.ctf.CtfContestEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * 대회가 저장/수정/삭제되면 읽어 둔 대회 정보를 버린다.
+ */
+@RequiredArgsConstructor
+public class CtfContestCacheListener {
+
+  private final ObjectProvider<CtfContestCache> ctfContestCache;
+
+  @PostPersist
+  @PostUpdate
+  @PostRemove
+  public void invalidate(CtfContestEntity contestEntity) {
+    ctfContestCache.ifAvailable(cache -> cache.invalidate(contestEntity.getId()));
+  }
+}
@@ -0,0 +1,70 @@
+package keeper.project.homepage.util.service;
+
+import static keeper.project.homepage.util.service.CtfUtilService.VIRTUAL_TEAM_ID;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import keeper.project.homepage.repository.ctf.CtfTeamRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 대회별 참가 팀 수. 동적 점수를 다시 계산할 때마다 팀 수를 세지 않도록 대회마다 처음 한 번만 읽고, 그 뒤로는
+ * {@link CtfTeamCountListener} 가 팀이 생기고 지워질 때 반영한다.
+ * <p>
+ * 팀 id 집합으로 들고 있으므로 이미 읽은 팀을 다시 넣어도 두 번 세지 않는다. 반영한 트랜잭션이 롤백되면 그
+ * 대회를 버리고 다음에 다시 읽는다.
+ */
+@Component
+@RequiredArgsConstructor
+public class CtfTeamCountCache {
+
+  private final CtfTeamRepository teamRepository;
+
+  // contest id -> 가상 팀을 뺀 팀 id
+  private final Map<Long, Set<Long>> teamIds = new ConcurrentHashMap<>();
+
+  public long getTeamCount(Long contestId) {
+    return teamIds.computeIfAbsent(contestId, this::load).size();
+  }
+
+  public void addTeam(Long contestId, Long teamId) {
+    Set<Long> ids = teamIds.get(contestId);
+    if (ids != null && !VIRTUAL_TEAM_ID.equals(teamId)) {
+      ids.add(teamId);
+      evictOnRollback(contestId);
+    }
+  }
+
+  public void removeTeam(Long contestId, Long teamId) {
+    Set<Long> ids = teamIds.get(contestId);
+    if (ids != null) {
+      ids.remove(teamId);
+      evictOnRollback(contestId);
+    }
+  }
+
+  private Set<Long> load(Long contestId) {
+    Set<Long> ids = ConcurrentHashMap.newKeySet();
+    ids.addAll(teamRepository.findAllIdByCtfContestEntityId(contestId));
+    ids.remove(VIRTUAL_TEAM_ID);
+    return ids;
+  }
+
+  private void evictOnRollback(Long contestId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status != STATUS_COMMITTED) {
+          teamIds.remove(contestId);
+        }
+      }
+    });
+  }
+}
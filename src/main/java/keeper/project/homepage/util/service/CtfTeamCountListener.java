@@ -0,0 +1,32 @@
+package keeper.project.homepage.util.service;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import keeper.project.homepage.entity.ctf.CtfTeamEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * 팀이 생기거나 지워지면 대회별 팀 수에 반영한다.
+ */
+@RequiredArgsConstructor
+public class CtfTeamCountListener {
+
+  private final ObjectProvider<CtfTeamCountCache> ctfTeamCountCache;
+
+  @PostPersist
+  public void add(CtfTeamEntity teamEntity) {
+    if (teamEntity.getCtfContestEntity() != null) {
+      ctfTeamCountCache.ifAvailable(cache -> cache.addTeam(
+          teamEntity.getCtfContestEntity().getId(), teamEntity.getId()));
+    }
+  }
+
+  @PostRemove
+  public void remove(CtfTeamEntity teamEntity) {
+    if (teamEntity.getCtfContestEntity() != null) {
+      ctfTeamCountCache.ifAvailable(cache -> cache.removeTeam(
+          teamEntity.getCtfContestEntity().getId(), teamEntity.getId()));
+    }
+  }
+}
@@ -3,6 +3,8 @@ package keeper.project.homepage.util.service;
 import static keeper.project.homepage.entity.ctf.CtfChallengeTypeEntity.DYNAMIC;
 
 import java.util.List;
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
 import keeper.project.homepage.entity.ctf.CtfChallengeEntity;
 import keeper.project.homepage.entity.ctf.CtfDynamicChallengeInfoEntity;
 import keeper.project.homepage.entity.ctf.CtfFlagEntity;
@@ -13,14 +15,17 @@ import keeper.project.homepage.exception.ctf.CustomContestNotFoundException;
 import keeper.project.homepage.exception.ctf.CustomCtfChallengeNotFoundException;
 import keeper.project.homepage.exception.ctf.CustomCtfTeamNotFoundException;
 import keeper.project.homepage.repository.ctf.CtfChallengeRepository;
-import keeper.project.homepage.repository.ctf.CtfContestRepository;
 import keeper.project.homepage.repository.ctf.CtfFlagRepository;
 import keeper.project.homepage.repository.ctf.CtfTeamHasMemberRepository;
 import keeper.project.homepage.repository.ctf.CtfTeamRepository;
+import keeper.project.homepage.user.service.ctf.CtfEventBroadcaster;
+import keeper.project.homepage.user.service.ctf.CtfScoreboard;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.hibernate.Hibernate;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Log4j2
 @Service
@@ -34,11 +39,15 @@ public class CtfUtilService {
   public static final Long VIRTUAL_TEAM_ID = 1L;
   public static final String VIRTUAL_TEAM_NAME = "virtual_ctf_team";
 
-  private final CtfContestRepository contestRepository;
   private final CtfChallengeRepository challengeRepository;
   private final CtfTeamRepository teamRepository;
   private final CtfTeamHasMemberRepository teamHasMemberRepository;
   private final CtfFlagRepository flagRepository;
+  private final CtfEventBroadcaster ctfEventBroadcaster;
+  private final CtfScoreboard ctfScoreboard;
+  private final CtfTeamCountCache ctfTeamCountCache;
+  private final CtfContestCache ctfContestCache;
+  private final EntityManager entityManager;
 
   public void checkVirtualContest(Long ctfId) {
     if (VIRTUAL_CONTEST_ID.equals(ctfId)) {
@@ -75,11 +84,10 @@ public class CtfUtilService {
   }
 
   public boolean isJoinable(Long ctfId) {
-    return contestRepository.findById(ctfId)
-        .orElseThrow(CustomContestNotFoundException::new)
-        .getIsJoinable();
+    return ctfContestCache.getById(ctfId).getIsJoinable();
   }
 
+  @Transactional
   public void setAllDynamicScore() {
     List<CtfChallengeEntity> challengeEntityList = challengeRepository
         .findAllByCtfChallengeTypeEntityId(DYNAMIC.getId());
@@ -87,6 +95,17 @@ public class CtfUtilService {
     challengeEntityList.forEach(this::setDynamicScore);
   }
 
+  /**
+   * 팀 수가 바뀐 대회의 동적 점수 문제만 다시 계산한다.
+   */
+  @Transactional
+  public void setContestDynamicScore(Long ctfId) {
+    // 지운 팀이 팀 수에 반영되도록 먼저 내보낸다
+    teamRepository.flush();
+    challengeRepository.findAllByCtfContestEntityIdAndCtfChallengeTypeEntityId(ctfId,
+        DYNAMIC.getId()).forEach(this::setDynamicScore);
+  }
+
   public CtfTeamHasMemberEntity getTeamHasMemberEntity(Long ctfId, Long memberId) {
     List<CtfTeamHasMemberEntity> teamHasMemberEntityList = teamHasMemberRepository
         .findAllByMemberId(memberId);
@@ -97,27 +116,53 @@ public class CtfUtilService {
     return teamHasMemberEntity;
   }
 
+  public Long getTeamId(Long ctfId, Long memberId) {
+    return teamHasMemberRepository.findTeamIdByMemberIdAndContestId(memberId, ctfId)
+        .orElseThrow(() -> new CustomCtfTeamNotFoundException("가입한 팀을 찾을 수 없습니다."));
+  }
+
+  @Transactional
   public void setDynamicScore(CtfChallengeEntity challenge) {
     CtfDynamicChallengeInfoEntity dynamicInfo = challenge.getDynamicChallengeInfoEntity();
     if ((!isTypeDynamic(challenge)) || (dynamicInfo == null)) {
       return;
     }
 
-    // 문제 점수 조정
-    List<CtfFlagEntity> ctfSolvedList = flagRepository.
-        findAllByCtfChallengeEntityIdAndIsCorrect(challenge.getId(), true);
+    // 같은 문제를 동시에 맞춰도 점수 차이를 두 번 더하지 않도록 문제를 잠그고 다시 읽는다
+    challenge = lockChallenge(challenge);
+
+    // 문제 점수 조정. 잠금을 기다리는 동안 커밋된 풀이도 세도록 잠금 읽기로 읽는다
+    List<Long> solvedTeamIds = flagRepository.findAllSolvedTeamIdByChallengeId(challenge.getId());
     Long originalScore = challenge.getScore();
-    Long allTeamCount = teamRepository.countByIdIsNotAndCtfContestEntity(VIRTUAL_TEAM_ID,
-        challenge.getCtfContestEntity());
-    Long solvedTeamCount = (long) ctfSolvedList.size();
+    Long allTeamCount = ctfTeamCountCache.getTeamCount(challenge.getCtfContestEntity().getId());
+    Long solvedTeamCount = (long) solvedTeamIds.size();
     Long maxScore = dynamicInfo.getMaxScore();
     Long minScore = dynamicInfo.getMinScore();
     long dynamicScore = getDynamicScore(allTeamCount, solvedTeamCount, maxScore, minScore);
+    if (originalScore == dynamicScore) {
+      return;
+    }
     challenge.setScore(dynamicScore);
     challengeRepository.save(challenge);
+    ctfEventBroadcaster.publishScoreChange(challenge, originalScore);
 
     // 해당 문제를 맞춘 팀 별로 점수 조정
-    setTeamDynamicScore(ctfSolvedList, originalScore, dynamicScore);
+    addTeamScore(solvedTeamIds, dynamicScore - originalScore);
+  }
+
+  /**
+   * 문제를 잠그고 다시 읽는다. 같은 문제의 풀이와 동적 점수 조정은 이 잠금을 잡은 순서대로 처리되므로, 잠근
+   * 뒤에 읽은 점수는 먼저 커밋된 조정이 반영된 점수다.
+   */
+  public CtfChallengeEntity lockChallenge(CtfChallengeEntity challenge) {
+    if (entityManager.contains(challenge)) {
+      // 아직 내보내지 않은 변경을 잃지 않도록 먼저 flush 한다
+      entityManager.flush();
+      entityManager.refresh(challenge, LockModeType.PESSIMISTIC_WRITE);
+      return challenge;
+    }
+    return entityManager.find(CtfChallengeEntity.class, challenge.getId(),
+        LockModeType.PESSIMISTIC_WRITE);
   }
 
   private long getDynamicScore(Long allTeamCount, Long solvedTeamCount, Long maxScore,
@@ -126,13 +171,27 @@ public class CtfUtilService {
         (solvedTeamCount / (double) allTeamCount) + maxScore);
   }
 
-  private void setTeamDynamicScore(List<CtfFlagEntity> ctfSolvedList, Long originalScore,
-      long dynamicScore) {
-    List<CtfTeamEntity> solvedTeamList = ctfSolvedList.stream()
-        .map(CtfFlagEntity::getCtfTeamEntity).toList();
-    for (CtfTeamEntity solvedTeam : solvedTeamList) {
-      solvedTeam.setScore(solvedTeam.getScore() - originalScore + dynamicScore);
+  public void lockFlag(CtfFlagEntity flag) {
+    entityManager.refresh(flag, LockModeType.PESSIMISTIC_WRITE);
+  }
+
+  /**
+   * 팀 점수에 delta 를 더한다. 읽어 둔 점수에 더해 저장하면 다른 트랜잭션의 조정을 덮어쓰므로 UPDATE 한 번으로
+   * 더한다.
+   */
+  public void addTeamScore(List<Long> teamIds, long delta) {
+    if (teamIds.isEmpty()) {
+      return;
+    }
+    teamRepository.addScore(teamIds, delta);
+    ctfScoreboard.addScore(teamIds, delta);
+
+    // 이미 읽어 둔 팀은 UPDATE 한 점수로 다시 읽는다 (읽지 않은 팀은 프록시만 만들고 조회하지 않는다)
+    for (Long teamId : teamIds) {
+      CtfTeamEntity team = entityManager.getReference(CtfTeamEntity.class, teamId);
+      if (Hibernate.isInitialized(team)) {
+        entityManager.refresh(team);
+      }
     }
-    teamRepository.saveAll(solvedTeamList);
   }
 }
@@ -4,14 +4,22 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import keeper.project.homepage.util.FileResponseUtil;
 import keeper.project.homepage.util.image.ImageFormatChecking;
+import keeper.project.homepage.util.image.ImageRenditionCache;
 import keeper.project.homepage.util.image.preprocessing.ImagePreprocessing;
 import keeper.project.homepage.util.dto.FileDto;
 import keeper.project.homepage.entity.FileEntity;
@@ -22,11 +30,16 @@ import keeper.project.homepage.exception.file.CustomFileDeleteFailedException;
 import keeper.project.homepage.exception.file.CustomFileEntityNotFoundException;
 import keeper.project.homepage.exception.file.CustomFileTransferFailedException;
 import keeper.project.homepage.repository.FileRepository;
+import keeper.project.homepage.user.dto.posting.PostingAttachmentDto;
+import keeper.project.homepage.util.storage.StorageBackend;
 import keeper.project.homepage.util.service.ThumbnailService.DefaultThumbnailInfo;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.io.IOUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 import reactor.util.annotation.Nullable;
 
@@ -34,26 +47,59 @@ import reactor.util.annotation.Nullable;
 @Service
 public class FileService {
 
-  public static final String fileRelDirPath = "keeper_files"; // {user.dir}/keeper_files/
+  public static final String RENDITION_TYPE = "file";
+  private static final int INSERT_BATCH_SIZE = 100;
+  private static final String INSERT_FILE_SQL = "insert into file "
+      + "(file_name, file_path, file_size, upload_time, ip_address, posting_id) "
+      + "values (?, ?, ?, ?, ?, ?)";
 
   private final FileRepository fileRepository;
   private final ImageFormatChecking imageFormatChecking;
+  private final ImageRenditionCache imageRenditionCache;
+  private final ContentAddressedFileStore contentAddressedFileStore;
+  private final StorageBackend storageBackend;
+  private final JdbcTemplate jdbcTemplate;
 
   public byte[] getByteArrayFromImage(Long fileId, ImagePreprocessing imagePreprocessing)
       throws IOException {
     File file = getFileInServer(fileId);
-    return getByteArrayFromImage(file, imagePreprocessing);
+    return getByteArrayFromImage(RENDITION_TYPE, fileId, file, imagePreprocessing);
   }
 
-  public byte[] getByteArrayFromImage(File file, ImagePreprocessing imagePreprocessing)
-      throws IOException {
+  public byte[] getByteArrayFromImage(String renditionType, Long id, File file,
+      ImagePreprocessing imagePreprocessing) throws IOException {
     /**
-     * @return byte array for preprocessed image
+     * @return byte array for preprocessed image (원본은 바꾸지 않고 변환 결과 캐시에서 읽는다)
+     */
+    File rendition = getImageFile(renditionType, id, file, imagePreprocessing);
+    try {
+      return Files.readAllBytes(rendition.toPath());
+    } catch (NoSuchFileException e) {
+      // 읽기 직전에 캐시 용량 때문에 지워졌으면 한 번 더 만든다
+      return Files.readAllBytes(
+          imageRenditionCache.getRendition(renditionType, id, file, imagePreprocessing)
+              .toPath());
+    }
+  }
+
+  public File getImageFile(FileEntity fileEntity, ImagePreprocessing imagePreprocessing) {
+    return getImageFile(RENDITION_TYPE, fileEntity.getId(), getFileInServer(fileEntity),
+        imagePreprocessing);
+  }
+
+  public File getImageFile(String renditionType, Long id, File file,
+      ImagePreprocessing imagePreprocessing) {
+    /**
+     * @return 전처리한 이미지 파일 (응답으로 그대로 흘려보낼 때 사용)
      */
     imageFormatChecking.checkImageFile(file.getName());
-    imagePreprocessing.imageProcessing(file, "jpg");
-    InputStream in = new FileInputStream(file);
-    return IOUtils.toByteArray(in);
+    return imageRenditionCache.getRendition(renditionType, id, file, imagePreprocessing);
+  }
+
+  public String getETag(FileEntity fileEntity, ImagePreprocessing imagePreprocessing) {
+    return FileResponseUtil.getETag(RENDITION_TYPE, fileEntity.getId(), fileEntity.getFilePath(),
+        fileEntity.getFileSize(), fileEntity.getUploadTime(),
+        imagePreprocessing == null ? null : imagePreprocessing.getRenditionKey());
   }
 
   public byte[] getByteArrayFromImage(File file) throws IOException {
@@ -66,15 +112,14 @@ public class FileService {
   }
 
   public File getFileInServer(String filePath) {
-    filePath = System.getProperty("user.dir") + File.separator + filePath;
-    File file = new File(filePath);
-    if (file.exists() == false) {
-      throw new CustomFileNotFoundException();
-    }
-    return file;
+    return storageBackend.getFile(filePath);
   }
 
-  private File getFileInServer(FileEntity fileEntity) {
+  public boolean existsInServer(String filePath) {
+    return storageBackend.exists(filePath);
+  }
+
+  public File getFileInServer(FileEntity fileEntity) {
     return getFileInServer(fileEntity.getFilePath());
   }
 
@@ -82,34 +127,41 @@ public class FileService {
     return getFileInServer(find(fileId));
   }
 
-  public File saveFileInServer(MultipartFile multipartFile, String relDirPath) {
-    if (multipartFile.isEmpty()) {
-      return null; // FIXME: FileEmpty exception
-    }
-    String fileName = multipartFile.getOriginalFilename();
-    fileName = encodeFileName(fileName);
-    String absDirPath = System.getProperty("user.dir") + File.separator + relDirPath;
-    if (!new File(absDirPath).exists()) {
-      new File(absDirPath).mkdir();
-    }
-    String filePath = absDirPath + File.separator + fileName;
-    File file = new File(filePath);
+  public SpooledUpload spool(MultipartFile multipartFile) {
+    /**
+     * @return 임시 파일로 한 번 받아 둔 업로드 (다 쓴 뒤 닫아야 한다)
+     */
     try {
-      multipartFile.transferTo(file);
-    } catch (Exception e) {
+      return contentAddressedFileStore.spool(multipartFile.getInputStream(),
+          multipartFile.getOriginalFilename());
+    } catch (IOException e) {
       e.printStackTrace();
       throw new CustomFileTransferFailedException();
     }
-    return file;
+  }
+
+  public String saveFileInServer(SpooledUpload upload) {
+    /**
+     * @return 저장소 key
+     */
+    // 같은 내용의 파일이 이미 있으면 새로 쓰지 않고 그 파일을 같이 가리킨다
+    return contentAddressedFileStore.store(upload);
+  }
+
+  public String newFileKey(String originalFileName) {
+    /**
+     * @return 아직 저장하지 않은 파일에 쓸 저장소 key (원본 이름과 시각의 해시)
+     */
+    return encodeFileName(originalFileName);
   }
 
   @Transactional
-  public FileEntity saveFileEntity(File file, String relDirPath, String ipAddress, String origName,
-      @Nullable PostingEntity postingEntity) {
+  public FileEntity saveFileEntity(String filePath, long fileSize, String ipAddress,
+      String origName, @Nullable PostingEntity postingEntity) {
     FileDto fileDto = new FileDto();
     fileDto.setFileName(origName);
-    fileDto.setFilePath(relDirPath + File.separator + file.getName());
-    fileDto.setFileSize(file.length());
+    fileDto.setFilePath(filePath);
+    fileDto.setFileSize(fileSize);
     fileDto.setUploadTime(LocalDateTime.now());
     fileDto.setIpAddress(ipAddress);
     return fileRepository.save(fileDto.toEntity(postingEntity));
@@ -124,9 +176,44 @@ public class FileService {
       return;
     }
 
+    List<FileDto> fileDtos = new ArrayList<>();
     for (MultipartFile multipartFile : multipartFiles) {
-      saveFile(multipartFile, ipAddress, postingEntity);
+      if (multipartFile == null || multipartFile.isEmpty()) {
+        continue;
+      }
+      try (SpooledUpload upload = spool(multipartFile)) {
+        fileDtos.add(FileDto.builder()
+            .fileName(multipartFile.getOriginalFilename())
+            .filePath(saveFileInServer(upload))
+            .fileSize(upload.getSize())
+            .uploadTime(LocalDateTime.now())
+            .ipAddress(ipAddress)
+            .build());
+      }
     }
+    insertFileEntities(fileDtos, postingEntity);
+  }
+
+  private void insertFileEntities(List<FileDto> fileDtos, @Nullable PostingEntity postingEntity) {
+    if (fileDtos.isEmpty()) {
+      return;
+    }
+    // 레코드는 한 번에 넣는다. id 가 IDENTITY 라 JPA 로는 한 건씩 insert 되므로 JDBC batch 를 쓰고,
+    // 그 전에 글 등 아직 반영되지 않은 변경을 먼저 내보낸다
+    fileRepository.flush();
+    Long postingId = postingEntity == null ? null : postingEntity.getId();
+    jdbcTemplate.batchUpdate(INSERT_FILE_SQL, fileDtos, INSERT_BATCH_SIZE, (ps, fileDto) -> {
+      ps.setString(1, fileDto.getFileName());
+      ps.setString(2, fileDto.getFilePath());
+      ps.setLong(3, fileDto.getFileSize());
+      ps.setTimestamp(4, Timestamp.valueOf(fileDto.getUploadTime()));
+      ps.setString(5, fileDto.getIpAddress());
+      if (postingId == null) {
+        ps.setNull(6, Types.BIGINT);
+      } else {
+        ps.setLong(6, postingId);
+      }
+    });
   }
 
   @Transactional
@@ -138,9 +225,14 @@ public class FileService {
       return null;
     }
 
-    File file = saveFileInServer(multipartFile, fileRelDirPath);
-    return saveFileEntity(file, fileRelDirPath, ipAddress, multipartFile.getOriginalFilename(),
-        postingEntity);
+    if (multipartFile.isEmpty()) {
+      return null; // FIXME: FileEmpty exception
+    }
+    try (SpooledUpload upload = spool(multipartFile)) {
+      String filePath = saveFileInServer(upload);
+      return saveFileEntity(filePath, upload.getSize(), ipAddress,
+          multipartFile.getOriginalFilename(), postingEntity);
+    }
   }
 
   public FileEntity find(Long id) {
@@ -151,18 +243,39 @@ public class FileService {
     return fileRepository.findAllByPostingId(postingEntity);
   }
 
+  public List<PostingAttachmentDto> findAttachmentsByPostingIds(Collection<Long> postingIds) {
+    if (postingIds.isEmpty()) {
+      return List.of();
+    }
+    return fileRepository.findAttachmentsByPostingIds(postingIds);
+  }
+
   @Transactional
   public void deleteFiles(List<FileEntity> fileEntities) {
-    for (FileEntity fileEntity : fileEntities) {
-      deleteFile(fileEntity);
+    if (fileEntities.isEmpty()) {
+      return;
     }
+    List<Long> fileIds = fileEntities.stream().map(FileEntity::getId)
+        .collect(Collectors.toList());
+    // 기본 썸네일이 섞여 있으면 하나도 삭제하지 않는다.
+    if (fileIds.stream().anyMatch(this::isDefaultFileId)) {
+      throw new CustomFileDeleteFailedException("삭제할 수 없는 기본 이미지입니다.");
+    }
+    fileRepository.deleteAllByIdInBatch(fileIds);
+    evictRenditionsAfterCommit(fileIds);
+    // 서버의 파일은 커밋된 뒤 남은 참조 수를 보고 한꺼번에 지운다
+    contentAddressedFileStore.releaseAfterCommit(
+        fileEntities.stream().map(FileEntity::getFilePath).collect(Collectors.toList()));
   }
 
   @Transactional
   public void deleteFilesByIdList(List<Long> fileIdList) {
-    for (Long fileId : fileIdList) {
-      deleteFile(fileId);
+    Set<Long> fileIds = Set.copyOf(fileIdList);
+    List<FileEntity> fileEntities = fileRepository.findAllById(fileIds);
+    if (fileEntities.size() != fileIds.size()) {
+      throw new CustomFileEntityNotFoundException();
     }
+    deleteFiles(fileEntities);
   }
 
   @Transactional
@@ -171,8 +284,10 @@ public class FileService {
     if (isDefaultFileId(fileEntity.getId())) {
       throw new CustomFileDeleteFailedException("삭제할 수 없는 기본 이미지입니다.");
     }
-    deleteFileInServer(fileEntity);
     deleteFileEntity(fileEntity.getId());
+    // 롤백되면 레코드가 돌아오므로 서버의 파일과 전처리 결과는 커밋된 뒤에 지운다
+    evictRenditionsAfterCommit(List.of(fileEntity.getId()));
+    contentAddressedFileStore.releaseAfterCommit(List.of(fileEntity.getFilePath()));
   }
 
   @Transactional
@@ -186,24 +301,38 @@ public class FileService {
     fileRepository.deleteById(deleteId);
   }
 
-  public void deleteFileInServer(FileEntity fileEntity) {
-    File file = new File(
-        System.getProperty("user.dir") + File.separator + fileEntity.getFilePath());
-    deleteFileInServer(file);
+  /**
+   * 다른 레코드가 같은 파일을 가리키고 있지 않을 때만 서버의 파일을 삭제한다. 레코드를 지우거나 다른 파일로
+   * 바꾼 뒤에 호출해야 한다.
+   */
+  public void releaseFileInServer(String filePath) {
+    contentAddressedFileStore.release(filePath);
   }
 
-  public void deleteFileInServer(String filePath) {
-    File deleteFile = new File(System.getProperty("user.dir") + File.separator + filePath);
-    deleteFileInServer(deleteFile);
+  private void evictRenditionsAfterCommit(List<Long> fileIds) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      fileIds.forEach(fileId -> imageRenditionCache.evict(RENDITION_TYPE, fileId));
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCommit() {
+        fileIds.forEach(fileId -> imageRenditionCache.evict(RENDITION_TYPE, fileId));
+      }
+    });
   }
 
-  public void deleteFileInServer(File file) {
-    if (file.exists() == false) {
+  public void deleteFileInServer(String filePath) {
+    if (!deleteFileInServerIfExists(filePath)) {
       throw new CustomFileNotFoundException();
     }
-    if (file.delete() == false) {
-      throw new CustomFileDeleteFailedException();
-    }
+  }
+
+  /**
+   * @return 삭제할 파일이 있었으면 true
+   */
+  public boolean deleteFileInServerIfExists(String filePath) {
+    return storageBackend.delete(filePath);
   }
 
   public boolean isDefaultFileId(Long fileId) {
@@ -218,12 +347,12 @@ public class FileService {
     deleteFile(deleteId);
   }
 
-  public FileEntity updateFileEntity(Long fileId, File file, String ip) {
+  public FileEntity updateFileEntity(Long fileId, String filePath, long fileSize, String ip) {
     FileEntity prevEntity = find(fileId);
     FileEntity aftEntity = FileEntity.builder().id(fileId)
-        .fileName(file.getName())
-        .filePath(fileRelDirPath + File.separator + file.getName())
-        .fileSize(file.length())
+        .fileName(filePath)
+        .filePath(filePath)
+        .fileSize(fileSize)
         .uploadTime(LocalDateTime.now())
         .ipAddress(ip)
         .postingId(prevEntity.getPostingId())
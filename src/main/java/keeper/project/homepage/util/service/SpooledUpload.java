@@ -0,0 +1,57 @@
+package keeper.project.homepage.util.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+
+/**
+ * 업로드를 임시 파일로 한 번 받아 둔 것. 받는 동안 내용의 해시, 크기, 형식 판별에 쓸 앞부분을 함께 구해 두므로
+ * 업로드 스트림을 다시 읽지 않는다.
+ * <p>
+ * {@link ContentAddressedFileStore#store(SpooledUpload)} 로 저장하면 임시 파일은 복사 없이 저장소로
+ * 옮겨진다. 저장하지 않고 닫으면 임시 파일을 지운다.
+ */
+@Log4j2
+@Getter
+public class SpooledUpload implements AutoCloseable {
+
+  static final int HEAD_LENGTH = 16;
+
+  private final Path path;
+  private final String originalFileName;
+  private final String sha256;
+  private final long size;
+  private final byte[] head;
+
+  SpooledUpload(Path path, String originalFileName, String sha256, long size, byte[] head) {
+    this.path = path;
+    this.originalFileName = originalFileName;
+    this.sha256 = sha256;
+    this.size = size;
+    this.head = head;
+  }
+
+  /**
+   * @return 내용의 앞부분 (최대 {@value #HEAD_LENGTH} 바이트)
+   */
+  public byte[] getHead() {
+    return Arrays.copyOf(head, head.length);
+  }
+
+  public String getFileFormat() {
+    String[] fileFormatSplitArray = originalFileName.split("\\.");
+    return fileFormatSplitArray[fileFormatSplitArray.length - 1];
+  }
+
+  @Override
+  public void close() {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("업로드 임시 파일을 지우지 못했습니다. : {}", path, e);
+    }
+  }
+}
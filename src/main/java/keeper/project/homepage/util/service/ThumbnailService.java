@@ -1,5 +1,6 @@
 package keeper.project.homepage.util.service;
 
+import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
@@ -7,48 +8,61 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import keeper.project.homepage.exception.file.CustomInvalidImageFileException;
 import keeper.project.homepage.util.image.ImageFormatChecking;
-import keeper.project.homepage.util.MultipartFileWrapper;
+import keeper.project.homepage.util.image.ImageRenditionCache;
+import keeper.project.homepage.util.image.ImageVariant;
+import keeper.project.homepage.util.image.ThumbnailGenerator;
+import keeper.project.homepage.util.FileResponseUtil;
 import keeper.project.homepage.entity.FileEntity;
 import keeper.project.homepage.entity.ThumbnailEntity;
 import keeper.project.homepage.exception.file.CustomThumbnailEntityNotFoundException;
 import keeper.project.homepage.repository.ThumbnailRepository;
 import keeper.project.homepage.util.image.preprocessing.ImagePreprocessing;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+@Log4j2
 @Service
 @RequiredArgsConstructor
 public class ThumbnailService {
 
   private final static String THUMBNAIL_FORMAT = "jpg";
+  public static final String RENDITION_TYPE = "thumbnail";
 
   private final ImageFormatChecking imageFormatChecking;
   private final ThumbnailRepository thumbnailRepository;
   private final FileService fileService;
+  private final ImageRenditionCache imageRenditionCache;
+  private final ThumbnailGenerator thumbnailGenerator;
+  private final ThumbnailVariants thumbnailVariants;
 
   public enum ThumbType {
-    MemberThumbnail("keeper_files" + File.separator + "thumbnail",
-        DefaultThumbnailInfo.ThumbMember),
-    PostThumbnail("keeper_files" + File.separator + "thumbnail", DefaultThumbnailInfo.ThumbPosting),
-    BookThumbnail("keeper_files" + File.separator + "thumbnail", DefaultThumbnailInfo.ThumbBook),
-    InfoThumbnail("keeper_files" + File.separator + "thumbnail", DefaultThumbnailInfo.ThumbInfo),
+    // 회원 썸네일은 댓글/랭킹 목록의 작은 아이콘으로도 쓰인다
+    MemberThumbnail(DefaultThumbnailInfo.ThumbMember,
+        ImageVariant.SMALL, ImageVariant.MEDIUM, ImageVariant.LARGE),
+    PostThumbnail(DefaultThumbnailInfo.ThumbPosting, ImageVariant.MEDIUM, ImageVariant.LARGE),
+    BookThumbnail(DefaultThumbnailInfo.ThumbBook, ImageVariant.MEDIUM, ImageVariant.LARGE),
+    InfoThumbnail(DefaultThumbnailInfo.ThumbInfo, ImageVariant.MEDIUM, ImageVariant.LARGE),
     // FIXME: Study용 default 이미지 있는지 확인하기
-    StudyThumbnail("keeper_files" + File.separator + "thumbnail",
-        DefaultThumbnailInfo.ThumbPosting),
-    Badge("keeper_files" + File.separator + "thumbnail" + File.separator + "badge", null);
+    StudyThumbnail(DefaultThumbnailInfo.ThumbPosting, ImageVariant.MEDIUM, ImageVariant.LARGE),
+    Badge(null, ImageVariant.SMALL);
 
-    private final String saveDirPath;
     private final DefaultThumbnailInfo defaultImage;
+    private final List<ImageVariant> defaultVariants;
 
-    ThumbType(String saveDirPath, DefaultThumbnailInfo defaultImage) {
-      this.saveDirPath = saveDirPath;
+    ThumbType(DefaultThumbnailInfo defaultImage, ImageVariant... defaultVariants) {
       this.defaultImage = defaultImage;
+      this.defaultVariants = List.of(defaultVariants);
     }
 
-    public String getSaveDirPath() {
-      return saveDirPath;
+    /**
+     * 저장할 때 미리 만들 크기. {@code keeper.thumbnail.variants.<ThumbType>} 으로 바꿀 수 있다
+     * ({@link ThumbnailVariants}).
+     */
+    public List<ImageVariant> getDefaultVariants() {
+      return defaultVariants;
     }
 
     public DefaultThumbnailInfo getDefault() {
@@ -103,36 +117,98 @@ public class ThumbnailService {
 
   private class FilePair {
 
-    private File originalFile;
-    private File thumbnailFile;
+    private String originalPath;
+    private long originalSize;
+    private String thumbnailPath;
 
-    FilePair(File originalFile, File thumbnailFile) {
-      this.originalFile = originalFile;
-      this.thumbnailFile = thumbnailFile;
+    FilePair(String originalPath, long originalSize, String thumbnailPath) {
+      this.originalPath = originalPath;
+      this.originalSize = originalSize;
+      this.thumbnailPath = thumbnailPath;
     }
 
-    public File getOriginalFile() {
-      return originalFile;
+    public String getOriginalPath() {
+      return originalPath;
     }
 
-    public File getThumbnailFile() {
-      return thumbnailFile;
+    public long getOriginalSize() {
+      return originalSize;
+    }
+
+    public String getThumbnailPath() {
+      return thumbnailPath;
     }
   }
 
   private File getFileInServer(ThumbnailEntity thumbnailEntity) {
+    // 만들기 전에 서버가 내려가 작업이 사라진 썸네일은 원본으로 대신한다
+    if (!fileService.existsInServer(thumbnailEntity.getPath())
+        && thumbnailEntity.getFile() != null
+        && fileService.existsInServer(thumbnailEntity.getFile().getFilePath())) {
+      log.warn("썸네일 파일이 없어 원본으로 대신합니다. : {}", thumbnailEntity.getPath());
+      return fileService.getFileInServer(thumbnailEntity.getFile().getFilePath());
+    }
     return fileService.getFileInServer(thumbnailEntity.getPath());
   }
 
-  private File getFileInServer(Long thumbnailId) {
+  public byte[] getByteArrayFromImage(Long thumbnailId, ImagePreprocessing imagePreprocessing)
+      throws IOException {
     ThumbnailEntity thumbnail = find(thumbnailId);
-    return getFileInServer(thumbnail);
+    if (isGenerating(thumbnail)) {
+      return thumbnailGenerator.getPlaceholder();
+    }
+    File file = getFileInServer(thumbnail);
+    return fileService.getByteArrayFromImage(RENDITION_TYPE, thumbnailId, file,
+        imagePreprocessing);
   }
 
-  public byte[] getByteArrayFromImage(Long thumbnailId, ImagePreprocessing imagePreprocessing)
-      throws IOException {
-    File file = getFileInServer(thumbnailId);
-    return fileService.getByteArrayFromImage(file, imagePreprocessing);
+  /**
+   * 업로드 직후 썸네일 파일이 아직 만들어지는 중이면 true
+   */
+  public boolean isGenerating(ThumbnailEntity thumbnailEntity) {
+    return thumbnailGenerator.isPending(thumbnailEntity.getPath());
+  }
+
+  public byte[] getPlaceholder() {
+    return thumbnailGenerator.getPlaceholder();
+  }
+
+  public File getImageFile(ThumbnailEntity thumbnailEntity,
+      ImagePreprocessing imagePreprocessing) {
+    return fileService.getImageFile(RENDITION_TYPE, thumbnailEntity.getId(),
+        getFileInServer(thumbnailEntity), imagePreprocessing);
+  }
+
+  public String getETag(ThumbnailEntity thumbnailEntity, ImagePreprocessing imagePreprocessing) {
+    // 썸네일을 교체하면 path 가 바뀌므로 path 만으로 원본 변경을 구분할 수 있다
+    return FileResponseUtil.getETag(RENDITION_TYPE, thumbnailEntity.getId(),
+        thumbnailEntity.getPath(),
+        imagePreprocessing == null ? null : imagePreprocessing.getRenditionKey());
+  }
+
+  /**
+   * 저장할 때 만들어 둔 크기별 이미지 중 {@code formats} 순서로 처음 있는 형식을 반환한다.
+   *
+   * @return 만들어 둔 이미지가 없으면 (크기별 이미지가 생기기 전에 저장한 썸네일 등) null
+   */
+  public String findVariantFormat(ThumbnailEntity thumbnailEntity, ImageVariant variant,
+      List<String> formats) {
+    for (String format : formats) {
+      if (fileService.existsInServer(variant.getKey(thumbnailEntity.getPath(), format))) {
+        return format;
+      }
+    }
+    return null;
+  }
+
+  public File getVariantFile(ThumbnailEntity thumbnailEntity, ImageVariant variant,
+      String format) {
+    return fileService.getFileInServer(variant.getKey(thumbnailEntity.getPath(), format));
+  }
+
+  public String getETag(ThumbnailEntity thumbnailEntity, ImageVariant variant, String format) {
+    return FileResponseUtil.getETag(RENDITION_TYPE, thumbnailEntity.getId(),
+        thumbnailEntity.getPath(), variant, format);
   }
 
   private ThumbnailEntity getDefaultThumbnailEntity(ThumbType type) {
@@ -152,35 +228,44 @@ public class ThumbnailService {
 
     FilePair saveFile = saveFilesInServer(type, imagePreprocessing, multipartFile);
 
-    FileEntity fileEntity = fileService.saveFileEntity(saveFile.getOriginalFile(),
-        FileService.fileRelDirPath,
-        ipAddress, multipartFile.getOriginalFilename(), null);
+    FileEntity fileEntity = fileService.saveFileEntity(saveFile.getOriginalPath(),
+        saveFile.getOriginalSize(), ipAddress, multipartFile.getOriginalFilename(), null);
     return thumbnailRepository.save(
         ThumbnailEntity.builder()
-            .path(type.getSaveDirPath() + File.separator + saveFile.getThumbnailFile().getName())
+            .path(saveFile.getThumbnailPath())
             .file(fileEntity)
             .build());
   }
 
   private FilePair saveFilesInServer(ThumbType type, ImagePreprocessing imagePreprocessing,
       MultipartFile multipartFile) {
-    FilePair filePair;
-    MultipartFileWrapper multipartFileWrapper = new MultipartFileWrapper(multipartFile);
-    try {
-      imageFormatChecking.checkNormalImageFile(multipartFileWrapper);
-      File originalFile = fileService.saveFileInServer(multipartFileWrapper,
-          FileService.fileRelDirPath);
-      File thumbnailFile = fileService.saveFileInServer(multipartFileWrapper,
-          type.getSaveDirPath());
-      filePair = new FilePair(originalFile, thumbnailFile);
-    } catch (Exception e) {
-      e.printStackTrace();
-      throw e;
-    } finally {
-      multipartFileWrapper.transferFinish();
-    }
-    imagePreprocessing.imageProcessing(filePair.getThumbnailFile(), THUMBNAIL_FORMAT);
-    return filePair;
+    // 업로드는 임시 파일로 한 번만 받고, 형식 확인과 디코딩은 받아 둔 파일로 한다.
+    // 디코딩한 이미지는 썸네일 전처리에 그대로 쓰고, 원본은 받아 둔 파일을 저장소로 옮겨 저장한다
+    try (SpooledUpload upload = fileService.spool(multipartFile)) {
+      BufferedImage image = imageFormatChecking.readNormalImageFile(upload,
+          imagePreprocessing.getTargetSize());
+      String originalPath = fileService.saveFileInServer(upload);
+      String thumbnailPath = fileService.newFileKey(multipartFile.getOriginalFilename());
+      // 썸네일과 크기별 이미지는 따로 만들고, 만들어지기 전까지는 placeholder 를 보낸다
+      thumbnailGenerator.generate(originalPath, image, thumbnailPath, imagePreprocessing,
+          THUMBNAIL_FORMAT, thumbnailVariants.getVariants(type), thumbnailVariants.getFormats());
+      return new FilePair(originalPath, upload.getSize(), thumbnailPath);
+    }
+  }
+
+  private void deleteThumbnailFileInServer(String thumbnailPath) {
+    // 아직 만들어지지 않은 썸네일이면 서버에 파일이 없을 수 있다
+    boolean cancelled = thumbnailGenerator.cancel(thumbnailPath);
+    // 크기별 이미지는 종류마다 만든 크기가 다르므로 있는 것만 지운다
+    for (ImageVariant variant : ImageVariant.values()) {
+      for (String format : thumbnailVariants.getFormats()) {
+        fileService.deleteFileInServerIfExists(variant.getKey(thumbnailPath, format));
+      }
+    }
+    if (cancelled && !fileService.existsInServer(thumbnailPath)) {
+      return;
+    }
+    fileService.deleteFileInServer(thumbnailPath);
   }
 
   private boolean isNullMultipartFile(MultipartFile multipartFile) {
@@ -212,9 +297,10 @@ public class ThumbnailService {
     ThumbnailEntity thumbnailEntity = find(deleteId);
     FileEntity fileEntity = thumbnailEntity.getFile();
     String thumbnailPath = thumbnailEntity.getPath();
-    fileService.deleteFileInServer(thumbnailPath);
+    deleteThumbnailFileInServer(thumbnailPath);
     thumbnailRepository.deleteById(deleteId);
     fileService.deleteFile(fileEntity);
+    imageRenditionCache.evict(RENDITION_TYPE, deleteId);
   }
 
   @Transactional
@@ -223,25 +309,29 @@ public class ThumbnailService {
       MultipartFile multipartFile, String ipAddress) {
     ThumbnailEntity prevThumbnail = find(thumbnailId);
     FileEntity prevFile = prevThumbnail.getFile();
+    String prevFilePath = prevFile.getFilePath();
 
-    // 서버에 있는 파일 삭제
-    fileService.deleteFileInServer(prevThumbnail.getPath());
-    fileService.deleteFileInServer(prevFile.getFilePath());
+    // 서버에 있는 썸네일 삭제
+    deleteThumbnailFileInServer(prevThumbnail.getPath());
+    imageRenditionCache.evict(RENDITION_TYPE, thumbnailId);
+    imageRenditionCache.evict(FileService.RENDITION_TYPE, prevFile.getId());
 
     // 파일 새로 저장
     if (isNullMultipartFile(multipartFile)) {
+      // 원본 레코드는 그대로 남으므로 원본 파일도 지우지 않는다
       return getDefaultThumbnailEntity(type);
     }
     FilePair savedFile = saveFilesInServer(type, imagePreprocessing, multipartFile);
 
     // entity 수정
     FileEntity aftFile = fileService.updateFileEntity(prevFile.getId(),
-        savedFile.getOriginalFile(),
-        ipAddress);
+        savedFile.getOriginalPath(), savedFile.getOriginalSize(), ipAddress);
+    // 레코드가 새 파일을 가리키게 된 뒤, 이전 원본을 가리키는 곳이 없으면 삭제
+    fileService.releaseFileInServer(prevFilePath);
     return thumbnailRepository.save(
         ThumbnailEntity.builder()
             .id(prevThumbnail.getId())
-            .path(type.getSaveDirPath() + File.separator + savedFile.getThumbnailFile().getName())
+            .path(savedFile.getThumbnailPath())
             .file(aftFile)
             .build());
   }
@@ -0,0 +1,123 @@
+package keeper.project.homepage.util.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import keeper.project.homepage.util.image.ImageCodec;
+import keeper.project.homepage.util.image.ImageVariant;
+import keeper.project.homepage.util.service.ThumbnailService.ThumbType;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * 썸네일을 저장할 때 미리 만들 크기와 형식, 그리고 요청의 {@code Accept} 로 보낼 형식을 정한다.
+ * <p>
+ * 크기는 {@code keeper.thumbnail.variants.<ThumbType>} (예: {@code small,medium}) 로, 형식은
+ * {@code keeper.thumbnail.variant-formats} 에 선호 순서대로 지정한다. 이 서버의 ImageIO 로 쓸 수 없는 형식은
+ * 빼고, jpg 는 항상 마지막에 둔다.
+ */
+@Log4j2
+@Component
+public class ThumbnailVariants {
+
+  public static final String DEFAULT_FORMAT = "jpg";
+  private static final String VARIANTS_PROPERTY = "keeper.thumbnail.variants.";
+
+  private final Environment environment;
+  private final List<String> formats;
+
+  public ThumbnailVariants(Environment environment,
+      @Value("${keeper.thumbnail.variant-formats:webp,jpg}") String[] formats) {
+    this.environment = environment;
+    List<String> writable = new ArrayList<>();
+    for (String format : formats) {
+      String name = format.trim().toLowerCase();
+      if (name.isEmpty() || writable.contains(name) || DEFAULT_FORMAT.equals(name)) {
+        continue;
+      }
+      if (ImageCodec.canWrite(name)) {
+        writable.add(name);
+      } else {
+        log.info("ImageIO 로 쓸 수 없는 형식이라 썸네일을 만들지 않습니다. : {}", name);
+      }
+    }
+    writable.add(DEFAULT_FORMAT);
+    this.formats = Collections.unmodifiableList(writable);
+  }
+
+  public List<ImageVariant> getVariants(ThumbType type) {
+    String[] names = environment.getProperty(VARIANTS_PROPERTY + type.name(), String[].class);
+    if (names == null) {
+      return type.getDefaultVariants();
+    }
+    return Arrays.stream(names)
+        .map(String::trim)
+        .filter(name -> !name.isEmpty())
+        .map(ImageVariant::of)
+        .distinct()
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * @return 미리 만드는 형식 (선호 순서, 마지막은 jpg)
+   */
+  public List<String> getFormats() {
+    return formats;
+  }
+
+  /**
+   * {@code Accept} 가 받는다고 한 형식을 선호 순서대로 반환한다. jpg 는 받는다고 하지 않아도 마지막에 넣는다.
+   */
+  public List<String> getAcceptableFormats(String accept) {
+    List<MediaType> acceptable = parseAccept(accept);
+    List<String> result = new ArrayList<>();
+    for (String format : formats) {
+      if (DEFAULT_FORMAT.equals(format) || isAcceptable(acceptable, getMediaType(format))) {
+        result.add(format);
+      }
+    }
+    return result;
+  }
+
+  public static MediaType getMediaType(String format) {
+    switch (format) {
+      case "jpg":
+      case "jpeg":
+        return MediaType.IMAGE_JPEG;
+      case "png":
+        return MediaType.IMAGE_PNG;
+      case "gif":
+        return MediaType.IMAGE_GIF;
+      default:
+        return new MediaType("image", format);
+    }
+  }
+
+  private static boolean isAcceptable(List<MediaType> acceptable, MediaType mediaType) {
+    // image/* 나 */* 만으로는 webp 를 받을 수 있는지 알 수 없으므로, 형식을 직접 적은 경우만 보낸다
+    for (MediaType accept : acceptable) {
+      if (!accept.isWildcardSubtype() && accept.includes(mediaType)
+          && accept.getQualityValue() > 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static List<MediaType> parseAccept(String accept) {
+    if (accept == null || accept.isBlank()) {
+      return List.of();
+    }
+    try {
+      return MediaType.parseMediaTypes(accept);
+    } catch (InvalidMediaTypeException e) {
+      return List.of();
+    }
+  }
+}
@@ -0,0 +1,196 @@
+package keeper.project.homepage.util.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import keeper.project.homepage.exception.file.CustomFileDeleteFailedException;
+import keeper.project.homepage.exception.file.CustomFileNotFoundException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+/**
+ * 서버 디스크에 파일을 저장한다. 한 디렉토리에 파일이 몰리지 않도록 key 앞 네 글자로
+ * {@code <root>/ab/cd/<key>} 에 나눠 두고, 루트를 여러 개 지정하면(디스크가 여러 개인 경우) key 에 따라 루트를
+ * 고른다.
+ * <p>
+ * 루트 목록을 바꾸면 기존 파일이 다른 루트에 있을 수 있으므로 읽을 때는 나머지 루트도 찾아본다.
+ */
+@Component
+@ConditionalOnProperty(name = "keeper.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalShardedStorageBackend implements StorageBackend {
+
+  private static final int SHARD_LENGTH = 2;
+  private static final int SHARD_DEPTH = 2;
+
+  private final List<Path> roots;
+
+  public LocalShardedStorageBackend(
+      @Value("${keeper.storage.local.roots:keeper_files/store}") String[] roots) {
+    this.roots = Arrays.stream(roots)
+        .map(String::trim)
+        .filter(root -> !root.isEmpty())
+        .map(LocalShardedStorageBackend::toAbsolutePath)
+        .collect(Collectors.toList());
+    if (this.roots.isEmpty()) {
+      throw new IllegalArgumentException("keeper.storage.local.roots 가 비어 있습니다.");
+    }
+  }
+
+  @Override
+  public File getFile(String key) {
+    File file = find(key);
+    if (file == null) {
+      throw new CustomFileNotFoundException();
+    }
+    return file;
+  }
+
+  @Override
+  public boolean exists(String key) {
+    return find(key) != null;
+  }
+
+  @Override
+  public Path createTempFile() throws IOException {
+    // 같은 파일 시스템에 만들어야 putIfAbsent 에서 복사 없이 옮길 수 있다
+    Path root = roots.get(0);
+    Files.createDirectories(root);
+    return Files.createTempFile(root, "upload_", ".tmp");
+  }
+
+  @Override
+  public boolean putIfAbsent(String key, Path source) throws IOException {
+    checkKey(key);
+    if (exists(key)) {
+      Files.deleteIfExists(source);
+      return false;
+    }
+    Path target = resolve(key);
+    Files.createDirectories(target.getParent());
+    try {
+      Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      // 다른 디스크에 있는 루트면 옆에 복사한 뒤 이름만 바꾼다
+      Path temp = Files.createTempFile(target.getParent(), key, ".tmp");
+      try {
+        Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temp);
+      }
+      Files.deleteIfExists(source);
+    } catch (FileAlreadyExistsException e) {
+      Files.deleteIfExists(source);
+      return false;
+    }
+    return true;
+  }
+
+  @Override
+  public boolean delete(String key) {
+    File file = find(key);
+    if (file == null) {
+      return false;
+    }
+    if (!file.delete()) {
+      throw new CustomFileDeleteFailedException();
+    }
+    return true;
+  }
+
+  @Override
+  public List<StoredObject> listSegment(int segment) throws IOException {
+    // 구간은 첫 단계 디렉토리 하나. 해시를 다시 구해 나눈 key 도 디렉토리 기준이므로 함께 훑는다
+    String prefix = StorageBackend.getSegmentPrefix(segment);
+    List<StoredObject> objects = new ArrayList<>();
+    for (Path root : roots) {
+      Path dir = root.resolve(prefix);
+      if (!Files.isDirectory(dir)) {
+        continue;
+      }
+      try (Stream<Path> files = Files.find(dir, SHARD_DEPTH,
+          (path, attributes) -> attributes.isRegularFile())) {
+        for (Path path : (Iterable<Path>) files::iterator) {
+          BasicFileAttributes attributes;
+          try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+          } catch (NoSuchFileException e) {
+            // 훑는 사이에 지워진 파일
+            continue;
+          }
+          objects.add(new StoredObject(path.getFileName().toString(), attributes.size(),
+              attributes.lastModifiedTime().toInstant()));
+        }
+      }
+    }
+    return objects;
+  }
+
+  Path resolve(String key) {
+    Path root = roots.get(Math.floorMod(getShardSource(key).hashCode(), roots.size()));
+    return resolve(root, key);
+  }
+
+  private File find(String key) {
+    if (StorageBackend.isLegacyKey(key)) {
+      File legacy = StorageBackend.getLegacyFile(key);
+      return legacy.isFile() ? legacy : null;
+    }
+    checkKey(key);
+    File file = resolve(key).toFile();
+    if (file.isFile()) {
+      return file;
+    }
+    for (Path root : roots) {
+      File moved = resolve(root, key).toFile();
+      if (moved.isFile()) {
+        return moved;
+      }
+    }
+    return null;
+  }
+
+  private static Path resolve(Path root, String key) {
+    String shardSource = getShardSource(key);
+    Path dir = root;
+    for (int i = 0; i < SHARD_DEPTH; i++) {
+      dir = dir.resolve(shardSource.substring(i * SHARD_LENGTH, (i + 1) * SHARD_LENGTH));
+    }
+    return dir.resolve(key);
+  }
+
+  private static String getShardSource(String key) {
+    // 저장하는 파일 이름은 해시라서 앞부분이 고르게 퍼지지만, 그렇지 않은 key 는 해시를 다시 구한다
+    String prefix = key.length() >= SHARD_LENGTH * SHARD_DEPTH
+        ? key.substring(0, SHARD_LENGTH * SHARD_DEPTH) : "";
+    if (!prefix.isEmpty() && prefix.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+      return prefix.toLowerCase();
+    }
+    return DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static void checkKey(String key) {
+    if (key.isEmpty() || StorageBackend.isLegacyKey(key) || key.startsWith(".")) {
+      throw new IllegalArgumentException("저장소 key 로 쓸 수 없는 이름입니다. : " + key);
+    }
+  }
+
+  private static Path toAbsolutePath(String root) {
+    Path path = Path.of(root);
+    return path.isAbsolute() ? path : Path.of(System.getProperty("user.dir")).resolve(path);
+  }
+}
@@ -0,0 +1,203 @@
+package keeper.project.homepage.util.storage;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import keeper.project.homepage.exception.file.CustomFileNotFoundException;
+import keeper.project.homepage.repository.FileRepository;
+import keeper.project.homepage.repository.ThumbnailRepository;
+import keeper.project.homepage.util.image.ImageVariant;
+import keeper.project.homepage.util.service.ContentAddressedFileStore;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * 어떤 {@code file}, {@code thumbnail} 레코드도 가리키지 않는 저장소 파일을 지운다.
+ * {@code keeper.storage.gc.enabled=true} 일 때만 동작한다.
+ * <p>
+ * 한 번에 저장소 전체를 훑지 않고 실행할 때마다 {@link StorageBackend#SEGMENT_COUNT} 개 구간 중 몇 개만 훑으며,
+ * 구간의 key 와 같은 글자로 시작하는 경로만 DB 에서 스트리밍으로 읽어 비교한다. 수정 시각이 유예 기간보다 최근인
+ * 파일은 아직 커밋되지 않은 업로드일 수 있으므로 건드리지 않는다.
+ * <p>
+ * 처음 찾은 파일은 격리 목록에 올리기만 하고, 격리 기간이 지난 뒤 그 구간을 다시 훑을 때도 가리키는 레코드가
+ * 없으면 지운다. 지우기 직전에 DB 를 한 번 더 확인하고, 원본 파일은 {@link ContentAddressedFileStore} 를 거쳐
+ * 같은 내용을 저장하는 업로드와 겹치지 않게 지운다.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "keeper.storage.gc.enabled", havingValue = "true")
+public class OrphanFileCollector {
+
+  private final StorageBackend storageBackend;
+  private final ContentAddressedFileStore contentAddressedFileStore;
+  private final FileRepository fileRepository;
+  private final ThumbnailRepository thumbnailRepository;
+  private final TransactionTemplate readOnlyTransaction;
+  private final int segmentsPerRun;
+  private final int maxDeletesPerRun;
+  private final Duration gracePeriod;
+  private final Duration quarantinePeriod;
+  private final Counter reclaimedBytes;
+  private final Counter deletedFiles;
+
+  // 구간 -> (key -> 격리한 시각)
+  private final Map<Integer, Map<String, Instant>> quarantine = new ConcurrentHashMap<>();
+  private int nextSegment = 0;
+
+  public OrphanFileCollector(StorageBackend storageBackend,
+      ContentAddressedFileStore contentAddressedFileStore, FileRepository fileRepository,
+      ThumbnailRepository thumbnailRepository, PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${keeper.storage.gc.segments-per-run:4}") int segmentsPerRun,
+      @Value("${keeper.storage.gc.max-deletes-per-run:100}") int maxDeletesPerRun,
+      @Value("${keeper.storage.gc.grace-period-ms:86400000}") long gracePeriodMs,
+      @Value("${keeper.storage.gc.quarantine-period-ms:3600000}") long quarantinePeriodMs) {
+    this.storageBackend = storageBackend;
+    this.contentAddressedFileStore = contentAddressedFileStore;
+    this.fileRepository = fileRepository;
+    this.thumbnailRepository = thumbnailRepository;
+    this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+    this.readOnlyTransaction.setReadOnly(true);
+    this.segmentsPerRun = segmentsPerRun;
+    this.maxDeletesPerRun = maxDeletesPerRun;
+    this.gracePeriod = Duration.ofMillis(gracePeriodMs);
+    this.quarantinePeriod = Duration.ofMillis(quarantinePeriodMs);
+    this.reclaimedBytes = Counter.builder("keeper.storage.gc.reclaimed")
+        .description("가리키는 레코드가 없어 지운 파일의 크기")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    this.deletedFiles = Counter.builder("keeper.storage.gc.deleted")
+        .description("가리키는 레코드가 없어 지운 파일 수")
+        .register(meterRegistry);
+    Gauge.builder("keeper.storage.gc.quarantined", quarantine,
+            q -> q.values().stream().mapToInt(Map::size).sum())
+        .description("지우기 전에 격리해 둔 파일 수")
+        .register(meterRegistry);
+  }
+
+  @Scheduled(initialDelayString = "${keeper.storage.gc.interval-ms:60000}",
+      fixedDelayString = "${keeper.storage.gc.interval-ms:60000}")
+  public synchronized void collect() {
+    int deleted = 0;
+    for (int i = 0; i < segmentsPerRun; i++) {
+      deleted += collectSegment(nextSegment, maxDeletesPerRun - deleted, Instant.now());
+      nextSegment = (nextSegment + 1) % StorageBackend.SEGMENT_COUNT;
+    }
+    if (deleted > 0) {
+      log.info("가리키는 레코드가 없는 파일 {}개를 지웠습니다.", deleted);
+    }
+  }
+
+  /**
+   * @return 지운 파일 수 (최대 {@code deleteLimit})
+   */
+  synchronized int collectSegment(int segment, int deleteLimit, Instant now) {
+    List<StoredObject> objects;
+    try {
+      objects = storageBackend.listSegment(segment);
+    } catch (IOException | RuntimeException e) {
+      log.warn("저장소 구간을 읽지 못했습니다. : {}", segment, e);
+      return 0;
+    }
+    String prefix = StorageBackend.getSegmentPrefix(segment);
+    Set<String> referenced = new HashSet<>();
+    Set<String> thumbnailBases = new HashSet<>();
+    readOnlyTransaction.executeWithoutResult(status -> {
+      try (Stream<String> filePaths = fileRepository.streamFilePathsStartingWith(prefix)) {
+        filePaths.forEach(referenced::add);
+      }
+      try (Stream<String> thumbnailPaths = thumbnailRepository.streamPathsStartingWith(prefix)) {
+        thumbnailPaths.forEach(path -> {
+          referenced.add(path);
+          thumbnailBases.add(removeExtension(path));
+        });
+      }
+    });
+
+    Map<String, Instant> previous = quarantine.getOrDefault(segment, Map.of());
+    Map<String, Instant> current = new HashMap<>();
+    Instant modifiedBefore = now.minus(gracePeriod);
+    int deleted = 0;
+    for (StoredObject object : objects) {
+      String key = object.getKey();
+      if (!object.getLastModified().isBefore(modifiedBefore)) {
+        continue;
+      }
+      // 해시를 다시 구해 나눈 key 는 구간 글자로 시작하지 않으므로 따로 확인한다
+      boolean isReferenced = key.startsWith(prefix)
+          ? referenced.contains(key) || thumbnailBases.contains(ImageVariant.getThumbnailBase(key))
+          : isReferenced(key);
+      if (isReferenced) {
+        continue;
+      }
+      Instant quarantinedAt = previous.getOrDefault(key, now);
+      boolean expired = previous.containsKey(key)
+          && !quarantinedAt.plus(quarantinePeriod).isAfter(now);
+      if (expired && deleted < deleteLimit) {
+        if (delete(key)) {
+          deleted++;
+          deletedFiles.increment();
+          reclaimedBytes.increment(object.getSize());
+        }
+        continue;
+      }
+      current.put(key, quarantinedAt);
+    }
+    // 목록에 없거나 다시 가리키게 된 key 는 격리 목록에서 빠진다
+    if (current.isEmpty()) {
+      quarantine.remove(segment);
+    } else {
+      quarantine.put(segment, current);
+    }
+    return deleted;
+  }
+
+  int getQuarantinedCount() {
+    return quarantine.values().stream().mapToInt(Map::size).sum();
+  }
+
+  private boolean delete(String key) {
+    // 스트리밍으로 읽은 뒤에 저장된 레코드가 있을 수 있으므로 지우기 직전에 다시 확인한다
+    if (isReferenced(key)) {
+      return false;
+    }
+    try {
+      // 원본 파일은 같은 내용의 업로드가 진행 중이거나 레코드가 있으면 지우지 않는다
+      return contentAddressedFileStore.release(key);
+    } catch (CustomFileNotFoundException e) {
+      return false;
+    } catch (RuntimeException e) {
+      log.warn("가리키는 레코드가 없는 파일을 지우지 못했습니다. : {}", key, e);
+      return false;
+    }
+  }
+
+  private boolean isReferenced(String key) {
+    if (fileRepository.countByFilePath(key) > 0 || thumbnailRepository.existsByPath(key)) {
+      return true;
+    }
+    String base = ImageVariant.getThumbnailBase(key);
+    return base != null && (thumbnailRepository.existsByPath(base)
+        || thumbnailRepository.existsByPathStartingWith(base + "."));
+  }
+
+  private static String removeExtension(String key) {
+    int extension = key.lastIndexOf('.');
+    return extension > 0 ? key.substring(0, extension) : key;
+  }
+}
@@ -0,0 +1,381 @@
+package keeper.project.homepage.util.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+import keeper.project.homepage.exception.file.CustomFileDeleteFailedException;
+import keeper.project.homepage.exception.file.CustomFileNotFoundException;
+import keeper.project.homepage.exception.file.CustomFileTransferFailedException;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * S3 API 를 지원하는 오브젝트 스토리지(AWS S3, MinIO 등)에 파일을 저장한다. SDK 없이 path-style 주소
+ * ({@code <endpoint>/<bucket>/<key>}) 로 요청하고 Signature V4 로 서명한다.
+ * <p>
+ * 이미지 처리와 응답은 로컬 파일로 하므로, 읽은 파일은 {@code keeper.storage.s3.cache-dir} 에 받아 두고
+ * 다음부터는 받아 둔 파일을 쓴다. 저장한 파일의 내용은 바뀌지 않으므로(key 가 내용 또는 업로드마다 새로 만든
+ * 이름이다) 받아 둔 파일을 다시 확인하지 않는다.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "keeper.storage.type", havingValue = "s3")
+public class S3StorageBackend implements StorageBackend {
+
+  private static final String ALGORITHM = "AWS4-HMAC-SHA256";
+  private static final String SERVICE = "s3";
+  private static final String UNSIGNED_PAYLOAD = "UNSIGNED-PAYLOAD";
+  private static final String EMPTY_PAYLOAD_HASH = sha256Hex(new byte[0]);
+  private static final String SIGNED_HEADERS = "host;x-amz-content-sha256;x-amz-date";
+  private static final DateTimeFormatter AMZ_DATE = DateTimeFormatter.ofPattern(
+      "yyyyMMdd'T'HHmmss'Z'");
+  private static final DateTimeFormatter DATE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+  private final URI endpoint;
+  private final String bucket;
+  private final String region;
+  private final String accessKey;
+  private final String secretKey;
+  private final Path cacheDir;
+  private final HttpClient httpClient;
+
+  public S3StorageBackend(
+      @Value("${keeper.storage.s3.endpoint}") String endpoint,
+      @Value("${keeper.storage.s3.bucket}") String bucket,
+      @Value("${keeper.storage.s3.region:ap-northeast-2}") String region,
+      @Value("${keeper.storage.s3.access-key}") String accessKey,
+      @Value("${keeper.storage.s3.secret-key}") String secretKey,
+      @Value("${keeper.storage.s3.cache-dir:keeper_files/s3-cache}") String cacheDir) {
+    this.endpoint = URI.create(endpoint.endsWith("/")
+        ? endpoint.substring(0, endpoint.length() - 1) : endpoint);
+    this.bucket = bucket;
+    this.region = region;
+    this.accessKey = accessKey;
+    this.secretKey = secretKey;
+    Path cachePath = Path.of(cacheDir);
+    this.cacheDir = cachePath.isAbsolute() ? cachePath
+        : Path.of(System.getProperty("user.dir")).resolve(cachePath);
+    this.httpClient = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+  }
+
+  @Override
+  public File getFile(String key) {
+    if (StorageBackend.isLegacyKey(key)) {
+      return getLegacyFile(key);
+    }
+    Path cached = cacheDir.resolve(key);
+    if (Files.isRegularFile(cached)) {
+      return cached.toFile();
+    }
+    Path temp = null;
+    try {
+      Files.createDirectories(cacheDir);
+      temp = Files.createTempFile(cacheDir, "download_", ".tmp");
+      HttpResponse<Path> response = send("GET", key, BodyPublishers.noBody(), EMPTY_PAYLOAD_HASH,
+          BodyHandlers.ofFile(temp));
+      if (response.statusCode() == 404) {
+        throw new CustomFileNotFoundException();
+      }
+      checkSuccess(response, key);
+      Files.move(temp, cached, StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+      return cached.toFile();
+    } catch (IOException e) {
+      log.error("저장소에서 파일을 받지 못했습니다. : {}", key, e);
+      throw new CustomFileTransferFailedException();
+    } finally {
+      deleteQuietly(temp);
+    }
+  }
+
+  @Override
+  public boolean exists(String key) {
+    if (StorageBackend.isLegacyKey(key)) {
+      return StorageBackend.getLegacyFile(key).isFile();
+    }
+    try {
+      HttpResponse<Void> response = send("HEAD", key, BodyPublishers.noBody(),
+          EMPTY_PAYLOAD_HASH, BodyHandlers.discarding());
+      if (response.statusCode() == 404) {
+        return false;
+      }
+      checkSuccess(response, key);
+      return true;
+    } catch (IOException e) {
+      log.error("저장소에서 파일을 확인하지 못했습니다. : {}", key, e);
+      throw new CustomFileTransferFailedException();
+    }
+  }
+
+  @Override
+  public Path createTempFile() throws IOException {
+    Files.createDirectories(cacheDir);
+    return Files.createTempFile(cacheDir, "upload_", ".tmp");
+  }
+
+  @Override
+  public boolean putIfAbsent(String key, Path source) throws IOException {
+    if (StorageBackend.isLegacyKey(key)) {
+      throw new IllegalArgumentException("저장소 key 로 쓸 수 없는 이름입니다. : " + key);
+    }
+    try {
+      // 같은 key 는 같은 내용이므로 확인과 업로드 사이에 다른 요청이 올려도 결과는 같다
+      if (exists(key)) {
+        return false;
+      }
+      HttpResponse<Void> response = send("PUT", key, BodyPublishers.ofFile(source),
+          UNSIGNED_PAYLOAD, BodyHandlers.discarding());
+      checkSuccess(response, key);
+      // 올린 파일을 바로 다시 읽는 경우가 많으므로 받아 둔 파일로 남긴다
+      Files.createDirectories(cacheDir);
+      Files.move(source, cacheDir.resolve(key), StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+      return true;
+    } finally {
+      Files.deleteIfExists(source);
+    }
+  }
+
+  @Override
+  public boolean delete(String key) {
+    if (StorageBackend.isLegacyKey(key)) {
+      File legacy = StorageBackend.getLegacyFile(key);
+      if (!legacy.isFile()) {
+        return false;
+      }
+      if (!legacy.delete()) {
+        throw new CustomFileDeleteFailedException();
+      }
+      return true;
+    }
+    try {
+      deleteQuietly(cacheDir.resolve(key));
+      if (!exists(key)) {
+        return false;
+      }
+      HttpResponse<Void> response = send("DELETE", key, BodyPublishers.noBody(),
+          EMPTY_PAYLOAD_HASH, BodyHandlers.discarding());
+      checkSuccess(response, key);
+      return true;
+    } catch (IOException e) {
+      log.error("저장소에서 파일을 지우지 못했습니다. : {}", key, e);
+      throw new CustomFileDeleteFailedException();
+    }
+  }
+
+  @Override
+  public List<StoredObject> listSegment(int segment) throws IOException {
+    // 저장하는 key 는 해시라서 앞 두 글자로 구간을 나눈다 (ListObjectsV2, 한 번에 최대 1000개)
+    String prefix = StorageBackend.getSegmentPrefix(segment);
+    List<StoredObject> objects = new ArrayList<>();
+    String continuationToken = null;
+    do {
+      Map<String, String> query = new TreeMap<>();
+      query.put("list-type", "2");
+      query.put("prefix", prefix);
+      if (continuationToken != null) {
+        query.put("continuation-token", continuationToken);
+      }
+      HttpResponse<byte[]> response = send("GET", "", query, BodyPublishers.noBody(),
+          EMPTY_PAYLOAD_HASH, BodyHandlers.ofByteArray());
+      checkSuccess(response, prefix);
+      Element result = parseXml(response.body()).getDocumentElement();
+      NodeList contents = result.getElementsByTagName("Contents");
+      for (int i = 0; i < contents.getLength(); i++) {
+        Element content = (Element) contents.item(i);
+        objects.add(new StoredObject(getText(content, "Key"),
+            Long.parseLong(getText(content, "Size")),
+            Instant.parse(getText(content, "LastModified"))));
+      }
+      continuationToken = "true".equals(getText(result, "IsTruncated"))
+          ? getText(result, "NextContinuationToken") : null;
+    } while (continuationToken != null);
+    return objects;
+  }
+
+  private <T> HttpResponse<T> send(String method, String key, BodyPublisher body,
+      String payloadHash, BodyHandler<T> bodyHandler) throws IOException {
+    return send(method, key, Map.of(), body, payloadHash, bodyHandler);
+  }
+
+  private <T> HttpResponse<T> send(String method, String key, Map<String, String> query,
+      BodyPublisher body, String payloadHash, BodyHandler<T> bodyHandler) throws IOException {
+    String canonicalQuery = getCanonicalQuery(query);
+    URI uri = URI.create(endpoint + getCanonicalUri(key)
+        + (canonicalQuery.isEmpty() ? "" : "?" + canonicalQuery));
+    ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+    String amzDate = AMZ_DATE.format(now);
+    HttpRequest request = HttpRequest.newBuilder(uri)
+        .method(method, body)
+        .timeout(Duration.ofMinutes(1))
+        .header("x-amz-content-sha256", payloadHash)
+        .header("x-amz-date", amzDate)
+        .header("Authorization",
+            getAuthorization(method, uri, key, canonicalQuery, payloadHash, now))
+        .build();
+    try {
+      return httpClient.send(request, bodyHandler);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    }
+  }
+
+  String getAuthorization(String method, URI uri, String key, String payloadHash,
+      ZonedDateTime now) {
+    return getAuthorization(method, uri, key, "", payloadHash, now);
+  }
+
+  String getAuthorization(String method, URI uri, String key, String canonicalQuery,
+      String payloadHash, ZonedDateTime now) {
+    String amzDate = AMZ_DATE.format(now);
+    String dateStamp = DATE_STAMP.format(now);
+    String canonicalRequest = method + "\n"
+        + getCanonicalUri(key) + "\n"
+        + canonicalQuery + "\n"
+        + "host:" + getHost(uri) + "\n"
+        + "x-amz-content-sha256:" + payloadHash + "\n"
+        + "x-amz-date:" + amzDate + "\n"
+        + "\n"
+        + SIGNED_HEADERS + "\n"
+        + payloadHash;
+    String scope = dateStamp + "/" + region + "/" + SERVICE + "/aws4_request";
+    String stringToSign = ALGORITHM + "\n"
+        + amzDate + "\n"
+        + scope + "\n"
+        + sha256Hex(canonicalRequest.getBytes(StandardCharsets.UTF_8));
+
+    byte[] signingKey = hmac(("AWS4" + secretKey).getBytes(StandardCharsets.UTF_8), dateStamp);
+    signingKey = hmac(signingKey, region);
+    signingKey = hmac(signingKey, SERVICE);
+    signingKey = hmac(signingKey, "aws4_request");
+    String signature = HexFormat.of().formatHex(hmac(signingKey, stringToSign));
+    return ALGORITHM + " Credential=" + accessKey + "/" + scope
+        + ", SignedHeaders=" + SIGNED_HEADERS
+        + ", Signature=" + signature;
+  }
+
+  private String getCanonicalUri(String key) {
+    return "/" + encode(bucket) + "/" + encode(key);
+  }
+
+  private static String getCanonicalQuery(Map<String, String> query) {
+    // 서명과 요청에 같은 문자열을 쓰도록 이름 순으로 정렬하고 인코딩한다
+    return new TreeMap<>(query).entrySet().stream()
+        .map(entry -> encode(entry.getKey()) + "=" + encode(entry.getValue()))
+        .collect(Collectors.joining("&"));
+  }
+
+  private static Document parseXml(byte[] body) throws IOException {
+    try {
+      DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+      factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+      return factory.newDocumentBuilder().parse(new ByteArrayInputStream(body));
+    } catch (ParserConfigurationException | SAXException e) {
+      throw new IOException("저장소 응답을 읽지 못했습니다.", e);
+    }
+  }
+
+  private static String getText(Element parent, String tagName) {
+    NodeList nodes = parent.getElementsByTagName(tagName);
+    return nodes.getLength() == 0 ? null : nodes.item(0).getTextContent();
+  }
+
+  private static String getHost(URI uri) {
+    int port = uri.getPort();
+    boolean defaultPort = port == -1
+        || ("http".equals(uri.getScheme()) && port == 80)
+        || ("https".equals(uri.getScheme()) && port == 443);
+    return defaultPort ? uri.getHost() : uri.getHost() + ":" + port;
+  }
+
+  private static String encode(String value) {
+    return URLEncoder.encode(value, StandardCharsets.UTF_8)
+        .replace("+", "%20")
+        .replace("*", "%2A")
+        .replace("%7E", "~");
+  }
+
+  private static void checkSuccess(HttpResponse<?> response, String key) throws IOException {
+    if (response.statusCode() / 100 != 2) {
+      throw new IOException(
+          "저장소 요청이 실패했습니다. : " + response.request().method() + " " + key + " -> "
+              + response.statusCode());
+    }
+  }
+
+  private static File getLegacyFile(String key) {
+    File legacy = StorageBackend.getLegacyFile(key);
+    if (!legacy.isFile()) {
+      throw new CustomFileNotFoundException();
+    }
+    return legacy;
+  }
+
+  private static void deleteQuietly(Path path) {
+    if (path == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      log.warn("임시 파일을 지우지 못했습니다. : {}", path, e);
+    }
+  }
+
+  private static byte[] hmac(byte[] key, String data) {
+    try {
+      Mac mac = Mac.getInstance("HmacSHA256");
+      mac.init(new SecretKeySpec(key, "HmacSHA256"));
+      return mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String sha256Hex(byte[] data) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
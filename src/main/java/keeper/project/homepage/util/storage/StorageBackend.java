@@ -0,0 +1,72 @@
+package keeper.project.homepage.util.storage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 업로드 파일과 썸네일을 보관하는 저장소.
+ * <p>
+ * 파일은 key 로 구분하며 {@code FileEntity.filePath}, {@code ThumbnailEntity.path} 에 저장되는 값이 key 다.
+ * 새로 저장하는 파일의 key 는 디렉토리가 없는 파일 이름이고, 경로 구분자가 들어간 key 는 저장소를 도입하기 전에
+ * {@code {user.dir}} 기준 상대 경로로 저장된 파일이다({@link StorageMigration} 으로 옮길 수 있다).
+ * <p>
+ * 이미지 처리와 응답은 로컬 파일로 하므로 {@link #getFile(String)} 은 원격 저장소라도 로컬에 받아 둔 파일을
+ * 반환한다.
+ */
+public interface StorageBackend {
+
+  /**
+   * 저장소를 나눠 훑을 때의 구간 수. 구간 번호는 key 앞 두 글자를 16진수로 읽은 값이다.
+   */
+  int SEGMENT_COUNT = 256;
+
+  /**
+   * @throws keeper.project.homepage.exception.file.CustomFileNotFoundException 파일이 없는 경우
+   */
+  File getFile(String key);
+
+  boolean exists(String key);
+
+  /**
+   * 저장소에 넣을 내용을 쓸 임시 파일을 만든다. {@link #putIfAbsent(String, Path)} 로 넘기지 않은 임시 파일은
+   * 호출한 쪽에서 지운다.
+   */
+  Path createTempFile() throws IOException;
+
+  /**
+   * {@code source} 를 key 위치로 옮긴다. 같은 key 가 이미 있으면 덮어쓰지 않는다.
+   *
+   * @return 새로 저장했으면 true
+   */
+  boolean putIfAbsent(String key, Path source) throws IOException;
+
+  /**
+   * @return 삭제할 파일이 있었으면 true
+   */
+  boolean delete(String key);
+
+  /**
+   * 저장소를 조금씩 훑을 때 쓴다. 이전 방식의 경로로 저장된 파일은 포함하지 않는다.
+   *
+   * @param segment 0 이상 {@link #SEGMENT_COUNT} 미만
+   * @return {@code segment} 구간에 있는 파일들
+   */
+  List<StoredObject> listSegment(int segment) throws IOException;
+
+  static String getSegmentPrefix(int segment) {
+    if (segment < 0 || segment >= SEGMENT_COUNT) {
+      throw new IllegalArgumentException("구간 번호가 범위를 벗어났습니다. : " + segment);
+    }
+    return String.format("%02x", segment);
+  }
+
+  static boolean isLegacyKey(String key) {
+    return key.contains("/") || key.contains(File.separator);
+  }
+
+  static File getLegacyFile(String key) {
+    return new File(System.getProperty("user.dir") + File.separator + key);
+  }
+}
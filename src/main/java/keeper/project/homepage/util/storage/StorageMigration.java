@@ -0,0 +1,139 @@
+package keeper.project.homepage.util.storage;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import keeper.project.homepage.entity.ThumbnailEntity;
+import keeper.project.homepage.repository.FileRepository;
+import keeper.project.homepage.repository.ThumbnailRepository;
+import keeper.project.homepage.util.service.ContentAddressedFileStore;
+import keeper.project.homepage.util.service.FileService;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * {@code {user.dir}} 기준 상대 경로로 저장된 파일을 {@link StorageBackend} 로 옮기고, 레코드가 새 key 를
+ * 가리키도록 바꾼다. {@code keeper.storage.migrate=true} 로 실행하면 애플리케이션이 뜰 때 한 번 돈다.
+ * <p>
+ * 레코드 하나씩 옮긴 뒤 커밋하므로 중간에 멈춰도 다시 실행하면 남은 파일만 옮긴다. 원래 파일은 모든 레코드를
+ * 옮긴 뒤 더 이상 가리키는 레코드가 없을 때 지운다. 파일이 없는 레코드는 그대로 둔다.
+ */
+@Log4j2
+@Component
+@ConditionalOnProperty(name = "keeper.storage.migrate", havingValue = "true")
+public class StorageMigration implements ApplicationRunner {
+
+  private final StorageBackend storageBackend;
+  private final ContentAddressedFileStore contentAddressedFileStore;
+  private final FileService fileService;
+  private final FileRepository fileRepository;
+  private final ThumbnailRepository thumbnailRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  public StorageMigration(StorageBackend storageBackend,
+      ContentAddressedFileStore contentAddressedFileStore, FileService fileService,
+      FileRepository fileRepository, ThumbnailRepository thumbnailRepository,
+      PlatformTransactionManager transactionManager) {
+    this.storageBackend = storageBackend;
+    this.contentAddressedFileStore = contentAddressedFileStore;
+    this.fileService = fileService;
+    this.fileRepository = fileRepository;
+    this.thumbnailRepository = thumbnailRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @Override
+  public void run(ApplicationArguments args) {
+    Set<String> migratedPaths = new LinkedHashSet<>();
+    int files = migrateFiles(migratedPaths);
+    int thumbnails = migrateThumbnails(migratedPaths);
+    int deleted = deleteLegacyFiles(migratedPaths);
+    log.info("저장소로 파일 {}개, 썸네일 {}개를 옮기고 원래 파일 {}개를 지웠습니다.", files, thumbnails,
+        deleted);
+  }
+
+  private int migrateFiles(Set<String> migratedPaths) {
+    int migrated = 0;
+    for (String legacyPath : fileRepository.findDistinctFilePathsContaining(File.separator)) {
+      File legacy = StorageBackend.getLegacyFile(legacyPath);
+      if (!legacy.isFile()) {
+        log.warn("옮길 파일이 없습니다. : {}", legacyPath);
+        continue;
+      }
+      try {
+        // 원본은 내용 해시로 저장해 같은 내용의 파일을 합친다. 옮기는 동안 다른 요청이 지우지 않도록
+        // 레코드를 바꾸는 트랜잭션 안에서 저장한다
+        transactionTemplate.executeWithoutResult(status -> {
+          try (InputStream in = new FileInputStream(legacy)) {
+            String key = contentAddressedFileStore.store(in, legacy.getName());
+            fileRepository.updateFilePath(legacyPath, key);
+          } catch (IOException e) {
+            throw new IllegalStateException(e);
+          }
+        });
+        migratedPaths.add(legacyPath);
+        migrated++;
+      } catch (RuntimeException e) {
+        log.error("파일을 옮기지 못했습니다. : {}", legacyPath, e);
+      }
+    }
+    return migrated;
+  }
+
+  private int migrateThumbnails(Set<String> migratedPaths) {
+    int migrated = 0;
+    for (ThumbnailEntity thumbnail : thumbnailRepository.findAllByPathContaining(
+        File.separator)) {
+      String legacyPath = thumbnail.getPath();
+      File legacy = StorageBackend.getLegacyFile(legacyPath);
+      if (!legacy.isFile()) {
+        log.warn("옮길 썸네일이 없습니다. : {}", legacyPath);
+        continue;
+      }
+      try {
+        // 썸네일은 레코드마다 따로 지우므로 내용이 같아도 key 를 새로 만든다
+        String key = fileService.newFileKey(legacy.getName());
+        Path temp = storageBackend.createTempFile();
+        Files.copy(legacy.toPath(), temp, StandardCopyOption.REPLACE_EXISTING);
+        storageBackend.putIfAbsent(key, temp);
+        transactionTemplate.executeWithoutResult(
+            status -> thumbnailRepository.updatePath(thumbnail.getId(), key));
+        migratedPaths.add(legacyPath);
+        migrated++;
+      } catch (IOException | RuntimeException e) {
+        log.error("썸네일을 옮기지 못했습니다. : {}", legacyPath, e);
+      }
+    }
+    return migrated;
+  }
+
+  private int deleteLegacyFiles(Set<String> migratedPaths) {
+    int deleted = 0;
+    for (String legacyPath : migratedPaths) {
+      // 옮기지 못한 레코드가 같은 파일을 가리키고 있으면 남겨 둔다
+      if (fileRepository.countByFilePath(legacyPath) > 0
+          || thumbnailRepository.existsByPath(legacyPath)) {
+        continue;
+      }
+      try {
+        if (storageBackend.delete(legacyPath)) {
+          deleted++;
+        }
+      } catch (RuntimeException e) {
+        log.warn("원래 파일을 지우지 못했습니다. : {}", legacyPath, e);
+      }
+    }
+    return deleted;
+  }
+}
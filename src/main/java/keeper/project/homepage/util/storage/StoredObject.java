@@ -0,0 +1,19 @@
+package keeper.project.homepage.util.storage;
+
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * {@link StorageBackend#listSegment(int)} 로 훑은 파일 하나.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class StoredObject {
+
+  private final String key;
+  private final long size;
+  private final Instant lastModified;
+}
@@ -15,7 +15,6 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.File;
-import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -153,13 +152,7 @@ public class ApiControllerTestHelper extends ApiControllerTestSetUp {
       return;
     }
 
-    final String usrDir = System.getProperty("user.dir") + File.separator;
-    File file = new File(usrDir + fileEntity.getFilePath());
-    try {
-      Files.deleteIfExists(file.toPath());
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
+    storageBackend.delete(fileEntity.getFilePath());
   }
 
   public void deleteTestThumbnailFile(ThumbnailEntity thumbnailEntity) {
@@ -167,13 +160,7 @@ public class ApiControllerTestHelper extends ApiControllerTestSetUp {
       return;
     }
 
-    final String usrDir = System.getProperty("user.dir") + File.separator;
-    File file = new File(usrDir + thumbnailEntity.getPath());
-    try {
-      Files.deleteIfExists(file.toPath());
-    } catch (IOException e) {
-      e.printStackTrace();
-    }
+    storageBackend.delete(thumbnailEntity.getPath());
     deleteTestFile(thumbnailEntity.getFile());
   }
 
@@ -333,6 +320,12 @@ public class ApiControllerTestHelper extends ApiControllerTestSetUp {
         CategoryEntity.builder().name("testCategory" + epochTime).build());
   }
 
+  public CategoryEntity generateCategoryEntity(Long parentId) {
+    final String epochTime = Long.toHexString(System.nanoTime());
+    return categoryRepository.save(
+        CategoryEntity.builder().name("testCategory" + epochTime).parentId(parentId).build());
+  }
+
   public CategoryEntity generateAnonymousCategoryEntity() {
     return categoryRepository.findByName("익명게시판");
   }
@@ -616,7 +609,8 @@ public class ApiControllerTestHelper extends ApiControllerTestSetUp {
         fieldWithPath(prefix + ".writerId").description("작성자 아이디 (비밀 게시글일 경우 -1)"),
         fieldWithPath(prefix + ".writerThumbnailPath").description(
             "작성자 썸네일 이미지 조회 api path (비밀 게시글일 경우 null)").type(String.class).optional(),
-        fieldWithPath(prefix + ".size").description("조건에 따라 조회한 게시글의 총 개수"),
+        fieldWithPath(prefix + ".size").description("조건에 따라 조회한 게시글의 총 개수 (커서 방식 조회 시 없음)")
+            .type(Integer.class).optional(),
         fieldWithPath(prefix + ".visitCount").description("조회 수"),
         fieldWithPath(prefix + ".likeCount").description("좋아요 수"),
         fieldWithPath(prefix + ".dislikeCount").description("싫어요 수"),
@@ -40,6 +40,7 @@ import keeper.project.homepage.user.service.posting.PostingService;
 import keeper.project.homepage.user.service.study.StudyService;
 import keeper.project.homepage.util.service.FileService;
 import keeper.project.homepage.util.service.ThumbnailService;
+import keeper.project.homepage.util.storage.StorageBackend;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -160,6 +161,9 @@ public abstract class ApiControllerTestSetUp {
   @Autowired
   protected FileService fileService;
 
+  @Autowired
+  protected StorageBackend storageBackend;
+
   /********* Others Start ********/
   @Autowired
   protected MockMvc mockMvc;
@@ -16,6 +16,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.jayway.jsonpath.JsonPath;
 import keeper.project.homepage.ApiControllerTestHelper;
 import keeper.project.homepage.common.dto.result.ListResult;
 import keeper.project.homepage.entity.posting.CategoryEntity;
@@ -171,6 +172,63 @@ public class CommentControllerTest extends ApiControllerTestHelper {
         ));
   }
 
+  @Test
+  @DisplayName("댓글 커서 방식 조회")
+  public void showCommentByPostIdAndCursorTest() throws Exception {
+    CommentEntity anotherComment = generateCommentEntity(postingEntity, userEntity, 0L);
+    for (int i = 0; i < 3; i++) {
+      generateCommentEntity(postingEntity, userEntity, anotherComment.getId());
+    }
+    generateCommentEntity(postingEntity, userEntity, 0L);
+
+    String docSuccess = "성공: true +\n실패: false";
+    String docCode = "잘못된 커서인 경우: " + exceptionAdvice.getMessage("invalidCursor.code") + " +\n"
+        + "그 외 에러가 난 경우: " + exceptionAdvice.getMessage("unKnown.code");
+    String docMsg = "페이지 당 댓글의 개수는 최대 size개, 댓글에 달린 대댓글의 개수는 제한 없이 조회됩니다.";
+    Long postId = postingEntity.getId();
+    MvcResult result = mockMvc.perform(
+            RestDocumentationRequestBuilders.get("/v1/comment/{postId}", postId)
+                .param("cursor", "")
+                .param("size", "2")
+                .header("Authorization", userToken)
+        )
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.list.length()").value(6))
+        .andExpect(jsonPath("$.nextCursor").exists())
+        .andDo(document("comment-list-cursor",
+            pathParameters(
+                parameterWithName("postId").description("조회할 댓글들이 포함된 게시글의 id")
+            ),
+            requestParameters(
+                parameterWithName("cursor").description("이전 응답의 nextCursor (첫 페이지는 빈 문자열)"),
+                parameterWithName("size").optional()
+                    .description("한 페이지에 들어갈 댓글 개수 (default : 10, 1 ~ 100)")
+            ),
+            responseFields(
+                generateCommonCommentResponse(ResponseType.LIST, docSuccess, docCode, docMsg,
+                    fieldWithPath("list[].checkedLike").description(
+                        "좋아요 눌렀는지 확인 (눌렀으면 true, 아니면 false)"),
+                    fieldWithPath("list[].checkedDislike").description(
+                        "싫어요 눌렀는지 확인 (눌렀으면 true, 아니면 false)"),
+                    fieldWithPath("nextCursor").description("다음 페이지 커서 (마지막 페이지일 경우 null)")
+                        .type(String.class).optional())
+            )
+        ))
+        .andReturn();
+
+    String nextCursor = JsonPath.read(result.getResponse().getContentAsString(), "$.nextCursor");
+    mockMvc.perform(
+            RestDocumentationRequestBuilders.get("/v1/comment/{postId}", postId)
+                .param("cursor", nextCursor)
+                .param("size", "2")
+                .header("Authorization", userToken)
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.list.length()").value(1))
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+  }
+
   @Test
   @DisplayName("익명 게시판 댓글 조회 테스트")
   public void showAnonymousCommentByPostIdTest() throws Exception {
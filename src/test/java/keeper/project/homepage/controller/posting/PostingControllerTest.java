@@ -1,6 +1,8 @@
 package keeper.project.homepage.controller.posting;
 
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
 import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
@@ -14,6 +16,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 
+import com.jayway.jsonpath.JsonPath;
 import java.io.File;
 import java.io.FileInputStream;
 import java.time.LocalDateTime;
@@ -34,10 +37,12 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders;
 import org.springframework.restdocs.request.ParameterDescriptor;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.transaction.annotation.Transactional;
@@ -188,6 +193,134 @@ public class PostingControllerTest extends ApiControllerTestHelper {
         ));
   }
 
+  @Test
+  @DisplayName("하위 게시판을 포함한 게시글 목록 불러오기")
+  public void findAllPostingByCategoryTree() throws Exception {
+    CategoryEntity childCategory = generateCategoryEntity(categoryEntity.getId());
+    CategoryEntity grandChildCategory = generateCategoryEntity(childCategory.getId());
+    PostingEntity childPosting = generatePostingEntity(memberEntity, childCategory, 0, 0, 0);
+    PostingEntity grandChildPosting = generatePostingEntity(memberEntity, grandChildCategory, 0,
+        0, 0);
+
+    ResultActions result = mockMvc.perform(get("/v1/post/lists/tree")
+        .param("page", "0")
+        .param("size", "10")
+        .param("category", categoryEntity.getId().toString())
+        .contentType(MediaType.APPLICATION_JSON));
+
+    result.andExpect(MockMvcResultMatchers.status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$.list[*].id", hasItem(childPosting.getId().intValue())))
+        .andExpect(jsonPath("$.list[*].id", hasItem(grandChildPosting.getId().intValue())))
+        .andExpect(jsonPath("$.list[*].id", hasItem(postingModifyTest.getId().intValue())))
+        .andDo(document("post-getList-tree",
+            requestParameters(
+                generateCommonPagingParameters("한 페이지당 출력 수(default = 10)",
+                    parameterWithName("category").description("최상위 게시판 종류 ID (하위 게시판 포함)"))
+            ),
+            responseFields(
+                generatePostingResponseFields(ResponseType.LIST, "성공 : true + \n실패 : false",
+                    "성공 : 0, 존재하지 않는 카테고리 : " + exceptionAdvice.getMessage(
+                        "categoryNotFound.code"), "")
+            )
+        ));
+  }
+
+  @Test
+  @DisplayName("존재하지 않는 카테고리의 하위 게시판 목록 불러오기")
+  public void findAllPostingByNotExistCategoryTree() throws Exception {
+    mockMvc.perform(get("/v1/post/lists/tree")
+            .param("category", "-1")
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(MockMvcResultMatchers.status().isInternalServerError())
+        .andExpect(jsonPath("$.success").value(false))
+        .andExpect(jsonPath("$.code").value(
+            Integer.parseInt(exceptionAdvice.getMessage("categoryNotFound.code"))));
+  }
+
+  @Test
+  @DisplayName("최신 글 목록 커서 방식으로 불러오기")
+  public void findAllPostingByCursor() throws Exception {
+
+    MvcResult result = mockMvc.perform(get("/v1/post/latest")
+            .param("cursor", "")
+            .param("size", "2")
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$.list.length()").value(2))
+        .andExpect(jsonPath("$.list[0].size").doesNotExist())
+        .andExpect(jsonPath("$.nextCursor").exists())
+        .andDo(document("post-getLatest-cursor",
+            requestParameters(
+                parameterWithName("cursor").description(
+                    "이전 응답의 nextCursor (첫 페이지는 빈 문자열)"),
+                parameterWithName("size").optional().description("한 페이지당 출력 수(default = 10, 1 ~ 100)")
+            ),
+            responseFields(
+                generatePostingResponseFields(ResponseType.LIST, "성공 : true + \n실패 : false",
+                    "성공 : 0, 잘못된 커서 : " + exceptionAdvice.getMessage("invalidCursor.code"),
+                    "",
+                    fieldWithPath("nextCursor").description("다음 페이지 커서 (마지막 페이지일 경우 null)")
+                        .type(String.class).optional())
+            )
+        ))
+        .andReturn();
+
+    String nextCursor = JsonPath.read(result.getResponse().getContentAsString(), "$.nextCursor");
+    Integer lastId = JsonPath.read(result.getResponse().getContentAsString(), "$.list[1].id");
+    mockMvc.perform(get("/v1/post/latest")
+            .param("cursor", nextCursor)
+            .param("size", "2")
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(jsonPath("$.list[0].id").value(not(lastId)));
+  }
+
+  @Test
+  @DisplayName("카테고리별 글 목록 커서 방식으로 불러오기")
+  public void findAllPostingByCategoryIdAndCursor() throws Exception {
+
+    mockMvc.perform(get("/v1/post/lists")
+            .param("category", categoryEntity.getId().toString())
+            .param("cursor", "")
+            .param("size", "2")
+            .contentType(MediaType.APPLICATION_JSON))
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andDo(print())
+        .andExpect(jsonPath("$.list.length()").value(2))
+        .andExpect(jsonPath("$.nextCursor").exists())
+        .andDo(document("post-getList-cursor",
+            requestParameters(
+                parameterWithName("category").description("게시판 종류 ID"),
+                parameterWithName("cursor").description(
+                    "이전 응답의 nextCursor (첫 페이지는 빈 문자열)"),
+                parameterWithName("size").optional().description("한 페이지당 출력 수(default = 10, 1 ~ 100)")
+            ),
+            responseFields(
+                generatePostingResponseFields(ResponseType.LIST, "성공 : true + \n실패 : false",
+                    "성공 : 0, 잘못된 커서 : " + exceptionAdvice.getMessage("invalidCursor.code"),
+                    "",
+                    fieldWithPath("nextCursor").description("다음 페이지 커서 (마지막 페이지일 경우 null)")
+                        .type(String.class).optional())
+            )
+        ));
+  }
+
+  @Test
+  @DisplayName("잘못된 커서로 글 목록 불러오기")
+  public void findAllPostingByInvalidCursor() throws Exception {
+
+    mockMvc.perform(get("/v1/post/latest")
+            .param("cursor", "invalid-cursor")
+            .contentType(MediaType.APPLICATION_JSON))
+        .andDo(print())
+        .andExpect(MockMvcResultMatchers.status().isBadRequest())
+        .andExpect(jsonPath("$.success").value(false))
+        .andExpect(jsonPath("$.code").value(
+            Integer.parseInt(exceptionAdvice.getMessage("invalidCursor.code"))));
+  }
+
   @Test
   @DisplayName("공지글 목록 불러오기(카테고리별 or 전부)")
   public void findAllNoticePostingByCategoryId() throws Exception {
@@ -358,6 +491,39 @@ public class PostingControllerTest extends ApiControllerTestHelper {
   }
 
 
+  @Test
+  @DisplayName("여러 글의 첨부파일 목록 한 번에 불러오기")
+  public void getAttachLists() throws Exception {
+
+    ResultActions result = mockMvc.perform(
+        RestDocumentationRequestBuilders.get("/v1/post/attach")
+            .param("pids", postingGeneralTest.getId().toString(),
+                postingModifyTest.getId().toString()));
+
+    result.andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(jsonPath("$.list.length()").value(2))
+        .andExpect(jsonPath("$.list[0].postingId").value(postingGeneralTest.getId()))
+        .andExpect(jsonPath("$.list[1].postingId").value(postingModifyTest.getId()))
+        .andDo(print())
+        .andDo(document("post-getAttachLists",
+            requestParameters(
+                parameterWithName("pids").description("게시물 ID 목록")
+            ),
+            responseFields(
+                fieldWithPath("success").description("성공: true +\n실패: false"),
+                fieldWithPath("msg").description(""),
+                fieldWithPath("code").description("성공 : 0, 실패 시 : -1"),
+                fieldWithPath("list[].postingId").description("게시물 ID"),
+                fieldWithPath("list[].id").description("첨부파일 ID"),
+                fieldWithPath("list[].fileName").description("첨부파일 이름"),
+                fieldWithPath("list[].filePath").description("첨부파일 경로(상대경로)"),
+                fieldWithPath("list[].fileSize").description("첨부파일 크기"),
+                fieldWithPath("list[].uploadTime").description("업로드 시간"),
+                fieldWithPath("list[].ipAddress").description("IP 주소")
+            )
+        ));
+  }
+
   @Test
   @DisplayName("파일 다운로드 테스트")
   public void downloadFile() throws Exception {
@@ -374,6 +540,32 @@ public class PostingControllerTest extends ApiControllerTestHelper {
         ));
   }
 
+  @Test
+  @DisplayName("파일 일부 다운로드 테스트")
+  public void downloadFilePartially() throws Exception {
+    mockMvc.perform(RestDocumentationRequestBuilders.get("/v1/post/download/{fileId}",
+                generalImageFile.getId().toString())
+            .header(HttpHeaders.RANGE, "bytes=0-9"))
+        .andExpect(MockMvcResultMatchers.status().isPartialContent())
+        .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_LENGTH, "10"))
+        .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.CONTENT_RANGE));
+  }
+
+  @Test
+  @DisplayName("파일이 바뀌지 않았으면 304 응답")
+  public void downloadFileNotModified() throws Exception {
+    String eTag = mockMvc.perform(RestDocumentationRequestBuilders.get(
+            "/v1/post/download/{fileId}", generalImageFile.getId().toString()))
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    mockMvc.perform(RestDocumentationRequestBuilders.get("/v1/post/download/{fileId}",
+                generalImageFile.getId().toString())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(MockMvcResultMatchers.status().isNotModified());
+  }
+
   public MultiValueMap<String, String> generatePostingParams(boolean isModify) {
     MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
     params.add("title", "mvc제목");
@@ -581,6 +773,22 @@ public class PostingControllerTest extends ApiControllerTestHelper {
         ));
   }
 
+  @Test
+  @DisplayName("관리자 게시글 검색 색인 재생성")
+  public void adminRebuildSearchIndex() throws Exception {
+    ResultActions result = mockMvc.perform(
+        RestDocumentationRequestBuilders.post("/v1/admin/post/search/index")
+            .header("Authorization", adminToken));
+
+    result.andExpect(MockMvcResultMatchers.status().isOk())
+        .andDo(print())
+        .andDo(document("post-admin-search-index",
+            responseFields(
+                generateCommonResponseFields("성공: true +\n실패: false", "성공 : 0, 실패 시 : -11000", "")
+            ).and(fieldWithPath("data").description("색인된 게시글 수"))
+        ));
+  }
+
   @Test
   @DisplayName("카테고리별 게시글 검색")
   public void searchPosting() throws Exception {
@@ -4,18 +4,23 @@ import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.docu
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
 import static org.springframework.restdocs.request.RequestDocumentation.parameterWithName;
 import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
+import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 
 import java.io.File;
+import java.nio.file.Files;
 import keeper.project.homepage.ApiControllerTestHelper;
 import keeper.project.homepage.util.FileConversion;
 import keeper.project.homepage.entity.FileEntity;
 import keeper.project.homepage.entity.ThumbnailEntity;
+import keeper.project.homepage.util.image.ImageVariant;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -54,13 +59,67 @@ class ImageControllerTest extends ApiControllerTestHelper {
   @DisplayName("썸네일 로딩 성공 테스트")
   public void getThumbnailTest() throws Exception {
     mockMvc.perform(get("/v1/util/thumbnail/{thumbnailId}",
-            thumbnailEntity.getId().toString()))
+            thumbnailEntity.getId().toString())
+            .param("size", "medium")
+            .header(HttpHeaders.ACCEPT, "image/webp,image/*"))
         .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
         .andDo(print())
         .andDo(document("get-thumbnail",
             pathParameters(
                 parameterWithName("thumbnailId").description("썸네일 ID")
+            ),
+            requestParameters(
+                parameterWithName("size").optional()
+                    .description("이미지 크기 (small: 80px, medium: 320px, large: 800px 이내) "
+                        + "(default: large)")
             )
         ));
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("만들어 둔 크기별 썸네일이 있으면 그대로 응답")
+  public void getThumbnailVariantTest() throws Exception {
+    String variantPath = ImageVariant.SMALL.getKey(thumbnailEntity.getPath(), "jpg");
+    createFileForTest(usrDir + variantPath);
+
+    mockMvc.perform(get("/v1/util/thumbnail/{thumbnailId}",
+            thumbnailEntity.getId().toString())
+            .param("size", "small"))
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.content().contentType(MediaType.IMAGE_JPEG))
+        .andExpect(MockMvcResultMatchers.content().bytes(
+            Files.readAllBytes(new File(usrDir + variantPath).toPath())));
+  }
+
+  @Test
+  @DisplayName("이미지가 바뀌지 않았으면 304 응답")
+  public void getImageNotModifiedTest() throws Exception {
+    String eTag = mockMvc.perform(get("/v1/util/image/{fileId}",
+            fileEntity.getId().toString()))
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.ETAG))
+        .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.CACHE_CONTROL))
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    mockMvc.perform(get("/v1/util/image/{fileId}",
+            fileEntity.getId().toString())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(MockMvcResultMatchers.status().isNotModified())
+        .andExpect(MockMvcResultMatchers.content().bytes(new byte[0]));
+  }
+
+  @Test
+  @DisplayName("썸네일이 바뀌지 않았으면 304 응답")
+  public void getThumbnailNotModifiedTest() throws Exception {
+    String eTag = mockMvc.perform(get("/v1/util/thumbnail/{thumbnailId}",
+            thumbnailEntity.getId().toString()))
+        .andExpect(MockMvcResultMatchers.status().isOk())
+        .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+    mockMvc.perform(get("/v1/util/thumbnail/{thumbnailId}",
+            thumbnailEntity.getId().toString())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+        .andExpect(MockMvcResultMatchers.status().isNotModified());
+  }
+}
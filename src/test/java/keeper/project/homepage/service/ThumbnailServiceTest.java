@@ -3,9 +3,11 @@ package keeper.project.homepage.service;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 import keeper.project.homepage.ApiControllerTestHelper;
 import keeper.project.homepage.entity.FileEntity;
 import keeper.project.homepage.entity.ThumbnailEntity;
+import keeper.project.homepage.util.image.ThumbnailGenerator;
 import keeper.project.homepage.util.image.preprocessing.ImageCenterCropping;
 import keeper.project.homepage.util.image.preprocessing.ImageSize;
 import keeper.project.homepage.util.service.ThumbnailService.DefaultThumbnailInfo;
@@ -16,9 +18,11 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -28,6 +32,9 @@ import org.springframework.web.multipart.MultipartFile;
 @Log4j2
 public class ThumbnailServiceTest extends ApiControllerTestHelper {
 
+  @Autowired
+  private ThumbnailGenerator thumbnailGenerator;
+
   @AfterAll
   public static void clearFiles() {
     deleteTestFiles();
@@ -46,10 +53,13 @@ public class ThumbnailServiceTest extends ApiControllerTestHelper {
     Assertions.assertTrue(new File(imageFilePath).exists(), "test할 이미지 파일이 없습니다.");
     ThumbnailEntity thumbnailEntity = thumbnailService.save(ThumbType.PostThumbnail,
         new ImageCenterCropping(ImageSize.LARGE), originalImage, ipAddress);
+    // 썸네일은 별도 스레드에서 만들어진다
     Assertions.assertTrue(
-        new File(
-            System.getProperty("user.dir") + File.separator + thumbnailEntity.getPath()).exists(),
+        thumbnailGenerator.await(thumbnailEntity.getPath(), 10, TimeUnit.SECONDS),
+        "thumbnail file을 만들지 못했습니다.");
+    Assertions.assertTrue(storageBackend.exists(thumbnailEntity.getPath()),
         "thumbnail file이 저장되지 않았습니다.");
+    Assertions.assertFalse(thumbnailService.isGenerating(thumbnailEntity));
     Assertions.assertNotNull(thumbnailService.find(thumbnailEntity.getId()),
         "thumbnail Entity가 저장되지 않았습니다.");
 
@@ -57,6 +67,23 @@ public class ThumbnailServiceTest extends ApiControllerTestHelper {
     deleteTestThumbnailFile(thumbnailEntity);
   }
 
+  @Test
+  @DisplayName("썸네일 파일이 없으면 원본으로 대신 보냄")
+  public void readOriginalWhenThumbnailIsLost() throws IOException {
+    //given
+    ThumbnailEntity thumbnailEntity = generateThumbnailEntity();
+    // 만들기 전에 서버가 내려가 썸네일 파일이 만들어지지 않은 경우
+    storageBackend.delete(thumbnailEntity.getPath());
+
+    //test
+    byte[] image = thumbnailService.getByteArrayFromImage(thumbnailEntity.getId(),
+        new ImageCenterCropping(ImageSize.SMALL));
+    Assertions.assertTrue(image.length > 0);
+
+    // clear
+    deleteTestFile(thumbnailEntity.getFile());
+  }
+
   @Test
   public void createDefaultTest() {
     //given
@@ -75,10 +102,8 @@ public class ThumbnailServiceTest extends ApiControllerTestHelper {
     ThumbnailEntity thumbnailEntity = thumbnailService.save(ThumbType.PostThumbnail,
         new ImageCenterCropping(ImageSize.LARGE), null, ipAddress);
 
-    log.info(System.getProperty("user.dir") + File.separator + thumbnailEntity.getPath());
-    Assertions.assertTrue(
-        new File(
-            System.getProperty("user.dir") + File.separator + thumbnailEntity.getPath()).exists(),
+    log.info(thumbnailEntity.getPath());
+    Assertions.assertTrue(storageBackend.exists(thumbnailEntity.getPath()),
         "thumbnail file이 저장되지 않았습니다.");
     Assertions.assertNotNull(thumbnailService.find(thumbnailEntity.getId()),
         "thumbnail Entity가 저장되지 않았습니다.");
@@ -94,18 +119,19 @@ public class ThumbnailServiceTest extends ApiControllerTestHelper {
   public void deleteTest() {
     //given
     ThumbnailEntity thumbnailEntity = generateThumbnailEntity();
-    String thumbnailPath =
-        System.getProperty("user.dir") + File.separator + thumbnailEntity.getPath();
-    String filePath =
-        System.getProperty("user.dir") + File.separator + thumbnailEntity.getFile().getFilePath();
+    String thumbnailPath = thumbnailEntity.getPath();
+    String filePath = thumbnailEntity.getFile().getFilePath();
 
     // test
     thumbnailService.delete(thumbnailEntity.getId());
 
     Assertions.assertTrue(thumbnailRepository.findById(thumbnailEntity.getId()).isEmpty());
     Assertions.assertTrue(fileRepository.findById(thumbnailEntity.getFile().getId()).isEmpty());
-    Assertions.assertFalse(new File(thumbnailPath).exists());
-    Assertions.assertFalse(new File(filePath).exists());
+    Assertions.assertFalse(storageBackend.exists(thumbnailPath));
+    // 원본 파일은 커밋된 뒤에 지우므로, 롤백되어 레코드가 돌아오면 파일도 남아 있음
+    Assertions.assertTrue(storageBackend.exists(filePath));
+    TestTransaction.end();
+    Assertions.assertTrue(storageBackend.exists(filePath));
   }
 
   // TODO : 이거 현재 기본 이미지 삭제하는 지 테스트 수정해야 함.
@@ -1,6 +1,5 @@
 package keeper.project.homepage.service.member;
 
-import java.io.File;
 import java.util.Optional;
 import keeper.project.homepage.entity.member.MemberEntity;
 import keeper.project.homepage.entity.member.MemberHasMemberJobEntity;
@@ -210,7 +209,7 @@ public class MemberServiceTest extends MemberServiceTestSetup {
     memberDeleteService.deleteMember(deletedMember);
 
     Assertions.assertFalse(
-        postingRepository.existsByMemberHasPostingLikeEntitiesContaining(mhpLike));
+        memberHasPostingLikeRepository.existsByMemberIdAndPostingId(deletedMember, postLikeTest));
     Assertions.assertTrue(postLikeTest.getLikeCount().equals(befLikeCount - 1));
   }
 
@@ -224,7 +223,8 @@ public class MemberServiceTest extends MemberServiceTestSetup {
     memberDeleteService.deleteMember(deletedMember);
 
     Assertions.assertFalse(
-        postingRepository.existsByMemberHasPostingDislikeEntitiesContaining(mhpDislike));
+        memberHasPostingDislikeRepository.existsByMemberIdAndPostingId(deletedMember,
+            postDislikeTest));
     Assertions.assertTrue(postDislikeTest.getDislikeCount().equals(befDislikeCount - 1));
   }
 
@@ -238,13 +238,9 @@ public class MemberServiceTest extends MemberServiceTestSetup {
 
     Assertions.assertTrue(thumbnailRepository.findById(thumbnailRemoveTest.getId()).isEmpty());
     Assertions.assertTrue(fileRepository.findById(thumbnailRemoveTest.getFile().getId()).isEmpty());
-    File thumbnail = new File(
-        System.getProperty("user.dir") + File.separator + thumbnailRemoveTest.getPath());
-    File image = new File(
-        System.getProperty("user.dir") + File.separator + thumbnailRemoveTest.getFile()
-            .getFilePath());
-    Assertions.assertFalse(thumbnail.exists());
-    Assertions.assertFalse(image.exists());
+    Assertions.assertFalse(storageBackend.exists(thumbnailRemoveTest.getPath()));
+    // 원본 파일은 커밋된 뒤에 지운다
+    Assertions.assertTrue(storageBackend.exists(thumbnailRemoveTest.getFile().getFilePath()));
   }
 
   @Test
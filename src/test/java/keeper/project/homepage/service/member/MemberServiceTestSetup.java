@@ -68,6 +68,12 @@ public class MemberServiceTestSetup extends ApiControllerTestHelper {
   @Autowired
   protected MemberHasCommentDislikeRepository memberHasCommentDislikeRepository;
 
+  @Autowired
+  protected MemberHasPostingLikeRepository memberHasPostingLikeRepository;
+
+  @Autowired
+  protected MemberHasPostingDislikeRepository memberHasPostingDislikeRepository;
+
   public MemberEntity virtualMember;
   public MemberEntity deletedMember;
   public MemberEntity writer;
@@ -173,7 +179,8 @@ public class MemberServiceTestSetup extends ApiControllerTestHelper {
     postingRepository.save(postDislikeTest);
     // 객체 생성 확인
     Assertions.assertTrue(
-        postingRepository.existsByMemberHasPostingDislikeEntitiesContaining(mhpDislike));
+        memberHasPostingDislikeRepository.existsByMemberIdAndPostingId(deletedMember,
+            postDislikeTest));
   }
 
   public void generatePostingLikeRemoveTestcase() {
@@ -188,8 +195,8 @@ public class MemberServiceTestSetup extends ApiControllerTestHelper {
     postLikeTest.increaseLikeCount(mhpLike);
     postingRepository.save(postLikeTest);
     // 객체가 잘 생성되었는지 확인
-    Assertions.assertTrue(postingRepository.existsByMemberHasPostingLikeEntitiesContaining(
-        mhpLike));
+    Assertions.assertTrue(
+        memberHasPostingLikeRepository.existsByMemberIdAndPostingId(deletedMember, postLikeTest));
   }
 
   public void generateTempPostingRemovedTestcase() {
@@ -11,6 +11,7 @@ import keeper.project.homepage.entity.member.MemberHasCommentEntityPK;
 import keeper.project.homepage.entity.posting.CategoryEntity;
 import keeper.project.homepage.entity.posting.CommentEntity;
 import keeper.project.homepage.entity.posting.PostingEntity;
+import keeper.project.homepage.exception.member.CustomMemberNotFoundException;
 import keeper.project.homepage.repository.member.MemberJobRepository;
 import keeper.project.homepage.repository.member.MemberRepository;
 import keeper.project.homepage.repository.member.MemberHasCommentDislikeRepository;
@@ -174,6 +175,24 @@ public class CommentServiceTest {
     commentEntityPage.forEach(comment -> log.info(comment.getId()));
   }
 
+  @Test
+  @DisplayName("댓글 페이징 시 대댓글과 좋아요/싫어요 여부를 함께 조회")
+  public void findAllWithRepliesAndLikeTest() {
+    commentService.updateLikeCount(memberEntity.getId(), commentEntity.getId());
+
+    Pageable pageable = PageRequest.of(0, 10, Sort.by("id").ascending());
+    List<CommentDto> comments = commentService.findAllByPost(memberEntity.getId(),
+        postingEntity.getId(), pageable);
+
+    Assertions.assertEquals(2, comments.size());
+    CommentDto parent = comments.get(0);
+    CommentDto reply = comments.get(1);
+    Assertions.assertEquals(parent.getId(), reply.getParentId());
+    Assertions.assertFalse(parent.getCheckedLike());
+    Assertions.assertTrue(reply.getCheckedLike());
+    Assertions.assertFalse(reply.getCheckedDislike());
+  }
+
   @Test
   @DisplayName("댓글 수정")
   public void updateTest() throws RuntimeException {
@@ -215,14 +234,16 @@ public class CommentServiceTest {
 
     // 좋아요 추가
     commentService.updateLikeCount(memberEntity.getId(), commentEntity.getId());
-    Integer addLikeCount = commentEntity.getLikeCount();
+    Integer addLikeCount = commentRepository.findById(commentEntity.getId()).get()
+        .getLikeCount();
     Assertions.assertTrue(memberHasCommentLikeRepository.findById(
         new MemberHasCommentEntityPK(memberEntity, commentEntity)).isPresent());
     Assertions.assertEquals(addLikeCount, originLikeCount + 1);
 
     // 좋아요 취소
     commentService.updateLikeCount(memberEntity.getId(), commentEntity.getId());
-    Integer cancelLikeCount = commentEntity.getLikeCount();
+    Integer cancelLikeCount = commentRepository.findById(commentEntity.getId()).get()
+        .getLikeCount();
     Assertions.assertTrue(memberHasCommentLikeRepository.findById(
         new MemberHasCommentEntityPK(memberEntity, commentEntity)).isEmpty());
     Assertions.assertEquals(cancelLikeCount, originLikeCount);
@@ -235,16 +256,34 @@ public class CommentServiceTest {
 
     // 싫어요 추가
     commentService.updateDislikeCount(memberEntity.getId(), commentEntity.getId());
-    Integer addDislikeCount = commentEntity.getDislikeCount();
+    Integer addDislikeCount = commentRepository.findById(commentEntity.getId()).get()
+        .getDislikeCount();
     Assertions.assertTrue(memberHasCommentDislikeRepository.findById(
         new MemberHasCommentEntityPK(memberEntity, commentEntity)).isPresent());
     Assertions.assertEquals(addDislikeCount, originDislikeCount + 1);
 
     // 싫어요 취소
     commentService.updateDislikeCount(memberEntity.getId(), commentEntity.getId());
-    Integer cancelDislikeCount = commentEntity.getDislikeCount();
+    Integer cancelDislikeCount = commentRepository.findById(commentEntity.getId()).get()
+        .getDislikeCount();
     Assertions.assertTrue(memberHasCommentDislikeRepository.findById(
         new MemberHasCommentEntityPK(memberEntity, commentEntity)).isEmpty());
     Assertions.assertEquals(cancelDislikeCount, originDislikeCount);
   }
+
+  @Test
+  @DisplayName("없는 회원의 좋아요, 싫어요는 카운터를 바꾸지 않음")
+  public void updateLikeCountWithUnknownMemberTest() {
+    Integer originLikeCount = commentEntity.getLikeCount();
+    Integer originDislikeCount = commentEntity.getDislikeCount();
+
+    Assertions.assertThrows(CustomMemberNotFoundException.class,
+        () -> commentService.updateLikeCount(-1L, commentEntity.getId()));
+    Assertions.assertThrows(CustomMemberNotFoundException.class,
+        () -> commentService.updateDislikeCount(-1L, commentEntity.getId()));
+
+    CommentEntity comment = commentRepository.findById(commentEntity.getId()).get();
+    Assertions.assertEquals(originLikeCount, comment.getLikeCount());
+    Assertions.assertEquals(originDislikeCount, comment.getDislikeCount());
+  }
 }
@@ -0,0 +1,204 @@
+package keeper.project.homepage.service.posting;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import keeper.project.homepage.entity.member.MemberEntity;
+import keeper.project.homepage.entity.posting.CategoryEntity;
+import keeper.project.homepage.entity.posting.CommentEntity;
+import keeper.project.homepage.entity.posting.PostingEntity;
+import keeper.project.homepage.repository.member.MemberHasCommentLikeRepository;
+import keeper.project.homepage.repository.member.MemberHasPostingLikeRepository;
+import keeper.project.homepage.repository.member.MemberRepository;
+import keeper.project.homepage.repository.posting.CategoryRepository;
+import keeper.project.homepage.repository.posting.CommentRepository;
+import keeper.project.homepage.repository.posting.PostingRepository;
+import keeper.project.homepage.user.service.posting.CommentService;
+import keeper.project.homepage.user.service.posting.PostingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 여러 스레드가 각자 커밋해야 하므로 @Transactional 을 붙이지 않고 직접 정리한다
+@SpringBootTest
+public class LikeConcurrencyTest {
+
+  private static final int MEMBER_COUNT = 20;
+
+  @Autowired
+  private PostingService postingService;
+
+  @Autowired
+  private CommentService commentService;
+
+  @Autowired
+  private MemberRepository memberRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private PostingRepository postingRepository;
+
+  @Autowired
+  private CommentRepository commentRepository;
+
+  @Autowired
+  private MemberHasPostingLikeRepository memberHasPostingLikeRepository;
+
+  @Autowired
+  private MemberHasCommentLikeRepository memberHasCommentLikeRepository;
+
+  @Autowired
+  private TransactionTemplate transactionTemplate;
+
+  private final List<MemberEntity> members = new ArrayList<>();
+  private CategoryEntity categoryEntity;
+  private PostingEntity postingEntity;
+  private CommentEntity commentEntity;
+
+  @BeforeEach
+  public void setUp() {
+    for (int i = 0; i < MEMBER_COUNT; i++) {
+      String suffix = Long.toHexString(System.nanoTime());
+      members.add(memberRepository.save(MemberEntity.builder()
+          .loginId("like" + suffix)
+          .password("password")
+          .realName("realName")
+          .nickName("nick" + suffix)
+          .emailAddress("like" + suffix + "@keeper.com")
+          .studentId(suffix)
+          .generation(0F)
+          .build()));
+    }
+    categoryEntity = categoryRepository.save(
+        CategoryEntity.builder().name("likeConcurrencyCategory").build());
+    postingEntity = postingRepository.save(PostingEntity.builder()
+        .title("title")
+        .content("content")
+        .categoryId(categoryEntity)
+        .ipAddress("127.0.0.1")
+        .allowComment(0)
+        .isNotice(0)
+        .isSecret(0)
+        .isTemp(0)
+        .likeCount(0)
+        .dislikeCount(0)
+        .commentCount(0)
+        .visitCount(0)
+        .registerTime(LocalDateTime.now())
+        .updateTime(LocalDateTime.now())
+        .memberId(members.get(0))
+        .build());
+    commentEntity = commentRepository.save(CommentEntity.builder()
+        .content("content")
+        .registerTime(LocalDateTime.now())
+        .updateTime(LocalDateTime.now())
+        .ipAddress("127.0.0.1")
+        .likeCount(0)
+        .dislikeCount(0)
+        .parentId(0L)
+        .member(members.get(0))
+        .postingId(postingEntity)
+        .build());
+  }
+
+  @AfterEach
+  public void tearDown() {
+    transactionTemplate.executeWithoutResult(status -> {
+      for (MemberEntity member : members) {
+        memberHasPostingLikeRepository.deleteIfPresent(member.getId(), postingEntity.getId());
+        memberHasCommentLikeRepository.deleteIfPresent(member.getId(), commentEntity.getId());
+      }
+    });
+    commentRepository.deleteById(commentEntity.getId());
+    postingRepository.deleteById(postingEntity.getId());
+    categoryRepository.deleteById(categoryEntity.getId());
+    memberRepository.deleteAll(members);
+    members.clear();
+  }
+
+  @Test
+  @DisplayName("여러 회원이 동시에 게시글 좋아요를 눌러도 좋아요 수가 정확")
+  public void concurrentPostingLike() throws Exception {
+    runConcurrently(members, member -> postingService.isPostingLike(postingEntity.getId(), "INC"));
+
+    Assertions.assertEquals(MEMBER_COUNT,
+        postingRepository.findById(postingEntity.getId()).get().getLikeCount());
+  }
+
+  @Test
+  @DisplayName("같은 회원이 동시에 여러 번 눌러도 좋아요는 한 번만 반영")
+  public void concurrentPostingLikeBySameMember() throws Exception {
+    List<MemberEntity> sameMember = new ArrayList<>();
+    for (int i = 0; i < MEMBER_COUNT; i++) {
+      sameMember.add(members.get(0));
+    }
+
+    runConcurrently(sameMember,
+        member -> postingService.isPostingLike(postingEntity.getId(), "INC"));
+
+    Assertions.assertEquals(1,
+        postingRepository.findById(postingEntity.getId()).get().getLikeCount());
+  }
+
+  @Test
+  @DisplayName("여러 회원이 동시에 댓글 좋아요를 눌러도 좋아요 수가 정확")
+  public void concurrentCommentLike() throws Exception {
+    runConcurrently(members, member -> {
+      commentService.updateLikeCount(member.getId(), commentEntity.getId());
+      return true;
+    });
+
+    Assertions.assertEquals(MEMBER_COUNT,
+        commentRepository.findById(commentEntity.getId()).get().getLikeCount());
+  }
+
+  private void runConcurrently(List<MemberEntity> clickers, LikeAction action)
+      throws Exception {
+    ExecutorService executorService = Executors.newFixedThreadPool(clickers.size());
+    CountDownLatch ready = new CountDownLatch(1);
+    List<Future<Boolean>> results = new ArrayList<>();
+    try {
+      for (MemberEntity clicker : clickers) {
+        Callable<Boolean> task = () -> {
+          SecurityContextHolder.getContext().setAuthentication(
+              new UsernamePasswordAuthenticationToken(clicker.getId(), clicker.getPassword(),
+                  List.of(new SimpleGrantedAuthority("ROLE_회원"))));
+          ready.await();
+          try {
+            return action.run(clicker);
+          } finally {
+            SecurityContextHolder.clearContext();
+          }
+        };
+        results.add(executorService.submit(task));
+      }
+      ready.countDown();
+      for (Future<Boolean> result : results) {
+        result.get();
+      }
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  @FunctionalInterface
+  private interface LikeAction {
+
+    boolean run(MemberEntity member);
+  }
+}
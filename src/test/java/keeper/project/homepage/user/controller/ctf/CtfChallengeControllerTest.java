@@ -1,5 +1,7 @@
 package keeper.project.homepage.user.controller.ctf;
 
+import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
+import static org.springframework.restdocs.headers.HeaderDocumentation.responseHeaders;
 import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
 import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
@@ -10,6 +12,7 @@ import static org.springframework.restdocs.request.RequestDocumentation.paramete
 import static org.springframework.restdocs.request.RequestDocumentation.pathParameters;
 import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -21,16 +24,22 @@ import keeper.project.homepage.entity.ctf.CtfContestEntity;
 import keeper.project.homepage.entity.ctf.CtfFlagEntity;
 import keeper.project.homepage.entity.ctf.CtfTeamEntity;
 import keeper.project.homepage.entity.member.MemberEntity;
+import keeper.project.homepage.user.service.ctf.CtfSubmitLimitProperties;
+import keeper.project.homepage.user.service.ctf.CtfSubmitLimitProperties.ContestLimit;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional
 class CtfChallengeControllerTest extends CtfSpringTestHelper {
 
+  @Autowired
+  private CtfSubmitLimitProperties ctfSubmitLimitProperties;
+
   private MemberEntity userEntity;
   private MemberEntity adminEntity;
 
@@ -162,6 +171,49 @@ class CtfChallengeControllerTest extends CtfSpringTestHelper {
     Assertions.assertThat(team.getScore()).isEqualTo(minScore);
   }
 
+  @Test
+  @DisplayName("플래그 체크 - 너무 자주 제출하면 429")
+  public void checkFlagTooManyRequests() throws Exception {
+    CtfContestEntity contest = generateCtfContest(adminEntity, true);
+    ContestLimit limit = new ContestLimit();
+    limit.setMemberCapacity(1);
+    limit.setMemberRefillMs(60000L);
+    ctfSubmitLimitProperties.getContests().put(contest.getId(), limit);
+
+    CtfChallengeEntity challenge = getCtfChallengeEntityIsSolvable(
+        contest, CtfChallengeTypeEntity.STANDARD, CtfChallengeCategoryEntity.MISC, 1000L);
+    CtfTeamEntity team = generateCtfTeam(contest, userEntity, 0L);
+    generateCtfFlag(team, challenge, false);
+
+    String content = "{\n"
+        + "    \"content\": \"wrong flag\"\n"
+        + "}";
+    try {
+      mockMvc.perform(post("/v1/ctf/prob/{pid}/submit/flag", String.valueOf(challenge.getId()))
+              .header("Authorization", userToken)
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(content))
+          .andExpect(status().isOk())
+          .andExpect(jsonPath("$.data.isCorrect").value(false));
+
+      mockMvc.perform(post("/v1/ctf/prob/{pid}/submit/flag", String.valueOf(challenge.getId()))
+              .header("Authorization", userToken)
+              .contentType(MediaType.APPLICATION_JSON)
+              .content(content))
+          .andDo(print())
+          .andExpect(status().isTooManyRequests())
+          .andExpect(header().string("Retry-After", "60"))
+          .andExpect(jsonPath("$.success").value(false))
+          .andExpect(jsonPath("$.code").value(-13005))
+          .andDo(document("check-flag-too-many-requests",
+              responseHeaders(
+                  headerWithName("Retry-After").description("다시 제출할 수 있을 때까지 남은 시간 (초)")
+              )));
+    } finally {
+      ctfSubmitLimitProperties.getContests().remove(contest.getId());
+    }
+  }
+
   @Test
   @DisplayName("문제 세부 정보 보기 - 성공")
   public void getProblemDetailSuccess() throws Exception {
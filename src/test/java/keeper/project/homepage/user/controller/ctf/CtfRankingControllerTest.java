@@ -10,18 +10,26 @@ import static org.springframework.restdocs.request.RequestDocumentation.paramete
 import static org.springframework.restdocs.request.RequestDocumentation.requestParameters;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import keeper.project.homepage.controller.ctf.CtfSpringTestHelper;
 import keeper.project.homepage.entity.ctf.CtfContestEntity;
+import keeper.project.homepage.entity.ctf.CtfTeamEntity;
 import keeper.project.homepage.entity.member.MemberEntity;
+import keeper.project.homepage.user.service.ctf.CtfScoreboard;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.transaction.annotation.Transactional;
 
 @Transactional
 class CtfRankingControllerTest extends CtfSpringTestHelper {
 
+  @Autowired
+  private CtfScoreboard ctfScoreboard;
+
   @Test
   @DisplayName("스코어보드 랭킹 불러오기 - 성공")
   void getRankingList() throws Exception {
@@ -47,6 +55,8 @@ class CtfRankingControllerTest extends CtfSpringTestHelper {
 
     MemberEntity member4 = generateMemberEntity(회원, 정회원, 일반회원);
     generateCtfTeam(contest, member4, 300L);
+    // 순위는 커밋된 뒤에 반영되므로 테스트 트랜잭션 안에서 만든 팀은 다시 읽어 온다
+    ctfScoreboard.rebuild();
 
     mockMvc.perform(get("/v1/ctf/ranking")
             .header("Authorization", userToken)
@@ -77,4 +87,60 @@ class CtfRankingControllerTest extends CtfSpringTestHelper {
                     "성공: 성공하였습니다 +\n실패: 에러 메세지 반환")
             )));
   }
-}
\ No newline at end of file
+
+  @Test
+  @DisplayName("내 팀 랭킹 불러오기 - 성공")
+  void getMyRanking() throws Exception {
+    MemberEntity member = generateMemberEntity(회원, 정회원, 일반회원);
+    String userToken = generateJWTToken(member);
+    CtfContestEntity contest = generateCtfContest(member);
+
+    generateCtfTeam(contest, generateMemberEntity(회원, 정회원, 일반회원), 1000L);
+    generateCtfTeam(contest, generateMemberEntity(회원, 정회원, 일반회원), 500L);
+    CtfTeamEntity myTeam = generateCtfTeam(contest, member, 700L);
+    generateCtfTeam(contest, generateMemberEntity(회원, 정회원, 일반회원), 100L);
+    ctfTeamHasMemberRepository.flush();
+    ctfScoreboard.rebuild();
+
+    mockMvc.perform(get("/v1/ctf/ranking/my")
+            .header("Authorization", userToken)
+            .param("ctfId", String.valueOf(contest.getId())))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.success").value(true))
+        .andExpect(jsonPath("$.code").value(0))
+        .andExpect(jsonPath("$.data.id").value(myTeam.getId()))
+        .andExpect(jsonPath("$.data.score").value(700L))
+        .andExpect(jsonPath("$.data.rank").value(2L))
+        .andDo(document("get-my-ranking",
+            requestParameters(
+                parameterWithName("ctfId").description("랭킹을 볼 CTF id")
+            ),
+            responseFields(
+                generateRankingDtoResponseFields(ResponseType.SINGLE,
+                    "성공: true +\n실패: false", "성공 시 0을 반환",
+                    "성공: 성공하였습니다 +\n실패: 에러 메세지 반환")
+            )));
+  }
+
+  @Test
+  @DisplayName("스코어보드 이벤트 구독 - 성공")
+  void subscribeEvents() throws Exception {
+    MemberEntity member = generateMemberEntity(회원, 정회원, 일반회원);
+    String userToken = generateJWTToken(member);
+    CtfContestEntity contest = generateCtfContest(member);
+    generateCtfTeam(contest, member, 100L);
+
+    mockMvc.perform(get("/v1/ctf/ranking/events")
+            .header("Authorization", userToken)
+            .accept(MediaType.TEXT_EVENT_STREAM)
+            .param("ctfId", String.valueOf(contest.getId())))
+        .andDo(print())
+        .andExpect(status().isOk())
+        .andExpect(request().asyncStarted())
+        .andDo(document("subscribe-ranking-events",
+            requestParameters(
+                parameterWithName("ctfId").description("이벤트를 받을 CTF id")
+            )));
+  }
+}
@@ -0,0 +1,244 @@
+package keeper.project.homepage.user.service.ctf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import keeper.project.homepage.entity.ctf.CtfChallengeEntity;
+import keeper.project.homepage.entity.ctf.CtfContestEntity;
+import keeper.project.homepage.entity.ctf.CtfTeamEntity;
+import keeper.project.homepage.user.dto.ctf.CtfRankingDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@ExtendWith(MockitoExtension.class)
+public class CtfEventBroadcasterTest {
+
+  private static final Long CTF_ID = 2L;
+  private static final int BUFFER_SIZE = 2;
+  private static final long WRITE_TIMEOUT_MS = 100;
+
+  @Mock
+  private CtfScoreboard ctfScoreboard;
+
+  private final ObjectMapper objectMapper = new ObjectMapper()
+      .registerModule(new JavaTimeModule())
+      .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+  private final CtfContestEntity contest = CtfContestEntity.builder().id(CTF_ID).build();
+  private CtfEventBroadcaster broadcaster;
+
+  @BeforeEach
+  public void setUp() {
+    given(ctfScoreboard.getRankingPage(eq(CTF_ID), any(Pageable.class)))
+        .willReturn(new PageImpl<>(List.of(ranking(10L, 100L, 1L))));
+    broadcaster = newBroadcaster(2);
+  }
+
+  private CtfEventBroadcaster newBroadcaster(int poolSize) {
+    return new CtfEventBroadcaster(ctfScoreboard, objectMapper, new SimpleMeterRegistry(),
+        60000L, BUFFER_SIZE, 10, poolSize, 1000L, 15000L, WRITE_TIMEOUT_MS);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    broadcaster.shutdown();
+  }
+
+  @Test
+  @DisplayName("구독하면 순위표를 먼저 받고, 풀이 이벤트는 모든 구독자가 받음")
+  public void fanOut() throws Exception {
+    RecordingEmitter first = new RecordingEmitter();
+    RecordingEmitter second = new RecordingEmitter();
+    broadcaster.register(CTF_ID, first);
+    broadcaster.register(CTF_ID, second);
+
+    broadcaster.publishSolve(team(10L, 600L), challenge(5L, 500L), LocalDateTime.now());
+
+    for (RecordingEmitter emitter : List.of(first, second)) {
+      assertThat(emitter.next()).startsWith("event:scoreboard").contains("\"rank\":1");
+      assertThat(emitter.next()).startsWith("event:solve").contains("\"challengeId\":5");
+    }
+  }
+
+  @Test
+  @DisplayName("트랜잭션 안에서 발행한 이벤트는 커밋된 뒤에만 보냄")
+  public void publishAfterCommit() throws Exception {
+    RecordingEmitter emitter = new RecordingEmitter();
+    broadcaster.register(CTF_ID, emitter);
+    assertThat(emitter.next()).startsWith("event:scoreboard");
+
+    TransactionSynchronizationManager.initSynchronization();
+    broadcaster.publishScoreChange(challenge(5L, 400L), 500L);
+    // 점수가 그대로면 보내지 않음
+    broadcaster.publishScoreChange(challenge(6L, 300L), 300L);
+    assertThat(emitter.poll(200)).isNull();
+
+    for (TransactionSynchronization synchronization :
+        TransactionSynchronizationManager.getSynchronizations()) {
+      synchronization.afterCommit();
+    }
+    assertThat(emitter.next()).startsWith("event:score")
+        .contains("\"previousScore\":500", "\"score\":400");
+    assertThat(emitter.poll(200)).isNull();
+  }
+
+  @Test
+  @DisplayName("순위표는 바뀌었을 때만 보냄")
+  public void broadcastChangedSnapshot() throws Exception {
+    RecordingEmitter emitter = new RecordingEmitter();
+    broadcaster.register(CTF_ID, emitter);
+    assertThat(emitter.next()).startsWith("event:scoreboard");
+
+    broadcaster.broadcastSnapshots();
+    assertThat(emitter.poll(200)).isNull();
+
+    given(ctfScoreboard.getRankingPage(eq(CTF_ID), any(Pageable.class)))
+        .willReturn(new PageImpl<>(List.of(ranking(11L, 200L, 1L), ranking(10L, 100L, 2L))));
+    broadcaster.broadcastSnapshots();
+    assertThat(emitter.next()).startsWith("event:scoreboard").contains("\"id\":11");
+  }
+
+  @Test
+  @DisplayName("버퍼가 가득 찬 느린 구독자는 끊고 나머지는 계속 받음")
+  public void dropSlowSubscriber() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingEmitter slow = new RecordingEmitter(release);
+    RecordingEmitter fast = new RecordingEmitter();
+    broadcaster.register(CTF_ID, slow);
+    broadcaster.register(CTF_ID, fast);
+
+    assertThat(fast.next()).startsWith("event:scoreboard");
+    // 느린 구독자는 첫 이벤트를 보내는 중에 멈춰 있으므로 버퍼 크기보다 하나 더 보내면 넘친다
+    int published = BUFFER_SIZE + 1;
+    for (int i = 0; i < published; i++) {
+      broadcaster.publishSolve(team(10L, 600L), challenge((long) i, 500L), LocalDateTime.now());
+      assertThat(fast.next()).startsWith("event:solve").contains("\"challengeId\":" + i);
+    }
+
+    assertThat(broadcaster.getSubscriberCount(CTF_ID)).isEqualTo(1);
+    // 보내는 중인 연결은 보내기가 끝난 뒤에 닫는다
+    assertThat(slow.isCompleted()).isFalse();
+    release.countDown();
+    slow.awaitCompleted();
+  }
+
+  @Test
+  @DisplayName("보내다 멈춘 구독자는 끊고, 멈춘 스레드 대신 다른 스레드로 나머지 구독자에게 보냄")
+  public void dropStalledSubscriber() throws Exception {
+    broadcaster.shutdown();
+    broadcaster = newBroadcaster(1);
+
+    CountDownLatch release = new CountDownLatch(1);
+    RecordingEmitter stalled = new RecordingEmitter(release);
+    RecordingEmitter fast = new RecordingEmitter();
+    // 하나뿐인 스레드가 멈춘 구독자에게 보내느라 막힌다
+    broadcaster.register(CTF_ID, stalled);
+    broadcaster.register(CTF_ID, fast);
+    assertThat(fast.poll(200)).isNull();
+
+    Thread.sleep(WRITE_TIMEOUT_MS * 2);
+    broadcaster.dropStalledSubscribers();
+
+    assertThat(fast.next()).startsWith("event:scoreboard");
+    assertThat(broadcaster.getSubscriberCount(CTF_ID)).isEqualTo(1);
+    release.countDown();
+    stalled.awaitCompleted();
+  }
+
+  private CtfTeamEntity team(Long id, Long score) {
+    return CtfTeamEntity.builder().id(id).name("team" + id).score(score)
+        .ctfContestEntity(contest).build();
+  }
+
+  private CtfChallengeEntity challenge(Long id, Long score) {
+    return CtfChallengeEntity.builder().id(id).name("challenge" + id).score(score)
+        .ctfContestEntity(contest).build();
+  }
+
+  private static CtfRankingDto ranking(Long id, Long score, Long rank) {
+    return CtfRankingDto.builder().id(id).name("team" + id).score(score).rank(rank).build();
+  }
+
+  private static class RecordingEmitter extends SseEmitter {
+
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private final CountDownLatch release;
+    private volatile boolean completed;
+
+    RecordingEmitter() {
+      this(new CountDownLatch(0));
+    }
+
+    RecordingEmitter(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public void send(SseEventBuilder builder) throws IOException {
+      try {
+        // 느린 클라이언트를 흉내 낸다
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+      received.add(builder.build().stream()
+          .map(DataWithMediaType::getData)
+          .map(Object::toString)
+          .collect(Collectors.joining()));
+    }
+
+    @Override
+    public synchronized void complete() {
+      completed = true;
+    }
+
+    boolean isCompleted() {
+      return completed;
+    }
+
+    void awaitCompleted() throws InterruptedException {
+      for (int i = 0; i < 50 && !completed; i++) {
+        Thread.sleep(100);
+      }
+      assertThat(completed).as("연결이 닫히지 않음").isTrue();
+    }
+
+    String next() throws InterruptedException {
+      String event = received.poll(5, TimeUnit.SECONDS);
+      assertThat(event).as("이벤트를 받지 못함").isNotNull();
+      return event;
+    }
+
+    String poll(long timeoutMs) throws InterruptedException {
+      return received.poll(timeoutMs, TimeUnit.MILLISECONDS);
+    }
+  }
+}
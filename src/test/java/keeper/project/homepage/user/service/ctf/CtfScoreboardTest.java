@@ -0,0 +1,184 @@
+package keeper.project.homepage.user.service.ctf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.BDDMockito.given;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import keeper.project.homepage.entity.ctf.CtfContestEntity;
+import keeper.project.homepage.entity.ctf.CtfTeamEntity;
+import keeper.project.homepage.entity.ctf.CtfTeamHasMemberEntity;
+import keeper.project.homepage.entity.member.MemberEntity;
+import keeper.project.homepage.repository.ctf.CtfFirstSolveProjection;
+import keeper.project.homepage.repository.ctf.CtfSubmitLogRepository;
+import keeper.project.homepage.repository.ctf.CtfTeamHasMemberRepository;
+import keeper.project.homepage.repository.ctf.CtfTeamRepository;
+import keeper.project.homepage.user.dto.ctf.CtfRankingDto;
+import keeper.project.homepage.util.service.CtfUtilService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+public class CtfScoreboardTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2022, 5, 1, 10, 0);
+
+  @Mock
+  private CtfTeamRepository teamRepository;
+  @Mock
+  private CtfTeamHasMemberRepository teamHasMemberRepository;
+  @Mock
+  private CtfSubmitLogRepository submitLogRepository;
+
+  private final CtfContestEntity contest = CtfContestEntity.builder().id(2L).build();
+  private final CtfContestEntity otherContest = CtfContestEntity.builder().id(3L).build();
+  private CtfScoreboard scoreboard;
+
+  @BeforeEach
+  public void setUp() {
+    scoreboard = new CtfScoreboard(teamRepository, teamHasMemberRepository, submitLogRepository);
+  }
+
+  @AfterEach
+  public void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("점수가 높은 순, 같으면 마지막으로 맞춘 시각이 빠른 순으로 다시 만듦")
+  public void rebuild() {
+    given(teamRepository.findAllByIdIsNot(CtfUtilService.VIRTUAL_TEAM_ID)).willReturn(List.of(
+        team(10L, "a", 300L, contest), team(11L, "b", 500L, contest),
+        team(12L, "c", 300L, contest), team(13L, "d", 900L, otherContest),
+        team(14L, "e", 0L, contest)));
+    given(submitLogRepository.findAllFirstSolves()).willReturn(List.of(
+        solve(2L, "a", START.plusMinutes(30)), solve(2L, "a", START.plusMinutes(5)),
+        solve(2L, "b", START.plusMinutes(40)), solve(2L, "c", START.plusMinutes(20))));
+    given(teamHasMemberRepository.findAll()).willReturn(List.of(member(12L, 100L)));
+
+    scoreboard.rebuild();
+
+    Page<CtfRankingDto> page = scoreboard.getRankingPage(2L, PageRequest.of(0, 3));
+    assertThat(page.getTotalElements()).isEqualTo(4);
+    assertThat(page.getContent()).extracting(CtfRankingDto::getId).containsExactly(11L, 12L, 10L);
+    assertThat(page.getContent()).extracting(CtfRankingDto::getRank).containsExactly(1L, 2L, 3L);
+    assertThat(scoreboard.getRankingPage(2L, PageRequest.of(1, 3)).getContent())
+        .extracting(CtfRankingDto::getId).containsExactly(14L);
+    assertThat(scoreboard.findRankByMember(2L, 100L)).get()
+        .extracting(CtfRankingDto::getRank).isEqualTo(2L);
+    assertThat(scoreboard.findRankByMember(3L, 100L)).isEmpty();
+    assertThat(scoreboard.getRankingPage(4L, PageRequest.of(0, 3))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("점수와 맞춘 시각이 바뀌면 순위를 옮김")
+  public void updateRank() {
+    scoreboard.updateTeam(team(10L, "a", 100L, contest));
+    scoreboard.updateTeam(team(11L, "b", 100L, contest));
+    scoreboard.recordSolve(10L, START.plusMinutes(10));
+    scoreboard.recordSolve(11L, START.plusMinutes(5));
+    assertThat(scoreboard.findRankByTeam(11L)).get()
+        .extracting(CtfRankingDto::getRank).isEqualTo(1L);
+
+    // 점수는 더할 값으로 반영하고, 엔티티를 다시 저장해도 덮어쓰지 않음
+    scoreboard.addScore(List.of(10L), 100L);
+    scoreboard.updateTeam(team(10L, "a", 100L, contest));
+    scoreboard.recordSolve(10L, START.plusMinutes(20));
+    // 이전 시각은 무시
+    scoreboard.recordSolve(10L, START);
+
+    assertThat(scoreboard.findRankByTeam(10L)).get()
+        .extracting(CtfRankingDto::getRank, CtfRankingDto::getScore).containsExactly(1L, 200L);
+
+    // 동적 점수가 내려가 순위가 바뀜
+    scoreboard.addScore(List.of(10L), -150L);
+    assertThat(scoreboard.findRankByTeam(10L)).get()
+        .extracting(CtfRankingDto::getRank, CtfRankingDto::getScore).containsExactly(2L, 50L);
+
+    scoreboard.removeTeam(10L);
+    assertThat(scoreboard.findRankByTeam(10L)).isEmpty();
+    assertThat(scoreboard.findRankByTeam(11L)).get()
+        .extracting(CtfRankingDto::getRank).isEqualTo(1L);
+  }
+
+  @Test
+  @DisplayName("트랜잭션 안에서 바꾼 순위와 팀원은 커밋된 뒤에 반영하고, 롤백되면 버림")
+  public void applyAfterCommit() {
+    scoreboard.updateTeam(team(10L, "a", 100L, contest));
+
+    TransactionSynchronizationManager.initSynchronization();
+    scoreboard.addScore(List.of(10L), 200L);
+    scoreboard.updateTeam(team(11L, "b", 200L, contest));
+    scoreboard.addMember(11L, 100L);
+    assertThat(scoreboard.findRankByMember(2L, 100L)).isEmpty();
+    List<TransactionSynchronization> rolledBack =
+        TransactionSynchronizationManager.getSynchronizations();
+    TransactionSynchronizationManager.clearSynchronization();
+
+    // 그동안 다른 트랜잭션이 커밋한 점수는 롤백과 상관없이 남음
+    scoreboard.addScore(List.of(10L), 50L);
+    rolledBack.forEach(synchronization ->
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+    assertThat(scoreboard.getRankingPage(2L, PageRequest.of(0, 10)).getContent())
+        .extracting(CtfRankingDto::getId, CtfRankingDto::getScore)
+        .containsExactly(tuple(10L, 150L));
+    assertThat(scoreboard.findRankByMember(2L, 100L)).isEmpty();
+
+    TransactionSynchronizationManager.initSynchronization();
+    scoreboard.updateTeam(team(11L, "b", 200L, contest));
+    scoreboard.addMember(11L, 100L);
+    for (TransactionSynchronization synchronization :
+        TransactionSynchronizationManager.getSynchronizations()) {
+      synchronization.afterCommit();
+      synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+    }
+
+    assertThat(scoreboard.findRankByMember(2L, 100L)).get()
+        .extracting(CtfRankingDto::getId, CtfRankingDto::getRank).containsExactly(11L, 1L);
+  }
+
+  private static CtfTeamEntity team(Long id, String name, Long score, CtfContestEntity contest) {
+    return CtfTeamEntity.builder().id(id).name(name).score(score).ctfContestEntity(contest)
+        .build();
+  }
+
+  private static CtfTeamHasMemberEntity member(Long teamId, Long memberId) {
+    return CtfTeamHasMemberEntity.builder()
+        .team(CtfTeamEntity.builder().id(teamId).build())
+        .member(MemberEntity.builder().id(memberId).build())
+        .build();
+  }
+
+  private static CtfFirstSolveProjection solve(Long contestId, String teamName,
+      LocalDateTime solveTime) {
+    return new CtfFirstSolveProjection() {
+      @Override
+      public Long getContestId() {
+        return contestId;
+      }
+
+      @Override
+      public String getTeamName() {
+        return teamName;
+      }
+
+      @Override
+      public LocalDateTime getSolveTime() {
+        return solveTime;
+      }
+    };
+  }
+}
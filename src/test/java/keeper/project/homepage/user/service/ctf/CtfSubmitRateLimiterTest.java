@@ -0,0 +1,114 @@
+package keeper.project.homepage.user.service.ctf;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import keeper.project.homepage.exception.ctf.CustomCtfSubmitRateLimitException;
+import keeper.project.homepage.repository.ctf.CtfChallengeRepository;
+import keeper.project.homepage.user.service.ctf.CtfSubmitLimitProperties.ContestLimit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CtfSubmitRateLimiterTest {
+
+  private static final Long CTF_ID = 2L;
+  private static final Long TEAM_ID = 10L;
+  private static final Long MEMBER_ID = 100L;
+
+  @Mock
+  private CtfChallengeRepository challengeRepository;
+
+  @Mock
+  private CtfScoreboard ctfScoreboard;
+
+  private final AtomicLong now = new AtomicLong();
+  private final CtfSubmitLimitProperties properties = new CtfSubmitLimitProperties();
+  private CtfSubmitRateLimiter limiter;
+
+  @BeforeEach
+  public void setUp() {
+    properties.setTeamCapacity(2);
+    properties.setTeamRefillMs(5000);
+    properties.setMemberCapacity(3);
+    properties.setMemberRefillMs(1000);
+    lenient().when(challengeRepository.findContestIdById(anyLong()))
+        .thenReturn(Optional.of(CTF_ID));
+    lenient().when(ctfScoreboard.findTeamIdByMember(CTF_ID, MEMBER_ID))
+        .thenReturn(Optional.of(TEAM_ID));
+    limiter = new CtfSubmitRateLimiter(challengeRepository, ctfScoreboard, properties,
+        new SimpleMeterRegistry(), now::get);
+  }
+
+  @Test
+  @DisplayName("같은 팀이 같은 문제에 너무 자주 내면 거절하고, 다른 문제는 회원 제한 안에서 낼 수 있음")
+  public void limitTeamChallenge() {
+    limiter.acquire(1L, MEMBER_ID);
+    limiter.acquire(1L, MEMBER_ID);
+
+    assertThatThrownBy(() -> limiter.acquire(1L, MEMBER_ID))
+        .isInstanceOf(CustomCtfSubmitRateLimitException.class)
+        .extracting("retryAfterSeconds").isEqualTo(5L);
+    // 팀 제한에 걸린 제출은 회원 몫을 쓰지 않음
+    limiter.acquire(2L, MEMBER_ID);
+
+    advance(5000);
+    limiter.acquire(1L, MEMBER_ID);
+    // 문제가 속한 대회는 문제마다 한 번만 읽음
+    verify(challengeRepository, times(1)).findContestIdById(1L);
+  }
+
+  @Test
+  @DisplayName("한 회원은 대회 안의 모든 문제를 합쳐 제한하고, 대회별 설정을 따름")
+  public void limitMemberPerContest() {
+    ContestLimit contestLimit = new ContestLimit();
+    contestLimit.setMemberCapacity(1);
+    properties.getContests().put(CTF_ID, contestLimit);
+
+    limiter.acquire(1L, MEMBER_ID);
+    assertThatThrownBy(() -> limiter.acquire(2L, MEMBER_ID))
+        .isInstanceOf(CustomCtfSubmitRateLimitException.class)
+        .extracting("retryAfterSeconds").isEqualTo(1L);
+
+    // 다른 대회는 기본 설정을 따름
+    given(challengeRepository.findContestIdById(eq(3L))).willReturn(Optional.of(CTF_ID + 1));
+    limiter.acquire(3L, MEMBER_ID);
+    limiter.acquire(3L, MEMBER_ID);
+
+    contestLimit.setEnabled(false);
+    limiter.acquire(2L, MEMBER_ID);
+  }
+
+  @Test
+  @DisplayName("다 채워진 버킷은 정리함")
+  public void cleanUp() {
+    limiter.acquire(1L, MEMBER_ID);
+    assertThat(limiter.getBucketCount()).isEqualTo(2);
+
+    advance(1000);
+    limiter.cleanUp();
+    assertThat(limiter.getBucketCount()).isEqualTo(1);
+
+    advance(4000);
+    limiter.cleanUp();
+    assertThat(limiter.getBucketCount()).isZero();
+  }
+
+  private void advance(long ms) {
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+  }
+}
@@ -0,0 +1,74 @@
+package keeper.project.homepage.user.service.posting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import keeper.project.homepage.entity.posting.CategoryEntity;
+import keeper.project.homepage.exception.posting.CustomCategoryNotFoundException;
+import keeper.project.homepage.repository.posting.CategoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CategoryCacheTest {
+
+  @Mock
+  private CategoryRepository categoryRepository;
+
+  @InjectMocks
+  private CategoryCache categoryCache;
+
+  @BeforeEach
+  public void setUp() {
+    when(categoryRepository.findAll()).thenReturn(List.of(
+        createCategory(1L, "게시판", 0L),
+        createCategory(2L, "자유게시판", 1L),
+        createCategory(3L, "익명게시판", 1L),
+        createCategory(4L, "질문게시판", 2L),
+        createCategory(5L, "동아리소개", 0L)));
+  }
+
+  @Test
+  @DisplayName("id 와 이름으로 카테고리 조회")
+  public void findByIdAndName() {
+    assertThat(categoryCache.getName(3L)).isEqualTo("익명게시판");
+    assertThat(categoryCache.findByName("질문게시판").get().getId()).isEqualTo(4L);
+    assertThat(categoryCache.existsById(6L)).isFalse();
+    assertThat(categoryCache.getById(1L).getChildIds()).containsExactly(2L, 3L);
+
+    // 스냅샷은 한 번만 읽는다
+    verify(categoryRepository, times(1)).findAll();
+  }
+
+  @Test
+  @DisplayName("하위 카테고리 전체를 자신부터 너비 우선으로 반환")
+  public void getSubtreeIds() {
+    assertThat(categoryCache.getSubtreeIds(1L)).containsExactly(1L, 2L, 3L, 4L);
+    assertThat(categoryCache.getSubtreeIds(5L)).containsExactly(5L);
+    assertThatThrownBy(() -> categoryCache.getSubtreeIds(6L))
+        .isInstanceOf(CustomCategoryNotFoundException.class);
+  }
+
+  @Test
+  @DisplayName("무효화하면 다음 조회 때 다시 읽음")
+  public void invalidate() {
+    categoryCache.getName(1L);
+    categoryCache.invalidate();
+    categoryCache.getName(1L);
+
+    verify(categoryRepository, times(2)).findAll();
+  }
+
+  private CategoryEntity createCategory(Long id, String name, Long parentId) {
+    return CategoryEntity.builder().id(id).name(name).parentId(parentId).build();
+  }
+}
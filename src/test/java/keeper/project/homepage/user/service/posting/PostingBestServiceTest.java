@@ -0,0 +1,194 @@
+package keeper.project.homepage.user.service.posting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import keeper.project.homepage.entity.member.MemberEntity;
+import keeper.project.homepage.entity.posting.CategoryEntity;
+import keeper.project.homepage.entity.posting.PostingEntity;
+import keeper.project.homepage.repository.posting.PostingRepository;
+import keeper.project.homepage.user.dto.posting.PostingBestDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@ExtendWith(MockitoExtension.class)
+public class PostingBestServiceTest {
+
+  @Mock
+  private PostingRepository postingRepository;
+
+  @Mock
+  private PostingVisitCountService postingVisitCountService;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @InjectMocks
+  private PostingBestService postingBestService;
+
+  private final MemberEntity writer = MemberEntity.builder().id(1L).nickName("writer").build();
+  private final CategoryEntity category = CategoryEntity.builder().id(1L).name("자유게시판")
+      .build();
+
+  @BeforeEach
+  public void setUp() {
+    RequestContextHolder.setRequestAttributes(
+        new ServletRequestAttributes(new MockHttpServletRequest()));
+    when(postingVisitCountService.getVisitCount(anyLong(), anyInt()))
+        .thenAnswer(invocation -> invocation.getArgument(1));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    RequestContextHolder.resetRequestAttributes();
+  }
+
+  @Test
+  @DisplayName("점수 순으로 상위 게시글 반환")
+  public void findAllBestOrderByScore() {
+    List<PostingEntity> postings = new ArrayList<>();
+    for (long i = 1; i <= 15; i++) {
+      postings.add(createPosting(i, (int) i, LocalDateTime.now()));
+    }
+    when(postingRepository.findAllByIsTempAndIsSecretAndIsNoticeAndRegisterTimeBetween(
+        any(), any(), any(), any(), any())).thenReturn(postings);
+
+    postingBestService.rebuild();
+    List<PostingBestDto> best = postingBestService.findAllBest();
+
+    assertThat(best).hasSize(PostingService.bestPostingCount);
+    assertThat(best.get(0).getId()).isEqualTo(15L);
+    assertThat(best.get(9).getId()).isEqualTo(6L);
+  }
+
+  @Test
+  @DisplayName("좋아요/조회 이벤트가 순위에 바로 반영")
+  public void updateCountChangesRanking() {
+    when(postingRepository.findAllByIsTempAndIsSecretAndIsNoticeAndRegisterTimeBetween(
+        any(), any(), any(), any(), any())).thenReturn(List.of(
+        createPosting(1L, 10, LocalDateTime.now()),
+        createPosting(2L, 5, LocalDateTime.now())));
+
+    postingBestService.rebuild();
+    postingBestService.updateLikeCount(2L, 2);
+    postingBestService.increaseVisitCount(2L);
+
+    List<PostingBestDto> best = postingBestService.findAllBest();
+    assertThat(best.get(0).getId()).isEqualTo(2L);
+    assertThat(best.get(0).getWatch()).isEqualTo(6);
+  }
+
+  @Test
+  @DisplayName("2주가 지난 게시글은 조회 시 제외")
+  public void findAllBestSkipsExpiredPosting() {
+    when(postingRepository.findAllByIsTempAndIsSecretAndIsNoticeAndRegisterTimeBetween(
+        any(), any(), any(), any(), any())).thenReturn(List.of(
+        createPosting(1L, 100, LocalDateTime.now().minusWeeks(3)),
+        createPosting(2L, 1, LocalDateTime.now())));
+
+    postingBestService.rebuild();
+
+    List<PostingBestDto> best = postingBestService.findAllBest();
+    assertThat(best).extracting(PostingBestDto::getId).containsExactly(2L);
+  }
+
+  @Test
+  @DisplayName("트랜잭션 안의 이벤트는 커밋된 뒤에만 반영")
+  public void updateCountAfterCommit() {
+    when(postingRepository.findAllByIsTempAndIsSecretAndIsNoticeAndRegisterTimeBetween(
+        any(), any(), any(), any(), any())).thenReturn(List.of(
+        createPosting(1L, 10, LocalDateTime.now()),
+        createPosting(2L, 5, LocalDateTime.now())));
+    postingBestService.rebuild();
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      postingBestService.updateLikeCount(2L, 3);
+      assertThat(postingBestService.findAllBest().get(0).getId()).isEqualTo(1L);
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    assertThat(postingBestService.findAllBest().get(0).getId()).isEqualTo(2L);
+
+    // 롤백되면 반영하지 않음
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      postingBestService.removePosting(2L);
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    assertThat(postingBestService.findAllBest()).extracting(PostingBestDto::getId)
+        .containsExactly(2L, 1L);
+  }
+
+  @Test
+  @DisplayName("DB 에서 다시 읽는 동안 들어온 이벤트는 그 게시글만 다시 읽어 반영")
+  public void rebuildReloadsChangesDuringLoad() {
+    PostingEntity liked = createPosting(2L, 5, 1, LocalDateTime.now());
+    when(postingRepository.findAllByIsTempAndIsSecretAndIsNoticeAndRegisterTimeBetween(
+        any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+      // 읽는 중에는 순위 잠금을 잡고 있지 않으므로 이벤트가 막히지 않음
+      postingBestService.removePosting(1L);
+      // 읽은 값에 이미 들어간 좋아요
+      postingBestService.updateLikeCount(2L, 1);
+      return List.of(createPosting(1L, 10, LocalDateTime.now()), liked,
+          createPosting(3L, 8, LocalDateTime.now()));
+    });
+    when(postingRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(liked));
+
+    postingBestService.rebuild();
+
+    // 좋아요가 두 번 더해지지 않아 2번 (5 + 1 * 2) 은 3번 (8) 보다 아래
+    assertThat(postingBestService.findAllBest()).extracting(PostingBestDto::getId)
+        .containsExactly(3L, 2L);
+    // 다시 만든 뒤의 이벤트는 그대로 반영
+    postingBestService.updateLikeCount(2L, 1);
+    assertThat(postingBestService.findAllBest()).extracting(PostingBestDto::getId)
+        .containsExactly(2L, 3L);
+  }
+
+  private PostingEntity createPosting(Long id, Integer visitCount, LocalDateTime registerTime) {
+    return createPosting(id, visitCount, 0, registerTime);
+  }
+
+  private PostingEntity createPosting(Long id, Integer visitCount, Integer likeCount,
+      LocalDateTime registerTime) {
+    return PostingEntity.builder()
+        .id(id)
+        .title("title" + id)
+        .memberId(writer)
+        .categoryId(category)
+        .visitCount(visitCount)
+        .likeCount(likeCount)
+        .dislikeCount(0)
+        .commentCount(0)
+        .registerTime(registerTime)
+        .isTemp(0)
+        .isSecret(0)
+        .isNotice(0)
+        .build();
+  }
+}
@@ -0,0 +1,81 @@
+package keeper.project.homepage.user.service.posting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import keeper.project.homepage.user.dto.posting.LikeAndDislikeDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class PostingLikeCacheTest {
+
+  @Test
+  @DisplayName("저장한 게시글만 캐시된 값으로 응답")
+  public void getOnlyKnownPosting() {
+    PostingLikeCache postingLikeCache = new PostingLikeCache(10);
+    postingLikeCache.put(1L, 3L, new LikeAndDislikeDto(true, false), postingLikeCache.getGeneration());
+    postingLikeCache.put(1L, 5L, new LikeAndDislikeDto(false, false), postingLikeCache.getGeneration());
+
+    LikeAndDislikeDto liked = postingLikeCache.get(1L, 3L);
+    LikeAndDislikeDto notLiked = postingLikeCache.get(1L, 5L);
+
+    assertThat(liked.isLiked()).isTrue();
+    assertThat(liked.isDisliked()).isFalse();
+    assertThat(notLiked.isLiked()).isFalse();
+    assertThat(postingLikeCache.get(1L, 4L)).isNull();
+    assertThat(postingLikeCache.get(2L, 3L)).isNull();
+  }
+
+  @Test
+  @DisplayName("좋아요가 바뀐 게시글과 삭제된 게시글은 캐시에서 제거")
+  public void evict() {
+    PostingLikeCache postingLikeCache = new PostingLikeCache(10);
+    postingLikeCache.put(1L, 3L, new LikeAndDislikeDto(true, false), postingLikeCache.getGeneration());
+    postingLikeCache.put(2L, 3L, new LikeAndDislikeDto(false, true), postingLikeCache.getGeneration());
+    postingLikeCache.put(2L, 4L, new LikeAndDislikeDto(false, true), postingLikeCache.getGeneration());
+
+    postingLikeCache.evict(2L, 4L);
+    assertThat(postingLikeCache.get(2L, 4L)).isNull();
+
+    postingLikeCache.evictPosting(3L);
+    assertThat(postingLikeCache.get(1L, 3L)).isNull();
+    assertThat(postingLikeCache.get(2L, 3L)).isNull();
+  }
+
+  @Test
+  @DisplayName("회원 수가 최대치를 넘으면 가장 오래 쓰지 않은 회원부터 제거")
+  public void evictLeastRecentlyUsedMember() {
+    PostingLikeCache postingLikeCache = new PostingLikeCache(2);
+    postingLikeCache.put(1L, 3L, new LikeAndDislikeDto(true, false), postingLikeCache.getGeneration());
+    postingLikeCache.put(2L, 3L, new LikeAndDislikeDto(true, false), postingLikeCache.getGeneration());
+    postingLikeCache.get(1L, 3L);
+
+    postingLikeCache.put(3L, 3L, new LikeAndDislikeDto(true, false), postingLikeCache.getGeneration());
+
+    assertThat(postingLikeCache.get(1L, 3L)).isNotNull();
+    assertThat(postingLikeCache.get(2L, 3L)).isNull();
+    assertThat(postingLikeCache.get(3L, 3L)).isNotNull();
+  }
+
+  @Test
+  @DisplayName("읽는 동안 지워진 회원의 값은 다시 넣지 않음")
+  public void skipPutAfterEvict() {
+    PostingLikeCache postingLikeCache = new PostingLikeCache(10);
+    long generation = postingLikeCache.getGeneration();
+    // 읽는 동안 좋아요가 바뀌어 지워짐 (캐시에 없는 회원)
+    postingLikeCache.evict(1L, 3L);
+    postingLikeCache.put(1L, 3L, new LikeAndDislikeDto(false, false), generation);
+    assertThat(postingLikeCache.get(1L, 3L)).isNull();
+
+    // 다른 회원의 변경과는 상관없음
+    generation = postingLikeCache.getGeneration();
+    postingLikeCache.evict(2L, 3L);
+    postingLikeCache.put(1L, 3L, new LikeAndDislikeDto(true, false), generation);
+    assertThat(postingLikeCache.get(1L, 3L).isLiked()).isTrue();
+
+    // 게시글 삭제는 모든 회원에 걸침
+    generation = postingLikeCache.getGeneration();
+    postingLikeCache.evictPosting(4L);
+    postingLikeCache.put(1L, 4L, new LikeAndDislikeDto(true, false), generation);
+    assertThat(postingLikeCache.get(1L, 4L)).isNull();
+  }
+}
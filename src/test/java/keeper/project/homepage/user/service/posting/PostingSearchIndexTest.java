@@ -0,0 +1,159 @@
+package keeper.project.homepage.user.service.posting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import keeper.project.homepage.entity.posting.CategoryEntity;
+import keeper.project.homepage.entity.posting.PostingChangedEvent;
+import keeper.project.homepage.entity.posting.PostingEntity;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class PostingSearchIndexTest {
+
+  private static final String INDEX_DIR = "build/tmp/posting-search-index-test";
+
+  private final CategoryEntity category = CategoryEntity.builder().id(1L).name("자유게시판")
+      .build();
+  private final CategoryEntity otherCategory = CategoryEntity.builder().id(2L).name("질문게시판")
+      .build();
+
+  private PostingSearchIndex postingSearchIndex;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    postingSearchIndex = new PostingSearchIndex(INDEX_DIR);
+    postingSearchIndex.open();
+    postingSearchIndex.rebuild(List.of(
+        createPosting(1L, category, "동아리 정기 세미나 공지", "이번 주 세미나는 보안 주제입니다.", 0),
+        createPosting(2L, category, "시험 족보 공유", "세미나 자료도 함께 올립니다.", 0),
+        createPosting(3L, otherCategory, "세미나 질문", "질문 있습니다.", 0),
+        createPosting(4L, category, "세미나 임시저장", "임시 글", 1)));
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    postingSearchIndex.close();
+    FileUtils.deleteDirectory(new File(System.getProperty("user.dir"), INDEX_DIR));
+  }
+
+  @Test
+  @DisplayName("제목 검색은 같은 카테고리의 임시저장이 아닌 게시글만 반환")
+  public void searchTitle() {
+    Page<Long> result = postingSearchIndex.search("T", "세미나", 1L, PageRequest.of(0, 10));
+
+    assertThat(result.getContent()).containsExactly(1L);
+    assertThat(result.getTotalElements()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("띄어쓰기 없는 부분 문자열로도 검색")
+  public void searchPartOfWord() {
+    Page<Long> result = postingSearchIndex.search("C", "보안", 1L, PageRequest.of(0, 10));
+
+    assertThat(result.getContent()).containsExactly(1L);
+  }
+
+  @Test
+  @DisplayName("제목 또는 내용 검색은 제목 일치를 먼저 반환")
+  public void searchTitleOrContent() {
+    Page<Long> result = postingSearchIndex.search("TC", "세미나", 1L, PageRequest.of(0, 10));
+
+    assertThat(result.getContent()).containsExactly(1L, 2L);
+  }
+
+  @Test
+  @DisplayName("검색 결과 페이지 나누기")
+  public void searchWithPaging() {
+    Page<Long> result = postingSearchIndex.search("TC", "세미나", 1L, PageRequest.of(1, 1));
+
+    assertThat(result.getContent()).containsExactly(2L);
+    assertThat(result.getTotalElements()).isEqualTo(2);
+  }
+
+  @Test
+  @DisplayName("트랜잭션 안의 색인 변경은 커밋된 뒤에 반영")
+  public void applyAfterCommit() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      postingSearchIndex.onPostingChanged(
+          new PostingChangedEvent(createPosting(5L, category, "세미나 후기", "", 0), false));
+      postingSearchIndex.onPostingChanged(
+          new PostingChangedEvent(createPosting(1L, category, "", "", 0), true));
+      assertThat(postingSearchIndex.search("T", "세미나", 1L, PageRequest.of(0, 10))
+          .getContent()).containsExactly(1L);
+
+      for (TransactionSynchronization synchronization :
+          TransactionSynchronizationManager.getSynchronizations()) {
+        synchronization.afterCommit();
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+      }
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertThat(postingSearchIndex.search("T", "세미나", 1L, PageRequest.of(0, 10))
+        .getContent()).containsExactly(5L);
+  }
+
+  @Test
+  @DisplayName("트랜잭션이 롤백되면 색인 변경을 버림")
+  public void discardOnRollback() {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      postingSearchIndex.index(createPosting(5L, category, "세미나 후기", "", 0));
+      postingSearchIndex.delete(1L);
+
+      for (TransactionSynchronization synchronization :
+          TransactionSynchronizationManager.getSynchronizations()) {
+        synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+      }
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertThat(postingSearchIndex.search("T", "세미나", 1L, PageRequest.of(0, 10))
+        .getContent()).containsExactly(1L);
+  }
+
+  @Test
+  @DisplayName("색인 변경은 바로 검색되고, 디스크에는 나중에 저장해도 다시 열면 남아 있음")
+  public void keepChangesAfterReopen() throws IOException {
+    postingSearchIndex.index(createPosting(5L, category, "세미나 후기", "", 0));
+    assertThat(postingSearchIndex.search("T", "후기", 1L, PageRequest.of(0, 10))
+        .getContent()).containsExactly(5L);
+
+    postingSearchIndex.commitIfChanged();
+    postingSearchIndex.delete(5L);
+    postingSearchIndex.close();
+    postingSearchIndex = new PostingSearchIndex(INDEX_DIR);
+    postingSearchIndex.open();
+
+    assertThat(postingSearchIndex.search("T", "후기", 1L, PageRequest.of(0, 10))
+        .getContent()).isEmpty();
+    assertThat(postingSearchIndex.numDocs()).isEqualTo(4);
+  }
+
+  private PostingEntity createPosting(Long id, CategoryEntity category, String title,
+      String content, Integer isTemp) {
+    return PostingEntity.builder()
+        .id(id)
+        .title(title)
+        .content(content)
+        .categoryId(category)
+        .isTemp(isTemp)
+        .isNotice(0)
+        .registerTime(LocalDateTime.now().minusDays(id))
+        .build();
+  }
+}
@@ -0,0 +1,72 @@
+package keeper.project.homepage.user.service.posting;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import keeper.project.homepage.repository.posting.PostingRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class PostingVisitCountServiceTest {
+
+  @Mock
+  private PostingRepository postingRepository;
+
+  @InjectMocks
+  private PostingVisitCountService postingVisitCountService;
+
+  @Test
+  @DisplayName("flush 전 조회수는 DB 값에 누적된 증가분을 더해 반환")
+  public void getVisitCountWithPendingDelta() {
+    postingVisitCountService.increaseVisitCount(1L);
+    postingVisitCountService.increaseVisitCount(1L);
+
+    assertThat(postingVisitCountService.getVisitCount(1L, 10)).isEqualTo(12);
+    assertThat(postingVisitCountService.getVisitCount(2L, 10)).isEqualTo(10);
+  }
+
+  @Test
+  @DisplayName("증가분이 같은 게시글은 한 번의 UPDATE 로 반영")
+  public void flushGroupsByDelta() {
+    postingVisitCountService.increaseVisitCount(1L);
+    postingVisitCountService.increaseVisitCount(2L);
+    postingVisitCountService.increaseVisitCount(3L);
+    postingVisitCountService.increaseVisitCount(3L);
+
+    postingVisitCountService.flush();
+
+    verify(postingRepository).increaseVisitCountByIdIn(List.of(1L, 2L), 1);
+    verify(postingRepository).increaseVisitCountByIdIn(List.of(3L), 2);
+    assertThat(postingVisitCountService.getPendingVisitCount(3L)).isZero();
+  }
+
+  @Test
+  @DisplayName("반영에 실패한 증가분은 다음 flush 로 넘어감")
+  public void flushFailureKeepsDelta() {
+    postingVisitCountService.increaseVisitCount(1L);
+    when(postingRepository.increaseVisitCountByIdIn(anyList(), eq(1)))
+        .thenThrow(new IllegalStateException());
+
+    postingVisitCountService.flush();
+
+    assertThat(postingVisitCountService.getPendingVisitCount(1L)).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("누적된 증가분이 없으면 UPDATE 하지 않음")
+  public void flushWithoutDelta() {
+    postingVisitCountService.flush();
+
+    verify(postingRepository, never()).increaseVisitCountByIdIn(anyList(), eq(1));
+  }
+}
@@ -0,0 +1,48 @@
+package keeper.project.homepage.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import keeper.project.homepage.exception.CustomInvalidCursorException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class KeysetCursorTest {
+
+  @Test
+  @DisplayName("인코딩한 커서를 다시 해석")
+  public void encodeAndDecode() {
+    LocalDateTime registerTime = LocalDateTime.of(2022, 3, 1, 12, 30, 15, 123456000);
+
+    KeysetCursor cursor = KeysetCursor.decode(KeysetCursor.encode(registerTime, 42L));
+
+    assertThat(cursor.getRegisterTime()).isEqualTo(registerTime);
+    assertThat(cursor.getId()).isEqualTo(42L);
+  }
+
+  @Test
+  @DisplayName("빈 커서는 첫 페이지")
+  public void decodeEmptyCursor() {
+    assertThat(KeysetCursor.decode(null)).isNull();
+    assertThat(KeysetCursor.decode("")).isNull();
+  }
+
+  @Test
+  @DisplayName("잘못된 커서는 예외")
+  public void decodeInvalidCursor() {
+    assertThatThrownBy(() -> KeysetCursor.decode("invalid-cursor"))
+        .isInstanceOf(CustomInvalidCursorException.class);
+    assertThatThrownBy(() -> KeysetCursor.decode("!!!"))
+        .isInstanceOf(CustomInvalidCursorException.class);
+  }
+
+  @Test
+  @DisplayName("페이지 크기는 1 ~ 최대 크기로 맞춤")
+  public void pageSize() {
+    assertThat(KeysetCursor.pageSize(10)).isEqualTo(10);
+    assertThat(KeysetCursor.pageSize(0)).isEqualTo(1);
+    assertThat(KeysetCursor.pageSize(-5)).isEqualTo(1);
+    assertThat(KeysetCursor.pageSize(Integer.MAX_VALUE)).isEqualTo(KeysetCursor.MAX_PAGE_SIZE);
+  }
+}
@@ -0,0 +1,59 @@
+package keeper.project.homepage.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class OrderStatisticTreeTest {
+
+  @Test
+  @DisplayName("넣고 지우는 동안 순위와 k 번째 원소가 정렬한 목록과 같음")
+  public void matchSortedList() {
+    OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.reverseOrder());
+    List<Integer> expected = new ArrayList<>();
+    Random random = new Random(42);
+
+    for (int i = 0; i < 5000; i++) {
+      int value = random.nextInt(500);
+      if (random.nextInt(3) == 0) {
+        assertThat(tree.remove(value)).isEqualTo(expected.remove(Integer.valueOf(value)));
+      } else {
+        boolean added = !expected.contains(value);
+        assertThat(tree.add(value)).isEqualTo(added);
+        if (added) {
+          expected.add(value);
+          expected.sort(Comparator.reverseOrder());
+        }
+      }
+    }
+
+    assertThat(tree.size()).isEqualTo(expected.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertThat(tree.get(i)).isEqualTo(expected.get(i));
+      assertThat(tree.indexOf(expected.get(i))).isEqualTo(i);
+    }
+    assertThat(tree.subList(10, 30)).isEqualTo(expected.subList(10, 30));
+    assertThat(tree.indexOf(-1)).isEqualTo(-1);
+  }
+
+  @Test
+  @DisplayName("범위를 벗어난 구간은 잘라서 반환")
+  public void clampSubList() {
+    OrderStatisticTree<Integer> tree = new OrderStatisticTree<>(Comparator.naturalOrder());
+    List<Integer> values = new ArrayList<>(List.of(5, 1, 4, 2, 3));
+    values.forEach(tree::add);
+    Collections.sort(values);
+
+    assertThat(tree.subList(3, 10)).containsExactly(4, 5);
+    assertThat(tree.subList(10, 20)).isEmpty();
+    assertThat(tree.subList(-1, 2)).containsExactly(1, 2);
+    assertThatThrownBy(() -> tree.get(5)).isInstanceOf(IndexOutOfBoundsException.class);
+  }
+}
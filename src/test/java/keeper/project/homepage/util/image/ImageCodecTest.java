@@ -0,0 +1,76 @@
+package keeper.project.homepage.util.image;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.awt.Dimension;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageIO;
+import keeper.project.homepage.exception.file.CustomImageFormatException;
+import keeper.project.homepage.util.image.preprocessing.ImageResizing;
+import keeper.project.homepage.util.image.preprocessing.ImageResizing.RESIZE_OPTION;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ImageCodecTest {
+
+  private static final String TEST_DIR = "build/tmp/image-codec-test";
+
+  private File image;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    File testDir = new File(System.getProperty("user.dir"), TEST_DIR);
+    testDir.mkdirs();
+    image = new File(testDir, "original.png");
+    ImageIO.write(new BufferedImage(4000, 2000, BufferedImage.TYPE_3BYTE_BGR), "png", image);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(new File(System.getProperty("user.dir"), TEST_DIR));
+  }
+
+  @Test
+  @DisplayName("결과 크기보다 훨씬 큰 원본은 줄여서 디코딩")
+  public void subsampleOversizedImage() {
+    BufferedImage decoded = ImageCodec.read(image, new Dimension(100, 100));
+
+    // 결과 크기의 2배 이상은 남긴다
+    assertThat(decoded.getWidth()).isEqualTo(400);
+    assertThat(decoded.getHeight()).isEqualTo(200);
+  }
+
+  @Test
+  @DisplayName("결과 크기를 모르거나 원본이 작으면 원본 크기로 디코딩")
+  public void readFullSize() {
+    assertThat(ImageCodec.read(image, null).getWidth()).isEqualTo(4000);
+    assertThat(ImageCodec.read(image, new Dimension(3000, 3000)).getWidth()).isEqualTo(4000);
+  }
+
+  @Test
+  @DisplayName("줄여 읽은 이미지로 전처리해도 결과 크기는 같음")
+  public void processSubsampledImage() {
+    ImageResizing resizing = new ImageResizing(RESIZE_OPTION.KEEP_RATIO, 100, 100);
+
+    BufferedImage resized = resizing.process(
+        ImageCodec.read(image, resizing.getTargetSize()));
+
+    assertThat(resized.getWidth()).isEqualTo(100);
+    assertThat(resized.getHeight()).isEqualTo(50);
+  }
+
+  @Test
+  @DisplayName("이미지가 아니면 형식 예외")
+  public void readNotImage() {
+    assertThrows(CustomImageFormatException.class, () -> ImageCodec.read(
+        new ByteArrayInputStream("not image".getBytes(StandardCharsets.UTF_8)), null));
+  }
+}
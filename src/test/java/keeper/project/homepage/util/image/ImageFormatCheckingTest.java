@@ -0,0 +1,40 @@
+package keeper.project.homepage.util.image;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ImageFormatCheckingTest {
+
+  @Test
+  @DisplayName("내용 앞부분으로 이미지 형식 판별")
+  public void detectImageFormat() throws IOException {
+    BufferedImage image = new BufferedImage(10, 10, BufferedImage.TYPE_3BYTE_BGR);
+
+    for (String format : new String[]{"jpg", "png", "gif", "bmp"}) {
+      assertThat(ImageFormatChecking.detectImageFormat(head(image, format))).isEqualTo(format);
+    }
+  }
+
+  @Test
+  @DisplayName("이미지가 아니거나 너무 짧으면 null")
+  public void detectUnknownFormat() {
+    assertThat(ImageFormatChecking.detectImageFormat(
+        "<svg xmlns=\"http://www.w3.org/2000/svg\"/>".getBytes(StandardCharsets.UTF_8))).isNull();
+    assertThat(ImageFormatChecking.detectImageFormat(new byte[]{(byte) 0xFF, (byte) 0xD8}))
+        .isNull();
+  }
+
+  private static byte[] head(BufferedImage image, String format) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ImageIO.write(image, format, out);
+    return Arrays.copyOf(out.toByteArray(), 16);
+  }
+}
@@ -0,0 +1,117 @@
+package keeper.project.homepage.util.image;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import keeper.project.homepage.util.image.preprocessing.ImageCenterCropping;
+import keeper.project.homepage.util.image.preprocessing.ImageNoChange;
+import keeper.project.homepage.util.image.preprocessing.ImageResizing;
+import keeper.project.homepage.util.image.preprocessing.ImageResizing.RESIZE_OPTION;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ImageRenditionCacheTest {
+
+  private static final String TEST_DIR = "build/tmp/image-rendition-test";
+  private static final String RENDITION_DIR = TEST_DIR + "/renditions";
+
+  private File image;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    File testDir = new File(System.getProperty("user.dir"), TEST_DIR);
+    testDir.mkdirs();
+    image = new File(testDir, "original.png");
+    ImageIO.write(new BufferedImage(1000, 500, BufferedImage.TYPE_3BYTE_BGR), "png", image);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(new File(System.getProperty("user.dir"), TEST_DIR));
+  }
+
+  @Test
+  @DisplayName("원본은 그대로 두고 변환 결과를 만들어 재사용")
+  public void createAndReuseRendition() throws IOException {
+    ImageRenditionCache imageRenditionCache = createCache(Long.MAX_VALUE);
+    long originalLength = image.length();
+
+    File rendition = imageRenditionCache.getRendition("file", 1L, image,
+        new ImageResizing(RESIZE_OPTION.KEEP_RATIO_IN_OUTER_BOUNDARY, 800, 800));
+    long lastModified = rendition.lastModified();
+    File cached = imageRenditionCache.getRendition("file", 1L, image,
+        new ImageResizing(RESIZE_OPTION.KEEP_RATIO_IN_OUTER_BOUNDARY, 800, 800));
+
+    assertThat(image.length()).isEqualTo(originalLength);
+    assertThat(ImageIO.read(image).getWidth()).isEqualTo(1000);
+    assertThat(ImageIO.read(rendition).getWidth()).isEqualTo(800);
+    assertThat(ImageIO.read(rendition).getHeight()).isEqualTo(400);
+    assertThat(cached).isEqualTo(rendition);
+    assertThat(cached.lastModified()).isEqualTo(lastModified);
+  }
+
+  @Test
+  @DisplayName("전처리 방식이 다르면 다른 결과, 변환이 없으면 원본")
+  public void renditionPerPreprocessing() {
+    ImageRenditionCache imageRenditionCache = createCache(Long.MAX_VALUE);
+
+    File resized = imageRenditionCache.getRendition("file", 1L, image,
+        new ImageResizing(RESIZE_OPTION.KEEP_RATIO_IN_OUTER_BOUNDARY, 800, 800));
+    File cropped = imageRenditionCache.getRendition("file", 1L, image,
+        new ImageCenterCropping(100, 100));
+
+    assertThat(resized).isNotEqualTo(cropped);
+    assertThat(imageRenditionCache.getRendition("file", 1L, image, new ImageNoChange()))
+        .isEqualTo(image);
+  }
+
+  @Test
+  @DisplayName("용량을 넘으면 오래 쓰지 않은 결과부터 삭제")
+  public void evictLeastRecentlyUsed() {
+    ImageRenditionCache probe = createCache(Long.MAX_VALUE);
+    long renditionSize = probe.getRendition("file", 1L, image, new ImageCenterCropping(100, 100))
+        .length();
+    probe.evict("file", 1L);
+
+    ImageRenditionCache imageRenditionCache = createCache(renditionSize * 2);
+    File first = imageRenditionCache.getRendition("file", 1L, image,
+        new ImageCenterCropping(100, 100));
+    File second = imageRenditionCache.getRendition("file", 2L, image,
+        new ImageCenterCropping(100, 100));
+    imageRenditionCache.getRendition("file", 1L, image, new ImageCenterCropping(100, 100));
+    File third = imageRenditionCache.getRendition("file", 3L, image,
+        new ImageCenterCropping(100, 100));
+
+    assertThat(first).exists();
+    assertThat(second).doesNotExist();
+    assertThat(third).exists();
+    assertThat(imageRenditionCache.getTotalBytes()).isLessThanOrEqualTo(renditionSize * 2);
+  }
+
+  @Test
+  @DisplayName("원본이 지워지면 해당 원본의 결과를 모두 삭제")
+  public void evictById() {
+    ImageRenditionCache imageRenditionCache = createCache(Long.MAX_VALUE);
+    File resized = imageRenditionCache.getRendition("thumbnail", 1L, image,
+        new ImageResizing(RESIZE_OPTION.KEEP_RATIO_IN_OUTER_BOUNDARY, 800, 800));
+    File other = imageRenditionCache.getRendition("thumbnail", 10L, image,
+        new ImageCenterCropping(100, 100));
+
+    imageRenditionCache.evict("thumbnail", 1L);
+
+    assertThat(resized).doesNotExist();
+    assertThat(other).exists();
+  }
+
+  private ImageRenditionCache createCache(long maxBytes) {
+    ImageRenditionCache imageRenditionCache = new ImageRenditionCache(RENDITION_DIR, maxBytes);
+    imageRenditionCache.load();
+    return imageRenditionCache;
+  }
+}
@@ -0,0 +1,220 @@
+package keeper.project.homepage.util.image;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
+import keeper.project.homepage.util.image.preprocessing.ImageCenterCropping;
+import keeper.project.homepage.util.image.preprocessing.ImageNoChange;
+import keeper.project.homepage.util.image.preprocessing.ImagePreprocessing;
+import keeper.project.homepage.util.storage.LocalShardedStorageBackend;
+import keeper.project.homepage.util.storage.StorageBackend;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class ThumbnailGeneratorTest {
+
+  private static final String TEST_DIR = "build/tmp/thumbnail-generator-test";
+
+  private static final String ORIGINAL = "original.png";
+
+  private File testDir;
+  private StorageBackend storageBackend;
+  private BufferedImage decoded;
+  private MeterRegistry meterRegistry;
+  private ThumbnailGenerator thumbnailGenerator;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    testDir = new File(System.getProperty("user.dir"), TEST_DIR);
+    storageBackend = new LocalShardedStorageBackend(new String[]{TEST_DIR});
+    decoded = new BufferedImage(1000, 500, BufferedImage.TYPE_3BYTE_BGR);
+    Path temp = storageBackend.createTempFile();
+    ImageIO.write(decoded, "png", temp.toFile());
+    storageBackend.putIfAbsent(ORIGINAL, temp);
+    meterRegistry = new SimpleMeterRegistry();
+    thumbnailGenerator = new ThumbnailGenerator(storageBackend, meterRegistry, 1, 1);
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    thumbnailGenerator.shutdown();
+    FileUtils.deleteDirectory(testDir);
+  }
+
+  @Test
+  @DisplayName("원본은 그대로 두고 썸네일을 만든 뒤 처리 시간을 기록")
+  public void generateThumbnail() throws IOException {
+    String thumbnail = "thumbnail.jpg";
+    long originalLength = storageBackend.getFile(ORIGINAL).length();
+
+    thumbnailGenerator.generate(ORIGINAL, decoded, thumbnail, new ImageCenterCropping(100, 100),
+        "jpg");
+
+    assertThat(thumbnailGenerator.await(thumbnail, 10, TimeUnit.SECONDS)).isTrue();
+    assertThat(thumbnailGenerator.isPending(thumbnail)).isFalse();
+    assertThat(storageBackend.getFile(ORIGINAL).length()).isEqualTo(originalLength);
+    assertThat(ImageIO.read(storageBackend.getFile(thumbnail)).getWidth()).isEqualTo(100);
+    assertThat(meterRegistry.get("keeper.thumbnail.processing").timer().count()).isEqualTo(1);
+    assertThat(meterRegistry.get("keeper.thumbnail.queue.wait").timer().count()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("크기별 이미지를 형식마다 같은 작업에서 만듦")
+  public void generateVariants() throws IOException {
+    String thumbnail = "thumbnail.jpg";
+
+    thumbnailGenerator.generate(ORIGINAL, decoded, thumbnail, new ImageNoChange(), "jpg",
+        List.of(ImageVariant.SMALL, ImageVariant.MEDIUM), List.of("png", "jpg"));
+
+    assertThat(thumbnailGenerator.await(thumbnail, 10, TimeUnit.SECONDS)).isTrue();
+    BufferedImage small = ImageIO.read(storageBackend.getFile("thumbnail_small.png"));
+    assertThat(small.getWidth()).isEqualTo(80);
+    assertThat(small.getHeight()).isEqualTo(40);
+    assertThat(ImageIO.read(storageBackend.getFile("thumbnail_small.jpg")).getWidth())
+        .isEqualTo(80);
+    assertThat(ImageIO.read(storageBackend.getFile("thumbnail_medium.jpg")).getWidth())
+        .isEqualTo(320);
+    assertThat(storageBackend.exists("thumbnail_large.jpg")).isFalse();
+  }
+
+  @Test
+  @DisplayName("만들어지는 동안에는 파일이 없고, 취소하면 결과를 남기지 않음")
+  public void cancelWhileGenerating() throws InterruptedException {
+    String thumbnail = "thumbnail.jpg";
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+
+    thumbnailGenerator.generate(ORIGINAL, decoded, thumbnail, blocking(started, release), "jpg");
+    started.await(10, TimeUnit.SECONDS);
+
+    assertThat(thumbnailGenerator.isPending(thumbnail)).isTrue();
+    assertThat(storageBackend.exists(thumbnail)).isFalse();
+    assertThat(thumbnailGenerator.cancel(thumbnail)).isTrue();
+
+    release.countDown();
+    thumbnailGenerator.shutdown();
+    assertThat(storageBackend.exists(thumbnail)).isFalse();
+    // 임시 파일도 남기지 않는다
+    assertThat(testDir.list((dir, name) -> name.endsWith(".tmp"))).isEmpty();
+  }
+
+  @Test
+  @DisplayName("큐가 가득 차면 요청한 스레드에서 바로 만듦")
+  public void runInCallerWhenQueueIsFull() throws InterruptedException {
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    String running = "running.jpg";
+    String queued = "queued.jpg";
+    String overflow = "overflow.jpg";
+
+    thumbnailGenerator.generate(ORIGINAL, decoded, running, blocking(started, release), "jpg");
+    started.await(10, TimeUnit.SECONDS);
+    thumbnailGenerator.generate(ORIGINAL, decoded, queued, new ImageCenterCropping(100, 100),
+        "jpg");
+    assertThat(meterRegistry.get("keeper.thumbnail.queue.size").gauge().value()).isEqualTo(1);
+
+    thumbnailGenerator.generate(ORIGINAL, decoded, overflow, new ImageCenterCropping(100, 100),
+        "jpg");
+
+    assertThat(storageBackend.exists(overflow)).isTrue();
+    assertThat(thumbnailGenerator.isPending(queued)).isTrue();
+    release.countDown();
+    assertThat(thumbnailGenerator.await(queued, 10, TimeUnit.SECONDS)).isTrue();
+    assertThat(storageBackend.exists(queued)).isTrue();
+  }
+
+  @Test
+  @DisplayName("전처리로 바뀌는 것이 없으면 원본을 그대로 복사")
+  public void copyOriginalWhenUnchanged() throws IOException {
+    String thumbnail = "thumbnail.png";
+
+    thumbnailGenerator.generate(ORIGINAL, decoded, thumbnail, new ImageNoChange(), "jpg");
+
+    assertThat(thumbnailGenerator.await(thumbnail, 10, TimeUnit.SECONDS)).isTrue();
+    assertThat(storageBackend.getFile(thumbnail)).hasSameBinaryContentAs(
+        storageBackend.getFile(ORIGINAL));
+  }
+
+  @Test
+  @DisplayName("만들지 못하면 원본을 썸네일 자리에 대신 저장")
+  public void storeOriginalWhenFailed() {
+    String thumbnail = "thumbnail.jpg";
+
+    thumbnailGenerator.generate(ORIGINAL, decoded, thumbnail, failing(), "jpg");
+
+    assertThat(thumbnailGenerator.await(thumbnail, 10, TimeUnit.SECONDS)).isFalse();
+    assertThat(thumbnailGenerator.isPending(thumbnail)).isFalse();
+    assertThat(storageBackend.getFile(thumbnail)).hasSameBinaryContentAs(
+        storageBackend.getFile(ORIGINAL));
+  }
+
+  @Test
+  @DisplayName("원본도 없으면 placeholder 를 대신 저장")
+  public void storePlaceholderWhenOriginalIsMissing() throws IOException {
+    String thumbnail = "thumbnail.jpg";
+
+    thumbnailGenerator.generate("missing.png", decoded, thumbnail, failing(), "jpg");
+
+    assertThat(thumbnailGenerator.await(thumbnail, 10, TimeUnit.SECONDS)).isFalse();
+    assertThat(Files.readAllBytes(storageBackend.getFile(thumbnail).toPath()))
+        .isEqualTo(thumbnailGenerator.getPlaceholder());
+  }
+
+  @Test
+  @DisplayName("placeholder 는 읽을 수 있는 이미지")
+  public void placeholderIsImage() throws IOException {
+    BufferedImage placeholder = ImageIO.read(
+        new ByteArrayInputStream(thumbnailGenerator.getPlaceholder()));
+
+    assertThat(placeholder).isNotNull();
+  }
+
+  private ImagePreprocessing failing() {
+    return new ImagePreprocessing() {
+      @Override
+      public BufferedImage process(BufferedImage image) {
+        throw new IllegalStateException("전처리 실패");
+      }
+
+      @Override
+      public String getRenditionKey() {
+        return "failing";
+      }
+    };
+  }
+
+  private ImagePreprocessing blocking(CountDownLatch started, CountDownLatch release) {
+    ImagePreprocessing cropping = new ImageCenterCropping(100, 100);
+    return new ImagePreprocessing() {
+      @Override
+      public BufferedImage process(BufferedImage image) {
+        started.countDown();
+        try {
+          release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return cropping.process(image);
+      }
+
+      @Override
+      public String getRenditionKey() {
+        return cropping.getRenditionKey();
+      }
+    };
+  }
+}
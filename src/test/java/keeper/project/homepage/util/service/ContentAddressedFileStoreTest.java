@@ -0,0 +1,150 @@
+package keeper.project.homepage.util.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import keeper.project.homepage.repository.FileRepository;
+import keeper.project.homepage.util.storage.LocalShardedStorageBackend;
+import keeper.project.homepage.util.storage.StorageBackend;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+public class ContentAddressedFileStoreTest {
+
+  private static final String TEST_DIR = "build/tmp/content-addressed-store-test";
+
+  @Mock
+  private FileRepository fileRepository;
+
+  private StorageBackend storageBackend;
+  private ContentAddressedFileStore contentAddressedFileStore;
+
+  @BeforeEach
+  public void setUp() {
+    storageBackend = new LocalShardedStorageBackend(new String[]{TEST_DIR});
+    contentAddressedFileStore = new ContentAddressedFileStore(fileRepository, storageBackend, 2);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException, InterruptedException {
+    contentAddressedFileStore.shutdown();
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    FileUtils.deleteDirectory(new File(System.getProperty("user.dir"), TEST_DIR));
+  }
+
+  @Test
+  @DisplayName("같은 내용은 한 파일로 저장하고 이름은 내용의 해시")
+  public void storeDuplicateOnce() {
+    String first = store("same content", "a.jpg");
+    String second = store("same content", "b.jpg");
+    String other = store("other content", "a.jpg");
+
+    assertThat(second).isEqualTo(first);
+    assertThat(other).isNotEqualTo(first);
+    // sha256("same content")
+    assertThat(first).isEqualTo(
+        "a636bd7cd42060a4d07fa1bfbcc010eb7794c2ba721e1e3e4c20335a15b66eaf.jpg");
+    assertThat(storageBackend.getFile(first)).hasContent("same content");
+    assertThat(storageBackend.getFile(other)).hasContent("other content");
+  }
+
+  @Test
+  @DisplayName("한 번 받으면서 해시, 크기, 앞부분을 구하고 저장할 때는 임시 파일을 옮김")
+  public void spoolOnceAndMove() {
+    byte[] content = new byte[200 * 1024];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+
+    try (SpooledUpload upload = contentAddressedFileStore.spool(
+        new ByteArrayInputStream(content), "a.png")) {
+      assertThat(upload.getSize()).isEqualTo(content.length);
+      assertThat(upload.getHead()).containsExactly(Arrays.copyOf(content, 16));
+      assertThat(upload.getPath()).hasBinaryContent(content);
+
+      String key = contentAddressedFileStore.store(upload);
+
+      assertThat(key).isEqualTo(upload.getSha256() + ".png");
+      assertThat(upload.getPath()).doesNotExist();
+      assertThat(storageBackend.getFile(key)).hasBinaryContent(content);
+    }
+  }
+
+  @Test
+  @DisplayName("다른 레코드가 가리키고 있으면 파일을 지우지 않음")
+  public void releaseOnlyLastReference() {
+    String filePath = store("content", "a.jpg");
+    File file = storageBackend.getFile(filePath);
+
+    given(fileRepository.countByFilePath(filePath)).willReturn(1L);
+    assertThat(contentAddressedFileStore.release(filePath)).isFalse();
+    assertThat(file).exists();
+
+    given(fileRepository.countByFilePath(filePath)).willReturn(0L);
+    assertThat(contentAddressedFileStore.release(filePath)).isTrue();
+    assertThat(file).doesNotExist();
+  }
+
+  @Test
+  @DisplayName("끝나지 않은 업로드가 가리키는 파일은 지우지 않고, 롤백되면 정리")
+  public void keepInFlightUntilCompletion() {
+    given(fileRepository.countByFilePath(anyString())).willReturn(0L);
+    TransactionSynchronizationManager.initSynchronization();
+
+    String filePath = store("content", "a.jpg");
+    File file = storageBackend.getFile(filePath);
+
+    assertThat(contentAddressedFileStore.release(filePath)).isFalse();
+    assertThat(file).exists();
+
+    for (TransactionSynchronization synchronization :
+        TransactionSynchronizationManager.getSynchronizations()) {
+      synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+    assertThat(file).doesNotExist();
+  }
+
+  @Test
+  @DisplayName("여러 파일은 커밋된 뒤에 한꺼번에 지우고, 없는 파일이 있어도 나머지는 지움")
+  public void releaseAllAfterCommit() {
+    given(fileRepository.countByFilePath(anyString())).willReturn(0L);
+    File first = storageBackend.getFile(store("first", "a.jpg"));
+    File second = storageBackend.getFile(store("second", "b.jpg"));
+    TransactionSynchronizationManager.initSynchronization();
+
+    contentAddressedFileStore.releaseAfterCommit(
+        List.of(first.getName(), "0000.jpg", second.getName(), first.getName()));
+    assertThat(first).exists();
+    assertThat(second).exists();
+
+    for (TransactionSynchronization synchronization :
+        TransactionSynchronizationManager.getSynchronizations()) {
+      synchronization.afterCommit();
+    }
+    assertThat(first).doesNotExist();
+    assertThat(second).doesNotExist();
+  }
+
+  private String store(String content, String originalFileName) {
+    return contentAddressedFileStore.store(
+        new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), originalFileName);
+  }
+}
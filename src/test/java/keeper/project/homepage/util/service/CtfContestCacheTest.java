@@ -0,0 +1,81 @@
+package keeper.project.homepage.util.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import keeper.project.homepage.entity.ctf.CtfContestEntity;
+import keeper.project.homepage.exception.ctf.CustomContestNotFoundException;
+import keeper.project.homepage.repository.ctf.CtfContestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CtfContestCacheTest {
+
+  private static final Long CTF_ID = 2L;
+  private static final long TTL_MS = 5000L;
+
+  @Mock
+  private CtfContestRepository contestRepository;
+
+  private final AtomicLong now = new AtomicLong();
+  private CtfContestCache cache;
+
+  @BeforeEach
+  public void setUp() {
+    cache = new CtfContestCache(contestRepository, TTL_MS, now::get);
+  }
+
+  @Test
+  @DisplayName("유효 시간 안에서는 다시 읽지 않고, 지나면 다시 읽음")
+  public void expire() {
+    given(contestRepository.findById(CTF_ID)).willReturn(Optional.of(contest(true)));
+
+    assertThat(cache.getById(CTF_ID).getIsJoinable()).isTrue();
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(TTL_MS - 1));
+    assertThat(cache.getById(CTF_ID).getName()).isEqualTo("ctf");
+    verify(contestRepository, times(1)).findById(CTF_ID);
+
+    given(contestRepository.findById(CTF_ID)).willReturn(Optional.of(contest(false)));
+    now.addAndGet(TimeUnit.MILLISECONDS.toNanos(1));
+    assertThat(cache.getById(CTF_ID).getIsJoinable()).isFalse();
+    verify(contestRepository, times(2)).findById(CTF_ID);
+  }
+
+  @Test
+  @DisplayName("대회가 바뀌면 바로 다시 읽음")
+  public void invalidate() {
+    given(contestRepository.findById(CTF_ID)).willReturn(Optional.of(contest(true)));
+    assertThat(cache.getById(CTF_ID).getIsJoinable()).isTrue();
+
+    given(contestRepository.findById(CTF_ID)).willReturn(Optional.of(contest(false)));
+    cache.invalidate(CTF_ID);
+
+    assertThat(cache.getById(CTF_ID).getIsJoinable()).isFalse();
+  }
+
+  @Test
+  @DisplayName("없는 대회는 저장하지 않음")
+  public void notFound() {
+    given(contestRepository.findById(CTF_ID)).willReturn(Optional.empty());
+
+    assertThatThrownBy(() -> cache.getById(CTF_ID))
+        .isInstanceOf(CustomContestNotFoundException.class);
+    assertThat(cache.findById(CTF_ID)).isEmpty();
+    verify(contestRepository, times(2)).findById(CTF_ID);
+  }
+
+  private static CtfContestEntity contest(boolean isJoinable) {
+    return CtfContestEntity.builder().id(CTF_ID).name("ctf").isJoinable(isJoinable).build();
+  }
+}
@@ -0,0 +1,75 @@
+package keeper.project.homepage.util.service;
+
+import static keeper.project.homepage.util.service.CtfUtilService.VIRTUAL_TEAM_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import keeper.project.homepage.repository.ctf.CtfTeamRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+public class CtfTeamCountCacheTest {
+
+  private static final Long CTF_ID = 2L;
+
+  @Mock
+  private CtfTeamRepository teamRepository;
+
+  private CtfTeamCountCache cache;
+
+  @BeforeEach
+  public void setUp() {
+    cache = new CtfTeamCountCache(teamRepository);
+    given(teamRepository.findAllIdByCtfContestEntityId(CTF_ID))
+        .willReturn(List.of(VIRTUAL_TEAM_ID, 10L, 11L));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  @DisplayName("대회마다 한 번만 읽고 가상 팀은 세지 않음")
+  public void loadOnce() {
+    assertThat(cache.getTeamCount(CTF_ID)).isEqualTo(2);
+
+    cache.addTeam(CTF_ID, 12L);
+    // 읽을 때 이미 들어 있던 팀은 두 번 세지 않음
+    cache.addTeam(CTF_ID, 10L);
+    cache.removeTeam(CTF_ID, 11L);
+
+    assertThat(cache.getTeamCount(CTF_ID)).isEqualTo(2);
+    verify(teamRepository, times(1)).findAllIdByCtfContestEntityId(CTF_ID);
+  }
+
+  @Test
+  @DisplayName("반영한 트랜잭션이 롤백되면 다시 읽음")
+  public void evictOnRollback() {
+    assertThat(cache.getTeamCount(CTF_ID)).isEqualTo(2);
+
+    TransactionSynchronizationManager.initSynchronization();
+    cache.addTeam(CTF_ID, 12L);
+    assertThat(cache.getTeamCount(CTF_ID)).isEqualTo(3);
+    for (TransactionSynchronization synchronization :
+        TransactionSynchronizationManager.getSynchronizations()) {
+      synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+    }
+
+    assertThat(cache.getTeamCount(CTF_ID)).isEqualTo(2);
+    verify(teamRepository, times(2)).findAllIdByCtfContestEntityId(CTF_ID);
+  }
+}
@@ -175,6 +175,31 @@ class CtfUtilServiceTest extends CtfSpringTestHelper {
     }
   }
 
+  @Test
+  @DisplayName("팀 수가 바뀐 대회의 Dynamic 문제만 재정산")
+  void setContestDynamicScore() {
+    CtfChallengeEntity otherChallenge = generateCtfChallenge(invalidCtf, DYNAMIC, FORENSIC, 0L);
+    generateDynamicChallengeInfo(otherChallenge, 1000L, 100L);
+    generateCtfFlag(validTeamList.get(0), otherChallenge, true);
+
+    // 0번째 팀이 0번째 문제를 맞춘 뒤 팀이 하나 더 생겼을 때
+    takeAnswer(flagEntities, 0, 0, validTeamList, validChallengeList);
+    ctfUtilService.setDynamicScore(validChallengeList.get(0));
+    Assertions.assertThat(validChallengeList.get(0).getScore()).isEqualTo(964L);
+
+    generateCtfTeam(validCtf, generateMemberEntity(회원, 정회원, 일반회원), 0L);
+    ctfUtilService.setContestDynamicScore(validCtf.getId());
+
+    // 6팀 중 1팀이 맞춤
+    long expectedScore = (long) ((100L - 1000L) * (1 / 6.0) * (1 / 6.0) + 1000L);
+    Assertions.assertThat(ctfChallengeRepository.getById(validChallengeList.get(0).getId())
+        .getScore()).isEqualTo(expectedScore);
+    Assertions.assertThat(ctfTeamRepository.getById(validTeamList.get(0).getId()).getScore())
+        .isEqualTo(expectedScore);
+    Assertions.assertThat(ctfChallengeRepository.getById(otherChallenge.getId()).getScore())
+        .isEqualTo(0L);
+  }
+
   private void takeAnswer(CtfFlagEntity[][] flagEntities, int correctTeam, int correctChallenge,
       List<CtfTeamEntity> validTeamList, List<CtfChallengeEntity> validChallengeList) {
     flagEntities[correctTeam][correctChallenge].setIsCorrect(true);
@@ -183,4 +208,4 @@ class CtfUtilServiceTest extends CtfSpringTestHelper {
         validChallengeList.get(correctChallenge).getScore());
     ctfTeamRepository.saveAndFlush(validTeamList.get(correctTeam));
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package keeper.project.homepage.util.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import keeper.project.homepage.util.image.ImageVariant;
+import keeper.project.homepage.util.service.ThumbnailService.ThumbType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+public class ThumbnailVariantsTest {
+
+  @Test
+  @DisplayName("쓸 수 없는 형식은 빼고 jpg 는 항상 마지막")
+  public void writableFormats() {
+    ThumbnailVariants thumbnailVariants = new ThumbnailVariants(new MockEnvironment(),
+        new String[]{"jpg", "png", "unknown"});
+
+    assertThat(thumbnailVariants.getFormats()).containsExactly("png", "jpg");
+  }
+
+  @Test
+  @DisplayName("Accept 에 직접 적은 형식만 선호 순서대로 고름")
+  public void acceptableFormats() {
+    ThumbnailVariants thumbnailVariants = new ThumbnailVariants(new MockEnvironment(),
+        new String[]{"png", "gif", "jpg"});
+
+    assertThat(thumbnailVariants.getAcceptableFormats("image/gif,image/png;q=0.5,*/*"))
+        .containsExactly("png", "gif", "jpg");
+    assertThat(thumbnailVariants.getAcceptableFormats("image/png;q=0,image/*"))
+        .containsExactly("jpg");
+    assertThat(thumbnailVariants.getAcceptableFormats(null)).containsExactly("jpg");
+    assertThat(thumbnailVariants.getAcceptableFormats("not a media type"))
+        .containsExactly("jpg");
+  }
+
+  @Test
+  @DisplayName("종류별 크기는 설정으로 바꿀 수 있음")
+  public void configuredVariants() {
+    MockEnvironment environment = new MockEnvironment()
+        .withProperty("keeper.thumbnail.variants.Badge", "small, large");
+    ThumbnailVariants thumbnailVariants = new ThumbnailVariants(environment,
+        new String[]{"jpg"});
+
+    assertThat(thumbnailVariants.getVariants(ThumbType.Badge))
+        .containsExactly(ImageVariant.SMALL, ImageVariant.LARGE);
+    assertThat(thumbnailVariants.getVariants(ThumbType.MemberThumbnail))
+        .isEqualTo(ThumbType.MemberThumbnail.getDefaultVariants());
+  }
+}
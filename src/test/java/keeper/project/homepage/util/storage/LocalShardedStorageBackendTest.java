@@ -0,0 +1,118 @@
+package keeper.project.homepage.util.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import keeper.project.homepage.exception.file.CustomFileNotFoundException;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class LocalShardedStorageBackendTest {
+
+  private static final String TEST_DIR = "build/tmp/local-storage-test";
+  private static final String KEY =
+      "a636bd7cd42060a4d07fa1bfbcc010eb7794c2ba721e1e3e4c20335a15b66eaf.jpg";
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    FileUtils.deleteDirectory(new File(System.getProperty("user.dir"), TEST_DIR));
+  }
+
+  @Test
+  @DisplayName("key 앞 네 글자로 두 단계 디렉토리에 나눠 저장")
+  public void storeInShardDirectory() throws IOException {
+    StorageBackend storageBackend = backend("a");
+
+    assertThat(storageBackend.putIfAbsent(KEY, temp(storageBackend, "content"))).isTrue();
+
+    File file = storageBackend.getFile(KEY);
+    assertThat(file.toPath()).isEqualTo(root("a").resolve("a6").resolve("36").resolve(KEY));
+    assertThat(file).hasContent("content");
+  }
+
+  @Test
+  @DisplayName("같은 key 가 있으면 덮어쓰지 않고 넘긴 파일은 지움")
+  public void keepExisting() throws IOException {
+    StorageBackend storageBackend = backend("a");
+    storageBackend.putIfAbsent(KEY, temp(storageBackend, "first"));
+    Path second = temp(storageBackend, "second");
+
+    assertThat(storageBackend.putIfAbsent(KEY, second)).isFalse();
+
+    assertThat(storageBackend.getFile(KEY)).hasContent("first");
+    assertThat(second).doesNotExist();
+  }
+
+  @Test
+  @DisplayName("루트를 늘려도 이전 루트에 있던 파일을 찾고 지움")
+  public void findInOtherRoot() throws IOException {
+    StorageBackend single = backend("a");
+    single.putIfAbsent(KEY, temp(single, "content"));
+
+    StorageBackend multiple = backend("b", "c", "a");
+
+    assertThat(multiple.exists(KEY)).isTrue();
+    assertThat(multiple.getFile(KEY)).hasContent("content");
+    assertThat(multiple.delete(KEY)).isTrue();
+    assertThat(multiple.exists(KEY)).isFalse();
+    assertThatThrownBy(() -> multiple.getFile(KEY))
+        .isInstanceOf(CustomFileNotFoundException.class);
+  }
+
+  @Test
+  @DisplayName("첫 단계 디렉토리 단위로 모든 루트의 파일 목록")
+  public void listSegment() throws IOException {
+    StorageBackend single = backend("a");
+    single.putIfAbsent(KEY, temp(single, "content"));
+    StorageBackend multiple = backend("b", "a");
+    String other = "a6ff" + KEY.substring(4);
+    multiple.putIfAbsent(other, temp(multiple, "other"));
+    multiple.putIfAbsent("b6" + KEY.substring(2), temp(multiple, "next"));
+
+    assertThat(multiple.listSegment(0xa6)).extracting(StoredObject::getKey)
+        .containsExactlyInAnyOrder(KEY, other);
+    assertThat(multiple.listSegment(0xa6)).filteredOn(object -> object.getKey().equals(KEY))
+        .singleElement().extracting(StoredObject::getSize).isEqualTo((long) "content".length());
+    assertThat(multiple.listSegment(0x00)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("디렉토리가 들어간 key 는 이전 방식대로 user.dir 기준 경로")
+  public void legacyKey() throws IOException {
+    StorageBackend storageBackend = backend("a");
+    String legacyKey = TEST_DIR + File.separator + "legacy" + File.separator + "old.jpg";
+    File legacy = new File(System.getProperty("user.dir"), legacyKey);
+    FileUtils.writeStringToFile(legacy, "old", StandardCharsets.UTF_8);
+
+    assertThat(storageBackend.getFile(legacyKey)).isEqualTo(legacy);
+    assertThat(storageBackend.delete(legacyKey)).isTrue();
+    assertThat(legacy).doesNotExist();
+    assertThatThrownBy(() -> storageBackend.putIfAbsent(legacyKey, temp(storageBackend, "new")))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static StorageBackend backend(String... roots) {
+    String[] paths = new String[roots.length];
+    for (int i = 0; i < roots.length; i++) {
+      paths[i] = TEST_DIR + File.separator + roots[i];
+    }
+    return new LocalShardedStorageBackend(paths);
+  }
+
+  private static Path root(String root) {
+    return Path.of(System.getProperty("user.dir"), TEST_DIR, root);
+  }
+
+  private static Path temp(StorageBackend storageBackend, String content) throws IOException {
+    Path temp = storageBackend.createTempFile();
+    Files.writeString(temp, content);
+    return temp;
+  }
+}
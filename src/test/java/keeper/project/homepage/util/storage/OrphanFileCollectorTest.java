@@ -0,0 +1,135 @@
+package keeper.project.homepage.util.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Stream;
+import keeper.project.homepage.repository.FileRepository;
+import keeper.project.homepage.repository.ThumbnailRepository;
+import keeper.project.homepage.util.service.ContentAddressedFileStore;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+public class OrphanFileCollectorTest {
+
+  private static final String TEST_DIR = "build/tmp/orphan-collector-test";
+  private static final int SEGMENT = 0xa6;
+  private static final String ORPHAN = "a60001.jpg";
+  private static final String FILE = "a60002.jpg";
+  private static final String THUMBNAIL = "a60003.jpg";
+  private static final String VARIANT = "a60003_small.webp";
+  private static final String RECENT = "a60004.jpg";
+  private static final Duration QUARANTINE = Duration.ofHours(1);
+
+  @Mock
+  private FileRepository fileRepository;
+  @Mock
+  private ThumbnailRepository thumbnailRepository;
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private StorageBackend storageBackend;
+  private ContentAddressedFileStore contentAddressedFileStore;
+  private MeterRegistry meterRegistry;
+  private OrphanFileCollector collector;
+  private Instant now;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    storageBackend = new LocalShardedStorageBackend(new String[]{TEST_DIR});
+    contentAddressedFileStore = new ContentAddressedFileStore(fileRepository, storageBackend, 1);
+    meterRegistry = new SimpleMeterRegistry();
+    collector = new OrphanFileCollector(storageBackend, contentAddressedFileStore,
+        fileRepository, thumbnailRepository, transactionManager, meterRegistry, 4, 100,
+        Duration.ofDays(1).toMillis(), QUARANTINE.toMillis());
+    now = Instant.now();
+
+    put(ORPHAN, "orphan", Duration.ofDays(2));
+    put(FILE, "file", Duration.ofDays(2));
+    put(THUMBNAIL, "thumbnail", Duration.ofDays(2));
+    put(VARIANT, "variant", Duration.ofDays(2));
+    put(RECENT, "recent", Duration.ofHours(1));
+    given(fileRepository.streamFilePathsStartingWith("a6"))
+        .willAnswer(invocation -> Stream.of(FILE));
+    given(thumbnailRepository.streamPathsStartingWith("a6"))
+        .willAnswer(invocation -> Stream.of(THUMBNAIL));
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException, InterruptedException {
+    contentAddressedFileStore.shutdown();
+    FileUtils.deleteDirectory(new File(System.getProperty("user.dir"), TEST_DIR));
+  }
+
+  @Test
+  @DisplayName("가리키는 레코드가 없는 파일은 격리했다가 격리 기간이 지난 뒤 지움")
+  public void quarantineThenDelete() {
+    assertThat(collector.collectSegment(SEGMENT, 100, now)).isZero();
+    assertThat(collector.getQuarantinedCount()).isEqualTo(1);
+    assertThat(storageBackend.exists(ORPHAN)).isTrue();
+
+    // 격리 기간이 지나기 전에는 지우지 않는다
+    assertThat(collector.collectSegment(SEGMENT, 100, now.plus(Duration.ofMinutes(30))))
+        .isZero();
+
+    assertThat(collector.collectSegment(SEGMENT, 100, now.plus(QUARANTINE))).isEqualTo(1);
+    assertThat(storageBackend.exists(ORPHAN)).isFalse();
+    assertThat(storageBackend.exists(FILE)).isTrue();
+    assertThat(storageBackend.exists(THUMBNAIL)).isTrue();
+    assertThat(storageBackend.exists(VARIANT)).isTrue();
+    assertThat(storageBackend.exists(RECENT)).isTrue();
+    assertThat(collector.getQuarantinedCount()).isZero();
+    assertThat(meterRegistry.get("keeper.storage.gc.reclaimed").counter().count())
+        .isEqualTo("orphan".length());
+  }
+
+  @Test
+  @DisplayName("격리한 뒤 레코드가 생기면 지우지 않고 격리 목록에서 뺌")
+  public void keepReferencedAgain() {
+    collector.collectSegment(SEGMENT, 100, now);
+    given(fileRepository.countByFilePath(ORPHAN)).willReturn(1L);
+
+    assertThat(collector.collectSegment(SEGMENT, 100, now.plus(QUARANTINE))).isZero();
+
+    assertThat(storageBackend.exists(ORPHAN)).isTrue();
+    assertThat(collector.getQuarantinedCount()).isZero();
+  }
+
+  @Test
+  @DisplayName("한 번에 지우는 개수를 넘으면 다음에 지움")
+  public void limitDeletes() throws IOException {
+    put("a60005.jpg", "orphan2", Duration.ofDays(2));
+    collector.collectSegment(SEGMENT, 100, now);
+
+    assertThat(collector.collectSegment(SEGMENT, 1, now.plus(QUARANTINE))).isEqualTo(1);
+    assertThat(collector.getQuarantinedCount()).isEqualTo(1);
+    assertThat(collector.collectSegment(SEGMENT, 1, now.plus(QUARANTINE))).isEqualTo(1);
+    assertThat(storageBackend.exists(ORPHAN)).isFalse();
+    assertThat(storageBackend.exists("a60005.jpg")).isFalse();
+  }
+
+  private void put(String key, String content, Duration age) throws IOException {
+    Path temp = storageBackend.createTempFile();
+    Files.writeString(temp, content);
+    storageBackend.putIfAbsent(key, temp);
+    Files.setLastModifiedTime(storageBackend.getFile(key).toPath(),
+        FileTime.from(Instant.now().minus(age)));
+  }
+}